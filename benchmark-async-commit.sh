@@ -0,0 +1,79 @@
+#!/bin/bash
+
+# Benchmark synchronous_commit on vs off for the two write paths that
+# order.async-commit.* can switch to asynchronous commit:
+#   create        - one order insert per transaction, as POST /orders does
+#   status-update - a synchronous reservation followed by the trade order ID
+#                   update, as bulk submission does
+#
+# Run against a scratch database with the Flyway schema applied (start the
+# service once against it). Connection settings come from the usual PG*
+# environment variables. The benchmark's orders use their own portfolio ID
+# and are deleted afterwards.
+
+set -e
+
+CLIENTS=${CLIENTS:-16}
+TRANSACTIONS=${TRANSACTIONS:-2000}
+PORTFOLIO_ID="PGBENCH00000000000000001"
+WORK_DIR=$(mktemp -d)
+trap 'rm -rf "$WORK_DIR"' EXIT
+
+NEW_ID=$(psql -Atc "SELECT id FROM status WHERE abbreviation = 'NEW'")
+SENT_ID=$(psql -Atc "SELECT id FROM status WHERE abbreviation = 'SENT'")
+ORDER_TYPE_ID=$(psql -Atc "SELECT id FROM order_type WHERE abbreviation = 'BUY'")
+
+cat > "$WORK_DIR/create.sql" <<EOF
+BEGIN;
+SET LOCAL synchronous_commit = :mode;
+INSERT INTO "order" (blotter_id, status_id, portfolio_id, order_type_id, security_id, quantity, version)
+VALUES (NULL, $NEW_ID, '$PORTFOLIO_ID', $ORDER_TYPE_ID, 'SECURITY0000000000000001', 100, 1);
+COMMIT;
+EOF
+
+cat > "$WORK_DIR/status-update.sql" <<EOF
+\set trade_order_id random(1, 2000000000)
+WITH claimed AS (
+    SELECT o.id FROM "order" o
+    WHERE o.trade_order_id IS NULL AND o.status_id = $NEW_ID AND o.portfolio_id = '$PORTFOLIO_ID'
+    ORDER BY o.id LIMIT 1 FOR UPDATE OF o SKIP LOCKED)
+UPDATE "order" o SET status_id = $SENT_ID, version = o.version + 1
+FROM claimed c WHERE o.id = c.id
+RETURNING o.id AS order_id, o.version AS order_version \gset
+BEGIN;
+SET LOCAL synchronous_commit = :mode;
+UPDATE "order" SET trade_order_id = :trade_order_id, version = version + 1
+WHERE id = :order_id AND version = :order_version AND trade_order_id IS NULL;
+COMMIT;
+EOF
+
+cleanup() {
+    psql -qc "DELETE FROM \"order\" WHERE portfolio_id = '$PORTFOLIO_ID'"
+}
+
+seed() {
+    psql -qc "INSERT INTO \"order\" (status_id, portfolio_id, order_type_id, security_id, quantity, version)
+              SELECT $NEW_ID, '$PORTFOLIO_ID', $ORDER_TYPE_ID, 'SECURITY0000000000000001', 100, 1
+              FROM generate_series(1, $((CLIENTS * TRANSACTIONS)))"
+    psql -qc "ANALYZE \"order\""
+}
+
+run() {
+    local script=$1 mode=$2
+    local tps
+    tps=$(pgbench -n -c "$CLIENTS" -j "$CLIENTS" -t "$TRANSACTIONS" -D mode="$mode" -f "$WORK_DIR/$script.sql" \
+        | awk '/^tps/ {print $3; exit}')
+    printf "%-14s synchronous_commit=%-3s %10s tps\n" "$script" "$mode" "$tps"
+}
+
+echo "clients=$CLIENTS transactions/client=$TRANSACTIONS"
+cleanup
+for mode in on off; do
+    run create "$mode"
+    cleanup
+done
+for mode in on off; do
+    seed
+    run status-update "$mode"
+    cleanup
+done
@@ -0,0 +1,139 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kasbench.globeco_order_service.service.ConnectionHoldTimeRecorder;
+import org.kasbench.globeco_order_service.service.DatabaseConnectionInterceptor;
+import org.kasbench.globeco_order_service.service.DatabaseMetricsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instrumentation overhead per connection acquisition over a pool that returns immediately:
+ * the former reflective DataSource proxy, the delegating DataSource wrapper, and the Hikari
+ * tracker callbacks (acquire plus release, including hold-time attribution).
+ * The proxy variant skips the pool MXBean read it used to do, so it is a lower bound.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per acquisition.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConnectionAcquisitionMetricsBenchmark {
+
+    private HikariDataSource unstartedPool;
+    private DataSource pool;
+    private DataSource reflectiveProxy;
+    private DataSource delegatingWrapper;
+    private IMetricsTracker tracker;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Never started; only used so DatabaseMetricsService registers its meters
+        unstartedPool = new HikariDataSource();
+        DatabaseMetricsService databaseMetricsService = new DatabaseMetricsService(meterRegistry, unstartedPool);
+        databaseMetricsService.initializeDatabaseMetrics();
+        DatabaseConnectionInterceptor interceptor = new DatabaseConnectionInterceptor(databaseMetricsService,
+                new ConnectionHoldTimeRecorder(meterRegistry), meterRegistry);
+
+        pool = new ImmediateDataSource();
+        reflectiveProxy = (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, new ReflectiveMetricsHandler(pool, databaseMetricsService));
+        delegatingWrapper = interceptor.wrapDataSource(pool);
+        tracker = interceptor.create("benchmark", new PoolStats(0) {
+            @Override
+            protected void update() {
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        unstartedPool.close();
+    }
+
+    @Benchmark
+    public Connection baseline() throws SQLException {
+        return pool.getConnection();
+    }
+
+    @Benchmark
+    public Connection reflectiveProxy() throws SQLException {
+        return reflectiveProxy.getConnection();
+    }
+
+    @Benchmark
+    public Connection delegatingWrapper() throws SQLException {
+        return delegatingWrapper.getConnection();
+    }
+
+    @Benchmark
+    public Connection hikariTracker() throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = pool.getConnection();
+        tracker.recordConnectionAcquiredNanos(System.nanoTime() - start);
+        tracker.recordConnectionUsageMillis(1);
+        return connection;
+    }
+
+    /**
+     * The InvocationHandler DatabaseConnectionInterceptor used before the tracker hooks.
+     */
+    private static final class ReflectiveMetricsHandler implements InvocationHandler {
+        private final DataSource target;
+        private final DatabaseMetricsService databaseMetricsService;
+
+        ReflectiveMetricsHandler(DataSource target, DatabaseMetricsService databaseMetricsService) {
+            this.target = target;
+            this.databaseMetricsService = databaseMetricsService;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!"getConnection".equals(method.getName())) {
+                return method.invoke(target, args);
+            }
+            Timer.Sample sample = databaseMetricsService.startConnectionAcquisitionTimer();
+            try {
+                Connection connection = (Connection) method.invoke(target, args);
+                databaseMetricsService.recordConnectionAcquisitionDuration(sample);
+                return connection;
+            } catch (InvocationTargetException e) {
+                databaseMetricsService.recordAcquisitionFailure();
+                databaseMetricsService.recordConnectionAcquisitionDuration(sample);
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ImmediateDataSource extends AbstractDataSource {
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) {
+            return null;
+        }
+    }
+}
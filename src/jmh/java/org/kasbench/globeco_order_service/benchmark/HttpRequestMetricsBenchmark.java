@@ -0,0 +1,69 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kasbench.globeco_order_service.config.MetricsProperties;
+import org.kasbench.globeco_order_service.service.HttpRequestMeterTable;
+import org.kasbench.globeco_order_service.service.HttpRequestMetricsService;
+import org.kasbench.globeco_order_service.service.RoutePatternSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of HTTP request metrics: string-keyed cached path vs the
+ * precomputed meter table. Both record the same counter and timer series.
+ * Also covers sanitizing a raw path that reaches the string-based fallback.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HttpRequestMetricsBenchmark {
+
+    private static final String PATTERN = "/api/v1/order/{id}";
+    private static final String RAW_PATH = "//api/v1/orders//12345/submit/?include=details";
+
+    private HttpRequestMetricsService metricsService;
+    private HttpRequestMeterTable meterTable;
+
+    @Setup
+    public void setUp() {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setEnabled(true);
+        properties.getHttp().setEnabled(true);
+        properties.getHttp().getRequest().setEnabled(true);
+
+        metricsService = new HttpRequestMetricsService(new SimpleMeterRegistry(), properties);
+        metricsService.initializeRouteTable(List.of("/api/v1/orders", PATTERN, "/api/v1/orders/batch/submit"));
+        meterTable = metricsService.getMeterTable();
+
+        // Register the meters up front so both benchmarks measure steady state
+        recordCached();
+        recordMeterTable();
+    }
+
+    @Benchmark
+    public void recordCached() {
+        metricsService.recordRequest("GET", PATTERN, 200, 1_250_000L);
+    }
+
+    @Benchmark
+    public void recordMeterTable() {
+        // Mirrors the interceptor: resolve the matched pattern and method, then record
+        int routeId = meterTable.routeId(PATTERN);
+        int methodIndex = HttpRequestMeterTable.methodIndex("GET");
+        metricsService.recordRequest(routeId, methodIndex, 200, 1_250_000L);
+    }
+
+    @Benchmark
+    public String sanitizeRawPath() {
+        return RoutePatternSanitizer.sanitize(RAW_PATH);
+    }
+}
@@ -0,0 +1,160 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kasbench.globeco_order_service.dto.BatchSubmitResponseDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.OrderWithDetailsDTO;
+import org.kasbench.globeco_order_service.dto.PortfolioDTO;
+import org.kasbench.globeco_order_service.dto.SecurityDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+import org.kasbench.globeco_order_service.entity.Blotter;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.kasbench.globeco_order_service.repository.BlotterRepository;
+import org.kasbench.globeco_order_service.repository.OrderRepository;
+import org.kasbench.globeco_order_service.repository.OrderTypeRepository;
+import org.kasbench.globeco_order_service.repository.StatusRepository;
+import org.kasbench.globeco_order_service.service.BatchUpdateService;
+import org.kasbench.globeco_order_service.service.BulkSubmissionPerformanceMonitor;
+import org.kasbench.globeco_order_service.service.OrderService;
+import org.kasbench.globeco_order_service.service.PortfolioCacheService;
+import org.kasbench.globeco_order_service.service.PortfolioServiceClient;
+import org.kasbench.globeco_order_service.service.SecurityCacheService;
+import org.kasbench.globeco_order_service.service.SecurityServiceClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * OrderService mapping on the read and bulk submission paths, per order:
+ * entity to OrderWithDetailsDTO with warm security/portfolio caches, entities to the
+ * trade service bulk request, and the trade service bulk response to the order service
+ * batch response. Repositories and downstream clients are stubs; the caches are warmed
+ * in setup so no stub is called while measuring.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderServiceMappingBenchmark {
+
+    private static final int ORDERS = 100;
+
+    private OrderService orderService;
+    private List<Order> orders;
+    private List<Integer> orderIds;
+    private BulkTradeOrderResponseDTO bulkResponse;
+
+    @Setup
+    public void setUp() {
+        Blotter blotter = Blotter.builder().id(1).name("Default").version(1).build();
+        Status status = Status.builder().id(1).abbreviation("NEW").description("New").version(1).build();
+        OrderType orderType = OrderType.builder().id(1).abbreviation("BUY").description("Buy").version(1).build();
+        OffsetDateTime timestamp = OffsetDateTime.parse("2024-06-01T12:00:00Z");
+
+        orders = new ArrayList<>(ORDERS);
+        orderIds = new ArrayList<>(ORDERS);
+        List<TradeOrderResultDTO> results = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            int id = i + 1;
+            orders.add(Order.builder()
+                    .id(id)
+                    .blotter(blotter)
+                    .status(status)
+                    .portfolioId("PORT" + (i % 10) + "2345678901234567890")
+                    .orderType(orderType)
+                    .securityId("SEC" + (i % 20) + "2345678901234567890")
+                    .quantity(new BigDecimal("100.00"))
+                    .limitPrice(new BigDecimal("50.25"))
+                    .orderTimestamp(timestamp)
+                    .version(1)
+                    .build());
+            orderIds.add(id);
+            results.add(i % 10 == 9
+                    ? TradeOrderResultDTO.failure(i, "Security not tradable")
+                    : TradeOrderResultDTO.success(i, TradeOrderResponseDTO.builder().id(10_000 + i).orderId(id).build()));
+        }
+        bulkResponse = BulkTradeOrderResponseDTO.builder()
+                .status("PARTIAL")
+                .message("Some trade orders failed")
+                .totalRequested(ORDERS)
+                .successful(ORDERS - ORDERS / 10)
+                .failed(ORDERS / 10)
+                .results(results)
+                .build();
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findAll()).thenReturn(orders);
+
+        SecurityServiceClient securityServiceClient = mock(SecurityServiceClient.class);
+        when(securityServiceClient.getSecurityBySecurityId(anyString())).thenAnswer(invocation ->
+                SecurityDTO.builder().securityId(invocation.getArgument(0)).ticker("TICK").build());
+        PortfolioServiceClient portfolioServiceClient = mock(PortfolioServiceClient.class);
+        when(portfolioServiceClient.getPortfolioByPortfolioId(anyString())).thenAnswer(invocation ->
+                PortfolioDTO.builder().portfolioId(invocation.getArgument(0)).name("Growth").build());
+
+        SecurityCacheService securityCacheService = new SecurityCacheService(securityServiceClient, Caffeine.newBuilder());
+        securityCacheService.initializeCache();
+        PortfolioCacheService portfolioCacheService = new PortfolioCacheService(portfolioServiceClient, Caffeine.newBuilder());
+        portfolioCacheService.initializeCache();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        orderService = new OrderService(
+                orderRepository,
+                mock(StatusRepository.class),
+                mock(BlotterRepository.class),
+                mock(OrderTypeRepository.class),
+                new RestTemplate(),
+                securityCacheService,
+                portfolioCacheService,
+                portfolioServiceClient,
+                securityServiceClient,
+                mock(PlatformTransactionManager.class),
+                meterRegistry,
+                new BulkSubmissionPerformanceMonitor(meterRegistry, true),
+                mock(BatchUpdateService.class),
+                "http://localhost:8082");
+
+        // Warm the caches so the benchmarks measure cache hits
+        orderService.getAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public List<OrderWithDetailsDTO> toDto() {
+        return orderService.getAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public BulkTradeOrderRequestDTO buildBulkTradeOrderRequest() {
+        return orderService.buildBulkTradeOrderRequest(orders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public BatchSubmitResponseDTO transformBulkResponseToOrderServiceFormat() {
+        return orderService.transformBulkResponseToOrderServiceFormat(bulkResponse, orderIds);
+    }
+}
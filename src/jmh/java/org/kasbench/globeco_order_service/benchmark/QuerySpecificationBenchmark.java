@@ -0,0 +1,58 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.service.FilteringSpecification;
+import org.kasbench.globeco_order_service.service.SortingSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning GET /orders query parameters into a Sort and a filter
+ * Specification. Predicates are built later against the JPA criteria API, so this
+ * measures parameter parsing and validation only.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QuerySpecificationBenchmark {
+
+    private static final String SORT = "-orderTimestamp,status.abbreviation,security.ticker,id";
+
+    private Map<String, String> filterParams;
+    private Map<String, String> resolvedSecurityIds;
+
+    @Setup
+    public void setUp() {
+        filterParams = new LinkedHashMap<>();
+        filterParams.put("status.abbreviation", "NEW,SENT");
+        filterParams.put("orderType.abbreviation", "BUY");
+        filterParams.put("blotter.name", "Default");
+        filterParams.put("security.ticker", "AAPL,MSFT,IBM");
+        resolvedSecurityIds = Map.of(
+                "AAPL", "SEC12345678901234567890",
+                "MSFT", "SEC22345678901234567890",
+                "IBM", "SEC32345678901234567890");
+    }
+
+    @Benchmark
+    public Specification<Order> createFilterSpecification() {
+        return FilteringSpecification.createFilterSpecification(filterParams, resolvedSecurityIds, Map.of());
+    }
+
+    @Benchmark
+    public Sort parseSort() {
+        return SortingSpecification.parseSort(SORT);
+    }
+}
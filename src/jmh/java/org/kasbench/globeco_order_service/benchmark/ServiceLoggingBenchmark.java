@@ -0,0 +1,99 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.kasbench.globeco_order_service.service.ServiceLogSampler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of per-order DEBUG detail logging for a 100-order submission, with service log
+ * sampling on and off, written through the same bounded async appender as production.
+ * The {@code linesLogged} counter reports log volume per submission.
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceLoggingBenchmark {
+
+    private static final int ORDERS_PER_SUBMISSION = 100;
+
+    @Param({"true", "false"})
+    public boolean samplingEnabled;
+
+    private LoggerContext loggerContext;
+    private Logger logger;
+    private ServiceLogSampler sampler;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LogVolume {
+        public long linesLogged;
+    }
+
+    @Setup
+    public void setUp() {
+        loggerContext = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p [%t] %logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(loggerContext);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(loggerContext);
+        async.setQueueSize(8192);
+        async.setNeverBlock(true);
+        async.addAppender(sink);
+        async.start();
+
+        logger = loggerContext.getLogger("org.kasbench.globeco_order_service.service.OrderService");
+        logger.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(async);
+
+        sampler = new ServiceLogSampler(new SimpleMeterRegistry(), samplingEnabled, 100, 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public int submitWithDetailLogging(LogVolume volume) {
+        int processed = 0;
+        for (int orderId = 0; orderId < ORDERS_PER_SUBMISSION; orderId++) {
+            if (sampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_SUBMIT)) {
+                logger.debug("Loaded order {} in read transaction", orderId);
+                volume.linesLogged++;
+            }
+            processed++;
+        }
+        return processed;
+    }
+}
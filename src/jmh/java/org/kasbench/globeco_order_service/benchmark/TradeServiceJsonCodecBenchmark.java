@@ -0,0 +1,130 @@
+package org.kasbench.globeco_order_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.service.TradeServiceJsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trade service payload encoding/decoding cost: streaming codec vs ObjectMapper.
+ * Bulk benchmarks report time per order so they compare directly with the single-order ones.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TradeServiceJsonCodecBenchmark {
+
+    private static final int ORDERS_PER_BULK = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private TradeOrderPostDTO tradeOrder;
+    private BulkTradeOrderRequestDTO bulkRequest;
+    private byte[] tradeOrderResponse;
+    private byte[] bulkResponse;
+
+    @Setup
+    public void setUp() {
+        tradeOrder = tradeOrder(1);
+        List<TradeOrderPostDTO> tradeOrders = new ArrayList<>(ORDERS_PER_BULK);
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < ORDERS_PER_BULK; i++) {
+            tradeOrders.add(tradeOrder(i + 1));
+            if (i > 0) {
+                results.append(',');
+            }
+            results.append("{\"requestIndex\":").append(i)
+                    .append(",\"status\":\"SUCCESS\",\"message\":\"Trade order created successfully\",\"tradeOrder\":{\"id\":")
+                    .append(10_000 + i).append(",\"orderId\":").append(i + 1)
+                    .append(",\"portfolioId\":\"PORT12345678901234567890\",\"orderType\":\"BUY\",")
+                    .append("\"securityId\":\"SEC12345678901234567890\",\"quantity\":100.00,\"limitPrice\":50.25,")
+                    .append("\"tradeTimestamp\":\"2024-06-01T12:00:00Z\",\"quantitySent\":0.00,\"submitted\":false,")
+                    .append("\"version\":1,\"blotter\":{\"id\":1,\"name\":\"Default\",\"version\":1}}}");
+        }
+        bulkRequest = BulkTradeOrderRequestDTO.of(tradeOrders);
+        tradeOrderResponse = ("{\"id\":4242,\"orderId\":1,\"portfolioId\":\"PORT12345678901234567890\",\"orderType\":\"BUY\","
+                + "\"securityId\":\"SEC12345678901234567890\",\"quantity\":100.00,\"submitted\":false,"
+                + "\"blotter\":{\"id\":1,\"name\":\"Default\",\"version\":1}}").getBytes(StandardCharsets.UTF_8);
+        bulkResponse = ("{\"status\":\"SUCCESS\",\"message\":\"All trade orders created successfully\",\"totalRequested\":"
+                + ORDERS_PER_BULK + ",\"successful\":" + ORDERS_PER_BULK + ",\"failed\":0,\"results\":[" + results + "]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeTradeOrderWithCodec() {
+        return TradeServiceJsonCodec.writeTradeOrder(tradeOrder);
+    }
+
+    @Benchmark
+    public byte[] encodeTradeOrderWithObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(tradeOrder);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_BULK)
+    public byte[] encodeBulkRequestWithCodec() {
+        return TradeServiceJsonCodec.writeBulkRequest(bulkRequest);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_BULK)
+    public byte[] encodeBulkRequestWithObjectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(bulkRequest);
+    }
+
+    @Benchmark
+    public Integer decodeTradeOrderIdWithCodec() {
+        return TradeServiceJsonCodec.readTradeOrderId(tradeOrderResponse);
+    }
+
+    @Benchmark
+    public Integer decodeTradeOrderIdWithTreeModel() throws Exception {
+        return new ObjectMapper().readTree(tradeOrderResponse).get("id").asInt();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_BULK)
+    public BulkTradeOrderResponseDTO decodeBulkResponseWithCodec() {
+        return TradeServiceJsonCodec.readBulkResponse(bulkResponse);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS_PER_BULK)
+    public BulkTradeOrderResponseDTO decodeBulkResponseWithObjectMapper() throws Exception {
+        return objectMapper.readValue(bulkResponse, BulkTradeOrderResponseDTO.class);
+    }
+
+    private static TradeOrderPostDTO tradeOrder(int orderId) {
+        return TradeOrderPostDTO.builder()
+                .orderId(orderId)
+                .portfolioId("PORT12345678901234567890")
+                .orderType("BUY")
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100.00"))
+                .limitPrice(new BigDecimal("50.25"))
+                .tradeTimestamp(OffsetDateTime.parse("2024-06-01T12:00:00Z"))
+                .blotterId(1)
+                .build();
+    }
+}
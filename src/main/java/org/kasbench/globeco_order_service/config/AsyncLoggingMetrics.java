@@ -0,0 +1,31 @@
+package org.kasbench.globeco_order_service.config;
+
+import ch.qos.logback.classic.Level;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exports the log events dropped by {@link MeteredAsyncAppender}, by level and reason.
+ * A non-zero {@code level="warn"} or {@code level="error"} count means the console queue
+ * overflowed and warnings or errors were lost.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String reason : new String[] {MeteredAsyncAppender.REASON_DISCARDED, MeteredAsyncAppender.REASON_QUEUE_FULL}) {
+            for (Level level : MeteredAsyncAppender.LEVELS) {
+                FunctionCounter.builder("logging.async.dropped", level,
+                                l -> MeteredAsyncAppender.droppedCount(l, reason))
+                        .description("Log events dropped by the async console appender")
+                        .tag("service", "order")
+                        .tag("level", level.levelStr.toLowerCase())
+                        .tag("reason", reason)
+                        .register(registry);
+            }
+        }
+    }
+}
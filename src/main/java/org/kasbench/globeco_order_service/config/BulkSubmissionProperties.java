@@ -210,8 +210,37 @@ public class BulkSubmissionProperties {
 
         /**
          * Maximum memory usage threshold for batch processing (in MB).
+         * Caps the heap budget shared by concurrent bulk submissions.
          */
         private long maxMemoryUsageMb = 256;
+
+        /**
+         * Estimated heap footprint of one order while it is being submitted (in bytes):
+         * the loaded entity, the trade order request and its JSON, and the result.
+         */
+        private long estimatedBytesPerOrder = 4096;
+
+        /**
+         * Share of the maximum heap that concurrent bulk submissions may hold (in percent).
+         * The budget is the lower of this and maxMemoryUsageMb.
+         */
+        private int heapBudgetPercent = 25;
+
+        /**
+         * Heap utilization (0.0-1.0) above which bulk submissions are processed in chunks.
+         */
+        private double memoryPressureThreshold = 0.80;
+
+        /**
+         * Number of orders loaded and submitted at a time while heap utilization is
+         * above the pressure threshold.
+         */
+        private int memoryPressureChunkSize = 25;
+
+        /**
+         * How long a bulk submission waits for heap budget before it is rejected (in milliseconds).
+         */
+        private long memoryAdmissionTimeoutMs = 2000;
     }
 
     /**
@@ -274,6 +303,28 @@ public class BulkSubmissionProperties {
         if (performance.asyncThreadPoolSize < 1) {
             performance.asyncThreadPoolSize = 1;
         }
+
+        if (performance.estimatedBytesPerOrder < 1) {
+            performance.estimatedBytesPerOrder = 1024;
+        }
+
+        if (performance.heapBudgetPercent < 1) {
+            performance.heapBudgetPercent = 1;
+        } else if (performance.heapBudgetPercent > 90) {
+            performance.heapBudgetPercent = 90;
+        }
+
+        if (performance.memoryPressureThreshold <= 0.0 || performance.memoryPressureThreshold > 1.0) {
+            performance.memoryPressureThreshold = 0.80;
+        }
+
+        if (performance.memoryPressureChunkSize < 1) {
+            performance.memoryPressureChunkSize = 1;
+        }
+
+        if (performance.memoryAdmissionTimeoutMs < 0) {
+            performance.memoryAdmissionTimeoutMs = 0;
+        }
     }
 
     /**
@@ -379,8 +430,7 @@ public class BulkSubmissionProperties {
         
         // Apply memory-based limits if memory optimization is enabled
         if (performance.memoryOptimizationEnabled) {
-            // Estimate memory usage per order (rough estimate: 1KB per order)
-            long estimatedMemoryPerOrder = 1024; // 1KB
+            long estimatedMemoryPerOrder = Math.max(1, performance.estimatedBytesPerOrder);
             long maxOrdersForMemory = (performance.maxMemoryUsageMb * 1024 * 1024) / estimatedMemoryPerOrder;
             
             if (maxOrdersForMemory < configuredMax) {
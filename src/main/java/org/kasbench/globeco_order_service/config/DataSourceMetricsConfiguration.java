@@ -0,0 +1,43 @@
+package org.kasbench.globeco_order_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.service.DatabaseConnectionInterceptor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs {@link DatabaseConnectionInterceptor} as the metrics tracker factory of the
+ * application's Hikari pool before the pool starts. The interceptor is resolved when the
+ * pool starts rather than here, because it depends on the DataSource itself.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "metrics.database.enabled", havingValue = "true", matchIfMissing = false)
+public class DataSourceMetricsConfiguration {
+
+    @Bean
+    public static BeanPostProcessor databaseConnectionMetricsPostProcessor(
+            ObjectProvider<DatabaseConnectionInterceptor> interceptorProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof HikariDataSource hikari) {
+                    if (hikari.getMetricsTrackerFactory() == null && hikari.getMetricRegistry() == null) {
+                        hikari.setMetricsTrackerFactory((poolName, poolStats) ->
+                                interceptorProvider.getObject().create(poolName, poolStats));
+                        log.info("Registered database connection metrics tracker on DataSource bean '{}'", beanName);
+                    } else {
+                        log.warn("DataSource bean '{}' already has a Hikari metrics tracker, connection metrics not installed",
+                                beanName);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
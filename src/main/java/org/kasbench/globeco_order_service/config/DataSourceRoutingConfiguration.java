@@ -0,0 +1,138 @@
+package org.kasbench.globeco_order_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.service.ReplicaRoutingDataSource;
+import org.kasbench.globeco_order_service.service.TelemetrySampler;
+import org.kasbench.globeco_order_service.service.WorkloadPoolMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes each transaction to a connection pool by its type.
+ *
+ * The application DataSource becomes a {@link LazyConnectionDataSourceProxy} over the
+ * OLTP pool configured from spring.datasource.* as before. The proxy only fetches a
+ * connection on first use, once the transaction manager has marked it read-only or not.
+ * Writes always use the OLTP pool. Read-only transactions
+ * ({@code @Transactional(readOnly = true)}, {@code readOnlyTransactionTemplate} and the
+ * repositories' own read methods behind listings, counts and lookups) use:
+ * <ul>
+ *   <li>the replicas, when database.replica.enabled (see {@link ReadReplicaConfiguration}),
+ *       falling back to the analytics pool or, without isolation, the OLTP pool;</li>
+ *   <li>otherwise the analytics pool, when database.pools.isolation-enabled.</li>
+ * </ul>
+ * With isolation, slow filtered listings can only exhaust the analytics pool, and each
+ * pool's statement timeout bounds how long one statement can hold a connection.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(WorkloadPoolProperties.class)
+@ConditionalOnExpression("${database.replica.enabled:false} or ${database.pools.isolation-enabled:false}")
+public class DataSourceRoutingConfiguration {
+
+    private final WorkloadPoolProperties poolProperties;
+
+    @Autowired
+    public DataSourceRoutingConfiguration(WorkloadPoolProperties poolProperties) {
+        this.poolProperties = poolProperties;
+    }
+
+    @PostConstruct
+    public void initializeDataSourceRoutingConfiguration() {
+        poolProperties.validate();
+        if (poolProperties.isIsolationEnabled()) {
+            log.info("Workload pool isolation enabled - oltpStatementTimeoutMs={}, analytics maximumPoolSize={}, statementTimeoutMs={}",
+                    poolProperties.getOltpStatementTimeoutMs(), poolProperties.getAnalytics().getMaximumPoolSize(),
+                    poolProperties.getAnalytics().getStatementTimeoutMs());
+        }
+    }
+
+    /**
+     * The OLTP pool, built from spring.datasource.* and spring.datasource.hikari.* as the
+     * auto-configured pool would be.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (poolProperties.isIsolationEnabled()) {
+            pool.setConnectionInitSql(WorkloadPoolProperties.statementTimeoutSql(poolProperties.getOltpStatementTimeoutMs()));
+        }
+        return pool;
+    }
+
+    /**
+     * The analytics pool: the same database as the OLTP pool, sized and timed out for list,
+     * export and count queries.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "database.pools.isolation-enabled", havingValue = "true")
+    public HikariDataSource analyticsDataSource(DataSourceProperties dataSourceProperties) {
+        WorkloadPoolProperties.Analytics analytics = poolProperties.getAnalytics();
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("GlobecoOrderServiceAnalyticsPool");
+        pool.setMaximumPoolSize(analytics.getMaximumPoolSize());
+        pool.setMinimumIdle(analytics.getMinimumIdle());
+        pool.setConnectionTimeout(analytics.getConnectionTimeoutMs());
+        pool.setConnectionInitSql(WorkloadPoolProperties.statementTimeoutSql(analytics.getStatementTimeoutMs()));
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    /**
+     * Unpooled connections for Flyway, so migrations that rewrite whole tables are not cut
+     * off by the OLTP statement timeout.
+     */
+    @Bean
+    @FlywayDataSource
+    @ConditionalOnProperty(name = "database.pools.isolation-enabled", havingValue = "true")
+    public DataSource flywayDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "database.pools.isolation-enabled", havingValue = "true")
+    public WorkloadPoolMetrics workloadPoolMetrics(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("analyticsDataSource") HikariDataSource analyticsDataSource,
+            ObjectProvider<TelemetrySampler> telemetrySampler, MeterRegistry meterRegistry) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        pools.put("oltp", primaryDataSource);
+        pools.put("analytics", analyticsDataSource);
+        return new WorkloadPoolMetrics(pools, telemetrySampler.getIfAvailable(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+            @Qualifier("analyticsDataSource") ObjectProvider<HikariDataSource> analyticsDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaryDataSource);
+        DataSource readOnlyDataSource = replicaRoutingDataSource.getIfAvailable();
+        if (readOnlyDataSource == null) {
+            readOnlyDataSource = analyticsDataSource.getIfAvailable();
+        }
+        if (readOnlyDataSource != null) {
+            proxy.setReadOnlyDataSource(readOnlyDataSource);
+        }
+        return proxy;
+    }
+}
@@ -0,0 +1,67 @@
+package org.kasbench.globeco_order_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.service.ExternalServiceGuard;
+import org.kasbench.globeco_order_service.service.SlidingWindowCircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-downstream bulkheads and circuit breakers.
+ * Each external service gets its own {@link ExternalServiceGuard} so an outage or
+ * slowdown in one service is contained to the callers of that service. Together with
+ * the dedicated connection pools in {@link HttpClientConfiguration}, a portfolio service
+ * outage cannot consume capacity needed for trade submission.
+ */
+@Configuration
+public class ExternalServiceResilienceConfiguration {
+
+    @Bean("securityServiceGuard")
+    public ExternalServiceGuard securityServiceGuard(
+            MeterRegistry meterRegistry,
+            @Value("${security.service.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${security.service.bulkhead.max-wait-ms:0}") long maxWaitMs,
+            @Value("${security.service.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${security.service.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${security.service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${security.service.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${security.service.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        return new ExternalServiceGuard("security-service", maxConcurrent, maxWaitMs,
+                new SlidingWindowCircuitBreaker("security-service", windowSize, minimumCalls,
+                        failureRateThreshold, openDurationMs, halfOpenProbes),
+                meterRegistry);
+    }
+
+    @Bean("portfolioServiceGuard")
+    public ExternalServiceGuard portfolioServiceGuard(
+            MeterRegistry meterRegistry,
+            @Value("${portfolio.service.bulkhead.max-concurrent:20}") int maxConcurrent,
+            @Value("${portfolio.service.bulkhead.max-wait-ms:0}") long maxWaitMs,
+            @Value("${portfolio.service.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${portfolio.service.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${portfolio.service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${portfolio.service.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${portfolio.service.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        return new ExternalServiceGuard("portfolio-service", maxConcurrent, maxWaitMs,
+                new SlidingWindowCircuitBreaker("portfolio-service", windowSize, minimumCalls,
+                        failureRateThreshold, openDurationMs, halfOpenProbes),
+                meterRegistry);
+    }
+
+    @Bean("tradeServiceGuard")
+    public ExternalServiceGuard tradeServiceGuard(
+            MeterRegistry meterRegistry,
+            @Value("${trade.service.bulkhead.max-concurrent:100}") int maxConcurrent,
+            @Value("${trade.service.bulkhead.max-wait-ms:0}") long maxWaitMs,
+            @Value("${trade.service.circuit-breaker.window-size:50}") int windowSize,
+            @Value("${trade.service.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${trade.service.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${trade.service.circuit-breaker.open-duration-ms:10000}") long openDurationMs,
+            @Value("${trade.service.circuit-breaker.half-open-probes:3}") int halfOpenProbes) {
+        return new ExternalServiceGuard("trade-service", maxConcurrent, maxWaitMs,
+                new SlidingWindowCircuitBreaker("trade-service", windowSize, minimumCalls,
+                        failureRateThreshold, openDurationMs, halfOpenProbes),
+                meterRegistry);
+    }
+}
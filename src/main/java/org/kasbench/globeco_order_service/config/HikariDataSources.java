@@ -0,0 +1,33 @@
+package org.kasbench.globeco_order_service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Resolves the primary Hikari pool behind the application DataSource, which is wrapped
+ * in a routing proxy when read replicas are enabled.
+ */
+public final class HikariDataSources {
+
+    private HikariDataSources() {
+    }
+
+    /**
+     * @return the Hikari pool the DataSource is or wraps, or null if there is none
+     */
+    public static HikariDataSource unwrap(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari;
+        }
+        if (dataSource == null) {
+            return null;
+        }
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
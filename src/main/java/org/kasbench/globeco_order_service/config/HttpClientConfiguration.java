@@ -1,17 +1,30 @@
 package org.kasbench.globeco_order_service.config;
 
 import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
 import org.apache.hc.core5.http.HeaderElement;
 import org.apache.hc.core5.http.HeaderElements;
 import org.apache.hc.core5.http.HttpResponse;
 import org.apache.hc.core5.http.message.MessageSupport;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,6 +39,9 @@ import java.util.concurrent.TimeUnit;
  * Configuration class for HTTP client components used for external service communication.
  * This configuration provides optimized HTTP connection pooling for Portfolio Service,
  * Security Service, and Trade Service calls with proper connection reuse and keep-alive.
+ * Security and Portfolio Service each get their own connection pool and RestTemplate so a
+ * slow or hung lookup service cannot drain connections needed for trade submission; the
+ * primary pool serves the Trade Service.
  */
 @Configuration
 public class HttpClientConfiguration {
@@ -136,7 +152,8 @@ public class HttpClientConfiguration {
 
     /**
      * Creates a RestTemplate configured with the pooled HTTP client.
-     * This RestTemplate is used by all external service clients (Portfolio, Security, Trade).
+     * This RestTemplate is used for Trade Service calls; the lookup services use
+     * their own pools (see {@link #securityServiceRestTemplate} and {@link #portfolioServiceRestTemplate}).
      * 
      * @param httpClient the configured HTTP client with connection pooling
      * @return configured RestTemplate
@@ -164,6 +181,104 @@ public class HttpClientConfiguration {
         }
     }
 
+    /**
+     * Creates the connection pool dedicated to the Security Service.
+     *
+     * @param maxConnections maximum number of pooled connections to the security service
+     * @return configured PoolingHttpClientConnectionManager
+     */
+    @Bean("securityServiceConnectionManager")
+    public PoolingHttpClientConnectionManager securityServiceConnectionManager(
+            @Value("${security.service.max-connections:20}") int maxConnections) {
+        return createServiceConnectionManager("security-service", maxConnections);
+    }
+
+    /**
+     * Creates the RestTemplate used by SecurityServiceClient, backed by its own pool.
+     *
+     * @param connectionManager the security service connection pool
+     * @param keepAliveStrategy the shared keep-alive strategy
+     * @param readTimeoutMs read timeout for security service calls
+     * @return configured RestTemplate
+     */
+    @Bean("securityServiceRestTemplate")
+    public RestTemplate securityServiceRestTemplate(
+            @Qualifier("securityServiceConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            ConnectionKeepAliveStrategy keepAliveStrategy,
+            @Value("${security.service.timeout:5000}") int readTimeoutMs) {
+        return createServiceRestTemplate("security-service", connectionManager, keepAliveStrategy, readTimeoutMs);
+    }
+
+    /**
+     * Creates the connection pool dedicated to the Portfolio Service.
+     *
+     * @param maxConnections maximum number of pooled connections to the portfolio service
+     * @return configured PoolingHttpClientConnectionManager
+     */
+    @Bean("portfolioServiceConnectionManager")
+    public PoolingHttpClientConnectionManager portfolioServiceConnectionManager(
+            @Value("${portfolio.service.max-connections:20}") int maxConnections) {
+        return createServiceConnectionManager("portfolio-service", maxConnections);
+    }
+
+    /**
+     * Creates the RestTemplate used by PortfolioServiceClient, backed by its own pool.
+     *
+     * @param connectionManager the portfolio service connection pool
+     * @param keepAliveStrategy the shared keep-alive strategy
+     * @param readTimeoutMs read timeout for portfolio service calls
+     * @return configured RestTemplate
+     */
+    @Bean("portfolioServiceRestTemplate")
+    public RestTemplate portfolioServiceRestTemplate(
+            @Qualifier("portfolioServiceConnectionManager") PoolingHttpClientConnectionManager connectionManager,
+            ConnectionKeepAliveStrategy keepAliveStrategy,
+            @Value("${portfolio.service.timeout:5000}") int readTimeoutMs) {
+        return createServiceRestTemplate("portfolio-service", connectionManager, keepAliveStrategy, readTimeoutMs);
+    }
+
+    private PoolingHttpClientConnectionManager createServiceConnectionManager(String serviceName, int maxConnections) {
+        logger.info("Creating dedicated PoolingHttpClientConnectionManager for {} - maxConnections={}",
+                serviceName, maxConnections);
+
+        try {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxConnections);
+            connectionManager.setDefaultMaxPerRoute(maxConnections);
+            return connectionManager;
+
+        } catch (Exception e) {
+            logger.error("Failed to create {} PoolingHttpClientConnectionManager: {}", serviceName, e.getMessage(), e);
+            throw new RuntimeException("Failed to configure " + serviceName + " HTTP connection manager", e);
+        }
+    }
+
+    private RestTemplate createServiceRestTemplate(String serviceName,
+            PoolingHttpClientConnectionManager connectionManager,
+            ConnectionKeepAliveStrategy keepAliveStrategy,
+            int readTimeoutMs) {
+        logger.info("Creating RestTemplate for {} - connectTimeout={}ms, readTimeout={}ms",
+                serviceName, CONNECT_TIMEOUT_MS, readTimeoutMs);
+
+        try {
+            CloseableHttpClient httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    .setKeepAliveStrategy(keepAliveStrategy)
+                    .build();
+
+            HttpComponentsClientHttpRequestFactory factory = new HttpComponentsClientHttpRequestFactory(httpClient);
+            factory.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            factory.setConnectionRequestTimeout(CONNECT_TIMEOUT_MS);
+            factory.setReadTimeout(readTimeoutMs);
+            return new RestTemplate(factory);
+
+        } catch (Exception e) {
+            logger.error("Failed to create {} RestTemplate: {}", serviceName, e.getMessage(), e);
+            throw new RuntimeException("Failed to configure " + serviceName + " RestTemplate", e);
+        }
+    }
+
     /**
      * Creates a separate PoolingHttpClientConnectionManager for metrics monitoring.
      * This is isolated from the main connection pool to avoid interference.
@@ -216,4 +331,99 @@ public class HttpClientConfiguration {
             throw new RuntimeException("Failed to configure metrics HTTP client", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a non-blocking connection manager dedicated to the Trade Service.
+     * With HTTP/2 a single connection per route multiplexes many concurrent submissions;
+     * with HTTP/1.1 connections are kept alive and reused across requests.
+     * The version policy is configurable because plain-HTTP deployments can only use
+     * HTTP/2 through prior knowledge (FORCE_HTTP_2), while TLS endpoints negotiate via ALPN.
+     *
+     * @param versionPolicy NEGOTIATE, FORCE_HTTP_1 or FORCE_HTTP_2
+     * @param maxConnections maximum number of pooled connections to the trade service
+     * @return configured PoolingAsyncClientConnectionManager
+     */
+    @Bean("tradeServiceAsyncConnectionManager")
+    @ConditionalOnProperty(name = "trade.service.async.enabled", havingValue = "true")
+    public PoolingAsyncClientConnectionManager tradeServiceAsyncConnectionManager(
+            @Value("${trade.service.async.version-policy:NEGOTIATE}") String versionPolicy,
+            @Value("${trade.service.async.max-connections:" + MAX_CONNECTIONS_PER_ROUTE + "}") int maxConnections) {
+        logger.info("Creating PoolingAsyncClientConnectionManager for trade service - versionPolicy={}, maxConnections={}",
+                versionPolicy, maxConnections);
+
+        try {
+            PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(maxConnections)
+                    .setMaxConnPerRoute(maxConnections)
+                    .setDefaultTlsConfig(TlsConfig.custom()
+                            .setVersionPolicy(HttpVersionPolicy.valueOf(versionPolicy.trim().toUpperCase()))
+                            .build())
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.ofMilliseconds(CONNECT_TIMEOUT_MS))
+                            .setTimeToLive(TimeValue.ofMinutes(5))
+                            .build())
+                    .build();
+
+            logger.info("Trade service PoolingAsyncClientConnectionManager created successfully");
+            return connectionManager;
+
+        } catch (Exception e) {
+            logger.error("Failed to create trade service PoolingAsyncClientConnectionManager: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to configure trade service async connection manager", e);
+        }
+    }
+
+    /**
+     * Creates and starts the non-blocking HTTP client used for Trade Service submissions.
+     * Requests are driven by a small number of I/O reactor threads, so an in-flight
+     * submission no longer pins a request thread while the trade service responds.
+     *
+     * @param connectionManager the async connection manager for the trade service
+     * @param keepAliveStrategy the keep-alive strategy shared with the blocking client
+     * @param readTimeoutMs response timeout for trade service calls
+     * @param maxConcurrentStreams maximum concurrent HTTP/2 streams per connection
+     * @param ioThreads number of I/O reactor threads (0 uses the number of available processors)
+     * @return started CloseableHttpAsyncClient
+     */
+    @Bean("tradeServiceAsyncHttpClient")
+    @ConditionalOnProperty(name = "trade.service.async.enabled", havingValue = "true")
+    public CloseableHttpAsyncClient tradeServiceAsyncHttpClient(
+            PoolingAsyncClientConnectionManager tradeServiceAsyncConnectionManager,
+            ConnectionKeepAliveStrategy keepAliveStrategy,
+            @Value("${trade.service.timeout:" + READ_TIMEOUT_MS + "}") long readTimeoutMs,
+            @Value("${trade.service.async.max-concurrent-streams:100}") int maxConcurrentStreams,
+            @Value("${trade.service.async.io-threads:0}") int ioThreads) {
+        logger.info("Creating CloseableHttpAsyncClient for trade service - responseTimeout={}ms, maxConcurrentStreams={}",
+                readTimeoutMs, maxConcurrentStreams);
+
+        try {
+            IOReactorConfig.Builder ioReactorConfig = IOReactorConfig.custom()
+                    .setSoTimeout(Timeout.ofMilliseconds(readTimeoutMs));
+            if (ioThreads > 0) {
+                ioReactorConfig.setIoThreadCount(ioThreads);
+            }
+
+            CloseableHttpAsyncClient httpClient = HttpAsyncClients.custom()
+                    .setConnectionManager(tradeServiceAsyncConnectionManager)
+                    .setKeepAliveStrategy(keepAliveStrategy)
+                    .setIOReactorConfig(ioReactorConfig.build())
+                    .setH2Config(H2Config.custom()
+                            .setMaxConcurrentStreams(maxConcurrentStreams)
+                            .setPushEnabled(false)
+                            .build())
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.ofMilliseconds(CONNECT_TIMEOUT_MS))
+                            .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                            .build())
+                    .build();
+            httpClient.start();
+
+            logger.info("Trade service CloseableHttpAsyncClient started successfully");
+            return httpClient;
+
+        } catch (Exception e) {
+            logger.error("Failed to create trade service CloseableHttpAsyncClient: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to configure trade service async HTTP client", e);
+        }
+    }
+}
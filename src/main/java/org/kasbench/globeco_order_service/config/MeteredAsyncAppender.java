@@ -0,0 +1,65 @@
+package org.kasbench.globeco_order_service.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that counts the events it does not deliver, so dropped log lines show up
+ * in {@code logging.async.dropped} instead of disappearing silently. Two reasons are told apart:
+ * <ul>
+ *   <li>{@code discarded}: TRACE/DEBUG/INFO events skipped by design once the queue is past
+ *       its discarding threshold;</li>
+ *   <li>{@code queue_full}: events of any level, WARN and ERROR included, lost because the
+ *       queue was full and never-block is set.</li>
+ * </ul>
+ * The queue is checked just before the event is handed to the base class, so a burst from
+ * many threads can be slightly undercounted. Configured in {@code logback-spring.xml};
+ * exported by {@link AsyncLoggingMetrics}.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    static final String REASON_DISCARDED = "discarded";
+    static final String REASON_QUEUE_FULL = "queue_full";
+
+    static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+
+    // Shared by all instances: logback creates the appender before the meter registry exists
+    private static final LongAdder[] DISCARDED = newCounters();
+    private static final LongAdder[] QUEUE_FULL = newCounters();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            DISCARDED[levelIndex(event.getLevel())].increment();
+        } else if (remaining == 0 && isNeverBlock()) {
+            QUEUE_FULL[levelIndex(event.getLevel())].increment();
+        }
+        super.append(event);
+    }
+
+    static long droppedCount(Level level, String reason) {
+        LongAdder[] counters = REASON_QUEUE_FULL.equals(reason) ? QUEUE_FULL : DISCARDED;
+        return counters[levelIndex(level)].sum();
+    }
+
+    private static int levelIndex(Level level) {
+        for (int i = LEVELS.length - 1; i > 0; i--) {
+            if (level.isGreaterOrEqual(LEVELS[i])) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[LEVELS.length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,109 @@
+package org.kasbench.globeco_order_service.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.service.ReadYourWritesInterceptor;
+import org.kasbench.globeco_order_service.service.ReplicaRoutingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Routes read-only transactions to PostgreSQL replicas.
+ *
+ * {@link DataSourceRoutingConfiguration} hands read-only transactions to the
+ * {@link ReplicaRoutingDataSource} defined here, so order listings, counts, lookups and
+ * reference-data reads go to the replicas while every write stays on the primary. Reads
+ * that cannot use a replica fall back to the primary database through the analytics
+ * pool when workload pools are isolated, and through the OLTP pool otherwise.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "database.replica.enabled", havingValue = "true", matchIfMissing = false)
+public class ReadReplicaConfiguration implements WebMvcConfigurer {
+
+    private final ReadReplicaProperties replicaProperties;
+    private final WorkloadPoolProperties poolProperties;
+
+    @Autowired
+    public ReadReplicaConfiguration(ReadReplicaProperties replicaProperties, WorkloadPoolProperties poolProperties) {
+        this.replicaProperties = replicaProperties;
+        this.poolProperties = poolProperties;
+    }
+
+    @PostConstruct
+    public void initializeReadReplicaConfiguration() {
+        replicaProperties.validate();
+        if (replicaProperties.getUrls().isEmpty()) {
+            log.warn("Read replica routing is enabled but database.replica.urls is empty; all reads go to the primary");
+        }
+        log.info("Read replica routing enabled - replicas={}, maxLagMs={}, readYourWritesWindowMs={}",
+                replicaProperties.getUrls().size(), replicaProperties.getMaxLagMs(),
+                replicaProperties.getReadYourWritesWindowMs());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("analyticsDataSource") ObjectProvider<HikariDataSource> analyticsDataSource,
+            MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.getUrls().size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, createReplicaPool(name, replicaProperties.getUrls().get(i), dataSourceProperties));
+        }
+        DataSource fallback = analyticsDataSource.getIfAvailable(() -> primaryDataSource);
+        return new ReplicaRoutingDataSource(fallback, replicas, replicaProperties.getMaxLagMs(), meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor() {
+        return new ReadYourWritesInterceptor(replicaProperties.getClientIdHeader(),
+                replicaProperties.getReadYourWritesWindowMs());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(readYourWritesInterceptor())
+                .addPathPatterns("/**");
+        log.info("Registered ReadYourWritesInterceptor for all paths");
+    }
+
+    private HikariDataSource createReplicaPool(String name, String url, DataSourceProperties dataSourceProperties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("GlobecoOrderServiceReplicaPool-" + name);
+        config.setJdbcUrl(url);
+        config.setUsername(replicaProperties.getUsername() != null
+                ? replicaProperties.getUsername() : dataSourceProperties.determineUsername());
+        config.setPassword(replicaProperties.getPassword() != null
+                ? replicaProperties.getPassword() : dataSourceProperties.determinePassword());
+        config.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        config.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        config.setMinimumIdle(replicaProperties.getMinimumIdle());
+        config.setConnectionTimeout(replicaProperties.getConnectionTimeoutMs());
+        config.setReadOnly(true);
+        if (poolProperties.isIsolationEnabled()) {
+            // Replicas serve the analytics workload
+            config.setConnectionInitSql(WorkloadPoolProperties.statementTimeoutSql(
+                    poolProperties.getAnalytics().getStatementTimeoutMs()));
+        }
+        // A replica that is down at startup is skipped by the lag check instead of failing the service
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
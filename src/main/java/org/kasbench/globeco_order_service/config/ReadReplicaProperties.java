@@ -0,0 +1,81 @@
+package org.kasbench.globeco_order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Configuration properties for routing read-only transactions to PostgreSQL replicas.
+ * Maps to properties under the "database.replica" prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "database.replica")
+public class ReadReplicaProperties {
+
+    /**
+     * Route read-only transactions to the replicas in {@code urls}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the replicas; reads are spread across the replicas within the lag bound.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    /**
+     * Replica credentials; the primary's are used when not set.
+     */
+    private String username;
+
+    private String password;
+
+    /**
+     * Connections per replica pool.
+     */
+    private int maximumPoolSize = 20;
+
+    private int minimumIdle = 5;
+
+    private long connectionTimeoutMs = 2000;
+
+    /**
+     * A replica further behind the primary than this is skipped until it catches up.
+     */
+    private long maxLagMs = 1000;
+
+    /**
+     * How often each replica's replay lag is measured. A replica that cannot be measured
+     * is skipped.
+     */
+    private long lagCheckIntervalMs = 1000;
+
+    /**
+     * After a client's create or submit, its reads go to the primary for this long.
+     */
+    private long readYourWritesWindowMs = 5000;
+
+    /**
+     * Header identifying the client for read-your-writes; the remote address is used
+     * when it is absent.
+     */
+    private String clientIdHeader = "X-Client-Id";
+
+    /**
+     * Validates and normalizes the configuration.
+     */
+    public void validate() {
+        urls = urls == null ? new ArrayList<>() : urls.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toCollection(ArrayList::new));
+        maximumPoolSize = Math.max(1, maximumPoolSize);
+        minimumIdle = Math.max(0, Math.min(minimumIdle, maximumPoolSize));
+        connectionTimeoutMs = Math.max(250, connectionTimeoutMs);
+        maxLagMs = Math.max(0, maxLagMs);
+        lagCheckIntervalMs = Math.max(100, lagCheckIntervalMs);
+        readYourWritesWindowMs = Math.max(0, readYourWritesWindowMs);
+    }
+}
@@ -0,0 +1,51 @@
+package org.kasbench.globeco_order_service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.kasbench.globeco_order_service.service.ServiceLogSampler;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Turns on debug tracing for a single request when it carries the debug header
+ * ({@code X-Debug-Trace: true} by default). The request is marked in the MDC under
+ * {@link ServiceLogSampler#REQUEST_DEBUG_MDC_KEY}; {@link RequestDebugTurboFilter}
+ * then lets the service's DEBUG lines through for that request even when the
+ * configured level is INFO, and {@link ServiceLogSampler} skips sampling for it.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "service.logging.request-debug.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestDebugLoggingFilter extends OncePerRequestFilter {
+
+    private final String headerName;
+
+    public RequestDebugLoggingFilter(
+            @Value("${service.logging.request-debug.header:X-Debug-Trace}") String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!"true".equalsIgnoreCase(request.getHeader(headerName))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        MDC.put(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY);
+        }
+    }
+}
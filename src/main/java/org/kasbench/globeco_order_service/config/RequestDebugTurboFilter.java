@@ -0,0 +1,37 @@
+package org.kasbench.globeco_order_service.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.kasbench.globeco_order_service.service.ServiceLogSampler;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that accepts DEBUG and higher events of the application's loggers
+ * while the current request is marked for debug tracing by {@link RequestDebugLoggingFilter}.
+ * Other events are left to the configured levels. Configured in {@code logback-spring.xml}.
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "org.kasbench.globeco_order_service";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || level == null || !level.isGreaterOrEqual(Level.DEBUG)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (logger.getName().startsWith(loggerPrefix) && ServiceLogSampler.isRequestDebugEnabled()) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+}
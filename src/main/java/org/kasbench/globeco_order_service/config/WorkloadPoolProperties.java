@@ -0,0 +1,58 @@
+package org.kasbench.globeco_order_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for isolating short OLTP work from long analytical reads in
+ * separate connection pools. Maps to properties under the "database.pools" prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "database.pools")
+public class WorkloadPoolProperties {
+
+    /**
+     * Serve read-only transactions from the analytics pool instead of the pool configured
+     * under spring.datasource.hikari, which then only serves writes and submissions.
+     */
+    private boolean isolationEnabled = false;
+
+    /**
+     * Statement timeout on the OLTP pool's connections; 0 disables it.
+     */
+    private long oltpStatementTimeoutMs = 5000;
+
+    private Analytics analytics = new Analytics();
+
+    @Data
+    public static class Analytics {
+        private int maximumPoolSize = 10;
+
+        private int minimumIdle = 2;
+
+        private long connectionTimeoutMs = 3000;
+
+        /**
+         * Statement timeout on the analytics pool's connections; 0 disables it.
+         */
+        private long statementTimeoutMs = 30000;
+    }
+
+    /**
+     * Validates and normalizes the configuration.
+     */
+    public void validate() {
+        oltpStatementTimeoutMs = Math.max(0, oltpStatementTimeoutMs);
+        analytics.maximumPoolSize = Math.max(1, analytics.maximumPoolSize);
+        analytics.minimumIdle = Math.max(0, Math.min(analytics.minimumIdle, analytics.maximumPoolSize));
+        analytics.connectionTimeoutMs = Math.max(250, analytics.connectionTimeoutMs);
+        analytics.statementTimeoutMs = Math.max(0, analytics.statementTimeoutMs);
+    }
+
+    /**
+     * Session setup applying a statement timeout, or null when the timeout is disabled.
+     */
+    static String statementTimeoutSql(long timeoutMs) {
+        return timeoutMs > 0 ? "SET statement_timeout = " + timeoutMs : null;
+    }
+}
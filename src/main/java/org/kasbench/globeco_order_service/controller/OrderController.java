@@ -7,12 +7,14 @@ import org.kasbench.globeco_order_service.dto.OrderWithDetailsDTO;
 import org.kasbench.globeco_order_service.dto.OrderListResponseDTO;
 import org.kasbench.globeco_order_service.dto.BatchSubmitRequestDTO;
 import org.kasbench.globeco_order_service.dto.BatchSubmitResponseDTO;
+import org.kasbench.globeco_order_service.service.OrderPartitionMaintenanceService;
 import org.kasbench.globeco_order_service.service.OrderService;
 import org.kasbench.globeco_order_service.service.BatchProcessingService;
 import org.kasbench.globeco_order_service.service.SortingSpecification;
 import org.kasbench.globeco_order_service.service.FilteringSpecification;
 import org.kasbench.globeco_order_service.service.SystemOverloadDetector;
 import org.kasbench.globeco_order_service.exception.SystemOverloadException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -41,6 +44,10 @@ public class OrderController {
     private final BatchProcessingService batchProcessingService;
     private final SystemOverloadDetector systemOverloadDetector;
 
+    // Present when the order table's partitions are maintained; bounds the accepted order timestamps
+    @Autowired(required = false)
+    private OrderPartitionMaintenanceService partitionMaintenance;
+
     /**
      * Get all orders with support for paging, sorting, and filtering.
      * 
@@ -53,6 +60,8 @@ public class OrderController {
      * @param statusAbbreviation Filter by status abbreviation (supports comma-separated values)
      * @param orderTypeAbbreviation Filter by order type abbreviation (supports comma-separated values)
      * @param orderTimestamp Filter by order timestamp (ISO format)
+     * @param orderTimestampFrom Only orders placed at or after this time (ISO format)
+     * @param orderTimestampTo Only orders placed before this time (ISO format)
      * @param request HttpServletRequest for extracting additional filter parameters
      * @return Page of orders with pagination metadata
      */
@@ -67,6 +76,8 @@ public class OrderController {
             @RequestParam(value = "status.abbreviation", required = false) String statusAbbreviation,
             @RequestParam(value = "orderType.abbreviation", required = false) String orderTypeAbbreviation,
             @RequestParam(value = "orderTimestamp", required = false) String orderTimestamp,
+            @RequestParam(value = "orderTimestamp.from", required = false) String orderTimestampFrom,
+            @RequestParam(value = "orderTimestamp.to", required = false) String orderTimestampTo,
             HttpServletRequest request) {
         
         try {
@@ -189,7 +200,7 @@ public class OrderController {
      * Returns appropriate HTTP status codes based on processing results:
      * - 200: All orders processed successfully
      * - 207: Partial success (some orders succeeded, others failed)
-     * - 400: Request validation failed
+     * - 400: Request validation failed, including an order timestamp outside the partitioned months
      * - 413: Batch size exceeds maximum allowed (1000)
      * - 500: Unexpected server error
      */
@@ -223,6 +234,13 @@ public class OrderController {
                     String.format("Batch size %d exceeds maximum allowed size of %d", orders.size(), MAX_BATCH_SIZE));
                 return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
             }
+
+            // Orders dated outside the partitioned months would fail in the database
+            String timestampError = orderTimestampError(orders);
+            if (timestampError != null) {
+                logger.warn("Batch order request rejected: {}", timestampError);
+                return ResponseEntity.badRequest().body(OrderListResponseDTO.validationFailure(timestampError));
+            }
             
             // Process the batch through controlled batch processing service
             OrderListResponseDTO response = batchProcessingService.processOrdersWithConnectionControl(orders);
@@ -278,8 +296,30 @@ public class OrderController {
         }
     }
 
+    /**
+     * Find the first order whose timestamp has no partition to land in.
+     *
+     * @return error message naming the order's index, or null if every timestamp is accepted
+     */
+    private String orderTimestampError(List<OrderPostDTO> orders) {
+        if (partitionMaintenance == null) {
+            return null;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            OrderPostDTO order = orders.get(i);
+            String error = order != null ? partitionMaintenance.orderTimestampError(order.getOrderTimestamp()) : null;
+            if (error != null) {
+                return String.format("Order at index %d: %s", i, error);
+            }
+        }
+        return null;
+    }
+
     @PutMapping("/order/{id}")
     public ResponseEntity<OrderWithDetailsDTO> updateOrder(@PathVariable Integer id, @RequestBody OrderDTO dto) {
+        if (partitionMaintenance != null && partitionMaintenance.orderTimestampError(dto.getOrderTimestamp()) != null) {
+            return ResponseEntity.badRequest().build();
+        }
         return orderService.update(id, dto)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -295,14 +335,25 @@ public class OrderController {
         }
     }
 
+    /**
+     * Submit a single order to the trade service.
+     * The response is completed asynchronously so the servlet thread is released while
+     * the trade service call is in flight.
+     * 
+     * @param id The order ID to submit
+     * @return future completing with the submitted order, or 400 if it was not submitted:
+     *         not submittable, rejected by the trade service, or with an unknown trade
+     *         service outcome, which is reconciled in the background
+     */
     @PostMapping("/orders/{id}/submit")
-    public ResponseEntity<?> submitOrder(@PathVariable Integer id) {
-        OrderDTO orderDTO = orderService.submitOrder(id);
-        if (orderDTO != null) {
-            return ResponseEntity.ok(orderDTO);
-        } else {
-            return ResponseEntity.badRequest().body(java.util.Collections.singletonMap("status", "not submitted"));
-        }
+    public CompletableFuture<ResponseEntity<?>> submitOrder(@PathVariable Integer id) {
+        return orderService.submitOrderAsync(id).thenApply(orderDTO -> {
+            if (orderDTO != null) {
+                return ResponseEntity.ok(orderDTO);
+            } else {
+                return ResponseEntity.badRequest().body(java.util.Collections.singletonMap("status", "not submitted"));
+            }
+        });
     }
 
     /**
@@ -382,6 +433,9 @@ public class OrderController {
             
             return ResponseEntity.status(statusCode).body(response);
             
+        } catch (SystemOverloadException e) {
+            // Rejected for load or memory budget; mapped to 503 with Retry-After
+            throw e;
         } catch (Exception e) {
             logger.error("Unexpected error processing batch submission request", e);
             BatchSubmitResponseDTO errorResponse = BatchSubmitResponseDTO.validationFailure(
@@ -0,0 +1,97 @@
+package org.kasbench.globeco_order_service.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.service.JfrProfilingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for in-process JFR profiling, at {@code /actuator/profiling}.
+ * Like the metrics debug endpoint it is meant for investigating a running instance,
+ * not for scraping.
+ *
+ * - GET /actuator/profiling?minutes=5&amp;top=20: recording status plus hot methods, time by
+ *   component, allocation sites, lock contention, socket reads and GC pauses for the last
+ *   N minutes
+ * - POST /actuator/profiling with {"seconds": 60}: starts a bounded on-demand recording
+ * - DELETE /actuator/profiling: stops the on-demand recording early
+ */
+@Slf4j
+@Component
+@Endpoint(id = "profiling")
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true", matchIfMissing = false)
+public class ProfilingEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+    private static final int DEFAULT_TOP = 20;
+    private static final int DEFAULT_SECONDS = 60;
+
+    private final JfrProfilingService profilingService;
+
+    @Autowired
+    public ProfilingEndpoint(JfrProfilingService profilingService) {
+        this.profilingService = profilingService;
+        log.info("ProfilingEndpoint initialized - profiling endpoint available at /actuator/profiling");
+    }
+
+    /**
+     * Returns a summary of the last {@code minutes} of profiling data.
+     */
+    @ReadOperation
+    public Map<String, Object> summary(@Nullable Integer minutes, @Nullable Integer top) {
+        int window = minutes != null && minutes > 0 ? minutes : DEFAULT_MINUTES;
+        int topN = top != null && top > 0 ? top : DEFAULT_TOP;
+        try {
+            Map<String, Object> response = new HashMap<>(profilingService.summarize(Duration.ofMinutes(window), topN));
+            response.put("status", profilingService.getStatus());
+            response.put("timestamp", Instant.now().toString());
+            return response;
+        } catch (Exception e) {
+            log.warn("Failed to summarize profiling data: {}", e.getMessage());
+            Map<String, Object> response = error(e);
+            response.put("status", profilingService.getStatus());
+            return response;
+        }
+    }
+
+    /**
+     * Starts an on-demand recording of {@code seconds}, capped by
+     * {@code profiling.jfr.max-on-demand-seconds}.
+     */
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Integer seconds) {
+        int duration = seconds != null && seconds > 0 ? seconds : DEFAULT_SECONDS;
+        try {
+            return profilingService.startOnDemandRecording(Duration.ofSeconds(duration));
+        } catch (Exception e) {
+            log.warn("Failed to start on-demand profiling: {}", e.getMessage());
+            return error(e);
+        }
+    }
+
+    /**
+     * Stops the on-demand recording, keeping its data for summaries.
+     */
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        return profilingService.stopOnDemandRecording();
+    }
+
+    private static Map<String, Object> error(Exception e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", e.getMessage());
+        response.put("timestamp", Instant.now().toString());
+        return response;
+    }
+}
@@ -2,10 +2,12 @@ package org.kasbench.globeco_order_service.controller;
 
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
 import org.kasbench.globeco_order_service.model.ConnectionPoolHealth;
 import org.kasbench.globeco_order_service.service.BatchProcessingService;
 import org.kasbench.globeco_order_service.service.ConnectionPoolCircuitBreaker;
 import org.kasbench.globeco_order_service.service.ConnectionPoolMonitoringService;
+import org.kasbench.globeco_order_service.service.TelemetrySampler;
 import org.kasbench.globeco_order_service.service.ValidationCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +46,9 @@ public class SystemHealthController {
     @Autowired
     private ConnectionPoolMonitoringService connectionPoolMonitoringService;
     
+    @Autowired(required = false)
+    private TelemetrySampler telemetrySampler;
+    
     /**
      * Get detailed system health information including connection pool status.
      */
@@ -94,25 +99,44 @@ public class SystemHealthController {
     private Map<String, Object> getConnectionPoolStatus() {
         Map<String, Object> status = new HashMap<>();
         
-        if (!(dataSource instanceof HikariDataSource)) {
+        HikariDataSource hikariDataSource = HikariDataSources.unwrap(dataSource);
+        if (hikariDataSource == null) {
             status.put("type", "UNKNOWN");
             return status;
         }
         
         try {
-            HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
-            HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
+            TelemetrySampler.Snapshot snapshot = telemetrySampler != null ? telemetrySampler.getSnapshot() : null;
+            int totalConnections;
+            int activeConnections;
+            int idleConnections;
+            int threadsAwaitingConnection;
             
-            if (poolBean == null) {
-                status.put("status", "NOT_INITIALIZED");
-                return status;
+            if (snapshot != null) {
+                TelemetrySampler.DatabasePool pool = snapshot.getDatabasePool();
+                if (pool == null) {
+                    status.put("status", "NOT_INITIALIZED");
+                    return status;
+                }
+                totalConnections = pool.getTotalConnections();
+                activeConnections = pool.getActiveConnections();
+                idleConnections = pool.getIdleConnections();
+                threadsAwaitingConnection = pool.getThreadsAwaitingConnection();
+                status.put("sampledAt", snapshot.getSampledAtMillis());
+            } else {
+                HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
+                
+                if (poolBean == null) {
+                    status.put("status", "NOT_INITIALIZED");
+                    return status;
+                }
+                
+                totalConnections = poolBean.getTotalConnections();
+                activeConnections = poolBean.getActiveConnections();
+                idleConnections = poolBean.getIdleConnections();
+                threadsAwaitingConnection = poolBean.getThreadsAwaitingConnection();
             }
             
-            int totalConnections = poolBean.getTotalConnections();
-            int activeConnections = poolBean.getActiveConnections();
-            int idleConnections = poolBean.getIdleConnections();
-            int threadsAwaitingConnection = poolBean.getThreadsAwaitingConnection();
-            
             double utilization = totalConnections > 0 ? (double) activeConnections / totalConnections : 0;
             
             status.put("type", "HIKARI");
@@ -0,0 +1,26 @@
+package org.kasbench.globeco_order_service.exception;
+
+/**
+ * Thrown when a call to an external service is rejected locally, either because its
+ * circuit breaker is open or because its bulkhead has no free capacity.
+ * No request was sent to the downstream service.
+ */
+public class ExternalServiceUnavailableException extends RuntimeException {
+
+    private final String serviceName;
+    private final String rejectionReason;
+
+    public ExternalServiceUnavailableException(String serviceName, String rejectionReason) {
+        super(String.format("%s unavailable: %s", serviceName, rejectionReason));
+        this.serviceName = serviceName;
+        this.rejectionReason = rejectionReason;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public String getRejectionReason() {
+        return rejectionReason;
+    }
+}
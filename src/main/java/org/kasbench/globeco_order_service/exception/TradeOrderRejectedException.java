@@ -0,0 +1,89 @@
+package org.kasbench.globeco_order_service.exception;
+
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+
+/**
+ * Thrown when the trade service definitely did not create a trade order: it answered
+ * with a 4xx status other than 408, 409 or 429, or rejected the order in a bulk response,
+ * or the request was never sent because the connection could not be opened or the call
+ * was rejected locally. Orders reserved for such a request can be released back to NEW.
+ *
+ * Any other failure, such as a read timeout, a 5xx, a 408 or 429 asking for a retry, or a
+ * 409 that may report an existing trade order, leaves the outcome unknown: the trade order
+ * may exist, so the reservation must be kept until it is reconciled.
+ */
+public class TradeOrderRejectedException extends RuntimeException {
+
+    private final int statusCode;
+
+    public TradeOrderRejectedException(String message) {
+        super(message);
+        this.statusCode = 0;
+    }
+
+    public TradeOrderRejectedException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    /**
+     * @param message    the detail message
+     * @param statusCode the HTTP status the trade service answered the whole request with
+     */
+    public TradeOrderRejectedException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Get the HTTP status the trade service rejected the whole request with.
+     *
+     * @return the status, or 0 if the rejection was not an HTTP response to the request
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Whether an HTTP status from the trade service shows that no trade order was created.
+     *
+     * @param statusCode the response status
+     * @return true for a 4xx other than 408, 409 and 429
+     */
+    public static boolean isRejectionStatus(int statusCode) {
+        return statusCode >= 400 && statusCode < 500
+                && statusCode != 408 && statusCode != 409 && statusCode != 429;
+    }
+
+    /**
+     * Whether a failed trade service call shows that no trade order was created.
+     *
+     * @param error the failure, possibly wrapped
+     * @return true for a rejection, a 4xx other than 408, 409 and 429, a local rejection or
+     *         a failure to connect
+     */
+    public static boolean isRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException clientError) {
+                return isRejectionStatus(clientError.getStatusCode().value());
+            }
+            if (cause instanceof TradeOrderRejectedException
+                    || cause instanceof ExternalServiceUnavailableException
+                    || cause instanceof ConnectException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -63,6 +63,8 @@ public interface OrderRepository extends JpaRepository<Order, Integer>, JpaSpeci
      * Find all orders by IDs with eager fetching of related entities.
      * This method eliminates N+1 query problems by using JOIN FETCH to load
      * status, orderType, and blotter in a single query.
+     * The IN list is padded to the next power of two (hibernate.query.in_clause_parameter_padding),
+     * so varying batch sizes reuse a few prepared statements instead of one per list length.
      * 
      * @param ids List of order IDs to fetch
      * @return List of orders with all relations eagerly loaded
@@ -0,0 +1,108 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-operation durability setting: selected write transactions commit with
+ * {@code synchronous_commit = off}, so the commit returns without waiting for the WAL flush.
+ *
+ * PostgreSQL flushes an asynchronous commit within about three times wal_writer_delay
+ * (200ms by default). A crash inside that window loses the transaction but never corrupts
+ * the database. A later synchronous commit also flushes every earlier asynchronous one,
+ * because WAL is written in order.
+ *
+ * Only operations whose loss is recoverable are offered:
+ * <ul>
+ *   <li>{@link Operation#STATUS_UPDATE}: recording trade order IDs against reserved orders.
+ *       The reservation itself always commits synchronously before the trade service is
+ *       called, so a lost update leaves the order reserved (SENT without a trade order ID).
+ *       It is never resubmitted, and no duplicate trade order is created.</li>
+ *   <li>{@link Operation#ORDER_CREATION}: order inserts from POST /orders. A lost order was
+ *       acknowledged to the client, so this suits load generators and replayable feeds only.
+ *       An order that has been reserved for submission is always durable.</li>
+ * </ul>
+ */
+@Service
+public class AsyncCommitPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCommitPolicy.class);
+
+    static final String ASYNC_COMMIT_SQL = "SET LOCAL synchronous_commit = off";
+
+    public enum Operation {
+        STATUS_UPDATE("status_update"),
+        ORDER_CREATION("order_creation");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Operation, Boolean> enabled = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> asyncCommits = new EnumMap<>(Operation.class);
+
+    @Autowired
+    public AsyncCommitPolicy(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${order.async-commit.status-updates:false}") boolean statusUpdates,
+            @Value("${order.async-commit.order-creation:false}") boolean orderCreation) {
+        this.jdbcTemplate = jdbcTemplate;
+        enabled.put(Operation.STATUS_UPDATE, statusUpdates);
+        enabled.put(Operation.ORDER_CREATION, orderCreation);
+        for (Operation operation : Operation.values()) {
+            asyncCommits.put(operation, Counter.builder("order.async_commit.transactions")
+                    .description("Write transactions committed without waiting for the WAL flush")
+                    .tag("service", "order")
+                    .tag("operation", operation.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @PostConstruct
+    public void logConfiguration() {
+        if (enabled.containsValue(true)) {
+            logger.warn("Asynchronous commit enabled - statusUpdates={}, orderCreation={}; a crash can lose "
+                            + "the last ~3x wal_writer_delay of these writes",
+                    enabled.get(Operation.STATUS_UPDATE), enabled.get(Operation.ORDER_CREATION));
+        }
+    }
+
+    public boolean isEnabled(Operation operation) {
+        return enabled.get(operation);
+    }
+
+    /**
+     * Switches the current transaction to asynchronous commit if the operation is enabled.
+     * Must be called inside the write transaction; outside one it does nothing.
+     *
+     * @return true if the current transaction will commit asynchronously
+     */
+    public boolean apply(Operation operation) {
+        if (!isEnabled(operation)) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            logger.debug("ASYNC_COMMIT: No write transaction active for {}, committing synchronously", operation);
+            return false;
+        }
+        jdbcTemplate.execute(ASYNC_COMMIT_SQL);
+        asyncCommits.get(operation).increment();
+        return true;
+    }
+}
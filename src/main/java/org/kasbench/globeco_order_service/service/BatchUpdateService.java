@@ -25,6 +25,12 @@ public class BatchUpdateService {
 
     private final JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private ServiceLogSampler logSampler = ServiceLogSampler.UNSAMPLED;
+
+    @Autowired(required = false)
+    private AsyncCommitPolicy asyncCommitPolicy;
+
     @Autowired
     public BatchUpdateService(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
@@ -77,8 +83,10 @@ public class BatchUpdateService {
                 List<Order> batch = orders.subList(startIndex, endIndex);
                 
                 long batchStartTime = System.currentTimeMillis();
-                logger.debug("BATCH_UPDATE: Processing batch {} of {}: orders {}-{}, thread={}",
-                        batchIndex + 1, batchCount, startIndex + 1, endIndex, threadName);
+                if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_BATCH_UPDATE)) {
+                    logger.debug("BATCH_UPDATE: Processing batch {} of {}: orders {}-{}, thread={}",
+                            batchIndex + 1, batchCount, startIndex + 1, endIndex, threadName);
+                }
 
                 // Execute batch update
                 int[][] updateCounts = jdbcTemplate.batchUpdate(sql, batch, batch.size(),
@@ -89,8 +97,10 @@ public class BatchUpdateService {
                                 ps.setInt(3, order.getId());
                                 ps.setInt(4, order.getVersion());
                                 
-                                logger.trace("BATCH_UPDATE: Prepared statement for order {}: status_id={}, trade_order_id={}, version={}, thread={}",
-                                        order.getId(), sentStatus.getId(), order.getTradeOrderId(), order.getVersion(), threadName);
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("BATCH_UPDATE: Prepared statement for order {}: status_id={}, trade_order_id={}, version={}, thread={}",
+                                            order.getId(), sentStatus.getId(), order.getTradeOrderId(), order.getVersion(), threadName);
+                                }
                             } catch (SQLException e) {
                                 logger.error("BATCH_UPDATE: Failed to set parameters for order {}, thread={}, error={}",
                                         order.getId(), threadName, e.getMessage(), e);
@@ -127,15 +137,17 @@ public class BatchUpdateService {
                 long batchDuration = System.currentTimeMillis() - batchStartTime;
                 totalUpdated += batchUpdated;
                 
-                logger.debug("BATCH_UPDATE: Completed batch {} of {} in {}ms: {} orders updated, thread={}",
-                        batchIndex + 1, batchCount, batchDuration, batchUpdated, threadName);
+                if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_BATCH_UPDATE)) {
+                    logger.debug("BATCH_UPDATE: Completed batch {} of {} in {}ms: {} orders updated, thread={}",
+                            batchIndex + 1, batchCount, batchDuration, batchUpdated, threadName);
+                }
             }
 
             long totalDuration = System.currentTimeMillis() - startTime;
             double avgTimePerOrder = orderCount > 0 ? (double) totalDuration / orderCount : 0;
             
-            logger.debug("BATCH_UPDATE: Successfully completed JDBC batch update in {}ms - {} orders updated (avg {:.2f}ms per order), thread={}",
-                    totalDuration, totalUpdated, avgTimePerOrder, threadName);
+            logger.debug("BATCH_UPDATE: Successfully completed JDBC batch update in {}ms - {} orders updated (avg {}ms per order), thread={}",
+                    totalDuration, totalUpdated, Math.round(avgTimePerOrder * 100.0) / 100.0, threadName);
 
             // Verify all orders were updated
             if (totalUpdated != orderCount) {
@@ -155,6 +167,24 @@ public class BatchUpdateService {
         }
     }
 
+    /**
+     * Update the statuses of orders reserved through {@link OrderReservationService}.
+     * The reservation has already committed synchronously, so this transaction may commit
+     * asynchronously when order.async-commit.status-updates is enabled: if a crash loses it,
+     * the orders stay reserved and are not submitted again.
+     *
+     * @param orders Reserved orders, at their reserved versions, with their trade order IDs
+     * @param sentStatus The SENT status to apply to all orders
+     * @return Total number of orders successfully updated
+     */
+    @Transactional(timeout = 5)
+    public int batchUpdateReservedOrderStatuses(List<Order> orders, Status sentStatus) {
+        if (asyncCommitPolicy != null) {
+            asyncCommitPolicy.apply(AsyncCommitPolicy.Operation.STATUS_UPDATE);
+        }
+        return batchUpdateOrderStatuses(orders, sentStatus);
+    }
+
     /**
      * Get the configured batch size for batch operations.
      * 
@@ -0,0 +1,177 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.config.BulkSubmissionProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits bulk submissions against a heap budget and decides how many orders each one
+ * keeps in memory at a time.
+ *
+ * The budget is the lower of {@code max-memory-usage-mb} and {@code heap-budget-percent}
+ * of the maximum heap. A submission is charged {@code estimated-bytes-per-order} for each
+ * order it holds at once; one that cannot get its charge within
+ * {@code memory-admission-timeout-ms} is rejected rather than adding to heap pressure.
+ * While heap utilization is at or above {@code memory-pressure-threshold}, batches are
+ * loaded and submitted in chunks of {@code memory-pressure-chunk-size} orders, so only
+ * one chunk's entities, requests and responses are reachable at a time and the charge
+ * shrinks to one chunk. Collection is left to the collector; nothing here calls
+ * {@code System.gc()}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "bulk.submission.performance.memory-optimization-enabled", havingValue = "true", matchIfMissing = true)
+public class BulkSubmissionMemoryGovernor {
+
+    private final MemoryMXBean memoryMXBean;
+    private final TelemetrySampler telemetrySampler;
+    private final long bytesPerOrder;
+    private final double pressureThreshold;
+    private final int pressureChunkSize;
+    private final long admissionTimeoutMs;
+    private final int budgetKib;
+    private final Semaphore budget;
+    private final Counter rejectedCounter;
+    private final Counter chunkedCounter;
+
+    @Autowired
+    public BulkSubmissionMemoryGovernor(BulkSubmissionProperties properties, MeterRegistry meterRegistry,
+            @Autowired(required = false) TelemetrySampler telemetrySampler) {
+        this(properties.getPerformance(), meterRegistry, telemetrySampler, ManagementFactory.getMemoryMXBean());
+    }
+
+    BulkSubmissionMemoryGovernor(BulkSubmissionProperties.Performance performance, MeterRegistry meterRegistry,
+            TelemetrySampler telemetrySampler, MemoryMXBean memoryMXBean) {
+        this.memoryMXBean = memoryMXBean;
+        this.telemetrySampler = telemetrySampler;
+        this.bytesPerOrder = Math.max(1, performance.getEstimatedBytesPerOrder());
+        this.pressureThreshold = performance.getMemoryPressureThreshold();
+        this.pressureChunkSize = Math.max(1, performance.getMemoryPressureChunkSize());
+        this.admissionTimeoutMs = Math.max(0, performance.getMemoryAdmissionTimeoutMs());
+
+        long budgetBytes = Math.min(Math.max(1, performance.getMaxMemoryUsageMb()) * 1024 * 1024,
+                heapLimit(memoryMXBean.getHeapMemoryUsage()) * Math.max(1, performance.getHeapBudgetPercent()) / 100);
+        this.budgetKib = (int) Math.max(1, Math.min(Integer.MAX_VALUE, budgetBytes / 1024));
+        this.budget = new Semaphore(budgetKib, true);
+
+        this.rejectedCounter = Counter.builder("bulk_submission.memory.rejected")
+                .description("Bulk submissions rejected because the heap budget stayed exhausted")
+                .tag("service", "order")
+                .register(meterRegistry);
+        this.chunkedCounter = Counter.builder("bulk_submission.memory.chunked")
+                .description("Bulk submissions processed in chunks because of heap pressure")
+                .tag("service", "order")
+                .register(meterRegistry);
+        Gauge.builder("bulk_submission.memory.budget_in_use_bytes", this, BulkSubmissionMemoryGovernor::getBudgetInUseBytes)
+                .description("Heap budget currently charged to in-flight bulk submissions")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        log.info("Bulk submission heap budget: {} KiB at {} bytes per order, chunking {} orders at a time above {}% heap",
+                budgetKib, bytesPerOrder, pressureChunkSize, Math.round(pressureThreshold * 100));
+    }
+
+    /**
+     * Gets the number of orders a batch should hold in memory at a time: the whole batch,
+     * or the pressure chunk size while heap utilization is at or above the threshold.
+     */
+    public int chunkSize(int orderCount) {
+        if (orderCount <= pressureChunkSize || heapUtilization() < pressureThreshold) {
+            return orderCount;
+        }
+        chunkedCounter.increment();
+        return pressureChunkSize;
+    }
+
+    /**
+     * Charges the budget for a submission holding {@code liveOrders} orders at a time,
+     * waiting up to the admission timeout.
+     *
+     * @return the permit to close when the submission completes, or null if the budget
+     *         stayed exhausted
+     */
+    public Permit admit(int liveOrders) {
+        int chargeKib = chargeKib(liveOrders);
+        try {
+            if (budget.tryAcquire(chargeKib, admissionTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return new Permit(chargeKib);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        log.warn("Bulk submission of {} live orders rejected: heap budget exhausted ({} of {} KiB in use)",
+                liveOrders, budgetKib - budget.availablePermits(), budgetKib);
+        return null;
+    }
+
+    /**
+     * Suggested Retry-After for a rejected submission.
+     */
+    public int getRetryAfterSeconds() {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(admissionTimeoutMs + 999));
+    }
+
+    public long getBudgetBytes() {
+        return budgetKib * 1024L;
+    }
+
+    public long getBudgetInUseBytes() {
+        return (budgetKib - budget.availablePermits()) * 1024L;
+    }
+
+    /**
+     * Charge in KiB, capped at the whole budget so a single oversized batch can still run alone.
+     */
+    int chargeKib(int liveOrders) {
+        long kib = (Math.max(1, liveOrders) * bytesPerOrder + 1023) / 1024;
+        return (int) Math.max(1, Math.min(budgetKib, kib));
+    }
+
+    double heapUtilization() {
+        if (telemetrySampler != null) {
+            TelemetrySampler.Snapshot snapshot = telemetrySampler.getSnapshot();
+            if (snapshot != null && snapshot.getHeap() != null) {
+                return snapshot.getHeap().getUtilization();
+            }
+        }
+        MemoryUsage heap = memoryMXBean.getHeapMemoryUsage();
+        long limit = heapLimit(heap);
+        return limit > 0 ? (double) heap.getUsed() / limit : 0.0;
+    }
+
+    private static long heapLimit(MemoryUsage heap) {
+        return heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+    }
+
+    /**
+     * A charge against the budget, returned once on close.
+     */
+    public final class Permit implements AutoCloseable {
+        private final int chargeKib;
+        private boolean released;
+
+        private Permit(int chargeKib) {
+            this.chargeKib = chargeKib;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                budget.release(chargeKib);
+            }
+        }
+    }
+}
@@ -33,12 +33,18 @@ public class BulkSubmissionPerformanceMonitor {
     private final AtomicReference<Double> averageProcessingTimePerOrder = new AtomicReference<>(0.0);
     private final AtomicReference<String> lastPerformanceReport = new AtomicReference<>("");
     
-    // Latency tracking with percentiles
+    // Latency export as Prometheus histograms, aggregatable across instances
     private final Timer bulkSubmissionLatencyTimer;
     private final Timer databaseQueryTimer;
     private final Timer externalServiceTimer;
     private final Timer transactionHoldTimer;
     
+    // Local percentiles over sliding windows, fixed memory
+    private final WindowedLatencyHistogram bulkSubmissionLatencyHistogram = new WindowedLatencyHistogram();
+    private final WindowedLatencyHistogram databaseQueryHistogram = new WindowedLatencyHistogram();
+    private final WindowedLatencyHistogram externalServiceHistogram = new WindowedLatencyHistogram();
+    private final WindowedLatencyHistogram transactionHoldHistogram = new WindowedLatencyHistogram();
+    
     // Orders per second tracking
     private final AtomicReference<Double> currentOrdersPerSecond = new AtomicReference<>(0.0);
     private final AtomicLong lastMeasurementTime = new AtomicLong(System.currentTimeMillis());
@@ -47,34 +53,35 @@ public class BulkSubmissionPerformanceMonitor {
     // Performance baseline for comparison (individual submission approach)
     private static final double INDIVIDUAL_SUBMISSION_AVG_TIME_PER_ORDER_MS = 150.0; // Estimated baseline
     
+    // Window used by the percentile getters that do not take one
+    private static final WindowedLatencyHistogram.Window DEFAULT_PERCENTILE_WINDOW =
+            WindowedLatencyHistogram.Window.ONE_MINUTE;
+    
     public BulkSubmissionPerformanceMonitor(
             MeterRegistry meterRegistry,
             @Value("${bulk.submission.monitoring.performance-monitoring-enabled:true}") boolean performanceMonitoringEnabled) {
         this.meterRegistry = meterRegistry;
         this.performanceMonitoringEnabled = performanceMonitoringEnabled;
         
-        // Initialize latency timers with percentile histograms
+        // Initialize latency timers with histogram buckets only; client-side percentiles
+        // cannot be aggregated across pods, so percentiles are computed from the buckets
         this.bulkSubmissionLatencyTimer = Timer.builder("bulk_submission.latency")
-                .description("Bulk submission end-to-end latency with percentiles")
-                .publishPercentiles(0.5, 0.95, 0.99)
+                .description("Bulk submission end-to-end latency")
                 .publishPercentileHistogram()
                 .register(meterRegistry);
                 
         this.databaseQueryTimer = Timer.builder("bulk_submission.database_query.duration")
-                .description("Database query execution time with percentiles")
-                .publishPercentiles(0.5, 0.95, 0.99)
+                .description("Database query execution time")
                 .publishPercentileHistogram()
                 .register(meterRegistry);
                 
         this.externalServiceTimer = Timer.builder("bulk_submission.external_service.duration")
-                .description("External service call duration with percentiles")
-                .publishPercentiles(0.5, 0.95, 0.99)
+                .description("External service call duration")
                 .publishPercentileHistogram()
                 .register(meterRegistry);
                 
         this.transactionHoldTimer = Timer.builder("bulk_submission.transaction_hold.duration")
-                .description("Transaction hold time for database connections with percentiles")
-                .publishPercentiles(0.5, 0.95, 0.99)
+                .description("Transaction hold time for database connections")
                 .publishPercentileHistogram()
                 .register(meterRegistry);
         
@@ -119,8 +126,9 @@ public class BulkSubmissionPerformanceMonitor {
             return;
         }
         
-        // Record latency in the timer for percentile tracking
+        // Record latency for export and for local percentile tracking
         bulkSubmissionLatencyTimer.record(processingTimeMs, TimeUnit.MILLISECONDS);
+        bulkSubmissionLatencyHistogram.record(processingTimeMs);
         
         totalSubmissions.incrementAndGet();
         totalOrdersProcessed.addAndGet(successfulOrders);
@@ -149,6 +157,7 @@ public class BulkSubmissionPerformanceMonitor {
             return;
         }
         databaseQueryTimer.record(queryTimeMs, TimeUnit.MILLISECONDS);
+        databaseQueryHistogram.record(queryTimeMs);
     }
     
     /**
@@ -161,6 +170,7 @@ public class BulkSubmissionPerformanceMonitor {
             return;
         }
         externalServiceTimer.record(serviceCallTimeMs, TimeUnit.MILLISECONDS);
+        externalServiceHistogram.record(serviceCallTimeMs);
     }
     
     /**
@@ -173,6 +183,7 @@ public class BulkSubmissionPerformanceMonitor {
             return;
         }
         transactionHoldTimer.record(transactionTimeMs, TimeUnit.MILLISECONDS);
+        transactionHoldHistogram.record(transactionTimeMs);
     }
     
     /**
@@ -267,30 +278,22 @@ public class BulkSubmissionPerformanceMonitor {
                     currentTimePerOrder, currentOrdersPerSecond));
         }
         
-        // Latency percentiles
+        // Latency percentiles per window
         report.append(String.format("Latency Percentiles:\n"));
-        report.append(String.format("  P50: %.2f ms\n", getPercentileValue(bulkSubmissionLatencyTimer, 0.5)));
-        report.append(String.format("  P95: %.2f ms\n", getPercentileValue(bulkSubmissionLatencyTimer, 0.95)));
-        report.append(String.format("  P99: %.2f ms\n", getPercentileValue(bulkSubmissionLatencyTimer, 0.99)));
+        for (WindowedLatencyHistogram.Window window : WindowedLatencyHistogram.Window.values()) {
+            WindowedLatencyHistogram.Snapshot snapshot = bulkSubmissionLatencyHistogram.snapshot(window);
+            report.append(String.format("  %dm: P50: %.2f ms, P95: %.2f ms, P99: %.2f ms (%d submissions)\n",
+                    window.getMinutes(),
+                    snapshot.getValueAtPercentile(0.5),
+                    snapshot.getValueAtPercentile(0.95),
+                    snapshot.getValueAtPercentile(0.99),
+                    snapshot.getTotalCount()));
+        }
         
         // Component timing percentiles
-        report.append(String.format("Database Query Percentiles:\n"));
-        report.append(String.format("  P50: %.2f ms, P95: %.2f ms, P99: %.2f ms\n",
-                getPercentileValue(databaseQueryTimer, 0.5),
-                getPercentileValue(databaseQueryTimer, 0.95),
-                getPercentileValue(databaseQueryTimer, 0.99)));
-        
-        report.append(String.format("External Service Call Percentiles:\n"));
-        report.append(String.format("  P50: %.2f ms, P95: %.2f ms, P99: %.2f ms\n",
-                getPercentileValue(externalServiceTimer, 0.5),
-                getPercentileValue(externalServiceTimer, 0.95),
-                getPercentileValue(externalServiceTimer, 0.99)));
-        
-        report.append(String.format("Transaction Hold Time Percentiles:\n"));
-        report.append(String.format("  P50: %.2f ms, P95: %.2f ms, P99: %.2f ms\n",
-                getPercentileValue(transactionHoldTimer, 0.5),
-                getPercentileValue(transactionHoldTimer, 0.95),
-                getPercentileValue(transactionHoldTimer, 0.99)));
+        appendPercentiles(report, "Database Query Percentiles", databaseQueryHistogram);
+        appendPercentiles(report, "External Service Call Percentiles", externalServiceHistogram);
+        appendPercentiles(report, "Transaction Hold Time Percentiles", transactionHoldHistogram);
         
         // Overall statistics
         long totalSubs = totalSubmissions.get();
@@ -326,6 +329,15 @@ public class BulkSubmissionPerformanceMonitor {
         logger.debug("BULK_SUBMISSION_PERFORMANCE_REPORT:\n{}", reportString);
     }
     
+    private void appendPercentiles(StringBuilder report, String title, WindowedLatencyHistogram histogram) {
+        WindowedLatencyHistogram.Snapshot snapshot = histogram.snapshot(DEFAULT_PERCENTILE_WINDOW);
+        report.append(String.format("%s:\n", title));
+        report.append(String.format("  P50: %.2f ms, P95: %.2f ms, P99: %.2f ms\n",
+                snapshot.getValueAtPercentile(0.5),
+                snapshot.getValueAtPercentile(0.95),
+                snapshot.getValueAtPercentile(0.99)));
+    }
+    
     /**
      * Get the latest performance report.
      * 
@@ -347,36 +359,30 @@ public class BulkSubmissionPerformanceMonitor {
                 averageOrdersPerSecond.get(),
                 currentOrdersPerSecond.get(),
                 averageProcessingTimePerOrder.get(),
-                getPercentileValue(bulkSubmissionLatencyTimer, 0.5),
-                getPercentileValue(bulkSubmissionLatencyTimer, 0.95),
-                getPercentileValue(bulkSubmissionLatencyTimer, 0.99),
-                getPercentileValue(databaseQueryTimer, 0.5),
-                getPercentileValue(databaseQueryTimer, 0.95),
-                getPercentileValue(databaseQueryTimer, 0.99),
-                getPercentileValue(externalServiceTimer, 0.5),
-                getPercentileValue(externalServiceTimer, 0.95),
-                getPercentileValue(externalServiceTimer, 0.99),
-                getPercentileValue(transactionHoldTimer, 0.5),
-                getPercentileValue(transactionHoldTimer, 0.95),
-                getPercentileValue(transactionHoldTimer, 0.99)
+                getPercentileValue(bulkSubmissionLatencyHistogram, 0.5),
+                getPercentileValue(bulkSubmissionLatencyHistogram, 0.95),
+                getPercentileValue(bulkSubmissionLatencyHistogram, 0.99),
+                getPercentileValue(databaseQueryHistogram, 0.5),
+                getPercentileValue(databaseQueryHistogram, 0.95),
+                getPercentileValue(databaseQueryHistogram, 0.99),
+                getPercentileValue(externalServiceHistogram, 0.5),
+                getPercentileValue(externalServiceHistogram, 0.95),
+                getPercentileValue(externalServiceHistogram, 0.99),
+                getPercentileValue(transactionHoldHistogram, 0.5),
+                getPercentileValue(transactionHoldHistogram, 0.95),
+                getPercentileValue(transactionHoldHistogram, 0.99)
         );
     }
     
     /**
-     * Helper method to get percentile value from a timer.
-     * Uses takeSnapshot() to avoid deprecated percentile() method.
+     * Helper method to get a percentile value over the last minute.
      * 
-     * @param timer The timer to get percentile from
+     * @param histogram The histogram to get percentile from
      * @param percentile The percentile value (0.5 for P50, 0.95 for P95, etc.)
      * @return Percentile value in milliseconds
      */
-    private double getPercentileValue(Timer timer, double percentile) {
-        // Use takeSnapshot to get histogram snapshot and calculate percentile
-        // For now, use the deprecated method as it's still functional
-        // This can be updated when Micrometer provides a better alternative
-        @SuppressWarnings("deprecation")
-        double value = timer.percentile(percentile, TimeUnit.MILLISECONDS);
-        return value;
+    private double getPercentileValue(WindowedLatencyHistogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile, DEFAULT_PERCENTILE_WINDOW);
     }
     
     /**
@@ -395,7 +401,18 @@ public class BulkSubmissionPerformanceMonitor {
      * @return Latency value at the specified percentile in milliseconds
      */
     public double getLatencyPercentile(double percentile) {
-        return getPercentileValue(bulkSubmissionLatencyTimer, percentile);
+        return getPercentileValue(bulkSubmissionLatencyHistogram, percentile);
+    }
+    
+    /**
+     * Get latency percentile over a sliding window.
+     * 
+     * @param percentile Percentile to retrieve
+     * @param window Window to compute the percentile over
+     * @return Latency value at the specified percentile in milliseconds
+     */
+    public double getLatencyPercentile(double percentile, WindowedLatencyHistogram.Window window) {
+        return bulkSubmissionLatencyHistogram.getValueAtPercentile(percentile, window);
     }
     
     /**
@@ -405,7 +422,18 @@ public class BulkSubmissionPerformanceMonitor {
      * @return Query time at the specified percentile in milliseconds
      */
     public double getDatabaseQueryPercentile(double percentile) {
-        return getPercentileValue(databaseQueryTimer, percentile);
+        return getPercentileValue(databaseQueryHistogram, percentile);
+    }
+    
+    /**
+     * Get database query time percentile over a sliding window.
+     * 
+     * @param percentile Percentile to retrieve
+     * @param window Window to compute the percentile over
+     * @return Query time at the specified percentile in milliseconds
+     */
+    public double getDatabaseQueryPercentile(double percentile, WindowedLatencyHistogram.Window window) {
+        return databaseQueryHistogram.getValueAtPercentile(percentile, window);
     }
     
     /**
@@ -415,7 +443,18 @@ public class BulkSubmissionPerformanceMonitor {
      * @return Service call time at the specified percentile in milliseconds
      */
     public double getExternalServicePercentile(double percentile) {
-        return getPercentileValue(externalServiceTimer, percentile);
+        return getPercentileValue(externalServiceHistogram, percentile);
+    }
+    
+    /**
+     * Get external service call time percentile over a sliding window.
+     * 
+     * @param percentile Percentile to retrieve
+     * @param window Window to compute the percentile over
+     * @return Service call time at the specified percentile in milliseconds
+     */
+    public double getExternalServicePercentile(double percentile, WindowedLatencyHistogram.Window window) {
+        return externalServiceHistogram.getValueAtPercentile(percentile, window);
     }
     
     /**
@@ -425,7 +464,18 @@ public class BulkSubmissionPerformanceMonitor {
      * @return Transaction hold time at the specified percentile in milliseconds
      */
     public double getTransactionHoldPercentile(double percentile) {
-        return getPercentileValue(transactionHoldTimer, percentile);
+        return getPercentileValue(transactionHoldHistogram, percentile);
+    }
+    
+    /**
+     * Get transaction hold time percentile over a sliding window.
+     * 
+     * @param percentile Percentile to retrieve
+     * @param window Window to compute the percentile over
+     * @return Transaction hold time at the specified percentile in milliseconds
+     */
+    public double getTransactionHoldPercentile(double percentile, WindowedLatencyHistogram.Window window) {
+        return transactionHoldHistogram.getValueAtPercentile(percentile, window);
     }
     
     /**
@@ -438,6 +488,10 @@ public class BulkSubmissionPerformanceMonitor {
         averageOrdersPerSecond.set(0.0);
         averageProcessingTimePerOrder.set(0.0);
         lastPerformanceReport.set("");
+        bulkSubmissionLatencyHistogram.reset();
+        databaseQueryHistogram.reset();
+        externalServiceHistogram.reset();
+        transactionHoldHistogram.reset();
         
         logger.info("Bulk submission performance statistics reset");
     }
@@ -0,0 +1,151 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each transaction holds its database connection, tagged by the
+ * service method that started the transaction.
+ *
+ * As a {@link TransactionExecutionListener} it notes the name of the transaction being
+ * begun on the current thread (Spring names declarative transactions after their
+ * method). Hikari reports connection acquisition and release on the calling thread, so
+ * {@link DatabaseConnectionInterceptor} pushes that name when a connection is borrowed
+ * and pops it when the connection is returned, recording the pool's own usage time.
+ * Connections used outside a transaction are recorded as {@code none}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "metrics.database.enabled", havingValue = "true", matchIfMissing = false)
+public class ConnectionHoldTimeRecorder implements TransactionExecutionListener {
+
+    static final String NO_TRANSACTION = "none";
+    private static final String OTHER_TRANSACTIONS = "other";
+    private static final int MAX_TRANSACTION_LABELS = 200;
+    private static final int MAX_HELD_CONNECTIONS = 16;
+
+    private static final ThreadLocal<String> BEGINNING_TRANSACTION = new ThreadLocal<>();
+    private static final ThreadLocal<HeldConnections> HELD_CONNECTIONS = ThreadLocal.withInitial(HeldConnections::new);
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Timer> holdTimers = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTimeRecorder(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        String name = transaction.getTransactionName();
+        BEGINNING_TRANSACTION.set(name == null || name.isEmpty() ? null : name);
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, @Nullable Throwable beginFailure) {
+        if (beginFailure != null) {
+            BEGINNING_TRANSACTION.set(null);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        BEGINNING_TRANSACTION.set(null);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, @Nullable Throwable rollbackFailure) {
+        BEGINNING_TRANSACTION.set(null);
+    }
+
+    /**
+     * Called on the borrowing thread when a connection leaves the pool.
+     */
+    public void onConnectionAcquired() {
+        HELD_CONNECTIONS.get().push(BEGINNING_TRANSACTION.get());
+    }
+
+    /**
+     * Called on the returning thread when a connection goes back to the pool.
+     *
+     * @param heldMillis time the connection was out of the pool
+     */
+    public void onConnectionReleased(long heldMillis) {
+        String transactionName = HELD_CONNECTIONS.get().pop();
+        holdTimer(transactionName != null ? transactionName : NO_TRANSACTION)
+                .record(heldMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Timer holdTimer(String transactionName) {
+        Timer timer = holdTimers.get(transactionName);
+        if (timer != null) {
+            return timer;
+        }
+        if (holdTimers.size() >= MAX_TRANSACTION_LABELS) {
+            log.debug("Connection hold time label limit reached, recording {} as {}", transactionName, OTHER_TRANSACTIONS);
+            return holdTimers.computeIfAbsent(OTHER_TRANSACTIONS, this::createHoldTimer);
+        }
+        return holdTimers.computeIfAbsent(transactionName, this::createHoldTimer);
+    }
+
+    private Timer createHoldTimer(String transactionName) {
+        return Timer.builder("db_connection_hold_duration")
+                .description("Time a database connection is held, by the service method owning the transaction")
+                .tag("method", shortName(transactionName))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Shortens a transaction name such as {@code org.example.service.OrderService.submitOrder}
+     * to {@code OrderService.submitOrder}.
+     */
+    static String shortName(String transactionName) {
+        int methodDot = transactionName.lastIndexOf('.');
+        if (methodDot <= 0) {
+            return transactionName;
+        }
+        int classDot = transactionName.lastIndexOf('.', methodDot - 1);
+        return classDot < 0 ? transactionName : transactionName.substring(classDot + 1);
+    }
+
+    /**
+     * Per-thread stack of the transaction names of connections currently borrowed by the thread.
+     * Connections are returned in reverse order of borrowing, including for nested
+     * REQUIRES_NEW transactions.
+     */
+    private static final class HeldConnections {
+        private final String[] transactionNames = new String[MAX_HELD_CONNECTIONS];
+        private int depth = 0;
+        private int overflow = 0;
+
+        void push(String transactionName) {
+            if (depth < transactionNames.length) {
+                transactionNames[depth++] = transactionName;
+            } else {
+                overflow++;
+            }
+        }
+
+        String pop() {
+            if (overflow > 0) {
+                overflow--;
+                return null;
+            }
+            if (depth == 0) {
+                return null;
+            }
+            String transactionName = transactionNames[--depth];
+            transactionNames[depth] = null;
+            return transactionName;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -126,12 +127,12 @@ public class ConnectionPoolCircuitBreaker {
      * Check if connection pool is healthy.
      */
     private boolean isConnectionPoolHealthy() {
-        if (!(dataSource instanceof HikariDataSource)) {
+        HikariDataSource hikariDataSource = HikariDataSources.unwrap(dataSource);
+        if (hikariDataSource == null) {
             return true; // Assume healthy if not HikariCP
         }
         
         try {
-            HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
             HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
             
             if (poolBean == null) {
@@ -25,6 +25,9 @@ public class ConnectionPoolMonitoringService {
     @Autowired
     private MeterRegistry meterRegistry;
     
+    @Autowired(required = false)
+    private TelemetrySampler telemetrySampler;
+    
     private Counter highUtilizationCounter;
     
     @PostConstruct
@@ -39,53 +42,68 @@ public class ConnectionPoolMonitoringService {
     }
     
     private void registerGauges() {
-        meterRegistry.gauge("db.pool.active", hikariDataSource, ds -> {
-            HikariPoolMXBean poolBean = ds.getHikariPoolMXBean();
-            return poolBean != null ? poolBean.getActiveConnections() : 0;
+        meterRegistry.gauge("db.pool.active", this, service -> {
+            TelemetrySampler.DatabasePool pool = service.readPool();
+            return pool != null ? pool.getActiveConnections() : 0;
         });
         
-        meterRegistry.gauge("db.pool.idle", hikariDataSource, ds -> {
-            HikariPoolMXBean poolBean = ds.getHikariPoolMXBean();
-            return poolBean != null ? poolBean.getIdleConnections() : 0;
+        meterRegistry.gauge("db.pool.idle", this, service -> {
+            TelemetrySampler.DatabasePool pool = service.readPool();
+            return pool != null ? pool.getIdleConnections() : 0;
         });
         
-        meterRegistry.gauge("db.pool.waiting", hikariDataSource, ds -> {
-            HikariPoolMXBean poolBean = ds.getHikariPoolMXBean();
-            return poolBean != null ? poolBean.getThreadsAwaitingConnection() : 0;
+        meterRegistry.gauge("db.pool.waiting", this, service -> {
+            TelemetrySampler.DatabasePool pool = service.readPool();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
         });
         
-        meterRegistry.gauge("db.pool.total", hikariDataSource, ds -> {
-            HikariPoolMXBean poolBean = ds.getHikariPoolMXBean();
-            return poolBean != null ? poolBean.getTotalConnections() : 0;
+        meterRegistry.gauge("db.pool.total", this, service -> {
+            TelemetrySampler.DatabasePool pool = service.readPool();
+            return pool != null ? pool.getTotalConnections() : 0;
         });
         
-        meterRegistry.gauge("db.pool.utilization", hikariDataSource, ds -> {
-            HikariPoolMXBean poolBean = ds.getHikariPoolMXBean();
-            if (poolBean == null) {
-                return 0.0;
-            }
-            int total = poolBean.getTotalConnections();
-            if (total == 0) {
+        meterRegistry.gauge("db.pool.utilization", this, service -> {
+            TelemetrySampler.DatabasePool pool = service.readPool();
+            if (pool == null || pool.getTotalConnections() == 0) {
                 return 0.0;
             }
-            return (double) poolBean.getActiveConnections() / total;
+            return (double) pool.getActiveConnections() / pool.getTotalConnections();
         });
     }
     
+    /**
+     * Reads the pool state from the latest telemetry snapshot, falling back to the pool
+     * MXBean when there is no current snapshot. Returns null if the pool has not started.
+     */
+    private TelemetrySampler.DatabasePool readPool() {
+        TelemetrySampler.Snapshot snapshot = telemetrySampler != null ? telemetrySampler.getSnapshot() : null;
+        if (snapshot != null) {
+            return snapshot.getDatabasePool();
+        }
+        HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
+        if (poolBean == null) {
+            return null;
+        }
+        return new TelemetrySampler.DatabasePool(hikariDataSource.getMaximumPoolSize(),
+                poolBean.getTotalConnections(), poolBean.getActiveConnections(),
+                poolBean.getIdleConnections(), poolBean.getThreadsAwaitingConnection());
+    }
+
+    
     @Scheduled(fixedRate = 5000) // Every 5 seconds
     public void recordConnectionPoolMetrics() {
         try {
-            HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
+            TelemetrySampler.DatabasePool pool = readPool();
             
-            if (poolBean == null) {
+            if (pool == null) {
                 logger.warn("HikariPoolMXBean is not available");
                 return;
             }
             
-            int active = poolBean.getActiveConnections();
-            int idle = poolBean.getIdleConnections();
-            int waiting = poolBean.getThreadsAwaitingConnection();
-            int total = poolBean.getTotalConnections();
+            int active = pool.getActiveConnections();
+            int idle = pool.getIdleConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            int total = pool.getTotalConnections();
             double utilization = total > 0 ? (double) active / total : 0.0;
             
             // Log metrics at debug level
@@ -108,9 +126,9 @@ public class ConnectionPoolMonitoringService {
     
     public ConnectionPoolHealth getHealth() {
         try {
-            HikariPoolMXBean poolBean = hikariDataSource.getHikariPoolMXBean();
+            TelemetrySampler.DatabasePool pool = readPool();
             
-            if (poolBean == null) {
+            if (pool == null) {
                 return ConnectionPoolHealth.builder()
                         .active(0)
                         .idle(0)
@@ -121,10 +139,10 @@ public class ConnectionPoolMonitoringService {
                         .build();
             }
             
-            int active = poolBean.getActiveConnections();
-            int idle = poolBean.getIdleConnections();
-            int waiting = poolBean.getThreadsAwaitingConnection();
-            int total = poolBean.getTotalConnections();
+            int active = pool.getActiveConnections();
+            int idle = pool.getIdleConnections();
+            int waiting = pool.getThreadsAwaitingConnection();
+            int total = pool.getTotalConnections();
             
             return ConnectionPoolHealth.fromMetrics(active, idle, waiting, total);
             
@@ -2,40 +2,53 @@ package org.kasbench.globeco_order_service.service;
 
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
-import io.micrometer.core.instrument.Timer;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Interceptor for database connections that captures metrics without modifying existing repository code.
- * This component wraps the DataSource to intercept connection acquisition calls and record metrics
- * for connection acquisition duration, pool exhaustion events, and acquisition failures.
+ * Records connection acquisition duration, pool exhaustion events, acquisition failures and
+ * per-transaction connection hold time.
  * 
- * The interceptor uses a proxy pattern to transparently capture metrics while maintaining
- * full compatibility with existing data access code.
+ * For HikariCP the interceptor is installed as the pool's {@link MetricsTrackerFactory}, so the pool
+ * reports acquire, usage and timeout timings it already measures; nothing sits in front of
+ * {@code getConnection}. Hikari's own Micrometer tracker is chained so the standard
+ * {@code hikaricp_*} metrics are still published. Other DataSources are wrapped in a concrete
+ * delegating DataSource that times {@code getConnection} directly.
  */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "metrics.database.enabled", havingValue = "true", matchIfMissing = false)
-public class DatabaseConnectionInterceptor {
+public class DatabaseConnectionInterceptor implements MetricsTrackerFactory {
 
     private final DatabaseMetricsService databaseMetricsService;
+    private final ConnectionHoldTimeRecorder holdTimeRecorder;
+    private final MeterRegistry meterRegistry;
     private DataSource originalDataSource;
     private HikariDataSource hikariDataSource;
     private HikariPoolMXBean hikariPoolMXBean;
 
     @Autowired
-    public DatabaseConnectionInterceptor(DatabaseMetricsService databaseMetricsService) {
+    public DatabaseConnectionInterceptor(DatabaseMetricsService databaseMetricsService,
+                                         @Autowired(required = false) ConnectionHoldTimeRecorder holdTimeRecorder,
+                                         @Autowired(required = false) MeterRegistry meterRegistry) {
         this.databaseMetricsService = databaseMetricsService;
+        this.holdTimeRecorder = holdTimeRecorder;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -47,8 +60,9 @@ public class DatabaseConnectionInterceptor {
     public void initialize(DataSource dataSource) {
         this.originalDataSource = dataSource;
         
-        if (dataSource instanceof HikariDataSource) {
-            this.hikariDataSource = (HikariDataSource) dataSource;
+        HikariDataSource hikari = HikariDataSources.unwrap(dataSource);
+        if (hikari != null) {
+            this.hikariDataSource = hikari;
             this.hikariPoolMXBean = hikariDataSource.getHikariPoolMXBean();
             log.info("Database connection interceptor initialized with HikariDataSource");
         } else {
@@ -58,131 +72,151 @@ public class DatabaseConnectionInterceptor {
     }
 
     /**
-     * Creates a proxy DataSource that intercepts connection acquisition calls.
-     * The proxy transparently captures metrics while delegating all calls to the original DataSource.
+     * Creates the metrics tracker for a Hikari pool. Called by Hikari when the pool starts.
+     * 
+     * @param poolName name of the pool
+     * @param poolStats live pool statistics
+     * @return tracker recording into the database metrics
+     */
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker delegate = meterRegistry != null
+                ? new MicrometerMetricsTrackerFactory(meterRegistry).create(poolName, poolStats)
+                : new IMetricsTracker() { };
+        log.info("Database connection metrics tracker installed for pool {}", poolName);
+        return new ConnectionMetricsTracker(delegate);
+    }
+
+    /**
+     * Wraps a non-Hikari DataSource so connection acquisition is still measured.
      * 
      * @param originalDataSource The original DataSource to wrap
-     * @return A proxy DataSource with metrics collection
+     * @return A delegating DataSource with metrics collection
      */
-    public DataSource createMetricsProxy(DataSource originalDataSource) {
-        this.originalDataSource = originalDataSource;
+    public DataSource wrapDataSource(DataSource originalDataSource) {
         initialize(originalDataSource);
-        
-        return (DataSource) Proxy.newProxyInstance(
-                originalDataSource.getClass().getClassLoader(),
-                new Class<?>[]{DataSource.class},
-                new DataSourceInvocationHandler(originalDataSource)
-        );
+        return new MeteredDataSource(originalDataSource);
     }
 
     /**
-     * InvocationHandler that intercepts DataSource method calls to capture metrics.
+     * Hikari callbacks. Acquire and usage are reported on the thread that borrows and
+     * returns the connection, which lets the hold-time recorder attribute usage to the
+     * transaction that borrowed it.
      */
-    private class DataSourceInvocationHandler implements InvocationHandler {
-        private final DataSource target;
+    private final class ConnectionMetricsTracker implements IMetricsTracker {
+        private final IMetricsTracker delegate;
 
-        public DataSourceInvocationHandler(DataSource target) {
-            this.target = target;
+        ConnectionMetricsTracker(IMetricsTracker delegate) {
+            this.delegate = delegate;
         }
 
         @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            // Intercept getConnection() calls to capture metrics
-            if ("getConnection".equals(method.getName())) {
-                return getConnectionWithMetrics(method, args);
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            databaseMetricsService.recordConnectionAcquisitionDuration(elapsedAcquiredNanos, TimeUnit.NANOSECONDS);
+            if (holdTimeRecorder != null) {
+                holdTimeRecorder.onConnectionAcquired();
             }
-            
-            // For all other methods, delegate directly to the target
-            return method.invoke(target, args);
         }
 
-        /**
-         * Intercepts connection acquisition to capture timing and failure metrics.
-         */
-        private Connection getConnectionWithMetrics(Method method, Object[] args) throws Throwable {
-            Timer.Sample acquisitionTimer = databaseMetricsService.startConnectionAcquisitionTimer();
-            
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            if (holdTimeRecorder != null) {
+                holdTimeRecorder.onConnectionReleased(elapsedBorrowedMillis);
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            delegate.recordConnectionTimeout();
+            // A Hikari acquisition timeout means no connection became free within connectionTimeout
+            databaseMetricsService.recordAcquisitionFailure();
+            databaseMetricsService.recordPoolExhaustionEvent();
+            log.warn("Database connection acquisition timed out waiting for the pool");
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    /**
+     * Delegating DataSource that times connection acquisition for pools without tracker hooks.
+     */
+    private final class MeteredDataSource extends DelegatingDataSource {
+
+        MeteredDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
             try {
-                // Check for potential pool exhaustion before attempting connection
-                checkForPoolExhaustion();
-                
-                // Attempt to get connection from the original DataSource
-                Connection connection = (Connection) method.invoke(target, args);
-                
-                // Record successful acquisition duration
-                databaseMetricsService.recordConnectionAcquisitionDuration(acquisitionTimer);
-                
-                log.debug("Database connection acquired successfully");
+                Connection connection = obtainTargetDataSource().getConnection();
+                databaseMetricsService.recordConnectionAcquisitionDuration(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 return connection;
-                
-            } catch (Exception e) {
-                // Record acquisition failure
-                databaseMetricsService.recordAcquisitionFailure();
-                
-                // Check if this was due to pool exhaustion
-                if (isPoolExhaustionException(e)) {
-                    databaseMetricsService.recordPoolExhaustionEvent();
-                    log.warn("Database connection acquisition failed due to pool exhaustion: {}", e.getMessage());
-                } else {
-                    log.warn("Database connection acquisition failed: {}", e.getMessage());
-                }
-                
-                // Still record the duration even for failed attempts
-                databaseMetricsService.recordConnectionAcquisitionDuration(acquisitionTimer);
-                
-                // Re-throw the original exception
+            } catch (SQLException | RuntimeException e) {
+                recordFailure(start, e);
                 throw e;
             }
         }
 
-        /**
-         * Checks if the connection pool is approaching exhaustion and records the event.
-         */
-        private void checkForPoolExhaustion() {
-            if (hikariPoolMXBean == null) {
-                return;
-            }
-            
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
             try {
-                int activeConnections = hikariPoolMXBean.getActiveConnections();
-                int totalConnections = hikariPoolMXBean.getTotalConnections();
-                int threadsAwaitingConnection = hikariPoolMXBean.getThreadsAwaitingConnection();
-                
-                // Record pool exhaustion if we're at maximum capacity with threads waiting
-                if (activeConnections >= totalConnections && threadsAwaitingConnection > 0) {
-                    databaseMetricsService.recordPoolExhaustionEvent();
-                    log.debug("Pool exhaustion detected - Active: {}, Total: {}, Waiting: {}", 
-                            activeConnections, totalConnections, threadsAwaitingConnection);
-                }
-                
-            } catch (Exception e) {
-                log.debug("Failed to check pool exhaustion status: {}", e.getMessage());
+                Connection connection = obtainTargetDataSource().getConnection(username, password);
+                databaseMetricsService.recordConnectionAcquisitionDuration(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                recordFailure(start, e);
+                throw e;
             }
         }
 
-        /**
-         * Determines if an exception was caused by connection pool exhaustion.
-         */
-        private boolean isPoolExhaustionException(Throwable throwable) {
-            if (throwable == null) {
-                return false;
+        private void recordFailure(long start, Exception e) {
+            databaseMetricsService.recordAcquisitionFailure();
+            if (isPoolExhaustionException(e)) {
+                databaseMetricsService.recordPoolExhaustionEvent();
+                log.warn("Database connection acquisition failed due to pool exhaustion: {}", e.getMessage());
+            } else {
+                log.warn("Database connection acquisition failed: {}", e.getMessage());
             }
-            
-            String message = throwable.getMessage();
-            if (message != null) {
-                String lowerMessage = message.toLowerCase();
-                return lowerMessage.contains("connection is not available") ||
-                       lowerMessage.contains("timeout") ||
-                       lowerMessage.contains("pool") ||
-                       lowerMessage.contains("exhausted") ||
-                       lowerMessage.contains("unable to obtain connection");
-            }
-            
-            // Check the cause recursively
-            return isPoolExhaustionException(throwable.getCause());
+            // Still record the duration even for failed attempts
+            databaseMetricsService.recordConnectionAcquisitionDuration(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
     }
 
+    /**
+     * Determines if an exception was caused by connection pool exhaustion.
+     */
+    static boolean isPoolExhaustionException(Throwable throwable) {
+        if (throwable == null) {
+            return false;
+        }
+        
+        String message = throwable.getMessage();
+        if (message != null) {
+            String lowerMessage = message.toLowerCase();
+            return lowerMessage.contains("connection is not available") ||
+                   lowerMessage.contains("timeout") ||
+                   lowerMessage.contains("pool") ||
+                   lowerMessage.contains("exhausted") ||
+                   lowerMessage.contains("unable to obtain connection");
+        }
+        
+        // Check the cause recursively
+        return isPoolExhaustionException(throwable.getCause());
+    }
+
     /**
      * Gets the current connection pool statistics for monitoring.
      * 
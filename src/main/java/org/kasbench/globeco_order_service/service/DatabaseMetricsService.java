@@ -7,6 +7,7 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.stereotype.Service;
@@ -36,6 +37,9 @@ public class DatabaseMetricsService {
     private HikariDataSource hikariDataSource;
     private HikariPoolMXBean hikariPoolMXBean;
 
+    @Autowired(required = false)
+    private TelemetrySampler telemetrySampler;
+
     @Autowired
     public DatabaseMetricsService(MeterRegistry meterRegistry, DataSource dataSource) {
         this.meterRegistry = meterRegistry;
@@ -62,8 +66,9 @@ public class DatabaseMetricsService {
      * Sets up integration with HikariCP for accessing pool statistics.
      */
     private void setupHikariIntegration() {
-        if (dataSource instanceof HikariDataSource) {
-            this.hikariDataSource = (HikariDataSource) dataSource;
+        HikariDataSource hikari = HikariDataSources.unwrap(dataSource);
+        if (hikari != null) {
+            this.hikariDataSource = hikari;
             this.hikariPoolMXBean = hikariDataSource.getHikariPoolMXBean();
             log.debug("HikariCP integration established successfully");
         } else {
@@ -202,7 +207,12 @@ public class DatabaseMetricsService {
      */
     private double getActiveConnections() {
         try {
-            return hikariPoolMXBean != null ? hikariPoolMXBean.getActiveConnections() : 0;
+            TelemetrySampler.DatabasePool sampled = sampledPool();
+            if (sampled != null) {
+                return sampled.getActiveConnections();
+            }
+            HikariPoolMXBean poolMXBean = poolMXBean();
+            return poolMXBean != null ? poolMXBean.getActiveConnections() : 0;
         } catch (Exception e) {
             log.debug("Failed to get active connections: {}", e.getMessage());
             return 0;
@@ -216,13 +226,40 @@ public class DatabaseMetricsService {
      */
     private double getIdleConnections() {
         try {
-            return hikariPoolMXBean != null ? hikariPoolMXBean.getIdleConnections() : 0;
+            TelemetrySampler.DatabasePool sampled = sampledPool();
+            if (sampled != null) {
+                return sampled.getIdleConnections();
+            }
+            HikariPoolMXBean poolMXBean = poolMXBean();
+            return poolMXBean != null ? poolMXBean.getIdleConnections() : 0;
         } catch (Exception e) {
             log.debug("Failed to get idle connections: {}", e.getMessage());
             return 0;
         }
     }
 
+    /**
+     * Gets the pool state from the latest telemetry snapshot, or null if there is no
+     * current snapshot of the pool and it has to be read directly.
+     */
+    private TelemetrySampler.DatabasePool sampledPool() {
+        TelemetrySampler.Snapshot snapshot = telemetrySampler != null ? telemetrySampler.getSnapshot() : null;
+        return snapshot != null ? snapshot.getDatabasePool() : null;
+    }
+
+    /**
+     * Gets the pool MXBean, looking it up again if the pool had not started when this
+     * service was initialized (Hikari only exposes it once the pool is running).
+     */
+    private HikariPoolMXBean poolMXBean() {
+        HikariPoolMXBean poolMXBean = hikariPoolMXBean;
+        if (poolMXBean == null && hikariDataSource != null) {
+            poolMXBean = hikariDataSource.getHikariPoolMXBean();
+            hikariPoolMXBean = poolMXBean;
+        }
+        return poolMXBean;
+    }
+
     /**
      * Checks if the database metrics service is properly initialized.
      * 
@@ -230,7 +267,7 @@ public class DatabaseMetricsService {
      */
     public boolean isInitialized() {
         return hikariDataSource != null && 
-               hikariPoolMXBean != null && 
+               poolMXBean() != null && 
                connectionAcquisitionTimer != null &&
                poolExhaustionCounter != null &&
                acquisitionFailureCounter != null;
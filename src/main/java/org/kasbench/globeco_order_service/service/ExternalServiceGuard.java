@@ -0,0 +1,226 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead and circuit breaker for one external service.
+ * The bulkhead caps concurrent calls so a hung downstream can only hold its own share
+ * of request threads and connections; the circuit breaker stops calls entirely once
+ * the downstream's recent failure rate crosses the threshold. Rejected calls fail
+ * fast with {@link ExternalServiceUnavailableException} and never reach the network.
+ *
+ * Only connectivity errors, timeouts and 5xx responses count as failures; 4xx
+ * responses such as 404 are valid answers from a healthy service.
+ */
+public class ExternalServiceGuard {
+    private static final Logger logger = LoggerFactory.getLogger(ExternalServiceGuard.class);
+
+    /** Returned by {@link #tryAcquire()} when the call was rejected. */
+    public static final long REJECTED = SlidingWindowCircuitBreaker.NO_PERMISSION;
+    private static final long BULKHEAD_FULL = -2;
+
+    private final String serviceName;
+    private final int maxConcurrentCalls;
+    private final long maxWaitMs;
+    private final Semaphore bulkhead;
+    private final SlidingWindowCircuitBreaker circuitBreaker;
+
+    // Metrics
+    private final Counter bulkheadRejectionCounter;
+    private final Counter circuitBreakerRejectionCounter;
+
+    public ExternalServiceGuard(String serviceName, int maxConcurrentCalls, long maxWaitMs,
+            SlidingWindowCircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        this.serviceName = serviceName;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.bulkhead = new Semaphore(this.maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+
+        this.bulkheadRejectionCounter = Counter.builder("external_service.bulkhead.rejections")
+                .description("Number of calls rejected because the bulkhead was full")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("external_service.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Free concurrent call slots in the bulkhead")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("external_service.bulkhead.max", this, guard -> guard.maxConcurrentCalls)
+                .description("Maximum concurrent calls allowed by the bulkhead")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        this.circuitBreakerRejectionCounter = Counter.builder("external_service.circuit_breaker.rejections")
+                .description("Number of calls rejected because the circuit breaker was open")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("external_service.circuit_breaker.state", circuitBreaker, cb -> cb.getState().getGaugeValue())
+                .description("Circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Gauge.builder("external_service.circuit_breaker.failure_rate", circuitBreaker,
+                        SlidingWindowCircuitBreaker::getFailureRatePercent)
+                .description("Failure rate percentage over the circuit breaker sliding window")
+                .tag("service", serviceName)
+                .register(meterRegistry);
+
+        Map<SlidingWindowCircuitBreaker.State, Counter> transitionCounters =
+                new EnumMap<>(SlidingWindowCircuitBreaker.State.class);
+        for (SlidingWindowCircuitBreaker.State state : SlidingWindowCircuitBreaker.State.values()) {
+            transitionCounters.put(state, Counter.builder("external_service.circuit_breaker.transitions")
+                    .description("Number of circuit breaker transitions into each state")
+                    .tag("service", serviceName)
+                    .tag("state", state.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        circuitBreaker.setTransitionListener((from, to) -> transitionCounters.get(to).increment());
+
+        logger.info("ExternalServiceGuard initialized for {} - maxConcurrentCalls={}, maxWaitMs={}",
+                serviceName, this.maxConcurrentCalls, this.maxWaitMs);
+    }
+
+    /**
+     * Run a blocking call through the bulkhead and circuit breaker.
+     * Exceptions thrown by the call are rethrown unchanged after being recorded.
+     *
+     * @param call the downstream call
+     * @return the call's result
+     * @throws ExternalServiceUnavailableException if the call was rejected locally
+     */
+    public <T> T execute(Supplier<T> call) {
+        long permit = acquire();
+        if (permit < 0) {
+            throw new ExternalServiceUnavailableException(serviceName, permit == BULKHEAD_FULL
+                    ? "bulkhead full"
+                    : "circuit breaker " + circuitBreaker.getState().name().toLowerCase());
+        }
+
+        boolean failed = false;
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            failed = isFailure(e);
+            throw e;
+        } finally {
+            release(permit, failed);
+        }
+    }
+
+    /**
+     * Acquire a bulkhead slot and circuit breaker permission for a non-blocking call.
+     * A successful acquire must be paired with exactly one {@link #release(long, boolean)}.
+     *
+     * @return the call's permit, or {@link #REJECTED} if the call may not proceed
+     */
+    public long tryAcquire() {
+        long permit = acquire();
+        return permit < 0 ? REJECTED : permit;
+    }
+
+    /**
+     * Release the slot taken by {@link #tryAcquire()} and record the call's outcome.
+     *
+     * @param permit the permit returned by {@link #tryAcquire()}
+     * @param failed whether the call failed in a way that indicates an unhealthy downstream
+     */
+    public void release(long permit, boolean failed) {
+        try {
+            if (failed) {
+                circuitBreaker.onFailure(permit);
+            } else {
+                circuitBreaker.onSuccess(permit);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Take one more bulkhead slot, without waiting, for a hedge of a call this guard has
+     * already admitted. A hedge is a second concurrent request to the downstream, so it
+     * pays for its own slot; when none is free the hedge is not sent.
+     *
+     * @return true if a slot was taken; pair it with {@link #releaseHedgeSlot()}
+     */
+    public boolean tryAcquireHedgeSlot() {
+        return bulkhead.tryAcquire();
+    }
+
+    public void releaseHedgeSlot() {
+        bulkhead.release();
+    }
+
+    private long acquire() {
+        boolean acquired;
+        try {
+            acquired = maxWaitMs == 0
+                    ? bulkhead.tryAcquire()
+                    : bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            bulkheadRejectionCounter.increment();
+            logger.debug("Bulkhead full for {} - {} concurrent calls in flight", serviceName, maxConcurrentCalls);
+            return BULKHEAD_FULL;
+        }
+
+        long permit = circuitBreaker.acquirePermission();
+        if (permit == SlidingWindowCircuitBreaker.NO_PERMISSION) {
+            bulkhead.release();
+            circuitBreakerRejectionCounter.increment();
+        }
+        return permit;
+    }
+
+    /**
+     * Classify an exception from a downstream call.
+     *
+     * @param error the exception thrown by the call
+     * @return true for connectivity errors, timeouts and 5xx responses
+     */
+    public static boolean isFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceAccessException
+                    || cause instanceof HttpServerErrorException
+                    || cause instanceof IOException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public SlidingWindowCircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return bulkhead.availablePermits();
+    }
+}
@@ -26,7 +26,9 @@ public class FilteringSpecification {
         "blotter.name",         // Direct join with blotter table
         "status.abbreviation",  // Direct join with status table
         "orderType.abbreviation", // Direct join with orderType table
-        "orderTimestamp"        // Direct field filtering
+        "orderTimestamp",       // Direct field filtering
+        "orderTimestamp.from",  // Inclusive lower bound; prunes order partitions before it
+        "orderTimestamp.to"     // Exclusive upper bound; prunes order partitions from it on
     );
     
     /**
@@ -193,19 +195,29 @@ public class FilteringSpecification {
                 
             case "orderTimestamp":
                 // Handle timestamp filtering - support ISO format
-                try {
-                    OffsetDateTime timestamp = OffsetDateTime.parse(value);
-                    return criteriaBuilder.equal(root.get("orderTimestamp"), timestamp);
-                } catch (DateTimeParseException e) {
-                    throw new IllegalArgumentException(
-                        String.format("Invalid timestamp format for orderTimestamp: '%s'. Expected ISO format (e.g., 2023-12-01T10:30:00Z)", value));
-                }
+                return criteriaBuilder.equal(root.get("orderTimestamp"), parseTimestamp(fieldName, value));
+                
+            case "orderTimestamp.from":
+                // Range bounds on the partition key let PostgreSQL skip months outside the range
+                return criteriaBuilder.greaterThanOrEqualTo(root.get("orderTimestamp"), parseTimestamp(fieldName, value));
+                
+            case "orderTimestamp.to":
+                return criteriaBuilder.lessThan(root.get("orderTimestamp"), parseTimestamp(fieldName, value));
                 
             default:
                 throw new IllegalArgumentException("Unsupported filter field: " + fieldName);
         }
     }
     
+    private static OffsetDateTime parseTimestamp(String fieldName, String value) {
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                String.format("Invalid timestamp format for %s: '%s'. Expected ISO format (e.g., 2023-12-01T10:30:00Z)", fieldName, value));
+        }
+    }
+    
     /**
      * Validate that all filter fields are valid.
      * 
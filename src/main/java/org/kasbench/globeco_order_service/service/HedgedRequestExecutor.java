@@ -0,0 +1,394 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Latency-aware request hedging for idempotent downstream lookups.
+ * The primary request runs on the calling thread; if it has not answered within the
+ * observed p95 latency for this downstream, a second identical request is sent from the
+ * hedge executor and whichever succeeds first is returned. Hedges are paid for from a token budget that
+ * earns {@code budgetPercent}% of a token per primary request, so hedging can never
+ * add more than that share of extra load, even when the downstream is failing.
+ * When a bulkhead guards the downstream, each hedge also takes its own bulkhead slot
+ * and is skipped if none is free, so hedging never exceeds the bulkhead's concurrency.
+ */
+public class HedgedRequestExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(HedgedRequestExecutor.class);
+
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final int P95_RECOMPUTE_INTERVAL = 32;
+    private static final long TOKEN_SCALE = 1000;
+    private static final long MAX_BUDGET_TOKENS = 10;
+
+    private final String serviceName;
+    private final boolean enabled;
+    private final long budgetPerRequest;
+    private final long minDelayMs;
+    private final long maxDelayMs;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ExternalServiceGuard bulkhead;
+
+    // Recent successful latencies (ms), p95 recomputed every P95_RECOMPUTE_INTERVAL samples
+    private final AtomicLongArray latencyWindow = new AtomicLongArray(LATENCY_WINDOW_SIZE);
+    private final AtomicInteger latencyCursor = new AtomicInteger(0);
+    private volatile long hedgeDelayMs;
+
+    private final AtomicLong budget = new AtomicLong(0);
+
+    // Metrics
+    private final Counter requestCounter;
+    private final Counter hedgeCounter;
+    private final Counter hedgeWinCounter;
+    private final Counter budgetExhaustedCounter;
+    private final Counter bulkheadFullCounter;
+
+    /**
+     * @param serviceName   downstream name used for metrics tags and thread names
+     * @param enabled       when false every call runs inline on the caller thread
+     * @param budgetPercent maximum hedges as a percentage of primary requests
+     * @param minDelayMs    lower bound on the hedge delay, also used until enough samples exist
+     * @param maxDelayMs    upper bound on the hedge delay
+     * @param maxThreads    maximum concurrent hedge requests in flight
+     * @param meterRegistry registry for hedge metrics, may be null
+     */
+    public HedgedRequestExecutor(String serviceName, boolean enabled, double budgetPercent,
+            long minDelayMs, long maxDelayMs, int maxThreads, MeterRegistry meterRegistry) {
+        this(serviceName, enabled, budgetPercent, minDelayMs, maxDelayMs, maxThreads, null, meterRegistry);
+    }
+
+    /**
+     * @param bulkhead      guard whose bulkhead each hedge must take a slot from, may be null
+     */
+    public HedgedRequestExecutor(String serviceName, boolean enabled, double budgetPercent,
+            long minDelayMs, long maxDelayMs, int maxThreads, ExternalServiceGuard bulkhead,
+            MeterRegistry meterRegistry) {
+        this.serviceName = serviceName;
+        this.bulkhead = bulkhead;
+        this.enabled = enabled;
+        this.budgetPerRequest = Math.round(Math.max(0.0, budgetPercent) / 100.0 * TOKEN_SCALE);
+        this.minDelayMs = Math.max(1, minDelayMs);
+        this.maxDelayMs = Math.max(this.minDelayMs, maxDelayMs);
+        this.hedgeDelayMs = this.minDelayMs;
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        this.executor = new ThreadPoolExecutor(0, Math.max(2, maxThreads), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), r -> {
+                    Thread thread = new Thread(r, serviceName + "-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, serviceName + "-hedge-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        MeterRegistry registry = meterRegistry != null ? meterRegistry : new SimpleMeterRegistry();
+        this.requestCounter = Counter.builder("external_service.hedge.requests")
+                .description("Number of requests eligible for hedging")
+                .tag("service", serviceName)
+                .register(registry);
+        this.hedgeCounter = Counter.builder("external_service.hedge.sent")
+                .description("Number of hedge requests sent after the primary exceeded the hedge delay")
+                .tag("service", serviceName)
+                .register(registry);
+        this.hedgeWinCounter = Counter.builder("external_service.hedge.wins")
+                .description("Number of times the hedge request answered before the primary")
+                .tag("service", serviceName)
+                .register(registry);
+        this.budgetExhaustedCounter = Counter.builder("external_service.hedge.budget_exhausted")
+                .description("Number of hedges skipped because the hedging budget was spent")
+                .tag("service", serviceName)
+                .register(registry);
+        this.bulkheadFullCounter = Counter.builder("external_service.hedge.bulkhead_full")
+                .description("Number of hedges skipped because the bulkhead had no free slot")
+                .tag("service", serviceName)
+                .register(registry);
+        Gauge.builder("external_service.hedge.delay_ms", this, HedgedRequestExecutor::getHedgeDelayMs)
+                .description("Current hedge delay (observed p95 latency)")
+                .tag("service", serviceName)
+                .register(registry);
+
+        logger.info("HedgedRequestExecutor initialized for {} - enabled={}, budgetPercent={}, delayBounds=[{}ms, {}ms]",
+                serviceName, enabled, budgetPercent, this.minDelayMs, this.maxDelayMs);
+    }
+
+    /**
+     * Execute an idempotent call, hedging it if it is slower than the current p95.
+     * The call runs on the calling thread; only the hedge runs on the hedge executor,
+     * sent once the primary has been in flight for the hedge delay. If the hedge answers
+     * first the calling thread is interrupted so a primary blocked in an interruptible wait
+     * (such as a connection pool lease) gives up early; a primary blocked in a socket read
+     * still runs to completion, and the hedge's result is returned once it does.
+     * Runtime exceptions thrown by the call are rethrown unchanged so callers keep
+     * their existing error handling.
+     *
+     * @param call the blocking downstream call
+     * @return the first successful result
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        requestCounter.increment();
+        earnBudget();
+
+        long start = System.nanoTime();
+        long delayMs = hedgeDelayMs;
+        HedgedCall<T> hedged = new HedgedCall<>(Thread.currentThread());
+        ScheduledFuture<?> trigger;
+        try {
+            trigger = scheduler.schedule(() -> sendHedge(call, hedged, delayMs), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down: call without a hedge
+            return call.get();
+        }
+
+        T value = null;
+        RuntimeException failure = null;
+        try {
+            value = call.get();
+        } catch (RuntimeException e) {
+            failure = e;
+        } finally {
+            trigger.cancel(false);
+            hedged.primaryEnded();
+        }
+
+        if (failure == null) {
+            if (hedged.decided.compareAndSet(false, true)) {
+                recordLatency(start);
+                return value;
+            }
+            // The hedge answered first
+            return await(hedged.hedge, start);
+        }
+
+        if (!hedged.hedgeSent) {
+            throw failure;
+        }
+        // The primary failed while a hedge was in flight: use the hedge if it succeeds,
+        // otherwise surface the primary's failure, as an unhedged call would have
+        try {
+            return await(hedged.hedge, start);
+        } catch (RuntimeException hedgeFailure) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw hedgeFailure;
+            }
+            throw failure;
+        }
+    }
+
+    /**
+     * Send the hedge for a primary still in flight after the hedge delay, if the budget
+     * and bulkhead allow. Runs on the scheduler thread, so it only hands the hedge off.
+     */
+    private <T> void sendHedge(Supplier<T> call, HedgedCall<T> hedged, long delayMs) {
+        if (!hedged.markHedgeSent()) {
+            return;
+        }
+
+        if (!tryConsumeBudget()) {
+            budgetExhaustedCounter.increment();
+            hedged.hedge.completeExceptionally(new IllegalStateException("Hedge budget spent"));
+            return;
+        }
+
+        if (bulkhead != null && !bulkhead.tryAcquireHedgeSlot()) {
+            refundBudget();
+            bulkheadFullCounter.increment();
+            hedged.hedge.completeExceptionally(new IllegalStateException("Bulkhead full"));
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    T value = call.get();
+                    if (hedged.decided.compareAndSet(false, true)) {
+                        hedgeWinCounter.increment();
+                        hedged.hedge.complete(value);
+                        hedged.interruptPrimary();
+                    } else {
+                        hedged.hedge.complete(value);
+                    }
+                } catch (Throwable error) {
+                    hedged.hedge.completeExceptionally(error);
+                } finally {
+                    // The caller's slot is freed as soon as either request answers, so this slot is
+                    // held until both requests have actually ended, whichever of them lost
+                    hedged.primaryDone.whenComplete((ignored, error) -> releaseHedgeSlot());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            releaseHedgeSlot();
+            refundBudget();
+            hedged.hedge.completeExceptionally(e);
+            return;
+        }
+        hedgeCounter.increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("HEDGE: {} primary exceeded {}ms, sent hedge request", serviceName, delayMs);
+        }
+    }
+
+    /**
+     * State shared by a primary running on the calling thread and its hedge.
+     */
+    private static final class HedgedCall<T> {
+        private final Thread caller;
+        private final CompletableFuture<T> hedge = new CompletableFuture<>();
+        private final CompletableFuture<Void> primaryDone = new CompletableFuture<>();
+        // The winner is decided before the caller is released, so it sees who won
+        private final AtomicBoolean decided = new AtomicBoolean(false);
+        private boolean primaryRunning = true;
+        private boolean primaryInterrupted;
+        private volatile boolean hedgeSent;
+
+        private HedgedCall(Thread caller) {
+            this.caller = caller;
+        }
+
+        /**
+         * @return true if the primary is still running, in which case the hedge is
+         *         committed to and its future will be completed
+         */
+        private synchronized boolean markHedgeSent() {
+            if (!primaryRunning) {
+                return false;
+            }
+            hedgeSent = true;
+            return true;
+        }
+
+        private synchronized void interruptPrimary() {
+            if (primaryRunning) {
+                primaryInterrupted = true;
+                caller.interrupt();
+            }
+        }
+
+        private void primaryEnded() {
+            synchronized (this) {
+                primaryRunning = false;
+                if (primaryInterrupted) {
+                    // Only this executor interrupted the caller; do not leak it past the call
+                    Thread.interrupted();
+                }
+            }
+            primaryDone.complete(null);
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future, long start) {
+        try {
+            T result = future.get();
+            recordLatency(start);
+            return result;
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted waiting for " + serviceName, e);
+        }
+    }
+
+    private RuntimeException unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (error instanceof Error fatal) {
+            throw fatal;
+        }
+        return new IllegalStateException(error);
+    }
+
+    private void releaseHedgeSlot() {
+        if (bulkhead != null) {
+            bulkhead.releaseHedgeSlot();
+        }
+    }
+
+    private void earnBudget() {
+        long cap = MAX_BUDGET_TOKENS * TOKEN_SCALE;
+        budget.getAndUpdate(current -> Math.min(cap, current + budgetPerRequest));
+    }
+
+    private boolean tryConsumeBudget() {
+        while (true) {
+            long current = budget.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+            if (budget.compareAndSet(current, current - TOKEN_SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private void refundBudget() {
+        budget.addAndGet(TOKEN_SCALE);
+    }
+
+    private void recordLatency(long startNanos) {
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        int sample = latencyCursor.getAndIncrement();
+        latencyWindow.set(Math.floorMod(sample, LATENCY_WINDOW_SIZE), latencyMs);
+        if ((sample & (P95_RECOMPUTE_INTERVAL - 1)) == P95_RECOMPUTE_INTERVAL - 1) {
+            int filled = sample >= 0 && sample < LATENCY_WINDOW_SIZE ? sample + 1 : LATENCY_WINDOW_SIZE;
+            recomputeHedgeDelay(filled);
+        }
+    }
+
+    private void recomputeHedgeDelay(int sampleCount) {
+        long[] samples = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            samples[i] = latencyWindow.get(i);
+        }
+        Arrays.sort(samples);
+        long p95 = samples[Math.min(sampleCount - 1, (int) Math.ceil(sampleCount * 0.95) - 1)];
+        hedgeDelayMs = Math.max(minDelayMs, Math.min(maxDelayMs, p95));
+    }
+
+    /**
+     * Get the delay after which a hedge is sent.
+     *
+     * @return hedge delay in milliseconds
+     */
+    public long getHedgeDelayMs() {
+        return hedgeDelayMs;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
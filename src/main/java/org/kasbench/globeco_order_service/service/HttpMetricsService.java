@@ -37,8 +37,12 @@ public class HttpMetricsService {
     private final PoolingHttpClientConnectionManager connectionManager;
     private final Map<String, String> serviceProtocols;
     private final Map<String, HttpConnectionPoolMetrics> serviceMetrics;
+    private final Map<String, PoolingHttpClientConnectionManager> serviceConnectionManagers;
     private final ScheduledExecutorService scheduler;
 
+    @Autowired(required = false)
+    private TelemetrySampler telemetrySampler;
+
     public HttpMetricsService(MeterRegistry meterRegistry,
             @Autowired(required = false) PoolingHttpClientConnectionManager connectionManager) {
         logger.debug("HttpMetricsService constructor called - MeterRegistry: {}, ConnectionManager: {}",
@@ -49,6 +53,7 @@ public class HttpMetricsService {
         this.connectionManager = connectionManager;
         this.serviceProtocols = new ConcurrentHashMap<>();
         this.serviceMetrics = new ConcurrentHashMap<>();
+        this.serviceConnectionManagers = new ConcurrentHashMap<>();
         this.scheduler = Executors.newScheduledThreadPool(1, r -> {
             Thread t = new Thread(r, "http-metrics-updater");
             t.setDaemon(true);
@@ -96,6 +101,9 @@ public class HttpMetricsService {
             // Only add to maps if gauge registration succeeded
             serviceProtocols.put(trimmedServiceName, protocol);
             serviceMetrics.put(trimmedServiceName, metrics);
+            if (telemetrySampler != null) {
+                telemetrySampler.registerHttpPool(trimmedServiceName, connectionManagerFor(trimmedServiceName));
+            }
 
             logger.info("HTTP connection pool metrics registered for service: {} with protocol: {}",
                     trimmedServiceName, protocol);
@@ -106,6 +114,26 @@ public class HttpMetricsService {
         }
     }
 
+    /**
+     * Registers HTTP connection pool metrics for a service that has its own
+     * connection pool. Pool statistics for this service are read from the given
+     * manager instead of the shared primary pool.
+     *
+     * @param serviceName              Name of the service
+     * @param serviceUrl               The service URL to determine protocol
+     * @param serviceConnectionManager the service's dedicated connection pool
+     */
+    public void registerHttpConnectionPoolMetrics(String serviceName, String serviceUrl,
+            PoolingHttpClientConnectionManager serviceConnectionManager) {
+        if (serviceName != null && serviceConnectionManager != null) {
+            serviceConnectionManagers.put(serviceName.trim(), serviceConnectionManager);
+            if (telemetrySampler != null) {
+                telemetrySampler.registerHttpPool(serviceName.trim(), serviceConnectionManager);
+            }
+        }
+        registerHttpConnectionPoolMetrics(serviceName, serviceUrl);
+    }
+
     /**
      * Registers HTTP connection pool gauge metrics for a specific service.
      */
@@ -205,11 +233,13 @@ public class HttpMetricsService {
             for (String serviceName : serviceMetrics.keySet()) {
                 HttpConnectionPoolMetrics metrics = serviceMetrics.get(serviceName);
                 if (metrics != null) {
-                    // Use actual connection pool statistics
-                    int maxTotal = connectionManager.getMaxTotal();
-                    int leased = totalStats.getLeased();
-                    int available = totalStats.getAvailable();
-                    int pending = totalStats.getPending();
+                    // Use actual connection pool statistics, from the service's own pool when it has one
+                    PoolingHttpClientConnectionManager manager = connectionManagerFor(serviceName);
+                    PoolStats stats = manager == connectionManager ? totalStats : manager.getTotalStats();
+                    int maxTotal = manager.getMaxTotal();
+                    int leased = stats.getLeased();
+                    int available = stats.getAvailable();
+                    int pending = stats.getPending();
 
                     // Calculate idle connections (available connections that are not pending)
                     int idle = Math.max(0, available - pending);
@@ -259,6 +289,21 @@ public class HttpMetricsService {
         }
     }
 
+    /**
+     * Updates metrics for all registered services from a telemetry snapshot. Services
+     * whose pool was not sampled keep their previous values.
+     */
+    void updateFromSnapshot(TelemetrySampler.Snapshot snapshot) {
+        serviceMetrics.forEach((serviceName, metrics) -> {
+            TelemetrySampler.HttpPool pool = snapshot.getHttpPool(serviceName);
+            if (pool != null) {
+                metrics.setTotalConnections(pool.getMaxTotal());
+                metrics.setActiveConnections(pool.getLeased());
+                metrics.setIdleConnections(pool.getIdle());
+            }
+        });
+    }
+
     /**
      * Determines the protocol (http/https) from a service URL.
      */
@@ -338,8 +383,9 @@ public class HttpMetricsService {
 
             // Get route-specific statistics using HttpRoute
             HttpRoute route = new HttpRoute(httpHost);
-            PoolStats routeStats = connectionManager.getStats(route);
-            int maxPerRoute = connectionManager.getDefaultMaxPerRoute();
+            PoolingHttpClientConnectionManager manager = connectionManagerFor(serviceName);
+            PoolStats routeStats = manager.getStats(route);
+            int maxPerRoute = manager.getDefaultMaxPerRoute();
 
             // Update metrics with route-specific data
             metrics.setTotalConnections(maxPerRoute);
@@ -357,6 +403,11 @@ public class HttpMetricsService {
         }
     }
 
+    private PoolingHttpClientConnectionManager connectionManagerFor(String serviceName) {
+        PoolingHttpClientConnectionManager manager = serviceConnectionManagers.get(serviceName);
+        return manager != null ? manager : connectionManager;
+    }
+
     /**
      * Gets detailed connection pool information for debugging and monitoring.
      */
@@ -393,7 +444,8 @@ public class HttpMetricsService {
     }
 
     /**
-     * Initializes the HTTP metrics service and starts the periodic update task.
+     * Initializes the HTTP metrics service. Pool metrics follow the telemetry sampler
+     * when one is available, otherwise a periodic update task is started.
      * This method is called explicitly from MetricsConfiguration to ensure proper
      * initialization.
      */
@@ -403,6 +455,13 @@ public class HttpMetricsService {
         logger.info("Connection manager available: {}", connectionManager != null);
         logger.info("MeterRegistry available: {}", meterRegistry != null);
 
+        if (telemetrySampler != null) {
+            // Pools are read once per tick by the shared sampler
+            telemetrySampler.addListener(this::updateFromSnapshot);
+            logger.debug("=== HTTP metrics updated from telemetry sampler ===");
+            return;
+        }
+
         // Start periodic metrics update task
         scheduler.scheduleAtFixedRate(this::updateConnectionPoolMetricsFromManager,
                 10, // Initial delay
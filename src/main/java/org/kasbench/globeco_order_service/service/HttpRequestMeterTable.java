@@ -0,0 +1,260 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Precomputed table of HTTP request meters indexed by (route id, method, status).
+ *
+ * Route ids are assigned once at startup from the handler mappings, so the request
+ * path only needs a lookup of the matched pattern (whose hash is cached by the
+ * String) and a switch on the method name. Requests without a matched pattern are
+ * resolved by matching the raw path against a {@link RouteTemplateTrie} of the same
+ * patterns; paths matching no template share a single {@code /unknown} route, so
+ * the number of path tags is fixed at startup. Recording itself is a few array indexes,
+ * a counter increment and a timer record; no tag strings or cache keys are built.
+ *
+ * Cells are grouped by status class (1xx-5xx plus unknown). Each class row holds
+ * the 100 individual codes of that class and is allocated the first time a code in
+ * that class is seen for the route and method; each cell's counter and timer are
+ * registered on first use, keeping the exported series identical to the string-keyed
+ * path in {@link HttpRequestMetricsService}.
+ */
+@Slf4j
+public final class HttpRequestMeterTable {
+
+    /** Method slots; the index of each name is the method index used by the table. */
+    private static final String[] METHODS = {
+            "GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "TRACE", "CONNECT",
+            HttpMethodNormalizer.getUnknownMethod()
+    };
+    static final int UNKNOWN_METHOD_INDEX = METHODS.length - 1;
+
+    private static final int STATUS_CLASSES = 6; // 1xx..5xx plus unknown
+    private static final int UNKNOWN_STATUS_CLASS = STATUS_CLASSES - 1;
+    private static final int CODES_PER_CLASS = 100;
+
+    private static final Duration[] SERVICE_LEVEL_OBJECTIVES = {
+            Duration.ofNanos(5_000_000), // 0.005s
+            Duration.ofNanos(10_000_000), // 0.01s
+            Duration.ofNanos(25_000_000), // 0.025s
+            Duration.ofNanos(50_000_000), // 0.05s
+            Duration.ofNanos(100_000_000), // 0.1s
+            Duration.ofNanos(250_000_000), // 0.25s
+            Duration.ofNanos(500_000_000), // 0.5s
+            Duration.ofSeconds(1), // 1s
+            Duration.ofNanos(2_500_000_000L), // 2.5s
+            Duration.ofSeconds(5), // 5s
+            Duration.ofSeconds(10) // 10s
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> routeIdsByPattern;
+    private final String[] routePaths;
+    private final RouteTemplateTrie routeTrie;
+    private final int unmatchedRouteId;
+    private final AtomicReferenceArray<AtomicReferenceArray<RequestMeters>> statusRows;
+
+    /**
+     * Builds the table for a fixed set of route patterns.
+     *
+     * @param meterRegistry registry the meters are registered with
+     * @param routePatterns handler mapping patterns as reported in
+     *                      {@code HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE}
+     * @param pathTagMapper maps a route pattern to its {@code path} tag value
+     */
+    public HttpRequestMeterTable(MeterRegistry meterRegistry, Collection<String> routePatterns,
+            UnaryOperator<String> pathTagMapper) {
+        this.meterRegistry = meterRegistry;
+
+        Map<String, Integer> ids = new HashMap<>();
+        Map<String, Integer> idsByPath = new LinkedHashMap<>();
+        List<String> paths = new ArrayList<>();
+        RouteTemplateTrie trie = new RouteTemplateTrie();
+        for (String pattern : routePatterns) {
+            if (pattern == null || ids.containsKey(pattern)) {
+                continue;
+            }
+            String path = pathTagMapper.apply(pattern);
+            // Patterns that sanitize to the same tag share one row of meters
+            Integer id = idsByPath.computeIfAbsent(path, p -> {
+                paths.add(p);
+                return paths.size() - 1;
+            });
+            ids.put(pattern, id);
+            trie.add(pattern, id);
+        }
+        this.unmatchedRouteId = idsByPath.computeIfAbsent(RoutePatternSanitizer.getUnknownPath(), p -> {
+            paths.add(p);
+            return paths.size() - 1;
+        });
+        this.routeIdsByPattern = Map.copyOf(ids);
+        this.routePaths = paths.toArray(new String[0]);
+        this.routeTrie = trie;
+        this.statusRows = new AtomicReferenceArray<>(routePaths.length * METHODS.length * STATUS_CLASSES);
+
+        log.info("HttpRequestMeterTable built with {} route patterns mapped to {} routes", ids.size(), routePaths.length);
+    }
+
+    /**
+     * Resolves the route id of a handler mapping pattern.
+     *
+     * @param pattern best matching pattern of the request
+     * @return route id, or -1 if the pattern was not registered at startup
+     */
+    public int routeId(String pattern) {
+        if (pattern == null) {
+            return -1;
+        }
+        Integer id = routeIdsByPattern.get(pattern);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Resolves the route id of a raw request path by matching it against the
+     * registered templates. Used when the handler mapping did not expose a matched
+     * pattern, e.g. for requests rejected before handler selection.
+     *
+     * @param rawPath   raw request path, e.g. the request URI
+     * @param fromIndex index where the application path starts (context path length)
+     * @return route id of the matching template, or the id of the {@code /unknown} route
+     */
+    public int matchPath(String rawPath, int fromIndex) {
+        int id = routeTrie.match(rawPath, fromIndex);
+        return id != RouteTemplateTrie.NO_MATCH ? id : unmatchedRouteId;
+    }
+
+    /**
+     * Resolves the method index of a raw request method.
+     * Servlet containers report methods in upper case, which resolve through the
+     * switch alone; anything else goes through {@link HttpMethodNormalizer} first.
+     *
+     * @param method raw HTTP method
+     * @return method index
+     */
+    public static int methodIndex(String method) {
+        int index = standardMethodIndex(method);
+        if (index != UNKNOWN_METHOD_INDEX || method == null) {
+            return index;
+        }
+        return standardMethodIndex(HttpMethodNormalizer.normalize(method));
+    }
+
+    private static int standardMethodIndex(String method) {
+        if (method == null) {
+            return UNKNOWN_METHOD_INDEX;
+        }
+        switch (method) {
+            case "GET": return 0;
+            case "POST": return 1;
+            case "PUT": return 2;
+            case "DELETE": return 3;
+            case "PATCH": return 4;
+            case "HEAD": return 5;
+            case "OPTIONS": return 6;
+            case "TRACE": return 7;
+            case "CONNECT": return 8;
+            default: return UNKNOWN_METHOD_INDEX;
+        }
+    }
+
+    /**
+     * Records one completed request.
+     *
+     * @param routeId       id from {@link #routeId(String)}
+     * @param methodIndex   index from {@link #methodIndex(String)}
+     * @param statusCode    HTTP status code
+     * @param durationNanos request duration in nanoseconds
+     */
+    public void record(int routeId, int methodIndex, int statusCode, long durationNanos) {
+        RequestMeters meters = meters(routeId, methodIndex, statusCode);
+        meters.counter.increment();
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    RequestMeters meters(int routeId, int methodIndex, int statusCode) {
+        boolean validStatus = StatusCodeHandler.isValidHttpStatusCode(statusCode);
+        int statusClass = validStatus ? statusCode / 100 - 1 : UNKNOWN_STATUS_CLASS;
+        int codeSlot = validStatus ? statusCode % 100 : 0;
+
+        int rowIndex = (routeId * METHODS.length + methodIndex) * STATUS_CLASSES + statusClass;
+        AtomicReferenceArray<RequestMeters> row = statusRows.get(rowIndex);
+        if (row == null) {
+            statusRows.compareAndSet(rowIndex, null,
+                    new AtomicReferenceArray<>(validStatus ? CODES_PER_CLASS : 1));
+            row = statusRows.get(rowIndex);
+        }
+
+        RequestMeters meters = row.get(codeSlot);
+        if (meters == null) {
+            // Registering the same meter twice returns the existing instance, so a race is harmless
+            meters = createMeters(METHODS[methodIndex], routePaths[routeId],
+                    validStatus ? String.valueOf(statusCode) : StatusCodeHandler.getUnknownStatus());
+            row.compareAndSet(codeSlot, null, meters);
+        }
+        return meters;
+    }
+
+    private RequestMeters createMeters(String method, String path, String status) {
+        Counter counter = Counter.builder("http_requests_total")
+                .description("Total number of HTTP requests")
+                .tag("method", method)
+                .tag("path", path)
+                .tag("status", status)
+                .register(meterRegistry);
+        Timer timer = Timer.builder("http_request_duration")
+                .description("Duration of HTTP requests")
+                .tag("method", method)
+                .tag("path", path)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SERVICE_LEVEL_OBJECTIVES)
+                .register(meterRegistry);
+        log.debug("Registered HTTP request meters for {} {} {}", method, path, status);
+        return new RequestMeters(counter, timer);
+    }
+
+    /**
+     * Gets the method tag value for a method index.
+     */
+    public static String methodName(int methodIndex) {
+        return METHODS[methodIndex];
+    }
+
+    /**
+     * Gets the path tag value for a route id.
+     */
+    public String routePath(int routeId) {
+        return routePaths[routeId];
+    }
+
+    /**
+     * Gets the number of distinct routes in the table, including {@code /unknown}.
+     */
+    public int getRouteCount() {
+        return routePaths.length;
+    }
+
+    static final class RequestMeters {
+        final Counter counter;
+        final Timer timer;
+
+        RequestMeters(Counter counter, Timer timer) {
+            this.counter = counter;
+            this.timer = timer;
+        }
+    }
+}
@@ -4,15 +4,21 @@ import lombok.extern.slf4j.Slf4j;
 import org.kasbench.globeco_order_service.config.MetricsProperties;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * HTTP request metrics interceptor that captures timing and request information
@@ -24,6 +30,18 @@ import jakarta.servlet.http.HttpServletResponse;
  * - Records metrics when request processing completes (afterCompletion)
  * - Uses ThreadLocal to maintain timing context across interceptor methods
  * - Handles errors gracefully without impacting request processing
+ * 
+ * Route patterns of all request mappings are resolved to meter table ids once the
+ * context is refreshed. From then on every request is recorded against one of those
+ * routes, or against {@code /unknown} if its path matches no template, without any
+ * per-request string handling. Those requests reuse one timing context per thread, so
+ * the hot path allocates nothing.
+ * 
+ * A handler that returns a CompletableFuture releases its servlet thread without
+ * afterCompletion. Its context is then moved off the thread into a request attribute,
+ * the async dispatch that writes the response picks it up instead of starting a new
+ * one, and the request is recorded and leaves the in-flight gauge once, when that
+ * dispatch completes.
  */
 @Slf4j
 @Component
@@ -35,7 +53,10 @@ import jakarta.servlet.http.HttpServletResponse;
     },
     havingValue = "true"
 )
-public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
+public class HttpRequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    // Request attribute holding the context of a request whose handling went async
+    static final String ASYNC_CONTEXT_ATTRIBUTE = HttpRequestMetricsInterceptor.class.getName() + ".CONTEXT";
 
     private final HttpRequestMetricsService metricsService;
     private final MetricsProperties metricsProperties;
@@ -43,6 +64,10 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
     // ThreadLocal to store request timing context across interceptor methods
     private static final ThreadLocal<RequestTimingContext> REQUEST_CONTEXT = new ThreadLocal<>();
 
+    // Per-thread context reused by every request resolved against the meter table
+    private static final ThreadLocal<RequestTimingContext> REUSABLE_CONTEXT =
+            ThreadLocal.withInitial(RequestTimingContext::new);
+
     @Autowired
     public HttpRequestMetricsInterceptor(HttpRequestMetricsService metricsService, MetricsProperties metricsProperties) {
         this.metricsService = metricsService;
@@ -52,6 +77,31 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
                 metricsProperties != null && metricsProperties.getHttp().getRequest().isDetailedLoggingEnabled());
     }
 
+    /**
+     * Builds the metrics service's meter table from the request mappings.
+     * Runs once the handler mappings are fully initialized.
+     * 
+     * @param event context refreshed event
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void initializeRouteTable(ContextRefreshedEvent event) {
+        if (metricsService == null) {
+            return;
+        }
+        try {
+            Set<String> routePatterns = new LinkedHashSet<>();
+            for (RequestMappingHandlerMapping mapping : event.getApplicationContext()
+                    .getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+                for (RequestMappingInfo mappingInfo : mapping.getHandlerMethods().keySet()) {
+                    routePatterns.addAll(mappingInfo.getPatternValues());
+                }
+            }
+            metricsService.initializeRouteTable(routePatterns);
+        } catch (Exception e) {
+            log.warn("Failed to resolve request mapping routes for HTTP request metrics: {}", e.getMessage());
+        }
+    }
+
     /**
      * Called before the handler method is invoked.
      * Starts request timing and increments in-flight requests gauge.
@@ -70,6 +120,22 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
                 return true;
             }
             
+            // Async dispatch: keep timing the request from its first dispatch
+            if (request.getAttribute(ASYNC_CONTEXT_ATTRIBUTE) instanceof RequestTimingContext asyncContext) {
+                REQUEST_CONTEXT.set(asyncContext);
+                return true;
+            }
+            
+            // Fast path: resolve the route against the table built at startup
+            HttpRequestMeterTable meterTable = metricsService.getMeterTable();
+            if (meterTable != null) {
+                RequestTimingContext context = REUSABLE_CONTEXT.get();
+                context.start(meterTable, resolveRouteId(meterTable, request),
+                        HttpRequestMeterTable.methodIndex(request.getMethod()), metricsService);
+                REQUEST_CONTEXT.set(context);
+                return true;
+            }
+            
             // Extract request information with fallbacks
             String method = extractHttpMethod(request);
             String path = extractRoutePath(request, handler);
@@ -122,6 +188,10 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
         RequestTimingContext context = null;
         try {
             context = REQUEST_CONTEXT.get();
+            if (context == null && request.getAttribute(ASYNC_CONTEXT_ATTRIBUTE) instanceof RequestTimingContext asyncContext) {
+                context = asyncContext;
+            }
+            request.removeAttribute(ASYNC_CONTEXT_ATTRIBUTE);
             if (context != null) {
                 // Extract status code with fallback handling
                 int statusCode = extractStatusCode(response, ex);
@@ -167,11 +237,52 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
             }
             
         } finally {
-            // Always clean up ThreadLocal to prevent memory leaks
-            REQUEST_CONTEXT.remove();
+            // Clear the ThreadLocal but keep its entry, so the next request's set() does not allocate
+            REQUEST_CONTEXT.set(null);
+        }
+    }
+
+    /**
+     * Called instead of postHandle and afterCompletion when the handler started async
+     * processing. The request is still in flight, so its context is kept as a request
+     * attribute for the async dispatch to complete, and this thread's context is cleared.
+     * A reused per-thread context is first handed over to a context of its own, since the
+     * thread goes on to serve other requests.
+     * 
+     * @param request current HTTP request
+     * @param response current HTTP response
+     * @param handler the handler that started async processing
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+                                               @NonNull HttpServletResponse response, @NonNull Object handler) {
+        try {
+            RequestTimingContext context = REQUEST_CONTEXT.get();
+            if (context != null) {
+                request.setAttribute(ASYNC_CONTEXT_ATTRIBUTE,
+                        context == REUSABLE_CONTEXT.get() ? context.detach() : context);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to keep HTTP request metrics context for async request {} {}: {}",
+                    safeGetMethod(request), safeGetRequestURI(request), e.getMessage());
+        } finally {
+            REQUEST_CONTEXT.set(null);
         }
     }
 
+    /**
+     * Resolves the meter table route of a request: the matched handler pattern when
+     * Spring exposes one, otherwise the raw path matched against the route templates.
+     */
+    private int resolveRouteId(HttpRequestMeterTable meterTable, HttpServletRequest request) {
+        int routeId = meterTable.routeId((String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        if (routeId >= 0) {
+            return routeId;
+        }
+        String contextPath = request.getContextPath();
+        return meterTable.matchPath(request.getRequestURI(), contextPath != null ? contextPath.length() : 0);
+    }
+
     /**
      * Extracts the route pattern from the request and handler information.
      * Uses Spring's HandlerMapping to get route patterns when available,
@@ -405,11 +516,19 @@ public class HttpRequestMetricsInterceptor implements HandlerInterceptor {
                 return;
             }
             
-            String method = safeGetMethod(request);
-            String path = safeGetRequestURI(request);
             int statusCode = extractStatusCode(response, ex);
             
             // Record with minimal timing (0 duration since we don't have start time)
+            HttpRequestMeterTable meterTable = metricsService.getMeterTable();
+            if (meterTable != null) {
+                metricsService.recordRequest(resolveRouteId(meterTable, request),
+                        HttpRequestMeterTable.methodIndex(request.getMethod()), statusCode, 0);
+                log.debug("Recorded fallback metric for {} {} - {}", request.getMethod(), request.getRequestURI(), statusCode);
+                return;
+            }
+            
+            String method = safeGetMethod(request);
+            String path = safeGetRequestURI(request);
             metricsService.recordRequest(method, path, statusCode, 0);
             
             log.debug("Recorded fallback metric for {} {} - {}", method, path, statusCode);
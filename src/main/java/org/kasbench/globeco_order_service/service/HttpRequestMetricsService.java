@@ -11,6 +11,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,6 +44,9 @@ public class HttpRequestMetricsService {
     private final ConcurrentHashMap<String, Counter> counterCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Timer> timerCache = new ConcurrentHashMap<>();
 
+    // Precomputed meters for the routes known to the handler mappings, set once at startup
+    private volatile HttpRequestMeterTable meterTable;
+
     @Autowired
     public HttpRequestMetricsService(MeterRegistry meterRegistry, MetricsProperties metricsProperties) {
         log.info("HttpRequestMetricsService constructor called with MeterRegistry: {}, MetricsProperties: {}",
@@ -162,6 +166,58 @@ public class HttpRequestMetricsService {
         }
     }
 
+    /**
+     * Builds the precomputed meter table for the application's handler mapping
+     * patterns. Requests matched to one of these patterns are recorded through
+     * {@link #recordRequest(int, int, int, long)} without any string handling.
+     * 
+     * @param routePatterns handler mapping patterns registered at startup
+     */
+    public void initializeRouteTable(Collection<String> routePatterns) {
+        try {
+            this.meterTable = new HttpRequestMeterTable(meterRegistry, routePatterns,
+                    pattern -> sanitizePathWithFallback(RoutePatternSanitizer.sanitize(pattern)));
+        } catch (Exception e) {
+            log.warn("Failed to build HTTP request meter table, all requests will use the cached path: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the precomputed meter table.
+     * 
+     * @return the meter table, or null if it has not been built
+     */
+    public HttpRequestMeterTable getMeterTable() {
+        return meterTable;
+    }
+
+    /**
+     * Records an HTTP request whose route was resolved against the meter table.
+     * This is the per-request hot path: it only indexes into the table and
+     * updates the counter and timer.
+     * 
+     * @param routeId       route id from {@link HttpRequestMeterTable#routeId(String)}
+     * @param methodIndex   method index from {@link HttpRequestMeterTable#methodIndex(String)}
+     * @param statusCode    HTTP status code
+     * @param durationNanos Request duration in nanoseconds
+     */
+    public void recordRequest(int routeId, int methodIndex, int statusCode, long durationNanos) {
+        HttpRequestMeterTable table = meterTable;
+        if (table == null) {
+            log.debug("Meter table not initialized, cannot record route {}", routeId);
+            return;
+        }
+        try {
+            table.record(routeId, methodIndex, statusCode, validateDuration(durationNanos));
+        } catch (Exception e) {
+            String method = HttpRequestMeterTable.methodName(methodIndex);
+            String path = table.routePath(routeId);
+            log.warn("Failed to record HTTP request metrics for {} {} {}: {}", method, path, statusCode, e.getMessage());
+            attemptEmergencyRecording(method, path, statusCode, durationNanos);
+        }
+    }
+
     /**
      * Records the HTTP request counter metric.
      * Uses caching to avoid repeated metric lookups.
@@ -418,6 +474,9 @@ public class HttpRequestMetricsService {
                 .append("\n");
         status.append("  - Cached counters: ").append(counterCache.size()).append("\n");
         status.append("  - Cached timers: ").append(timerCache.size()).append("\n");
+        HttpRequestMeterTable table = meterTable;
+        status.append("  - Meter table routes: ").append(table != null ? table.getRouteCount() : "not initialized")
+                .append("\n");
 
         return status.toString();
     }
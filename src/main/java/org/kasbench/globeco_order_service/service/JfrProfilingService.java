@@ -0,0 +1,431 @@
+package org.kasbench.globeco_order_service.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process profiling with JDK Flight Recorder, no agent required.
+ *
+ * A recording can run continuously, with JFR keeping the last {@code max-age} of events
+ * in its on-disk ring buffer, or be started on demand for a bounded duration. Only a
+ * handful of events are enabled: execution samples, throttled allocation samples,
+ * monitor enters and thread parks above a threshold, socket reads above a threshold and
+ * garbage collections. With the default 20 ms sampling period and 10 ms thresholds this
+ * stays around the overhead of JFR's default configuration (about 1%).
+ *
+ * Summaries are computed on request: the recording is dumped to a temporary file and
+ * the events of the requested window are aggregated into hot methods, time by
+ * component (JSON, Hibernate, JDBC, network, application), allocation sites, lock
+ * contention, socket reads and GC pauses.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true", matchIfMissing = false)
+public class JfrProfilingService {
+
+    static final String CONTINUOUS_RECORDING_NAME = "order-service-continuous";
+    static final String ON_DEMAND_RECORDING_NAME = "order-service-on-demand";
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+    private static final String SOCKET_READ = "jdk.SocketRead";
+    private static final String GARBAGE_COLLECTION = "jdk.GarbageCollection";
+
+    // Stack frames are scanned from the top for the first frame of a known component
+    private static final String[][] COMPONENT_PREFIXES = {
+            {"com.fasterxml.jackson.", "json"},
+            {"org.hibernate.", "hibernate"},
+            {"org.postgresql.", "jdbc"},
+            {"com.zaxxer.hikari.", "jdbc"},
+            {"org.apache.hc.", "network"},
+            {"sun.nio.ch.", "network"},
+            {"java.net.", "network"},
+            {"org.kasbench.", "application"}
+    };
+
+    private final boolean continuous;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+    private final Duration samplePeriod;
+    private final Duration threshold;
+    private final Duration maxOnDemandDuration;
+
+    private Recording continuousRecording;
+    private Recording onDemandRecording;
+
+    public JfrProfilingService(
+            @Value("${profiling.jfr.continuous:false}") boolean continuous,
+            @Value("${profiling.jfr.max-age-minutes:15}") long maxAgeMinutes,
+            @Value("${profiling.jfr.max-size-mb:64}") long maxSizeMb,
+            @Value("${profiling.jfr.sample-period-ms:20}") long samplePeriodMs,
+            @Value("${profiling.jfr.threshold-ms:10}") long thresholdMs,
+            @Value("${profiling.jfr.max-on-demand-seconds:600}") long maxOnDemandSeconds) {
+        this.continuous = continuous;
+        this.maxAge = Duration.ofMinutes(Math.max(1, maxAgeMinutes));
+        this.maxSizeBytes = Math.max(1, maxSizeMb) * 1024 * 1024;
+        this.samplePeriod = Duration.ofMillis(Math.max(10, samplePeriodMs));
+        this.threshold = Duration.ofMillis(Math.max(0, thresholdMs));
+        this.maxOnDemandDuration = Duration.ofSeconds(Math.max(1, maxOnDemandSeconds));
+    }
+
+    @PostConstruct
+    public void startContinuousRecording() {
+        if (!continuous) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("JDK Flight Recorder is not available, continuous profiling disabled");
+            return;
+        }
+        synchronized (this) {
+            continuousRecording = newRecording(CONTINUOUS_RECORDING_NAME);
+            continuousRecording.setMaxAge(maxAge);
+            continuousRecording.start();
+        }
+        log.info("Continuous JFR profiling started: max age {}, max size {} MB, sample period {} ms",
+                maxAge, maxSizeBytes / (1024 * 1024), samplePeriod.toMillis());
+    }
+
+    /**
+     * Starts a bounded on-demand recording.
+     *
+     * @param duration requested duration, capped at {@code max-on-demand-seconds}
+     * @return status of the new recording
+     * @throws IllegalStateException if JFR is unavailable or an on-demand recording is running
+     */
+    public synchronized Map<String, Object> startOnDemandRecording(Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("JDK Flight Recorder is not available");
+        }
+        if (onDemandRecording != null && onDemandRecording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("An on-demand recording is already running");
+        }
+        closeOnDemandRecording();
+
+        Duration bounded = duration == null || duration.isNegative() || duration.isZero()
+                || duration.compareTo(maxOnDemandDuration) > 0 ? maxOnDemandDuration : duration;
+        onDemandRecording = newRecording(ON_DEMAND_RECORDING_NAME);
+        onDemandRecording.setDuration(bounded);
+        onDemandRecording.start();
+        log.info("On-demand JFR recording started for {}", bounded);
+        return getStatus();
+    }
+
+    /**
+     * Stops the on-demand recording early. Its events remain available for summaries
+     * until the next on-demand recording is started.
+     */
+    public synchronized Map<String, Object> stopOnDemandRecording() {
+        if (onDemandRecording != null && onDemandRecording.getState() == RecordingState.RUNNING) {
+            onDemandRecording.stop();
+            log.info("On-demand JFR recording stopped");
+        }
+        return getStatus();
+    }
+
+    /**
+     * Summarizes the last {@code window} of the continuous recording, or of the on-demand
+     * recording while it is running or when it covers the whole window. A finished
+     * on-demand recording is only used without a continuous one.
+     *
+     * @param window how far back to summarize
+     * @param topN   number of entries per ranking
+     * @throws IllegalStateException if no recording is available
+     */
+    public synchronized Map<String, Object> summarize(Duration window, int topN) {
+        Instant now = Instant.now();
+        Instant since = now.minus(window);
+        Recording source = continuousRecording;
+        if (onDemandRecording != null && (source == null || preferOnDemand(onDemandRecording.getState(),
+                onDemandRecording.getStartTime(), onDemandRecording.getStopTime(), since, now))) {
+            source = onDemandRecording;
+        }
+        if (source == null) {
+            throw new IllegalStateException("No JFR recording available; start an on-demand recording or enable profiling.jfr.continuous");
+        }
+
+        Path dump = null;
+        try {
+            dump = Files.createTempFile("order-service-profile", ".jfr");
+            source.dump(dump);
+            ProfileAggregator aggregator = new ProfileAggregator();
+            try (RecordingFile recordingFile = new RecordingFile(dump)) {
+                while (recordingFile.hasMoreEvents()) {
+                    RecordedEvent event = recordingFile.readEvent();
+                    if (!event.getEndTime().isBefore(since)) {
+                        aggregator.accept(event);
+                    }
+                }
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("recording", source.getName());
+            summary.put("windowSeconds", window.toSeconds());
+            summary.put("since", since.toString());
+            summary.putAll(aggregator.toSummary(Math.max(1, topN)));
+            return summary;
+        } catch (IOException e) {
+            log.error("Failed to summarize JFR recording {}: {}", source.getName(), e.getMessage(), e);
+            throw new IllegalStateException("Failed to read JFR recording: " + e.getMessage(), e);
+        } finally {
+            if (dump != null) {
+                try {
+                    Files.deleteIfExists(dump);
+                } catch (IOException e) {
+                    log.warn("Failed to delete JFR dump {}: {}", dump, e.getMessage());
+                }
+            }
+        }
+    }
+
+    static boolean preferOnDemand(RecordingState state, Instant start, Instant stop, Instant since, Instant now) {
+        if (state == RecordingState.RUNNING) {
+            return true;
+        }
+        return start != null && stop != null && !start.isAfter(since) && !stop.isBefore(now);
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("available", FlightRecorder.isAvailable());
+        status.put("continuous", describe(continuousRecording));
+        status.put("onDemand", describe(onDemandRecording));
+        status.put("samplePeriodMs", samplePeriod.toMillis());
+        status.put("thresholdMs", threshold.toMillis());
+        status.put("maxOnDemandSeconds", maxOnDemandDuration.toSeconds());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeOnDemandRecording();
+        if (continuousRecording != null) {
+            continuousRecording.close();
+            continuousRecording = null;
+        }
+    }
+
+    private void closeOnDemandRecording() {
+        if (onDemandRecording != null) {
+            onDemandRecording.close();
+            onDemandRecording = null;
+        }
+    }
+
+    private Recording newRecording(String name) {
+        Recording recording = new Recording();
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setMaxSize(maxSizeBytes);
+        recording.enable(EXECUTION_SAMPLE).withPeriod(samplePeriod);
+        recording.enable(ALLOCATION_SAMPLE).with("throttle", "150/s").withStackTrace();
+        recording.enable(MONITOR_ENTER).withThreshold(threshold).withStackTrace();
+        recording.enable(THREAD_PARK).withThreshold(threshold).withStackTrace();
+        recording.enable(SOCKET_READ).withThreshold(threshold);
+        recording.enable(GARBAGE_COLLECTION);
+        return recording;
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        if (recording == null) {
+            return null;
+        }
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("state", recording.getState().name());
+        description.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        description.put("duration", recording.getDuration() != null ? recording.getDuration().toString() : null);
+        description.put("maxAge", recording.getMaxAge() != null ? recording.getMaxAge().toString() : null);
+        return description;
+    }
+
+    static String component(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "other";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame() || frame.getMethod() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            for (String[] prefix : COMPONENT_PREFIXES) {
+                if (className.startsWith(prefix[0])) {
+                    return prefix[1];
+                }
+            }
+        }
+        return "other";
+    }
+
+    static String topFrame(RecordedStackTrace stackTrace, boolean skipJdkFrames) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        String first = null;
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.getMethod() == null) {
+                continue;
+            }
+            String className = frame.getMethod().getType().getName();
+            String name = className + "." + frame.getMethod().getName();
+            if (first == null) {
+                first = name;
+            }
+            if (!skipJdkFrames || !(className.startsWith("java.") || className.startsWith("jdk.")
+                    || className.startsWith("sun."))) {
+                return name;
+            }
+        }
+        return first != null ? first : "unknown";
+    }
+
+    /**
+     * Aggregates recorded events into rankings.
+     */
+    static final class ProfileAggregator {
+        private long executionSamples = 0;
+        private final Map<String, Stat> hotMethods = new HashMap<>();
+        private final Map<String, Stat> components = new HashMap<>();
+        private final Map<String, Stat> allocationSites = new HashMap<>();
+        private final Map<String, Stat> monitorContention = new HashMap<>();
+        private final Map<String, Stat> parkedThreads = new HashMap<>();
+        private final Map<String, Stat> socketReads = new HashMap<>();
+        private final Map<String, Stat> garbageCollections = new HashMap<>();
+
+        void accept(RecordedEvent event) {
+            switch (event.getEventType().getName()) {
+                case EXECUTION_SAMPLE -> {
+                    executionSamples++;
+                    hotMethods.computeIfAbsent(topFrame(event.getStackTrace(), false), k -> new Stat()).add(0, 0);
+                    components.computeIfAbsent(component(event.getStackTrace()), k -> new Stat()).add(0, 0);
+                }
+                case ALLOCATION_SAMPLE -> {
+                    RecordedClass objectClass = event.getClass("objectClass");
+                    String site = topFrame(event.getStackTrace(), true)
+                            + " (" + (objectClass != null ? objectClass.getName() : "unknown") + ")";
+                    allocationSites.computeIfAbsent(site, k -> new Stat()).add(0, event.getLong("weight"));
+                }
+                case MONITOR_ENTER -> {
+                    RecordedClass monitorClass = event.getClass("monitorClass");
+                    String key = (monitorClass != null ? monitorClass.getName() : "unknown")
+                            + " at " + topFrame(event.getStackTrace(), true);
+                    monitorContention.computeIfAbsent(key, k -> new Stat()).add(event.getDuration().toNanos(), 0);
+                }
+                case THREAD_PARK -> {
+                    RecordedClass parkedClass = event.getClass("parkedClass");
+                    String key = (parkedClass != null ? parkedClass.getName() : "unknown")
+                            + " at " + topFrame(event.getStackTrace(), true);
+                    parkedThreads.computeIfAbsent(key, k -> new Stat()).add(event.getDuration().toNanos(), 0);
+                }
+                case SOCKET_READ -> {
+                    String key = event.getString("host") + ":" + event.getInt("port");
+                    socketReads.computeIfAbsent(key, k -> new Stat())
+                            .add(event.getDuration().toNanos(), Math.max(0, event.getLong("bytesRead")));
+                }
+                case GARBAGE_COLLECTION -> garbageCollections.computeIfAbsent(event.getString("name"), k -> new Stat())
+                        .add(event.getDuration("sumOfPauses").toNanos(), 0);
+                default -> {
+                    // Not summarized
+                }
+            }
+        }
+
+        Map<String, Object> toSummary(int topN) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("executionSamples", executionSamples);
+            summary.put("hotMethods", rankByCount(hotMethods, topN, executionSamples));
+            summary.put("timeByComponent", rankByCount(components, components.size(), executionSamples));
+            summary.put("allocationSites", rankByBytes(allocationSites, topN));
+            summary.put("monitorContention", rankByDuration(monitorContention, topN));
+            summary.put("threadParks", rankByDuration(parkedThreads, topN));
+            summary.put("socketReads", rankByDuration(socketReads, topN));
+            summary.put("garbageCollections", rankByDuration(garbageCollections, topN));
+            return summary;
+        }
+
+        private static List<Map<String, Object>> rankByCount(Map<String, Stat> stats, int topN, long total) {
+            return rank(stats, topN, Comparator.comparingLong((Stat s) -> s.count).reversed(), (key, stat) -> {
+                Map<String, Object> entry = entry(key, stat);
+                entry.put("percent", total > 0 ? Math.round(stat.count * 1000.0 / total) / 10.0 : 0.0);
+                return entry;
+            });
+        }
+
+        private static List<Map<String, Object>> rankByBytes(Map<String, Stat> stats, int topN) {
+            return rank(stats, topN, Comparator.comparingLong((Stat s) -> s.bytes).reversed(), (key, stat) -> {
+                Map<String, Object> entry = entry(key, stat);
+                entry.put("bytes", stat.bytes);
+                return entry;
+            });
+        }
+
+        private static List<Map<String, Object>> rankByDuration(Map<String, Stat> stats, int topN) {
+            return rank(stats, topN, Comparator.comparingLong((Stat s) -> s.totalNanos).reversed(), (key, stat) -> {
+                Map<String, Object> entry = entry(key, stat);
+                entry.put("totalMs", stat.totalNanos / 1_000_000.0);
+                entry.put("maxMs", stat.maxNanos / 1_000_000.0);
+                if (stat.bytes > 0) {
+                    entry.put("bytes", stat.bytes);
+                }
+                return entry;
+            });
+        }
+
+        private static List<Map<String, Object>> rank(Map<String, Stat> stats, int topN, Comparator<Stat> order,
+                java.util.function.BiFunction<String, Stat, Map<String, Object>> toEntry) {
+            List<Map.Entry<String, Stat>> entries = new ArrayList<>(stats.entrySet());
+            entries.sort(Map.Entry.comparingByValue(order));
+            List<Map<String, Object>> ranked = new ArrayList<>();
+            for (int i = 0; i < Math.min(topN, entries.size()); i++) {
+                ranked.add(toEntry.apply(entries.get(i).getKey(), entries.get(i).getValue()));
+            }
+            return ranked;
+        }
+
+        private static Map<String, Object> entry(String key, Stat stat) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", key);
+            entry.put("count", stat.count);
+            return entry;
+        }
+    }
+
+    private static final class Stat {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long bytes;
+
+        void add(long nanos, long addedBytes) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            bytes += addedBytes;
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the monthly partitions of the "order" table rolling.
+ *
+ * Each pass creates the partitions for the current UTC month and the next
+ * {@code premake-months}, and moves every month older than {@code retention-months} to
+ * {@code order_archive}. A month is archived without holding an exclusive lock on "order":
+ * its partition is detached with {@code DETACH PARTITION ... CONCURRENTLY}, a retained
+ * partition {@code order_rYYYY_MM} takes over the month's range, the orders that are still
+ * live are moved into it in small batches, and the detached partition is attached to the
+ * archive with the rest of its rows. Between the detach and the last batch, live orders of
+ * the month are briefly not visible.
+ *
+ * An order is archivable once it is in a terminal status, or SENT with a trade order ID.
+ * Later passes move orders of retained partitions that have since become archivable into
+ * the archive, also in batches, and drop each retained partition once its last order has
+ * left, so the hot table keeps a constant number of partitions. New orders are only
+ * accepted for months that are neither archived nor beyond the premade ones (see
+ * {@link #orderTimestampError}), so nothing lands in a retained partition after its month
+ * was archived.
+ *
+ * Creating partitions and sweeping retained ones run in transactions under a
+ * transaction-scoped advisory lock. Archiving a month and dropping a retained partition
+ * span several transactions, since a concurrent detach cannot run inside one, so they
+ * hold the advisory lock on one connection for the session. When several replicas run the job at once only one of them
+ * does the work, and a month left half-archived is finished on the next pass.
+ */
+@Service
+@ConditionalOnProperty(name = "order.partitioning.maintenance-enabled", havingValue = "true")
+public class OrderPartitionMaintenanceService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderPartitionMaintenanceService.class);
+
+    static final long ADVISORY_LOCK_KEY = 0x6f726470L; // "ordp"
+
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?)";
+
+    static final String SESSION_LOCK_SQL = "SELECT pg_try_advisory_lock(?)";
+
+    static final String SESSION_UNLOCK_SQL = "SELECT pg_advisory_unlock(?)";
+
+    // Detaching and re-homing a month can outlast the OLTP pool's statement timeout
+    static final String NO_STATEMENT_TIMEOUT_SQL = "SET LOCAL statement_timeout = 0";
+
+    // The same for the session that archives a month, restored before the connection goes back to the pool
+    static final String SHOW_STATEMENT_TIMEOUT_SQL = "SHOW statement_timeout";
+    static final String SESSION_NO_STATEMENT_TIMEOUT_SQL = "SET statement_timeout = 0";
+    static final String RESTORE_STATEMENT_TIMEOUT_SQL = "SELECT set_config('statement_timeout', ?, false)";
+
+    static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'public.\"order\"'::regclass ORDER BY c.relname";
+
+    // Monthly partitions detached from "order" but not yet attached to the archive
+    static final String LIST_DETACHED_SQL =
+            "SELECT c.relname FROM pg_class c " +
+            "WHERE c.relnamespace = 'public'::regnamespace AND c.relkind = 'r' AND NOT c.relispartition " +
+            "AND c.relname ~ '^order_p[0-9]{4}_[0-9]{2}$' ORDER BY c.relname";
+
+    // Retained partitions detached from "order" by a drop that did not finish
+    static final String LIST_DETACHED_RETAINED_SQL =
+            "SELECT c.relname FROM pg_class c " +
+            "WHERE c.relnamespace = 'public'::regnamespace AND c.relkind = 'r' AND NOT c.relispartition " +
+            "AND c.relname ~ '^order_r[0-9]{4}_[0-9]{2}$' ORDER BY c.relname";
+
+    // attached, pending (an interrupted concurrent detach), detached or archived; no row if absent
+    static final String PARTITION_STATE_SQL =
+            "SELECT CASE WHEN p.oid = 'public.\"order\"'::regclass " +
+            "THEN CASE WHEN i.inhdetachpending THEN 'pending' ELSE 'attached' END " +
+            "WHEN p.oid = 'public.order_archive'::regclass THEN 'archived' ELSE 'detached' END " +
+            "FROM pg_class c LEFT JOIN pg_inherits i ON i.inhrelid = c.oid LEFT JOIN pg_class p ON p.oid = i.inhparent " +
+            "WHERE c.relnamespace = 'public'::regnamespace AND c.relname = ?";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("order_p(\\d{4})_(\\d{2})");
+
+    private static final Pattern RETAINED_PARTITION = Pattern.compile("order_r(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final int moveBatchSize;
+    private final String archivable;
+
+    // Metrics
+    private final Counter createdCounter;
+    private final Counter archivedCounter;
+    private final Counter droppedCounter;
+
+    @Autowired
+    public OrderPartitionMaintenanceService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${order.partitioning.premake-months:2}") int premakeMonths,
+            @Value("${order.partitioning.retention-months:3}") int retentionMonths,
+            @Value("${order.partitioning.terminal-statuses:FULL,CNCLD,CPART,DEL}") List<String> terminalStatuses,
+            @Value("${order.partitioning.move-batch-size:1000}") int moveBatchSize) {
+        this(jdbcTemplate, new TransactionTemplate(transactionManager), meterRegistry, Clock.systemUTC(),
+                premakeMonths, retentionMonths, terminalStatuses, moveBatchSize);
+    }
+
+    OrderPartitionMaintenanceService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry, Clock clock, int premakeMonths, int retentionMonths,
+            List<String> terminalStatuses, int moveBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.premakeMonths = Math.max(0, premakeMonths);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        this.moveBatchSize = Math.max(1, moveBatchSize);
+        String terminal = terminalStatuses.stream()
+                .map(String::trim)
+                .filter(status -> status.matches("[A-Za-z]+"))
+                .map(status -> "'" + status + "'")
+                .collect(Collectors.joining(", "));
+        if (terminal.isEmpty()) {
+            throw new IllegalArgumentException("order.partitioning.terminal-statuses must name at least one status");
+        }
+        this.archivable = "(status_id IN (SELECT id FROM status WHERE abbreviation IN (" + terminal + ")) " +
+                "OR (trade_order_id IS NOT NULL AND status_id IN (SELECT id FROM status WHERE abbreviation = 'SENT')))";
+
+        this.createdCounter = Counter.builder("order.partitions.created")
+                .description("Number of monthly order partitions created ahead of time")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.archivedCounter = Counter.builder("order.partitions.archived")
+                .description("Number of monthly order partitions moved to the archive")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.droppedCounter = Counter.builder("order.partitions.retained_dropped")
+                .description("Number of retained order partitions dropped after their last order was archived")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        logger.info("OrderPartitionMaintenanceService initialized - premakeMonths={}, retentionMonths={}, terminalStatuses={}, moveBatchSize={}",
+                this.premakeMonths, this.retentionMonths, terminal, this.moveBatchSize);
+    }
+
+    @Scheduled(initialDelayString = "${order.partitioning.initial-delay-ms:30000}",
+            fixedDelayString = "${order.partitioning.interval-ms:3600000}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now(clock);
+        try {
+            createUpcomingPartitions(currentMonth);
+            archiveExpiredPartitions(currentMonth);
+            sweepRetainedPartitions();
+            dropEmptyRetainedPartitions();
+        } catch (RuntimeException e) {
+            logger.warn("Order partition maintenance failed, retrying on the next pass: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the partitions for the current month and the premake months after it.
+     *
+     * @return the number of partitions created; 0 if another replica holds the lock
+     */
+    int createUpcomingPartitions(YearMonth currentMonth) {
+        Integer created = transactionTemplate.execute(status -> {
+            if (!tryLock()) {
+                return 0;
+            }
+            List<String> existing = listPartitions();
+            int count = 0;
+            for (int i = 0; i <= premakeMonths; i++) {
+                YearMonth month = currentMonth.plusMonths(i);
+                if (!existing.contains(partitionName(month))) {
+                    jdbcTemplate.execute(createPartitionSql(month));
+                    logger.info("Created order partition {}", partitionName(month));
+                    count++;
+                }
+            }
+            return count;
+        });
+        createdCounter.increment(created != null ? created : 0);
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Move every monthly partition that ended before the retention window to the archive,
+     * and finish any month a previous pass left detached.
+     *
+     * @return the number of partitions archived
+     */
+    int archiveExpiredPartitions(YearMonth currentMonth) {
+        YearMonth oldestRetained = currentMonth.minusMonths(retentionMonths - 1L);
+        Set<YearMonth> expired = new TreeSet<>();
+        for (String partition : listPartitions()) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(oldestRetained)) {
+                expired.add(month);
+            }
+        }
+        for (String partition : jdbcTemplate.queryForList(LIST_DETACHED_SQL, String.class)) {
+            expired.add(partitionMonth(partition));
+        }
+
+        int archived = 0;
+        for (YearMonth month : expired) {
+            if (archivePartition(month)) {
+                archived++;
+                archivedCounter.increment();
+                logger.info("Archived order partition {}", partitionName(month));
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Archive one month on a single connection in auto-commit mode: detach its partition
+     * concurrently, give its range to a retained partition, move the live orders there in
+     * batches, and attach the partition to the archive. Resumes from whichever step a
+     * previous attempt reached.
+     *
+     * @return true if the month was archived; false if another replica holds the lock or
+     *         the month is already archived
+     */
+    boolean archivePartition(YearMonth month) {
+        String partition = partitionName(month);
+        return inLockedSession(session -> {
+            List<String> state = session.queryForList(PARTITION_STATE_SQL, String.class, partition);
+            if (state.isEmpty() || "archived".equals(state.get(0))) {
+                return false;
+            }
+            if ("attached".equals(state.get(0))) {
+                session.execute(detachPartitionSql(month, false));
+            } else if ("pending".equals(state.get(0))) {
+                session.execute(detachPartitionSql(month, true));
+            }
+            session.execute(createRetainedPartitionSql(month));
+            String moveLive = moveLiveOrdersSql(month);
+            int moved;
+            do {
+                moved = session.update(moveLive, moveBatchSize);
+            } while (moved > 0);
+            session.execute(attachToArchiveSql(month));
+            return true;
+        });
+    }
+
+    /**
+     * Move orders of retained partitions that have become archivable into the archive,
+     * one batch per transaction.
+     *
+     * @return the number of orders moved
+     */
+    int sweepRetainedPartitions() {
+        int swept = 0;
+        for (String partition : listPartitions()) {
+            YearMonth month = retainedMonth(partition);
+            if (month == null) {
+                continue;
+            }
+            String sweep = sweepRetainedSql(month);
+            int moved;
+            do {
+                Integer batch = transactionTemplate.execute(status -> tryLock() ? jdbcTemplate.update(sweep, moveBatchSize) : 0);
+                moved = batch != null ? batch : 0;
+                swept += moved;
+            } while (moved > 0);
+        }
+        if (swept > 0) {
+            logger.info("Moved {} orders from retained partitions to the archive", swept);
+        }
+        return swept;
+    }
+
+    /**
+     * Drop every retained partition that no longer holds an order, and finish any drop a
+     * previous pass left detached.
+     *
+     * @return the number of partitions dropped
+     */
+    int dropEmptyRetainedPartitions() {
+        Set<YearMonth> candidates = new TreeSet<>();
+        for (String partition : listPartitions()) {
+            YearMonth month = retainedMonth(partition);
+            if (month != null && isEmpty(jdbcTemplate, partition)) {
+                candidates.add(month);
+            }
+        }
+        for (String partition : jdbcTemplate.queryForList(LIST_DETACHED_RETAINED_SQL, String.class)) {
+            candidates.add(retainedMonth(partition));
+        }
+
+        int dropped = 0;
+        for (YearMonth month : candidates) {
+            if (dropRetainedPartition(month)) {
+                dropped++;
+                droppedCounter.increment();
+                logger.info("Dropped empty retained order partition {}", retainedPartitionName(month));
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Drop one retained partition on a single connection in auto-commit mode: detach it
+     * concurrently, then drop it if it is still empty. An order that reached it before the
+     * detach, such as one whose timestamp was changed into the month, puts it back.
+     *
+     * @return true if the partition was dropped
+     */
+    boolean dropRetainedPartition(YearMonth month) {
+        String partition = retainedPartitionName(month);
+        return inLockedSession(session -> {
+            List<String> state = session.queryForList(PARTITION_STATE_SQL, String.class, partition);
+            if (state.isEmpty()) {
+                return false;
+            }
+            if ("attached".equals(state.get(0))) {
+                if (!isEmpty(session, partition)) {
+                    return false;
+                }
+                session.execute(detachRetainedPartitionSql(month, false));
+            } else if ("pending".equals(state.get(0))) {
+                session.execute(detachRetainedPartitionSql(month, true));
+            }
+            if (!isEmpty(session, partition)) {
+                session.execute(reattachRetainedPartitionSql(month));
+                return false;
+            }
+            session.execute("DROP TABLE " + partition);
+            return true;
+        });
+    }
+
+    /**
+     * Why an order timestamp cannot be stored in the hot table, or null if it can.
+     *
+     * Accepted timestamps run from the start of the oldest retained month up to the end
+     * of the month before the last premade one, which may only be created by the first
+     * pass of a month. Earlier months are archived and later ones have no partition yet.
+     */
+    public String orderTimestampError(OffsetDateTime orderTimestamp) {
+        if (orderTimestamp == null) {
+            return null;
+        }
+        YearMonth currentMonth = YearMonth.now(clock);
+        OffsetDateTime from = currentMonth.minusMonths(retentionMonths - 1L).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+        OffsetDateTime until = currentMonth.plusMonths(Math.max(1, premakeMonths)).atDay(1).atStartOfDay()
+                .atOffset(ZoneOffset.UTC);
+        if (orderTimestamp.isBefore(from) || !orderTimestamp.isBefore(until)) {
+            return String.format("Order timestamp must be at or after %s and before %s", from, until);
+        }
+        return null;
+    }
+
+    static String detachPartitionSql(YearMonth month, boolean finalizePending) {
+        return "ALTER TABLE \"order\" DETACH PARTITION " + partitionName(month)
+                + (finalizePending ? " FINALIZE" : " CONCURRENTLY");
+    }
+
+    static String createRetainedPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + retainedPartitionName(month) + " PARTITION OF \"order\" " + bounds(month);
+    }
+
+    /**
+     * One batch of the live orders of a detached month, moved back into "order", where
+     * they land in the month's retained partition.
+     */
+    String moveLiveOrdersSql(YearMonth month) {
+        String partition = partitionName(month);
+        return "WITH moved AS (DELETE FROM " + partition + " WHERE id IN (SELECT id FROM " + partition
+                + " WHERE NOT " + archivable + " LIMIT ?) RETURNING *) INSERT INTO \"order\" SELECT * FROM moved";
+    }
+
+    static String detachRetainedPartitionSql(YearMonth month, boolean finalizePending) {
+        return "ALTER TABLE \"order\" DETACH PARTITION " + retainedPartitionName(month)
+                + (finalizePending ? " FINALIZE" : " CONCURRENTLY");
+    }
+
+    static String reattachRetainedPartitionSql(YearMonth month) {
+        return "ALTER TABLE \"order\" ATTACH PARTITION " + retainedPartitionName(month) + " " + bounds(month);
+    }
+
+    static String attachToArchiveSql(YearMonth month) {
+        return "ALTER TABLE order_archive ATTACH PARTITION " + partitionName(month) + " " + bounds(month);
+    }
+
+    /**
+     * One batch of the archivable orders of a retained partition, moved to the archive.
+     */
+    String sweepRetainedSql(YearMonth month) {
+        String partition = retainedPartitionName(month);
+        return "WITH moved AS (DELETE FROM " + partition + " WHERE id IN (SELECT id FROM " + partition
+                + " WHERE " + archivable + " LIMIT ?) RETURNING *) INSERT INTO order_archive SELECT * FROM moved";
+    }
+
+    static String createPartitionSql(YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF \"order\" " + bounds(month);
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("order_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static String retainedPartitionName(YearMonth month) {
+        return String.format("order_r%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    /**
+     * Month covered by a monthly partition, or null for a retained partition,
+     * order_before or any partition not named by this job.
+     */
+    static YearMonth partitionMonth(String partition) {
+        return month(MONTHLY_PARTITION, partition);
+    }
+
+    /**
+     * Month covered by a retained partition, or null for any other partition.
+     */
+    static YearMonth retainedMonth(String partition) {
+        return month(RETAINED_PARTITION, partition);
+    }
+
+    private static YearMonth month(Pattern pattern, String partition) {
+        Matcher matcher = pattern.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    private static String bounds(YearMonth month) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        return "FOR VALUES FROM ('" + from + " 00:00:00+00') TO ('" + to + " 00:00:00+00')";
+    }
+
+    private boolean tryLock() {
+        boolean locked = Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Boolean.class, ADVISORY_LOCK_KEY));
+        if (!locked) {
+            logger.debug("Order partition maintenance is running on another replica");
+            return false;
+        }
+        jdbcTemplate.execute(NO_STATEMENT_TIMEOUT_SQL);
+        return true;
+    }
+
+    /**
+     * Run work on one connection in auto-commit mode while holding the advisory lock for
+     * the session, with no statement timeout.
+     *
+     * @return the work's result; false if another replica holds the lock
+     */
+    private boolean inLockedSession(Function<JdbcTemplate, Boolean> work) {
+        Boolean result = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            if (!Boolean.TRUE.equals(session.queryForObject(SESSION_LOCK_SQL, Boolean.class, ADVISORY_LOCK_KEY))) {
+                connection.setAutoCommit(autoCommit);
+                logger.debug("Order partition maintenance is running on another replica");
+                return false;
+            }
+            String statementTimeout = session.queryForObject(SHOW_STATEMENT_TIMEOUT_SQL, String.class);
+            try {
+                session.execute(SESSION_NO_STATEMENT_TIMEOUT_SQL);
+                return work.apply(session);
+            } finally {
+                session.queryForObject(RESTORE_STATEMENT_TIMEOUT_SQL, String.class, statementTimeout);
+                session.queryForObject(SESSION_UNLOCK_SQL, Boolean.class, ADVISORY_LOCK_KEY);
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        return Boolean.TRUE.equals(result);
+    }
+
+    private static boolean isEmpty(JdbcTemplate template, String table) {
+        return !Boolean.TRUE.equals(template.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class));
+    }
+
+    private List<String> listPartitions() {
+        return jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class);
+    }
+}
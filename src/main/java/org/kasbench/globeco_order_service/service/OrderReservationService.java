@@ -0,0 +1,381 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.entity.Blotter;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reserves and finalizes order submissions with one guarded statement each.
+ *
+ * A reservation moves an order from NEW to SENT without a trade order ID, but only if it
+ * is still NEW and unsubmitted, so concurrent single and bulk submits of the same order
+ * cannot both reach the trade service. The statement returns the columns the trade
+ * service request needs. Finalizing records the trade order ID and returns the whole row,
+ * which is mapped to a detached {@link Order} whose associations carry only their IDs.
+ * Neither step loads or hydrates entities.
+ *
+ * A batch is reserved by one statement that binds its IDs as a single array and claims
+ * rows with {@code FOR UPDATE SKIP LOCKED}; bulk results are recorded by
+ * {@link BatchUpdateService} against the reserved versions. The work queue claims the
+ * oldest NEW orders the same way, without a list of IDs, skipping orders whose release
+ * backoff has not expired.
+ *
+ * Each statement runs in its own auto-commit transaction; the caller must not hold a
+ * transaction across the trade service call in between.
+ *
+ * A reservation is released only when the trade service definitely did not create the
+ * trade order. When the outcome is unknown the order stays SENT without a trade order ID;
+ * {@code order.reservations.unconfirmed} counts such orders, and
+ * {@link OrderSubmissionReconciler} finalizes or releases them once their reservation is
+ * older than any submission still in flight.
+ */
+@Service
+public class OrderReservationService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderReservationService.class);
+
+    private static final String RESERVATION_COLUMNS =
+            "RETURNING o.id, o.blotter_id, o.portfolio_id, o.security_id, o.quantity, o.limit_price, " +
+            "o.order_timestamp, o.version, o.status_id AS sent_status_id, cur.id AS new_status_id, " +
+            "ot.id AS order_type_id, ot.abbreviation AS order_type_abbreviation";
+
+    static final String RESERVE_SQL =
+            "UPDATE \"order\" o SET status_id = sent.id, version = o.version + 1, reserved_at = now() " +
+            "FROM status sent, status cur, order_type ot " +
+            "WHERE o.id = ? AND o.trade_order_id IS NULL " +
+            "AND cur.id = o.status_id AND cur.abbreviation = 'NEW' " +
+            "AND sent.abbreviation = 'SENT' AND ot.id = o.order_type_id " +
+            RESERVATION_COLUMNS;
+
+    private static final String RESERVE_CLAIMED =
+            "UPDATE \"order\" o SET status_id = sent.id, version = o.version + 1, reserved_at = now() " +
+            "FROM claimed c, status sent, status cur, order_type ot " +
+            "WHERE o.id = c.id AND cur.id = o.status_id " +
+            "AND sent.abbreviation = 'SENT' AND ot.id = o.order_type_id " +
+            RESERVATION_COLUMNS;
+
+    static final String RESERVE_ALL_SQL =
+            "WITH claimed AS (" +
+            "SELECT o.id FROM \"order\" o JOIN status cur ON cur.id = o.status_id " +
+            "WHERE o.id = ANY(?) AND o.trade_order_id IS NULL AND cur.abbreviation = 'NEW' " +
+            "ORDER BY o.id FOR UPDATE OF o SKIP LOCKED) " +
+            RESERVE_CLAIMED;
+
+    static final String RESERVE_NEXT_SQL =
+            "WITH claimed AS (" +
+            "SELECT o.id FROM \"order\" o JOIN status cur ON cur.id = o.status_id " +
+            "WHERE o.trade_order_id IS NULL AND cur.abbreviation = 'NEW' " +
+            "AND (o.submit_not_before IS NULL OR o.submit_not_before <= now()) " +
+            "ORDER BY o.id LIMIT ? FOR UPDATE OF o SKIP LOCKED) " +
+            RESERVE_CLAIMED;
+
+    static final String FINALIZE_SQL =
+            "UPDATE \"order\" SET status_id = ?, trade_order_id = ?, version = version + 1 " +
+            "WHERE id = ? AND version = ? AND trade_order_id IS NULL " +
+            "RETURNING *";
+
+    static final String RELEASE_SQL =
+            "UPDATE \"order\" SET status_id = ?, version = version + 1, " +
+            "submit_attempts = submit_attempts + 1, " +
+            "submit_not_before = now() + LEAST(? * power(2, LEAST(submit_attempts, 30)), ?) * interval '1 millisecond' " +
+            "WHERE id = ? AND version = ? AND trade_order_id IS NULL";
+
+    static final String COUNT_UNCONFIRMED_SQL =
+            "SELECT count(*) FROM \"order\" o JOIN status s ON s.id = o.status_id " +
+            "WHERE o.trade_order_id IS NULL AND s.abbreviation = 'SENT'";
+
+    static final String FIND_UNCONFIRMED_SQL =
+            "SELECT o.id, o.blotter_id, o.portfolio_id, o.security_id, o.quantity, o.limit_price, " +
+            "o.order_timestamp, o.version, s.id AS sent_status_id, cur.id AS new_status_id, " +
+            "ot.id AS order_type_id, ot.abbreviation AS order_type_abbreviation " +
+            "FROM \"order\" o JOIN status s ON s.id = o.status_id " +
+            "JOIN status cur ON cur.abbreviation = 'NEW' JOIN order_type ot ON ot.id = o.order_type_id " +
+            "WHERE o.trade_order_id IS NULL AND s.abbreviation = 'SENT' " +
+            "AND (o.reserved_at IS NULL OR o.reserved_at <= now() - ? * interval '1 millisecond') " +
+            "ORDER BY o.id LIMIT ?";
+
+    static final RowMapper<Reservation> RESERVATION_MAPPER = OrderReservationService::mapReservationRow;
+
+    static final RowMapper<Order> ORDER_ROW_MAPPER = OrderReservationService::mapOrderRow;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long rejectBackoffInitialMs;
+    private final long rejectBackoffMaxMs;
+    private volatile long unconfirmedCount = -1;
+
+    @Autowired
+    public OrderReservationService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${order.reservation.reject-backoff-initial-ms:1000}") long rejectBackoffInitialMs,
+            @Value("${order.reservation.reject-backoff-max-ms:3600000}") long rejectBackoffMaxMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rejectBackoffInitialMs = rejectBackoffInitialMs;
+        this.rejectBackoffMaxMs = rejectBackoffMaxMs;
+
+        Gauge.builder("order.reservations.unconfirmed", this, service -> service.unconfirmedCount)
+                .description("Orders SENT without a trade order ID: submissions in flight or with an unknown outcome; -1 when it cannot be counted")
+                .tag("service", "order")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserve an order for submission.
+     *
+     * @param orderId the order to reserve
+     * @return the reservation, or null if the order does not exist, is not NEW or was
+     *         already submitted
+     */
+    public Reservation reserve(Integer orderId) {
+        List<Reservation> reserved = jdbcTemplate.query(RESERVE_SQL, RESERVATION_MAPPER, orderId);
+        if (reserved.isEmpty()) {
+            logger.warn("Order {} not reserved: not found, not in NEW status or already submitted", orderId);
+            return null;
+        }
+        return reserved.get(0);
+    }
+
+    /**
+     * Reserve as many of a batch of orders as can be claimed, in one statement.
+     *
+     * Orders that are not NEW, already submitted, or locked by a concurrent reservation
+     * are skipped rather than waited for, so overlapping batches divide their orders
+     * between them instead of serializing or submitting an order twice.
+     *
+     * @param orderIds the orders to reserve, bound as a single array parameter
+     * @return the reservations, in the order of orderIds; orders not reserved are absent
+     */
+    public List<Reservation> reserveAll(List<Integer> orderIds) {
+        if (orderIds == null || orderIds.isEmpty()) {
+            return List.of();
+        }
+        List<Reservation> reserved = jdbcTemplate.query(RESERVE_ALL_SQL, RESERVATION_MAPPER,
+                new SqlArrayValue("integer", orderIds.toArray()));
+        if (reserved.size() < orderIds.size()) {
+            logger.debug("Reserved {} of {} orders; the rest are not NEW, already submitted or claimed concurrently",
+                    reserved.size(), orderIds.size());
+        }
+
+        Map<Integer, Reservation> byId = new HashMap<>();
+        for (Reservation reservation : reserved) {
+            byId.put(reservation.getOrder().getId(), reservation);
+        }
+        List<Reservation> inRequestOrder = new ArrayList<>(reserved.size());
+        for (Integer orderId : orderIds) {
+            Reservation reservation = byId.remove(orderId);
+            if (reservation != null) {
+                inRequestOrder.add(reservation);
+            }
+        }
+        return inRequestOrder;
+    }
+
+    /**
+     * Reserve up to limit of the oldest NEW, unsubmitted orders that no concurrent
+     * reservation holds, in one statement.
+     *
+     * Each caller skips rows locked by the others, so any number of submitters can drain
+     * the same table at once without coordinating or claiming an order twice.
+     *
+     * @param limit the maximum number of orders to reserve
+     * @return the reservations, oldest order first; empty if there is nothing to claim
+     */
+    public List<Reservation> reserveNext(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<Reservation> reserved = new ArrayList<>(jdbcTemplate.query(RESERVE_NEXT_SQL, RESERVATION_MAPPER, limit));
+        reserved.sort(Comparator.comparing(reservation -> reservation.getOrder().getId()));
+        return reserved;
+    }
+
+    /**
+     * Record the trade order ID of a reserved order.
+     *
+     * @param reservation  the reservation returned by {@link #reserve(Integer)}
+     * @param tradeOrderId the trade order ID assigned by the trade service
+     * @return the updated order, with associations carrying only their IDs
+     * @throws RuntimeException if the reservation no longer holds
+     */
+    public Order finalizeSubmission(Reservation reservation, Integer tradeOrderId) {
+        Order reservedOrder = reservation.getOrder();
+        List<Order> updated = jdbcTemplate.query(FINALIZE_SQL, ORDER_ROW_MAPPER,
+                reservation.getSentStatusId(), tradeOrderId, reservedOrder.getId(), reservedOrder.getVersion());
+        if (updated.isEmpty()) {
+            logger.error("Reservation of order {} lost before recording tradeOrderId {} (expected version {})",
+                    reservedOrder.getId(), tradeOrderId, reservedOrder.getVersion());
+            throw new RuntimeException(String.format(
+                    "Reservation of order %d lost before recording trade order %d", reservedOrder.getId(), tradeOrderId));
+        }
+        return updated.get(0);
+    }
+
+    /**
+     * Return a reserved order to NEW after the trade service definitely did not create its
+     * trade order. The work queue skips the order until its backoff expires; the backoff
+     * doubles with each release, from order.reservation.reject-backoff-initial-ms up to
+     * order.reservation.reject-backoff-max-ms, so an order the trade service keeps
+     * rejecting does not hold the head of the queue.
+     *
+     * @param reservation the reservation returned by {@link #reserve(Integer)}
+     * @return true if the order was returned to NEW
+     */
+    public boolean release(Reservation reservation) {
+        Order reservedOrder = reservation.getOrder();
+        int released = jdbcTemplate.update(RELEASE_SQL, reservedOrder.getStatus().getId(),
+                rejectBackoffInitialMs, rejectBackoffMaxMs, reservedOrder.getId(), reservedOrder.getVersion());
+        if (released == 0) {
+            logger.warn("Reservation of order {} was not released: order changed since reservation", reservedOrder.getId());
+        }
+        return released > 0;
+    }
+
+    /**
+     * Return reserved orders to NEW after the trade service definitely did not create their
+     * trade orders, backing each off as {@link #release(Reservation)} does.
+     *
+     * @param reservations reservations returned by {@link #reserveAll(List)}
+     * @return the number of orders returned to NEW
+     */
+    public int releaseAll(List<Reservation> reservations) {
+        if (reservations == null || reservations.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(RELEASE_SQL, reservations, reservations.size(),
+                (ps, reservation) -> {
+                    Order reservedOrder = reservation.getOrder();
+                    ps.setInt(1, reservedOrder.getStatus().getId());
+                    ps.setLong(2, rejectBackoffInitialMs);
+                    ps.setLong(3, rejectBackoffMaxMs);
+                    ps.setInt(4, reservedOrder.getId());
+                    ps.setInt(5, reservedOrder.getVersion());
+                });
+        int released = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                released += Math.max(0, count);
+            }
+        }
+        if (released < reservations.size()) {
+            logger.warn("Released {} of {} reservations; the rest changed since reservation",
+                    released, reservations.size());
+        }
+        return released;
+    }
+
+    /**
+     * Find orders that have been reserved for at least olderThanMs without a trade order ID,
+     * as reservations that {@link #finalizeSubmission} and {@link #release} accept. These
+     * are orders whose trade service outcome was unknown, once olderThanMs exceeds the
+     * longest a submission can stay in flight.
+     *
+     * @param olderThanMs minimum age of the reservation
+     * @param limit       the maximum number of orders to return
+     * @return the reservations, lowest order ID first
+     */
+    public List<Reservation> findUnconfirmed(long olderThanMs, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(FIND_UNCONFIRMED_SQL, RESERVATION_MAPPER, olderThanMs, limit);
+    }
+
+    /**
+     * Count the orders that are reserved but have no trade order ID. Besides submissions in
+     * flight, these are orders whose trade service outcome was unknown; they stay reserved
+     * until {@link OrderSubmissionReconciler} reconciles them against the trade service.
+     */
+    @Scheduled(fixedDelayString = "${order.reservation.unconfirmed-check-interval-ms:30000}")
+    public void countUnconfirmed() {
+        try {
+            Long count = jdbcTemplate.queryForObject(COUNT_UNCONFIRMED_SQL, Long.class);
+            unconfirmedCount = count != null ? count : 0;
+        } catch (RuntimeException e) {
+            unconfirmedCount = -1;
+            logger.warn("Unconfirmed reservations could not be counted: {}", e.getMessage());
+        }
+    }
+
+    public long getUnconfirmedCount() {
+        return unconfirmedCount;
+    }
+
+    private static Reservation mapReservationRow(ResultSet rs, int rowNum) throws SQLException {
+        Integer blotterId = rs.getObject("blotter_id", Integer.class);
+        Order order = Order.builder()
+                .id(rs.getInt("id"))
+                .blotter(blotterId != null ? Blotter.builder().id(blotterId).build() : null)
+                .status(Status.builder().id(rs.getInt("new_status_id")).abbreviation("NEW").build())
+                .portfolioId(rs.getString("portfolio_id"))
+                .orderType(OrderType.builder()
+                        .id(rs.getInt("order_type_id"))
+                        .abbreviation(rs.getString("order_type_abbreviation"))
+                        .build())
+                .securityId(rs.getString("security_id"))
+                .quantity(rs.getBigDecimal("quantity"))
+                .limitPrice(rs.getBigDecimal("limit_price"))
+                .orderTimestamp(rs.getObject("order_timestamp", OffsetDateTime.class))
+                .version(rs.getInt("version"))
+                .build();
+        return new Reservation(order, rs.getInt("sent_status_id"));
+    }
+
+    private static Order mapOrderRow(ResultSet rs, int rowNum) throws SQLException {
+        Integer blotterId = rs.getObject("blotter_id", Integer.class);
+        return Order.builder()
+                .id(rs.getInt("id"))
+                .blotter(blotterId != null ? Blotter.builder().id(blotterId).build() : null)
+                .status(Status.builder().id(rs.getInt("status_id")).build())
+                .portfolioId(rs.getString("portfolio_id"))
+                .orderType(OrderType.builder().id(rs.getInt("order_type_id")).build())
+                .securityId(rs.getString("security_id"))
+                .quantity(rs.getBigDecimal("quantity"))
+                .limitPrice(rs.getBigDecimal("limit_price"))
+                .tradeOrderId(rs.getObject("trade_order_id", Integer.class))
+                .orderTimestamp(rs.getObject("order_timestamp", OffsetDateTime.class))
+                .version(rs.getInt("version"))
+                .build();
+    }
+
+    /**
+     * A reserved order: the order as it was before the reservation (NEW, with the
+     * reserved version) and the status it was moved to.
+     */
+    public static final class Reservation {
+        private final Order order;
+        private final Integer sentStatusId;
+
+        Reservation(Order order, Integer sentStatusId) {
+            this.order = order;
+            this.sentStatusId = sentStatusId;
+        }
+
+        public Order getOrder() {
+            return order;
+        }
+
+        public Integer getSentStatusId() {
+            return sentStatusId;
+        }
+    }
+}
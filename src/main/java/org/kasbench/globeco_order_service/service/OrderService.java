@@ -26,10 +26,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.RestTemplate;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.kasbench.globeco_order_service.dto.OrderWithDetailsDTO;
 import org.kasbench.globeco_order_service.dto.OrderPostDTO;
@@ -46,6 +47,13 @@ import java.util.Set;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
+import org.kasbench.globeco_order_service.exception.SystemOverloadException;
+import org.kasbench.globeco_order_service.exception.TradeOrderRejectedException;
 import java.math.BigDecimal;
 import org.kasbench.globeco_order_service.service.SecurityCacheService;
 import org.kasbench.globeco_order_service.service.PortfolioCacheService;
@@ -62,6 +70,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.observation.ObservationRegistry;
 
 @Service
 public class OrderService {
@@ -184,91 +193,84 @@ public class OrderService {
     }
 
     /**
-     * Submit a single order to the trade service.
-     * This method uses split transactions to minimize connection hold time:
-     * 1. Load order in read-only transaction (3s timeout)
-     * 2. Call external trade service (no transaction)
-     * 3. Update order in write transaction (5s timeout)
+     * Submit a single order to the trade service in two statements, holding no transaction
+     * across the trade service call: a guarded UPDATE reserves the order and returns the
+     * columns the trade service needs, and after the call a second UPDATE records the trade
+     * order ID and returns the row for the response (see {@link OrderReservationService}).
+     * The reservation is released only if the trade service definitely did not create the
+     * trade order. When the outcome is unknown the order stays SENT without a trade order
+     * ID, so it cannot be submitted twice, until {@link OrderSubmissionReconciler} records
+     * its trade order or releases it.
      * 
      * @param id The order ID to submit
-     * @return OrderDTO with updated status, or null if submission fails
+     * @return OrderDTO with updated status, or null if the order was not reserved, was
+     *         rejected, or its outcome is unknown
      */
     public OrderDTO submitOrder(Integer id) {
-        // Transaction 1: Load order (short, read-only)
-        Order order = loadOrderInReadTransaction(id);
-        if (order == null) {
+        OrderReservationService.Reservation reservation = orderReservationService.reserve(id);
+        if (reservation == null) {
             return null;
         }
 
-        // No transaction: External service call
-        Integer tradeOrderId = callTradeService(order);
-        if (tradeOrderId == null) {
+        Integer tradeOrderId;
+        try {
+            tradeOrderId = callTradeService(reservation.getOrder());
+        } catch (TradeOrderRejectedException e) {
+            orderReservationService.release(reservation);
             return null;
         }
-
-        // Transaction 2: Update order (short, write)
-        updateOrderInWriteTransaction(id, tradeOrderId);
-
-        // Load and return the updated order
-        Order updatedOrder = loadOrderInReadTransaction(id);
-        return toOrderDTO(updatedOrder);
+        return completeReservation(reservation, tradeOrderId);
     }
 
     /**
-     * Load an order in a read-only transaction with short timeout.
-     * Validates that the order is in NEW status and ready for submission.
+     * Submit a single order to the trade service without blocking the calling thread
+     * while the trade service responds. The order is reserved synchronously, the trade
+     * service call runs on the non-blocking client, and the finalize or release statement
+     * is chained onto the returned future, as in {@link #submitOrder(Integer)}, and the
+     * future completes with null in the same cases.
+     * Falls back to the blocking path when the async client is not enabled.
      * 
-     * @param id The order ID to load
-     * @return Order entity if found and valid, null otherwise
+     * @param id The order ID to submit
+     * @return future completing with the updated OrderDTO, or null if the order was not
+     *         reserved, was rejected, or its outcome is unknown
      */
-    @Transactional(readOnly = true, timeout = 3)
-    private Order loadOrderInReadTransaction(Integer id) {
-        Order order = orderRepository.findById(id).orElse(null);
-        if (order == null) {
-            logger.warn("Order {} not found", id);
-            return null;
+    public CompletableFuture<OrderDTO> submitOrderAsync(Integer id) {
+        if (tradeServiceAsyncClient == null) {
+            return CompletableFuture.completedFuture(submitOrder(id));
         }
-
-        if (!order.getStatus().getAbbreviation().equals("NEW")) {
-            logger.warn("Order {} is not in NEW status: {}", id, order.getStatus().getAbbreviation());
-            return null;
+        OrderReservationService.Reservation reservation = orderReservationService.reserve(id);
+        if (reservation == null) {
+            return CompletableFuture.completedFuture(null);
         }
 
-        logger.debug("Loaded order {} in read transaction", id);
-        return order;
+        return callTradeServiceAsync(reservation.getOrder()).handle((tradeOrderId, error) -> {
+            if (error == null) {
+                return completeReservation(reservation, tradeOrderId);
+            }
+            if (TradeOrderRejectedException.isRejection(error)) {
+                orderReservationService.release(reservation);
+                return null;
+            }
+            logUnknownOutcome(reservation);
+            return null;
+        });
     }
 
-    /**
-     * Update an order with trade service results in a write transaction with short timeout.
-     * Sets the order status to SENT and records the trade order ID.
-     * 
-     * @param id The order ID to update
-     * @param tradeOrderId The trade order ID from the trade service
-     */
-    @Transactional(timeout = 5)
-    private void updateOrderInWriteTransaction(Integer id, Integer tradeOrderId) {
-        Order order = orderRepository.findById(id).orElseThrow(
-            () -> new RuntimeException("Order " + id + " not found during update")
-        );
-
-        Status sentStatus = getSentStatus();
-
-        Order updatedOrder = Order.builder()
-                .id(order.getId())
-                .blotter(order.getBlotter())
-                .status(sentStatus)
-                .portfolioId(order.getPortfolioId())
-                .orderType(order.getOrderType())
-                .securityId(order.getSecurityId())
-                .quantity(order.getQuantity())
-                .limitPrice(order.getLimitPrice())
-                .tradeOrderId(tradeOrderId)
-                .orderTimestamp(order.getOrderTimestamp())
-                .version(order.getVersion())
-                .build();
+    private OrderDTO completeReservation(OrderReservationService.Reservation reservation, Integer tradeOrderId) {
+        if (tradeOrderId == null) {
+            logUnknownOutcome(reservation);
+            return null;
+        }
+        Order submitted = orderReservationService.finalizeSubmission(reservation, tradeOrderId);
+        if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_SUBMIT)) {
+            logger.debug("Finalized order {} with tradeOrderId {}", submitted.getId(), tradeOrderId);
+        }
+        return toOrderDTO(submitted);
+    }
 
-        orderRepository.save(updatedOrder);
-        logger.debug("Updated order {} with tradeOrderId {} in write transaction", id, tradeOrderId);
+    private void logUnknownOutcome(OrderReservationService.Reservation reservation) {
+        logger.warn("Trade service outcome for order {} unknown; keeping it reserved (SENT without a trade order ID) "
+                + "until the reconciler settles it", reservation.getOrder().getId());
     }
 
     /**
@@ -318,20 +320,26 @@ public class OrderService {
             return BatchSubmitResponseDTO.validationFailure(errorMessage);
         }
 
+        // Charge the heap budget for the orders held at once; under heap pressure the batch
+        // is processed in smaller chunks instead of being fully materialized
+        int chunkSize = memoryGovernor != null ? memoryGovernor.chunkSize(orderIds.size()) : orderIds.size();
+        BulkSubmissionMemoryGovernor.Permit memoryPermit = null;
+        if (memoryGovernor != null) {
+            memoryPermit = memoryGovernor.admit(chunkSize);
+            if (memoryPermit == null) {
+                bulkSubmissionFailureCounter.increment();
+                overallTimer.stop(bulkSubmissionTimer);
+                throw new SystemOverloadException("Bulk submission memory budget exhausted - please retry shortly",
+                        memoryGovernor.getRetryAfterSeconds(), "memory_budget_exhausted");
+            }
+        }
+
         try {
-            // 1. Load and validate orders in batch
-            Timer.Sample loadTimer = Timer.start(meterRegistry);
-            long transactionStartTime = System.currentTimeMillis();
-            
-            List<Order> validOrders = loadAndValidateOrdersForBulkSubmission(orderIds);
+            BatchSubmitResponseDTO response = chunkSize < orderIds.size()
+                    ? submitBulkChunks(orderIds, chunkSize, threadName)
+                    : submitBulkChunk(orderIds, 0, threadName);
             
-            long loadDuration = (long) loadTimer.stop(orderLoadTimer);
-            long transactionHoldTime = System.currentTimeMillis() - transactionStartTime;
-            
-            // Track transaction hold time for the read transaction
-            performanceMonitor.recordTransactionHoldTime(transactionHoldTime);
-            
-            if (validOrders.isEmpty()) {
+            if (response == null) {
                 logger.warn("BULK_SUBMISSION: No valid orders found from {} requested orders, thread={}",
                         orderIds.size(), threadName);
                 bulkSubmissionFailureCounter.increment();
@@ -339,49 +347,6 @@ public class OrderService {
                 return BatchSubmitResponseDTO.validationFailure("No valid orders found for submission");
             }
 
-            // Log validation results
-            int invalidCount = orderIds.size() - validOrders.size();
-            if (invalidCount > 0) {
-                logger.warn("BULK_SUBMISSION: {} orders were invalid and excluded from bulk submission, thread={}",
-                        invalidCount, threadName);
-            }
-
-            // 2. Build bulk request
-            long buildStartTime = System.currentTimeMillis();
-            
-            BulkTradeOrderRequestDTO bulkRequest = buildBulkTradeOrderRequest(validOrders);
-            
-            long buildDuration = System.currentTimeMillis() - buildStartTime;
-
-            // 3. Call trade service bulk endpoint
-            Timer.Sample tradeServiceTimer = Timer.start(meterRegistry);
-            
-            BulkTradeOrderResponseDTO tradeServiceResponse = callTradeServiceBulk(bulkRequest);
-            
-            long tradeServiceDuration = (long) tradeServiceTimer.stop(tradeServiceCallTimer);
-            
-            // Track external service call duration separately
-            performanceMonitor.recordExternalServiceCall(tradeServiceDuration);
-
-            // 4. Update order statuses in batch
-            Timer.Sample updateTimer = Timer.start(meterRegistry);
-            long updateTransactionStartTime = System.currentTimeMillis();
-            
-            updateOrderStatusesFromBulkResponse(validOrders, tradeServiceResponse);
-            
-            long updateDuration = (long) updateTimer.stop(databaseUpdateTimer);
-            long updateTransactionHoldTime = System.currentTimeMillis() - updateTransactionStartTime;
-            
-            // Track transaction hold time for the write transaction
-            performanceMonitor.recordTransactionHoldTime(updateTransactionHoldTime);
-
-            // 5. Transform response to match existing API contract
-            long transformStartTime = System.currentTimeMillis();
-            
-            BatchSubmitResponseDTO response = transformBulkResponseToOrderServiceFormat(tradeServiceResponse, orderIds);
-            
-            long transformDuration = System.currentTimeMillis() - transformStartTime;
-
             // Log comprehensive completion metrics and update performance tracking
             long overallDurationNanos = (long) overallTimer.stop(bulkSubmissionTimer);
             long overallDuration = System.currentTimeMillis() - overallStartTime;
@@ -400,18 +365,12 @@ public class OrderService {
             // Summary log instead of detailed per-step logs
             logger.info("BULK_SUBMISSION: Completed in {}ms - {} successful, {} failed out of {} total (success_rate: {}%), thread={}",
                     overallDuration, response.getSuccessful(), response.getFailed(), response.getTotalRequested(),
-                    String.format("%.2f", successRate), threadName);
+                    roundToHundredths(successRate), threadName);
 
-            // Detailed performance breakdown only in debug mode
-            if (logger.isDebugEnabled()) {
-                logger.debug("BULK_SUBMISSION_PERFORMANCE: load={}ms, build={}ms, trade_service={}ms, update={}ms, transform={}ms, total={}ms, thread={}",
-                        loadDuration, buildDuration, tradeServiceDuration, updateDuration, transformDuration, overallDuration, threadName);
-                
-                if (response.getSuccessful() > 0) {
-                    double avgTimePerOrder = (double) overallDuration / response.getSuccessful();
-                    logger.debug("BULK_SUBMISSION_PERFORMANCE: Average processing time per successful order: {:.2f}ms, thread={}",
-                            avgTimePerOrder, threadName);
-                }
+            if (logger.isDebugEnabled() && response.getSuccessful() > 0) {
+                double avgTimePerOrder = (double) overallDuration / response.getSuccessful();
+                logger.debug("BULK_SUBMISSION_PERFORMANCE: Average processing time per successful order: {}ms, thread={}",
+                        roundToHundredths(avgTimePerOrder), threadName);
             }
 
             return response;
@@ -461,13 +420,150 @@ public class OrderService {
                                     orderIds.indexOf(orderId)))
                             .toList())
                     .build();
+        } finally {
+            if (memoryPermit != null) {
+                memoryPermit.close();
+            }
         }
     }
 
+    /**
+     * Submit a batch one chunk at a time so that only one chunk's orders, requests and
+     * responses are reachable at once. A chunk that has no valid orders or fails is
+     * reported as failed without stopping the remaining chunks.
+     * 
+     * @param orderIds List of order IDs to submit
+     * @param chunkSize Number of orders per chunk
+     * @param threadName Name of the calling thread, for logging
+     * @return Merged results indexed by position in orderIds, or null if no chunk had valid orders
+     */
+    private BatchSubmitResponseDTO submitBulkChunks(List<Integer> orderIds, int chunkSize, String threadName) {
+        List<OrderSubmitResultDTO> results = new ArrayList<>(orderIds.size());
+        boolean anySubmitted = false;
+        int chunkIndex = 0;
+        
+        for (int start = 0; start < orderIds.size(); start += chunkSize, chunkIndex++) {
+            List<Integer> chunkIds = orderIds.subList(start, Math.min(start + chunkSize, orderIds.size()));
+            BatchSubmitResponseDTO chunkResponse;
+            String failureMessage = "No valid orders found for submission";
+            try {
+                chunkResponse = submitBulkChunk(chunkIds, chunkIndex, threadName);
+            } catch (RuntimeException e) {
+                logger.error("BULK_SUBMISSION: Chunk {} of {} orders failed, thread={}, error={}",
+                        chunkIndex, chunkIds.size(), threadName, e.getMessage(), e);
+                chunkResponse = null;
+                failureMessage = "Bulk submission failed: " + e.getMessage();
+            }
+            
+            anySubmitted |= chunkResponse != null;
+            for (int i = 0; i < chunkIds.size(); i++) {
+                OrderSubmitResultDTO result = chunkResponse != null
+                        ? chunkResponse.getResults().get(i)
+                        : OrderSubmitResultDTO.failure(chunkIds.get(i), failureMessage, i);
+                result.setRequestIndex(start + i);
+                results.add(result);
+            }
+        }
+        
+        logger.info("BULK_SUBMISSION: Submitted {} orders in {} chunks of up to {} under heap pressure, thread={}",
+                orderIds.size(), chunkIndex, chunkSize, threadName);
+        return anySubmitted ? BatchSubmitResponseDTO.fromResults(results) : null;
+    }
 
+    /**
+     * Load, submit and record one chunk of a bulk submission. Each stage is observed as a
+     * child span tagged with the chunk index.
+     * 
+     * @param orderIds List of order IDs in the chunk
+     * @param chunkIndex Position of the chunk within the batch
+     * @param threadName Name of the calling thread, for logging
+     * @return Results indexed by position in orderIds, or null if none of the orders are valid
+     */
+    private BatchSubmitResponseDTO submitBulkChunk(List<Integer> orderIds, int chunkIndex, String threadName) {
+        if (orderReservationService != null) {
+            return submitReservedBulkChunk(orderIds, chunkIndex, threadName);
+        }
 
+        // Chunks are submitted without retries
+        int retryCount = 0;
+        
+        // 1. Load and validate orders in batch
+        Timer.Sample loadTimer = Timer.start(meterRegistry);
+        long transactionStartTime = System.currentTimeMillis();
+        
+        List<Order> validOrders = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_LOAD, orderIds.size(), chunkIndex, retryCount,
+                () -> loadAndValidateOrdersForBulkSubmission(orderIds));
+        
+        long loadDuration = TimeUnit.NANOSECONDS.toMillis(loadTimer.stop(orderLoadTimer));
+        long transactionHoldTime = System.currentTimeMillis() - transactionStartTime;
+        
+        // Track transaction hold time for the read transaction
+        performanceMonitor.recordTransactionHoldTime(transactionHoldTime);
+        
+        if (validOrders.isEmpty()) {
+            return null;
+        }
 
+        // Log validation results
+        int invalidCount = orderIds.size() - validOrders.size();
+        if (invalidCount > 0) {
+            logger.warn("BULK_SUBMISSION: {} orders were invalid and excluded from bulk submission, thread={}",
+                    invalidCount, threadName);
+        }
 
+        // 2. Build bulk request
+        long buildStartTime = System.currentTimeMillis();
+        
+        BulkTradeOrderRequestDTO bulkRequest = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_BUILD, validOrders.size(), chunkIndex, retryCount,
+                () -> buildBulkTradeOrderRequest(validOrders));
+        
+        long buildDuration = System.currentTimeMillis() - buildStartTime;
+
+        // 3. Call trade service bulk endpoint
+        Timer.Sample tradeServiceTimer = Timer.start(meterRegistry);
+        
+        BulkTradeOrderResponseDTO tradeServiceResponse = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_TRADE_SERVICE, validOrders.size(), chunkIndex, retryCount,
+                () -> callTradeServiceBulk(bulkRequest));
+        
+        long tradeServiceDuration = TimeUnit.NANOSECONDS.toMillis(tradeServiceTimer.stop(tradeServiceCallTimer));
+        
+        // Track external service call duration separately
+        performanceMonitor.recordExternalServiceCall(tradeServiceDuration);
+
+        // 4. Update order statuses in batch
+        Timer.Sample updateTimer = Timer.start(meterRegistry);
+        long updateTransactionStartTime = System.currentTimeMillis();
+        
+        BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_UPDATE, validOrders.size(), chunkIndex, retryCount,
+                () -> updateOrderStatusesFromBulkResponse(validOrders, tradeServiceResponse));
+        
+        long updateDuration = TimeUnit.NANOSECONDS.toMillis(updateTimer.stop(databaseUpdateTimer));
+        long updateTransactionHoldTime = System.currentTimeMillis() - updateTransactionStartTime;
+        
+        // Track transaction hold time for the write transaction
+        performanceMonitor.recordTransactionHoldTime(updateTransactionHoldTime);
+
+        // 5. Transform response to match existing API contract
+        long transformStartTime = System.currentTimeMillis();
+        
+        BatchSubmitResponseDTO response = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_TRANSFORM, orderIds.size(), chunkIndex, retryCount,
+                () -> transformBulkResponseToOrderServiceFormat(tradeServiceResponse, orderIds));
+        
+        long transformDuration = System.currentTimeMillis() - transformStartTime;
+
+        // Detailed performance breakdown only in debug mode
+        if (logger.isDebugEnabled()) {
+            logger.debug("BULK_SUBMISSION_PERFORMANCE: chunk={}, load={}ms, build={}ms, trade_service={}ms, update={}ms, transform={}ms, thread={}",
+                    chunkIndex, loadDuration, buildDuration, tradeServiceDuration, updateDuration, transformDuration, threadName);
+        }
+
+        return response;
+    }
 
 
 
@@ -476,36 +572,257 @@ public class OrderService {
 
 
 
+
+
+
+
+
+    /**
+     * Reserve, submit and record one chunk of a bulk submission.
+     * The chunk is claimed with one set-based reservation, so a concurrent submit of
+     * overlapping orders gets the orders this one did not claim instead of waiting or
+     * submitting them twice. Orders the trade service rejects, and all orders if the whole
+     * call is rejected, are released back to NEW; orders with an unknown outcome stay reserved.
+     * 
+     * @param orderIds List of order IDs in the chunk
+     * @param chunkIndex Position of the chunk within the batch
+     * @param threadName Name of the calling thread, for logging
+     * @return Results indexed by position in orderIds, or null if none of the orders could be reserved
+     */
+    private BatchSubmitResponseDTO submitReservedBulkChunk(List<Integer> orderIds, int chunkIndex, String threadName) {
+        int retryCount = 0;
+        
+        // 1. Reserve the orders that are NEW, unsubmitted and not claimed by a concurrent submit
+        Timer.Sample loadTimer = Timer.start(meterRegistry);
+        
+        List<OrderReservationService.Reservation> reservations = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_LOAD, orderIds.size(), chunkIndex, retryCount,
+                () -> orderReservationService.reserveAll(orderIds));
+        
+        long loadDuration = TimeUnit.NANOSECONDS.toMillis(loadTimer.stop(orderLoadTimer));
+        performanceMonitor.recordTransactionHoldTime(loadDuration);
+        
+        return submitReservations(orderIds, reservations, chunkIndex, threadName, null);
+    }
+
+    /**
+     * Claim up to limit of the oldest NEW orders not held by another submitter and submit
+     * them in one bulk call. Used by the work-queue submitter; each replica claims its own
+     * orders with SKIP LOCKED, so replicas drain the queue together without coordinating.
+     * 
+     * @param limit Maximum number of orders to claim
+     * @param tradeServiceLatencyListener Receives the trade service call time in milliseconds, may be null
+     * @return Results for the claimed orders, or null if there was nothing to claim
+     * @throws RuntimeException if the trade service call fails; claimed orders are released
+     *         only if it was a definite rejection. Otherwise they stay SENT until
+     *         {@link OrderSubmissionReconciler} records their trade orders or releases them,
+     *         after which the work queue claims them again
+     */
+    public BatchSubmitResponseDTO submitQueuedOrders(int limit, LongConsumer tradeServiceLatencyListener) {
+        if (orderReservationService == null) {
+            throw new IllegalStateException("Work-queue submission requires the order reservation service");
+        }
+        String threadName = Thread.currentThread().getName();
+        
+        Timer.Sample loadTimer = Timer.start(meterRegistry);
+        
+        List<OrderReservationService.Reservation> reservations = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_LOAD, limit, 0, 0,
+                () -> orderReservationService.reserveNext(limit));
+        
+        long loadDuration = TimeUnit.NANOSECONDS.toMillis(loadTimer.stop(orderLoadTimer));
+        performanceMonitor.recordTransactionHoldTime(loadDuration);
+        
+        if (reservations.isEmpty()) {
+            return null;
+        }
+        List<Integer> orderIds = reservations.stream()
+                .map(reservation -> reservation.getOrder().getId())
+                .toList();
+        return submitReservations(orderIds, reservations, 0, threadName, tradeServiceLatencyListener);
+    }
+
+    /**
+     * Submit reserved orders, record the accepted ones and release the ones the trade
+     * service rejected. Orders whose outcome is unknown stay reserved until
+     * {@link OrderSubmissionReconciler} settles them.
+     * 
+     * @param orderIds Requested order IDs, in the order results are reported
+     * @param reservations Reservations held for some or all of orderIds
+     * @param chunkIndex Position of the chunk within the batch
+     * @param threadName Name of the calling thread, for logging
+     * @param tradeServiceLatencyListener Receives the trade service call time in milliseconds, may be null
+     * @return Results indexed by position in orderIds, or null if none of the orders can be submitted
+     */
+    private BatchSubmitResponseDTO submitReservations(List<Integer> orderIds,
+            List<OrderReservationService.Reservation> reservations, int chunkIndex, String threadName,
+            LongConsumer tradeServiceLatencyListener) {
+        int retryCount = 0;
+        
+        List<OrderReservationService.Reservation> submitted = new ArrayList<>(reservations.size());
+        List<OrderReservationService.Reservation> incomplete = new ArrayList<>();
+        for (OrderReservationService.Reservation reservation : reservations) {
+            if (hasRequiredFieldsForTradeService(reservation.getOrder())) {
+                submitted.add(reservation);
+            } else {
+                incomplete.add(reservation);
+            }
+        }
+        if (!incomplete.isEmpty()) {
+            logger.warn("BULK_SUBMISSION: {} reserved orders lack fields required by the trade service and were released, thread={}",
+                    incomplete.size(), threadName);
+            orderReservationService.releaseAll(incomplete);
+        }
+        if (orderIds.size() > submitted.size()) {
+            logger.warn("BULK_SUBMISSION: {} orders were not reserved or invalid and excluded from bulk submission, thread={}",
+                    orderIds.size() - submitted.size(), threadName);
+        }
+        if (submitted.isEmpty()) {
+            return null;
+        }
+        
+        List<Order> reservedOrders = submitted.stream()
+                .map(OrderReservationService.Reservation::getOrder)
+                .toList();
+        Set<Integer> reservedOrderIds = new HashSet<>();
+        for (Order order : reservedOrders) {
+            reservedOrderIds.add(order.getId());
+        }
+
+        // 2. Build the request; nothing has been sent if this fails
+        BulkTradeOrderRequestDTO bulkRequest;
+        try {
+            bulkRequest = BulkSubmissionStageObservation.observe(observationRegistry,
+                    BulkSubmissionStageObservation.STAGE_BUILD, reservedOrders.size(), chunkIndex, retryCount,
+                    () -> buildBulkTradeOrderRequest(reservedOrders));
+        } catch (RuntimeException e) {
+            orderReservationService.releaseAll(submitted);
+            throw e;
+        }
+
+        // 3. Call the trade service. Reservations are released only if it definitely created
+        // no trade orders; after a timeout or a 5xx some may exist, so the orders stay reserved
+        BulkTradeOrderResponseDTO tradeServiceResponse;
+        Timer.Sample tradeServiceTimer = Timer.start(meterRegistry);
+        try {
+            tradeServiceResponse = BulkSubmissionStageObservation.observe(observationRegistry,
+                    BulkSubmissionStageObservation.STAGE_TRADE_SERVICE, reservedOrders.size(), chunkIndex, retryCount,
+                    () -> callTradeServiceBulk(bulkRequest));
+        } catch (RuntimeException e) {
+            if (TradeOrderRejectedException.isRejection(e)) {
+                orderReservationService.releaseAll(submitted);
+            } else {
+                logger.warn("BULK_SUBMISSION: Trade service outcome unknown for {} orders; they stay SENT without a trade order ID until reconciled, thread={}, error={}",
+                        submitted.size(), threadName, e.getMessage());
+            }
+            throw e;
+        } finally {
+            long tradeServiceDuration = TimeUnit.NANOSECONDS.toMillis(tradeServiceTimer.stop(tradeServiceCallTimer));
+            performanceMonitor.recordExternalServiceCall(tradeServiceDuration);
+            if (tradeServiceLatencyListener != null) {
+                tradeServiceLatencyListener.accept(tradeServiceDuration);
+            }
+        }
+
+        // Results refer to positions in the bulk request
+        Map<Integer, TradeOrderResultDTO> resultsByOrderId = new HashMap<>();
+        if (tradeServiceResponse.getResults() != null) {
+            for (TradeOrderResultDTO result : tradeServiceResponse.getResults()) {
+                Integer requestIndex = result.getRequestIndex();
+                if (requestIndex != null && requestIndex >= 0 && requestIndex < reservedOrders.size()) {
+                    resultsByOrderId.put(reservedOrders.get(requestIndex).getId(), result);
+                }
+            }
+        }
+        // Only an explicit per-order failure is a rejection; a missing result or a success
+        // without a trade order ID leaves the outcome unknown
+        List<OrderReservationService.Reservation> rejected = new ArrayList<>();
+        int accepted = 0;
+        for (OrderReservationService.Reservation reservation : submitted) {
+            TradeOrderResultDTO result = resultsByOrderId.get(reservation.getOrder().getId());
+            if (result != null && !result.isSuccess()) {
+                rejected.add(reservation);
+            } else if (result != null && result.getTradeOrderId() != null) {
+                accepted++;
+            }
+        }
+        boolean anyAccepted = accepted > 0;
+        int unknown = submitted.size() - rejected.size() - accepted;
+        if (unknown > 0) {
+            logger.warn("BULK_SUBMISSION: Trade service outcome unknown for {} orders; they stay SENT without a trade order ID until reconciled, thread={}",
+                    unknown, threadName);
+        }
+
+        // 4. Record trade order IDs against the reserved versions and release rejected orders
+        Timer.Sample updateTimer = Timer.start(meterRegistry);
+        
+        BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_UPDATE, reservedOrders.size(), chunkIndex, retryCount,
+                () -> {
+                    if (anyAccepted) {
+                        updateOrderStatusesFromBulkResponse(reservedOrders, tradeServiceResponse, true);
+                    }
+                    orderReservationService.releaseAll(rejected);
+                });
+        
+        long updateDuration = TimeUnit.NANOSECONDS.toMillis(updateTimer.stop(databaseUpdateTimer));
+        performanceMonitor.recordTransactionHoldTime(updateDuration);
+
+        // 5. Report every requested order, in request order
+        return BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_TRANSFORM, orderIds.size(), chunkIndex, retryCount,
+                () -> {
+                    List<OrderSubmitResultDTO> results = new ArrayList<>(orderIds.size());
+                    for (int i = 0; i < orderIds.size(); i++) {
+                        Integer orderId = orderIds.get(i);
+                        TradeOrderResultDTO result = resultsByOrderId.get(orderId);
+                        if (result != null && result.isSuccess() && result.getTradeOrderId() != null) {
+                            results.add(OrderSubmitResultDTO.success(orderId, result.getTradeOrderId(), i));
+                        } else if (result != null && !result.isSuccess()) {
+                            results.add(OrderSubmitResultDTO.failure(orderId, result.getMessage(), i));
+                        } else if (reservedOrderIds.contains(orderId)) {
+                            results.add(OrderSubmitResultDTO.failure(orderId,
+                                    "Trade service outcome unknown; order stays SENT until reconciled", i));
+                        } else {
+                            results.add(OrderSubmitResultDTO.failure(orderId,
+                                    "Order not found, not in NEW status or already being submitted", i));
+                        }
+                    }
+                    return BatchSubmitResponseDTO.fromResults(results);
+                });
+    }
+
     /**
      * Call the trade service to submit an order.
      * Reuses the existing trade service integration logic.
      * 
      * @param order The order to submit to the trade service
-     * @return The trade order ID if successful, null if failed
+     * @return The trade order ID if successful, null if the outcome is unknown
+     * @throws TradeOrderRejectedException if the trade service definitely did not create the trade order
      */
     private Integer callTradeService(Order order) {
         String threadName = Thread.currentThread().getName();
         long callStart = System.currentTimeMillis();
 
+        byte[] body;
         try {
-            TradeOrderPostDTO tradeOrderRequest = TradeOrderPostDTO.builder()
-                    .orderId(order.getId())
-                    .portfolioId(order.getPortfolioId())
-                    .orderType(order.getOrderType().getAbbreviation())
-                    .securityId(order.getSecurityId())
-                    .quantity(order.getQuantity())
-                    .limitPrice(order.getLimitPrice())
-                    .build();
+            body = TradeServiceJsonCodec.writeTradeOrder(buildTradeOrderRequest(order));
+        } catch (RuntimeException e) {
+            logger.error("Failed to build trade service request for order {}: {}", order.getId(), e.getMessage());
+            throw new TradeOrderRejectedException(
+                    String.format("Failed to build trade service request for order %d", order.getId()), e);
+        }
 
+        try {
             String fullUrl = tradeServiceUrl + "/api/v1/tradeOrders";
             logger.debug(
                     "DUPLICATE_TRACKING: Sending HTTP POST to trade service for orderId={}, url={}, thread={}, timestamp={}",
                     order.getId(), fullUrl, threadName, callStart);
 
-            ResponseEntity<String> response = restTemplate.postForEntity(
+            ResponseEntity<String> response = guardTradeServiceCall(() -> restTemplate.postForEntity(
                     fullUrl,
-                    new HttpEntity<>(tradeOrderRequest),
-                    String.class);
+                    jsonEntity(body),
+                    String.class));
 
             long callEnd = System.currentTimeMillis();
             logger.debug(
@@ -514,10 +831,8 @@ public class OrderService {
 
             if (response.getStatusCode() == HttpStatus.CREATED) {
                 try {
-                    ObjectMapper mapper = new ObjectMapper();
-                    JsonNode node = mapper.readTree(response.getBody());
-                    if (node.has("id") && node.get("id").isInt()) {
-                        Integer tradeOrderId = node.get("id").asInt();
+                    Integer tradeOrderId = TradeServiceJsonCodec.readTradeOrderId(response.getBody());
+                    if (tradeOrderId != null) {
                         logger.debug(
                                 "DUPLICATE_TRACKING: Trade service SUCCESS for orderId={}, returned tradeOrderId={}, thread={}",
                                 order.getId(), tradeOrderId, threadName);
@@ -527,21 +842,89 @@ public class OrderService {
                     logger.error("Failed to parse trade service response for order {}: {}",
                             order.getId(), e.getMessage());
                 }
+            } else if (TradeOrderRejectedException.isRejectionStatus(response.getStatusCode().value())) {
+                logger.warn("Trade service rejected order {} with status {}", order.getId(), response.getStatusCode());
+                throw new TradeOrderRejectedException(String.format(
+                        "Trade service rejected order %d with %s", order.getId(), response.getStatusCode()));
             } else {
                 logger.warn("Trade service returned non-success status {} for order {}",
                         response.getStatusCode(), order.getId());
             }
+        } catch (TradeOrderRejectedException e) {
+            throw e;
         } catch (Exception e) {
             long callEnd = System.currentTimeMillis();
             logger.error(
                     "DUPLICATE_TRACKING: Trade service call FAILED for orderId={}, duration={}ms, thread={}, error: {}",
                     order.getId(), (callEnd - callStart), threadName, e.getMessage());
+            if (TradeOrderRejectedException.isRejection(e)) {
+                throw new TradeOrderRejectedException(String.format(
+                        "Trade service did not accept order %d: %s", order.getId(), e.getMessage()), e);
+            }
         }
 
         return null;
     }
 
+    /**
+     * Run a blocking trade service call through the trade service bulkhead and
+     * circuit breaker when they are configured.
+     */
+    private <T> T guardTradeServiceCall(Supplier<T> call) {
+        return tradeServiceGuard != null ? tradeServiceGuard.execute(call) : call.get();
+    }
 
+    /**
+     * Wrap a pre-encoded JSON body so RestTemplate writes the bytes as-is instead of
+     * serializing the DTO again through the message converters.
+     */
+    private static HttpEntity<byte[]> jsonEntity(byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
+    /**
+     * Call the trade service to submit an order using the non-blocking client.
+     * When the submission aggregator is enabled, orders that satisfy the bulk API
+     * requirements are queued for the next aggregated bulk call instead of being
+     * posted individually.
+     * 
+     * @param order The order to submit to the trade service
+     * @return future completing with the trade order ID if successful or null if the outcome
+     *         is unknown; completes exceptionally with a {@link TradeOrderRejectedException}
+     *         if the trade order was definitely not created
+     */
+    private CompletableFuture<Integer> callTradeServiceAsync(Order order) {
+        try {
+            if (submissionAggregator != null && isOrderValidForBulkSubmission(order)) {
+                return submissionAggregator.submit(buildBulkTradeOrder(order));
+            }
+            return tradeServiceAsyncClient.submitTradeOrder(buildTradeOrderRequest(order));
+        } catch (Exception e) {
+            logger.error("DUPLICATE_TRACKING: Failed to start async trade service call for orderId={}, error: {}",
+                    order.getId(), e.getMessage());
+            return CompletableFuture.failedFuture(new TradeOrderRejectedException(
+                    String.format("Failed to start trade service call for order %d", order.getId()), e));
+        }
+    }
+
+    /**
+     * Build the single-order trade service request for an order.
+     * 
+     * @param order The order to convert
+     * @return TradeOrderPostDTO for POST /api/v1/tradeOrders
+     */
+    private TradeOrderPostDTO buildTradeOrderRequest(Order order) {
+        return TradeOrderPostDTO.builder()
+                .orderId(order.getId())
+                .portfolioId(order.getPortfolioId())
+                .orderType(order.getOrderType().getAbbreviation())
+                .securityId(order.getSecurityId())
+                .quantity(order.getQuantity())
+                .limitPrice(order.getLimitPrice())
+                .build();
+    }
 
     // Cache for SENT status to avoid repeated database lookups
     private volatile Status cachedSentStatus;
@@ -623,7 +1006,7 @@ public class OrderService {
                             validOrders.add(order);
                         } else {
                             validationErrorCount++;
-                            if (logger.isDebugEnabled()) {
+                            if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_BULK_VALIDATION)) {
                                 String reason = getOrderValidationFailureReason(order);
                                 logger.debug("BULK_VALIDATION: Order {} invalid: {}, thread={}",
                                         order.getId(), reason, threadName);
@@ -642,8 +1025,8 @@ public class OrderService {
                 // Summary log instead of per-order logs
                 double successRate = allOrders.size() > 0 ? 
                         (double) validOrders.size() / allOrders.size() * 100 : 0;
-                logger.info("BULK_VALIDATION: Loaded {} orders in {}ms, validated {} (success_rate: {:.2f}%), thread={}",
-                        allOrders.size(), dbDuration, validOrders.size(), successRate, threadName);
+                logger.info("BULK_VALIDATION: Loaded {} orders in {}ms, validated {} (success_rate: {}%), thread={}",
+                        allOrders.size(), dbDuration, validOrders.size(), roundToHundredths(successRate), threadName);
 
                 // Log validation errors summary
                 if (validationErrorCount > 0) {
@@ -655,8 +1038,8 @@ public class OrderService {
                 if (logger.isDebugEnabled()) {
                     double avgValidationTimePerOrder = allOrders.size() > 0 ? 
                             (double) validationDuration / allOrders.size() : 0;
-                    logger.debug("BULK_VALIDATION_PERFORMANCE: Validated {} orders in {}ms (avg {:.2f}ms per order), total={}ms, thread={}",
-                            allOrders.size(), validationDuration, avgValidationTimePerOrder, totalDuration, threadName);
+                    logger.debug("BULK_VALIDATION_PERFORMANCE: Validated {} orders in {}ms (avg {}ms per order), total={}ms, thread={}",
+                            allOrders.size(), validationDuration, roundToHundredths(avgValidationTimePerOrder), totalDuration, threadName);
                     
                     // Log memory usage for large batches
                     if (allOrders.size() > 50) {
@@ -665,15 +1048,8 @@ public class OrderService {
                         long maxMemory = runtime.maxMemory();
                         double memoryUsagePercent = (double) usedMemory / maxMemory * 100;
                         
-                        logger.debug("BULK_VALIDATION_MEMORY: Memory usage: {:.2f}% ({} MB / {} MB), thread={}",
-                                memoryUsagePercent, usedMemory / (1024 * 1024), maxMemory / (1024 * 1024), threadName);
-                        
-                        // Suggest garbage collection for large batches to optimize memory
-                        if (memoryUsagePercent > 80) {
-                            logger.warn("BULK_VALIDATION_MEMORY: High memory usage ({:.2f}%), suggesting GC, thread={}",
-                                    memoryUsagePercent, threadName);
-                            System.gc();
-                        }
+                        logger.debug("BULK_VALIDATION_MEMORY: Memory usage: {}% ({} MB / {} MB), thread={}",
+                                roundToHundredths(memoryUsagePercent), usedMemory / (1024 * 1024), maxMemory / (1024 * 1024), threadName);
                     }
                 }
 
@@ -819,19 +1195,7 @@ public class OrderService {
             
             for (Order order : orders) {
                 validateOrderForBulkRequest(order);
-                
-                TradeOrderPostDTO tradeOrder = TradeOrderPostDTO.builder()
-                        .orderId(order.getId())
-                        .portfolioId(order.getPortfolioId())
-                        .orderType(order.getOrderType().getAbbreviation())
-                        .securityId(order.getSecurityId())
-                        .quantity(order.getQuantity())
-                        .limitPrice(order.getLimitPrice())
-                        .tradeTimestamp(order.getOrderTimestamp())
-                        .blotterId(order.getBlotter() != null ? order.getBlotter().getId() : null)
-                        .build();
-                
-                tradeOrders.add(tradeOrder);
+                tradeOrders.add(buildBulkTradeOrder(order));
             }
 
             BulkTradeOrderRequestDTO bulkRequest = BulkTradeOrderRequestDTO.of(tradeOrders);
@@ -849,6 +1213,25 @@ public class OrderService {
         }
     }
 
+    /**
+     * Convert a validated order to the trade service bulk API format.
+     * 
+     * @param order The order to convert
+     * @return TradeOrderPostDTO including trade timestamp and blotter ID
+     */
+    private TradeOrderPostDTO buildBulkTradeOrder(Order order) {
+        return TradeOrderPostDTO.builder()
+                .orderId(order.getId())
+                .portfolioId(order.getPortfolioId())
+                .orderType(order.getOrderType().getAbbreviation())
+                .securityId(order.getSecurityId())
+                .quantity(order.getQuantity())
+                .limitPrice(order.getLimitPrice())
+                .tradeTimestamp(order.getOrderTimestamp())
+                .blotterId(order.getBlotter() != null ? order.getBlotter().getId() : null)
+                .build();
+    }
+
     /**
      * Validate an order for inclusion in a bulk request.
      * Performs comprehensive validation of all required fields.
@@ -898,7 +1281,8 @@ public class OrderService {
      * @param bulkRequest The bulk request to send to the trade service
      * @return BulkTradeOrderResponseDTO response from the trade service
      * @throws IllegalArgumentException if the bulk request is null or empty
-     * @throws RuntimeException for various trade service errors with detailed error information
+     * @throws TradeOrderRejectedException if the trade service definitely created none of the trade orders
+     * @throws RuntimeException for other trade service errors, where the outcome is unknown
      */
     public BulkTradeOrderResponseDTO callTradeServiceBulk(BulkTradeOrderRequestDTO bulkRequest) {
         long startTime = System.currentTimeMillis();
@@ -914,10 +1298,10 @@ public class OrderService {
         String fullUrl = tradeServiceUrl + "/api/v1/tradeOrders/bulk";
 
         try {
-            ResponseEntity<BulkTradeOrderResponseDTO> response = restTemplate.postForEntity(
+            ResponseEntity<BulkTradeOrderResponseDTO> response = guardTradeServiceCall(() -> restTemplate.postForEntity(
                     fullUrl,
-                    new HttpEntity<>(bulkRequest),
-                    BulkTradeOrderResponseDTO.class);
+                    jsonEntity(TradeServiceJsonCodec.writeBulkRequest(bulkRequest)),
+                    BulkTradeOrderResponseDTO.class));
 
             long duration = System.currentTimeMillis() - startTime;
             HttpStatus statusCode = HttpStatus.valueOf(response.getStatusCode().value());
@@ -947,8 +1331,8 @@ public class OrderService {
                 logger.error("BULK_SUBMISSION: Trade service rejected bulk request with HTTP 400 for {} orders: {}, thread={}",
                         orderCount, errorMessage, threadName);
                 
-                throw new RuntimeException(String.format(
-                        "Trade service rejected bulk request with HTTP 400: %s", errorMessage));
+                throw new TradeOrderRejectedException(String.format(
+                        "Trade service rejected bulk request with HTTP 400: %s", errorMessage), statusCode.value());
             }
             // Handle HTTP 500 Internal Server Error
             else if (statusCode == HttpStatus.INTERNAL_SERVER_ERROR) {
@@ -962,10 +1346,16 @@ public class OrderService {
                 logger.error("BULK_SUBMISSION: Trade service returned unexpected status {} for {} orders, thread={}",
                         statusCode, orderCount, threadName);
                 
-                throw new RuntimeException(String.format(
-                        "Trade service returned unexpected status: %s", statusCode));
+                String message = String.format("Trade service returned unexpected status: %s", statusCode);
+                if (TradeOrderRejectedException.isRejectionStatus(statusCode.value())) {
+                    throw new TradeOrderRejectedException(message, statusCode.value());
+                }
+                throw new RuntimeException(message);
             }
 
+        } catch (TradeOrderRejectedException e) {
+            throw e;
+
         } catch (org.springframework.web.client.HttpClientErrorException e) {
             long duration = System.currentTimeMillis() - startTime;
             String responseBody = e.getResponseBodyAsString();
@@ -973,9 +1363,12 @@ public class OrderService {
             logger.error("BULK_SUBMISSION: Trade service HTTP client error for {} orders, status={}, duration={}ms, thread={}, response_body={}, error={}",
                     orderCount, e.getStatusCode(), duration, threadName, responseBody, e.getMessage(), e);
             
-            throw new RuntimeException(String.format(
-                    "Trade service HTTP client error: %s %s - %s", 
-                    e.getStatusCode(), e.getStatusText(), responseBody), e);
+            String message = String.format("Trade service HTTP client error: %s %s - %s",
+                    e.getStatusCode(), e.getStatusText(), responseBody);
+            if (TradeOrderRejectedException.isRejection(e)) {
+                throw new TradeOrderRejectedException(message, e);
+            }
+            throw new RuntimeException(message, e);
 
         } catch (org.springframework.web.client.HttpServerErrorException e) {
             long duration = System.currentTimeMillis() - startTime;
@@ -1006,6 +1399,13 @@ public class OrderService {
             throw new RuntimeException(String.format(
                     "Trade service REST client error: %s", e.getMessage()), e);
 
+        } catch (ExternalServiceUnavailableException e) {
+            logger.warn("BULK_SUBMISSION: Trade service call rejected for {} orders, thread={}, reason={}",
+                    orderCount, threadName, e.getRejectionReason());
+            
+            throw new TradeOrderRejectedException(String.format(
+                    "Trade service unavailable: %s", e.getRejectionReason()), e);
+
         } catch (Exception e) {
             long duration = System.currentTimeMillis() - startTime;
             
@@ -1017,6 +1417,27 @@ public class OrderService {
         }
     }
 
+    /**
+     * Call the trade service bulk endpoint without blocking the calling thread.
+     * Error semantics match {@link #callTradeServiceBulk(BulkTradeOrderRequestDTO)}: the
+     * future completes exceptionally with a RuntimeException for non-201 responses and
+     * connectivity failures. Falls back to the blocking call when the async client is
+     * not enabled.
+     * 
+     * @param bulkRequest The bulk request to send to the trade service
+     * @return future completing with the trade service bulk response
+     */
+    public CompletableFuture<BulkTradeOrderResponseDTO> callTradeServiceBulkAsync(BulkTradeOrderRequestDTO bulkRequest) {
+        if (tradeServiceAsyncClient == null) {
+            try {
+                return CompletableFuture.completedFuture(callTradeServiceBulk(bulkRequest));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return tradeServiceAsyncClient.submitBulk(bulkRequest);
+    }
+
     /**
      * Transform bulk trade service response to order service format.
      * Maps the trade service bulk response to the existing BatchSubmitResponseDTO format
@@ -1118,6 +1539,11 @@ public class OrderService {
      * @param bulkResponse The bulk response from the trade service
      */
     public void updateOrderStatusesFromBulkResponse(List<Order> orders, BulkTradeOrderResponseDTO bulkResponse) {
+        updateOrderStatusesFromBulkResponse(orders, bulkResponse, false);
+    }
+
+    private void updateOrderStatusesFromBulkResponse(List<Order> orders, BulkTradeOrderResponseDTO bulkResponse,
+            boolean reserved) {
         long startTime = System.currentTimeMillis();
         String threadName = Thread.currentThread().getName();
         
@@ -1238,7 +1664,9 @@ public class OrderService {
                         long dbStartTime = System.currentTimeMillis();
                         
                         // Use BatchUpdateService for efficient JDBC batch updates
-                        int updatedCount = batchUpdateService.batchUpdateOrderStatuses(successfulOrders, sentStatus);
+                        int updatedCount = reserved
+                                ? batchUpdateService.batchUpdateReservedOrderStatuses(successfulOrders, sentStatus)
+                                : batchUpdateService.batchUpdateOrderStatuses(successfulOrders, sentStatus);
                         
                         long dbDuration = System.currentTimeMillis() - dbStartTime;
                         
@@ -1249,8 +1677,8 @@ public class OrderService {
                         // Detailed performance metrics only in debug mode
                         if (logger.isDebugEnabled() && updatedCount > 0) {
                             double avgDbTimePerOrder = (double) dbDuration / updatedCount;
-                            logger.debug("BULK_STATUS_UPDATE_PERFORMANCE: JDBC batch update avg {:.2f}ms per order, thread={}",
-                                    avgDbTimePerOrder, threadName);
+                            logger.debug("BULK_STATUS_UPDATE_PERFORMANCE: JDBC batch update avg {}ms per order, thread={}",
+                                    roundToHundredths(avgDbTimePerOrder), threadName);
                         }
                         
                     } catch (Exception e) {
@@ -1265,8 +1693,8 @@ public class OrderService {
                 // Summary log of batch update operation
                 long totalDuration = System.currentTimeMillis() - startTime;
                 double successRate = orderCount > 0 ? (double) successfulOrders.size() / orderCount * 100 : 0;
-                logger.info("BULK_STATUS_UPDATE: Completed in {}ms - {} successful, {} failed (success_rate: {:.2f}%), thread={}",
-                        totalDuration, successfulOrders.size(), failedOrders.size(), successRate, threadName);
+                logger.info("BULK_STATUS_UPDATE: Completed in {}ms - {} successful, {} failed (success_rate: {}%), thread={}",
+                        totalDuration, successfulOrders.size(), failedOrders.size(), roundToHundredths(successRate), threadName);
                 
                 // Log failed orders for monitoring
                 if (!failedOrders.isEmpty()) {
@@ -1306,13 +1734,13 @@ public class OrderService {
                             .securityId(order.getSecurityId())
                             .ticker(null) // Will be null if service is unavailable
                             .build();
-                    if (logger.isDebugEnabled()) {
+                    if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_ENRICHMENT)) {
                         logger.debug("Security service unavailable for securityId: {}, using fallback",
                                 order.getSecurityId());
                     }
                 }
             } catch (Exception e) {
-                if (logger.isDebugEnabled()) {
+                if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_ENRICHMENT)) {
                     logger.debug("Failed to fetch security data for securityId: {} - {}", order.getSecurityId(),
                             e.getMessage());
                 }
@@ -1335,13 +1763,13 @@ public class OrderService {
                             .portfolioId(order.getPortfolioId())
                             .name(null) // Will be null if service is unavailable
                             .build();
-                    if (logger.isDebugEnabled()) {
+                    if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_ENRICHMENT)) {
                         logger.debug("Portfolio service unavailable for portfolioId: {}, using fallback",
                                 order.getPortfolioId());
                     }
                 }
             } catch (Exception e) {
-                if (logger.isDebugEnabled()) {
+                if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_ENRICHMENT)) {
                     logger.debug("Failed to fetch portfolio data for portfolioId: {} - {}", order.getPortfolioId(),
                             e.getMessage());
                 }
@@ -1604,7 +2032,9 @@ public class OrderService {
             order.setVersion(dto.getVersion());
 
             Order saved = orderRepository.save(order);
-            logger.debug("Order created successfully with ID {}", saved.getId());
+            if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_CREATE)) {
+                logger.debug("Order created successfully with ID {}", saved.getId());
+            }
             return toDto(saved);
 
         } catch (Exception e) {
@@ -1698,7 +2128,7 @@ public class OrderService {
         // Process each order individually in separate transactions
         for (int i = 0; i < orders.size(); i++) {
             OrderPostDTO orderDto = orders.get(i);
-            OrderPostResponseDTO result = processIndividualOrderInTransaction(orderDto, i);
+            OrderPostResponseDTO result = processIndividualOrderWithTemplate(orderDto, i);
             orderResults.add(result);
 
             if (result.isSuccess()) {
@@ -1759,6 +2189,8 @@ public class OrderService {
      * This method ensures each order is processed in a separate transaction to
      * avoid
      * holding database connections for extended periods during batch processing.
+     * Commits without waiting for the WAL flush when order.async-commit.order-creation
+     * is enabled (see {@link AsyncCommitPolicy}).
      * 
      * @param orderDto     The order to process
      * @param requestIndex The index of this order in the original batch request
@@ -1766,9 +2198,35 @@ public class OrderService {
      */
     @Transactional
     public OrderPostResponseDTO processIndividualOrderInTransaction(OrderPostDTO orderDto, int requestIndex) {
+        if (asyncCommitPolicy != null) {
+            asyncCommitPolicy.apply(AsyncCommitPolicy.Operation.ORDER_CREATION);
+        }
         return processIndividualOrder(orderDto, requestIndex);
     }
 
+    /**
+     * Process a single order of {@link #processBatchOrders} in its own transaction.
+     * A self-invocation of {@link #processIndividualOrderInTransaction} would bypass the
+     * transactional proxy, so the transaction is opened here with the transaction template
+     * and the async commit policy is applied inside it.
+     * 
+     * @param orderDto     The order to process
+     * @param requestIndex The index of this order in the original batch request
+     * @return OrderPostResponseDTO containing the result
+     */
+    private OrderPostResponseDTO processIndividualOrderWithTemplate(OrderPostDTO orderDto, int requestIndex) {
+        try {
+            OrderPostResponseDTO result = transactionTemplate.execute(
+                    status -> processIndividualOrderInTransaction(orderDto, requestIndex));
+            return result != null ? result
+                    : OrderPostResponseDTO.failure("Internal error processing order: no result", requestIndex);
+        } catch (Exception e) {
+            logger.error("Transaction failed for order at index {}: {}", requestIndex, e.getMessage(), e);
+            return OrderPostResponseDTO.failure(
+                    "Internal error processing order: " + e.getMessage(), requestIndex);
+        }
+    }
+
     /**
      * Process a single order within a batch context.
      * This method handles all individual order validation and processing logic.
@@ -1801,7 +2259,9 @@ public class OrderService {
                 return OrderPostResponseDTO.failure("Failed to create order: unknown error", requestIndex);
             }
 
-            logger.debug("Order created successfully at index {} with ID {}", requestIndex, createdOrder.getId());
+            if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_ORDER_CREATE)) {
+                logger.debug("Order created successfully at index {} with ID {}", requestIndex, createdOrder.getId());
+            }
             return OrderPostResponseDTO.success(createdOrder, createdOrder.getId().longValue(), requestIndex);
 
         } catch (Exception e) {
@@ -1856,6 +2316,38 @@ public class OrderService {
     @Autowired
     private ValidationCacheService validationCacheService;
 
+    @Autowired(required = false)
+    private TradeServiceAsyncClient tradeServiceAsyncClient;
+
+    @Autowired(required = false)
+    private TradeOrderSubmissionAggregator submissionAggregator;
+
+    @Autowired
+    private OrderReservationService orderReservationService;
+
+    @Autowired(required = false)
+    private AsyncCommitPolicy asyncCommitPolicy;
+
+    @Autowired(required = false)
+    private BulkSubmissionMemoryGovernor memoryGovernor;
+
+    @Autowired(required = false)
+    @Qualifier("tradeServiceGuard")
+    private ExternalServiceGuard tradeServiceGuard;
+
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    @Autowired(required = false)
+    private ServiceLogSampler logSampler = ServiceLogSampler.UNSAMPLED;
+
+    /**
+     * Rounds a value for logging without eagerly formatting it.
+     */
+    private static double roundToHundredths(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
     /**
      * Validate that referenced entities exist in the database.
      * Uses cached validation to reduce database calls during batch processing.
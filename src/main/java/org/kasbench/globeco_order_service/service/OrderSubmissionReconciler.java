@@ -0,0 +1,169 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Settles orders whose trade service outcome was unknown.
+ *
+ * A submission whose trade service call timed out or failed ambiguously leaves its order
+ * SENT without a trade order ID, on every submit path: single, bulk and work queue. Once
+ * such a reservation is older than {@code reconcile-after-ms}, longer than any submission
+ * can stay in flight, each pass looks the order up with
+ * {@code GET /api/v2/tradeOrders?orderId=}. If the trade service has a trade order for it,
+ * its ID is recorded as the submission would have; if it has none, the reservation is
+ * released with the rejection backoff so the order can be submitted again and the work
+ * queue claims it once the backoff expires. Orders whose lookup fails stay reserved for
+ * the next pass.
+ *
+ * Finalizing and releasing are guarded by the reserved version, so a late response to the
+ * original submission and a reconciliation cannot both record the order.
+ */
+@Service
+@ConditionalOnProperty(name = "order.reservation.reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderSubmissionReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(OrderSubmissionReconciler.class);
+
+    private final OrderReservationService orderReservationService;
+    private final RestTemplate restTemplate;
+    private final String tradeServiceUrl;
+    private final long reconcileAfterMs;
+    private final int batchSize;
+
+    @Autowired(required = false)
+    @Qualifier("tradeServiceGuard")
+    private ExternalServiceGuard tradeServiceGuard;
+
+    // Metrics
+    private final Counter finalizedCounter;
+    private final Counter releasedCounter;
+    private final Counter unresolvedCounter;
+
+    public OrderSubmissionReconciler(
+            OrderReservationService orderReservationService,
+            RestTemplate restTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${trade.service.url:http://globeco-trade-service:8082}") String tradeServiceUrl,
+            @Value("${order.reservation.reconcile-after-ms:300000}") long reconcileAfterMs,
+            @Value("${order.reservation.reconcile-batch-size:100}") int batchSize) {
+        this.orderReservationService = orderReservationService;
+        this.restTemplate = restTemplate;
+        this.tradeServiceUrl = tradeServiceUrl;
+        this.reconcileAfterMs = Math.max(0, reconcileAfterMs);
+        this.batchSize = Math.max(1, batchSize);
+
+        this.finalizedCounter = Counter.builder("order.reservations.reconciled")
+                .description("Reconciliations of orders with an unknown trade service outcome, by outcome")
+                .tag("service", "order")
+                .tag("outcome", "finalized")
+                .register(meterRegistry);
+
+        this.releasedCounter = Counter.builder("order.reservations.reconciled")
+                .description("Reconciliations of orders with an unknown trade service outcome, by outcome")
+                .tag("service", "order")
+                .tag("outcome", "released")
+                .register(meterRegistry);
+
+        this.unresolvedCounter = Counter.builder("order.reservations.reconciled")
+                .description("Reconciliations of orders with an unknown trade service outcome, by outcome")
+                .tag("service", "order")
+                .tag("outcome", "unresolved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reconcile up to reconcile-batch-size orders reserved longer than reconcile-after-ms
+     * without a trade order ID.
+     *
+     * @return the number of orders finalized or released
+     */
+    @Scheduled(initialDelayString = "${order.reservation.reconcile-interval-ms:60000}",
+            fixedDelayString = "${order.reservation.reconcile-interval-ms:60000}")
+    public int reconcile() {
+        List<OrderReservationService.Reservation> unconfirmed;
+        try {
+            unconfirmed = orderReservationService.findUnconfirmed(reconcileAfterMs, batchSize);
+        } catch (RuntimeException e) {
+            logger.warn("Unconfirmed reservations could not be read for reconciliation: {}", e.getMessage());
+            return 0;
+        }
+
+        int settled = 0;
+        for (OrderReservationService.Reservation reservation : unconfirmed) {
+            if (reconcile(reservation)) {
+                settled++;
+            }
+        }
+        if (!unconfirmed.isEmpty()) {
+            logger.info("Reconciled {} of {} orders reserved without a trade order ID", settled, unconfirmed.size());
+        }
+        return settled;
+    }
+
+    private boolean reconcile(OrderReservationService.Reservation reservation) {
+        Integer orderId = reservation.getOrder().getId();
+        Integer tradeOrderId;
+        try {
+            tradeOrderId = findTradeOrderId(orderId);
+        } catch (RuntimeException e) {
+            unresolvedCounter.increment();
+            logger.warn("Trade order lookup for order {} failed; keeping it reserved: {}", orderId, e.getMessage());
+            return false;
+        }
+
+        if (tradeOrderId != null) {
+            try {
+                orderReservationService.finalizeSubmission(reservation, tradeOrderId);
+            } catch (RuntimeException e) {
+                unresolvedCounter.increment();
+                logger.warn("Order {} not finalized with reconciled tradeOrderId {}: {}",
+                        orderId, tradeOrderId, e.getMessage());
+                return false;
+            }
+            finalizedCounter.increment();
+            logger.info("Reconciled order {}: trade service has tradeOrderId {}", orderId, tradeOrderId);
+            return true;
+        }
+
+        if (!orderReservationService.release(reservation)) {
+            unresolvedCounter.increment();
+            return false;
+        }
+        releasedCounter.increment();
+        logger.info("Reconciled order {}: trade service has no trade order for it; released for resubmission", orderId);
+        return true;
+    }
+
+    /**
+     * Look up the trade order the trade service created for an order.
+     *
+     * @return the trade order ID, or null if the trade service has none for the order
+     * @throws RuntimeException if the trade service could not be asked
+     */
+    Integer findTradeOrderId(Integer orderId) {
+        String url = tradeServiceUrl + "/api/v2/tradeOrders?orderId=" + orderId;
+        ResponseEntity<byte[]> response = guardTradeServiceCall(() -> restTemplate.getForEntity(url, byte[].class));
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new IllegalStateException(String.format(
+                    "Trade service answered the lookup of order %d with %s", orderId, response.getStatusCode()));
+        }
+        return TradeServiceJsonCodec.readTradeOrderIdForOrder(response.getBody(), orderId);
+    }
+
+    private <T> T guardTradeServiceCall(Supplier<T> call) {
+        return tradeServiceGuard != null ? tradeServiceGuard.execute(call) : call.get();
+    }
+}
@@ -0,0 +1,236 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.dto.BatchSubmitResponseDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background submitter that drains NEW orders to the trade service without a client
+ * calling submit.
+ *
+ * Each worker repeatedly claims up to the current batch size of the oldest NEW orders
+ * with {@code FOR UPDATE SKIP LOCKED}, sends them through the bulk endpoint and records
+ * the results with {@link BatchUpdateService}. Workers in every replica skip the rows the
+ * others hold, so throughput grows with the number of replicas and workers without a
+ * coordination service. Orders the trade service rejects are returned to NEW and are
+ * claimed again on a later pass, once their backoff expires. Orders whose outcome is
+ * unknown stay SENT until {@link OrderSubmissionReconciler} records their trade orders or
+ * returns them to NEW the same way.
+ *
+ * The batch size adapts to the observed trade service call time: it grows by
+ * {@code increase-step} after each full batch answered within {@code target-latency-ms}
+ * and halves when a call is slower than that or fails. Workers wait {@code idle-poll-ms}
+ * once the queue is drained and {@code failure-backoff-ms} after a failed pass.
+ */
+@Service
+@ConditionalOnProperty(name = "order.work-queue.enabled", havingValue = "true")
+public class OrderWorkQueueSubmitter {
+    private static final Logger logger = LoggerFactory.getLogger(OrderWorkQueueSubmitter.class);
+
+    private final OrderService orderService;
+    private final BatchSizeController batchSize;
+    private final int workers;
+    private final long idlePollMs;
+    private final long failureBackoffMs;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+
+    // Metrics
+    private final Counter claimedCounter;
+    private final Counter submittedCounter;
+    private final Counter failureCounter;
+
+    public OrderWorkQueueSubmitter(
+            OrderService orderService,
+            MeterRegistry meterRegistry,
+            @Value("${order.work-queue.workers:1}") int workers,
+            @Value("${order.work-queue.min-batch-size:10}") int minBatchSize,
+            @Value("${order.work-queue.max-batch-size:100}") int maxBatchSize,
+            @Value("${order.work-queue.initial-batch-size:25}") int initialBatchSize,
+            @Value("${order.work-queue.increase-step:10}") int increaseStep,
+            @Value("${order.work-queue.target-latency-ms:250}") long targetLatencyMs,
+            @Value("${order.work-queue.idle-poll-ms:500}") long idlePollMs,
+            @Value("${order.work-queue.failure-backoff-ms:1000}") long failureBackoffMs) {
+        this.orderService = orderService;
+        this.batchSize = new BatchSizeController(minBatchSize, maxBatchSize, initialBatchSize, increaseStep,
+                targetLatencyMs);
+        this.workers = Math.max(1, workers);
+        this.idlePollMs = Math.max(1, idlePollMs);
+        this.failureBackoffMs = Math.max(1, failureBackoffMs);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread thread = new Thread(r, "order-work-queue-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.claimedCounter = Counter.builder("order.work_queue.claimed")
+                .description("Number of NEW orders claimed by the work-queue submitter")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.submittedCounter = Counter.builder("order.work_queue.submitted")
+                .description("Number of claimed orders accepted by the trade service")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.failureCounter = Counter.builder("order.work_queue.failures")
+                .description("Number of work-queue passes that failed and released their orders")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        Gauge.builder("order.work_queue.batch_size", batchSize, BatchSizeController::get)
+                .description("Current number of orders claimed per work-queue pass")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        logger.info("OrderWorkQueueSubmitter initialized - workers={}, batchSize={}..{} (initial {}), targetLatencyMs={}",
+                this.workers, batchSize.getMin(), batchSize.getMax(), batchSize.get(), targetLatencyMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("Work-queue workers did not stop within 5s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the number of orders the next pass will claim.
+     *
+     * @return current batch size
+     */
+    public int getBatchSize() {
+        return batchSize.get();
+    }
+
+    /**
+     * Claim and submit one batch.
+     *
+     * @return milliseconds to wait before the next pass: 0 while full batches are being
+     *         claimed and accepted, the idle poll once the queue is drained or nothing was
+     *         accepted, the failure backoff after a failed pass
+     */
+    long runOnce() {
+        int limit = batchSize.get();
+        AtomicLong tradeServiceLatency = new AtomicLong(-1);
+        try {
+            BatchSubmitResponseDTO response = orderService.submitQueuedOrders(limit, tradeServiceLatency::set);
+            if (response == null) {
+                return idlePollMs;
+            }
+
+            int claimed = response.getTotalRequested();
+            boolean full = claimed >= limit;
+            claimedCounter.increment(claimed);
+            submittedCounter.increment(response.getSuccessful());
+            if (tradeServiceLatency.get() >= 0) {
+                batchSize.onCompleted(tradeServiceLatency.get(), full);
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("WORK_QUEUE: Submitted {} of {} claimed orders, tradeServiceMs={}, nextBatchSize={}",
+                        response.getSuccessful(), claimed, tradeServiceLatency.get(), batchSize.get());
+            }
+            // Back off when nothing was accepted, so a head of repeatedly rejected orders is not spun on
+            return full && response.getSuccessful() > 0 ? 0 : idlePollMs;
+
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            batchSize.onFailure();
+            logger.warn("WORK_QUEUE: Pass of up to {} orders failed, retrying in {}ms with batch size {}: {}",
+                    limit, failureBackoffMs, batchSize.get(), e.getMessage());
+            return failureBackoffMs;
+        }
+    }
+
+    private void runWorker() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long delay = runOnce();
+            if (delay > 0) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Additive-increase, multiplicative-decrease batch size shared by the workers of one
+     * replica.
+     */
+    static final class BatchSizeController {
+        private final int min;
+        private final int max;
+        private final int increaseStep;
+        private final long targetLatencyMs;
+        private final AtomicInteger size;
+
+        BatchSizeController(int min, int max, int initial, int increaseStep, long targetLatencyMs) {
+            this.min = Math.max(1, min);
+            this.max = Math.max(this.min, max);
+            this.increaseStep = Math.max(1, increaseStep);
+            this.targetLatencyMs = Math.max(1, targetLatencyMs);
+            this.size = new AtomicInteger(Math.min(this.max, Math.max(this.min, initial)));
+        }
+
+        int get() {
+            return size.get();
+        }
+
+        int getMin() {
+            return min;
+        }
+
+        int getMax() {
+            return max;
+        }
+
+        void onCompleted(long latencyMs, boolean fullBatch) {
+            if (latencyMs > targetLatencyMs) {
+                decrease();
+            } else if (fullBatch) {
+                size.updateAndGet(current -> Math.min(max, current + increaseStep));
+            }
+        }
+
+        void onFailure() {
+            decrease();
+        }
+
+        private void decrease() {
+            size.updateAndGet(current -> Math.max(min, current / 2));
+        }
+    }
+}
@@ -2,9 +2,13 @@ package org.kasbench.globeco_order_service.service;
 
 import org.kasbench.globeco_order_service.dto.PortfolioDTO;
 import org.kasbench.globeco_order_service.dto.PortfolioSearchResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
@@ -16,6 +20,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
@@ -29,22 +34,37 @@ public class PortfolioServiceClient {
     private final RestTemplate restTemplate;
     private final String portfolioServiceUrl;
     private final HttpMetricsService httpMetricsService;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final ExternalServiceGuard serviceGuard;
+    private final PoolingHttpClientConnectionManager connectionManager;
     
     public PortfolioServiceClient(
-            RestTemplate restTemplate,
+            @Qualifier("portfolioServiceRestTemplate") RestTemplate restTemplate,
+            @Qualifier("portfolioServiceGuard") ExternalServiceGuard serviceGuard,
+            @Qualifier("portfolioServiceConnectionManager") PoolingHttpClientConnectionManager connectionManager,
             @Value("${portfolio.service.url:http://globeco-portfolio-service:8000}") String portfolioServiceUrl,
-            @Autowired(required = false) HttpMetricsService httpMetricsService
+            @Autowired(required = false) HttpMetricsService httpMetricsService,
+            @Autowired(required = false) MeterRegistry meterRegistry,
+            @Value("${portfolio.service.hedging.enabled:true}") boolean hedgingEnabled,
+            @Value("${portfolio.service.hedging.budget-percent:5}") double hedgingBudgetPercent,
+            @Value("${portfolio.service.hedging.min-delay-ms:20}") long hedgingMinDelayMs,
+            @Value("${portfolio.service.hedging.max-delay-ms:1000}") long hedgingMaxDelayMs,
+            @Value("${portfolio.service.hedging.max-concurrent:50}") int hedgingMaxConcurrent
     ) {
         this.restTemplate = restTemplate;
+        this.serviceGuard = serviceGuard;
+        this.connectionManager = connectionManager;
         this.portfolioServiceUrl = portfolioServiceUrl;
         this.httpMetricsService = httpMetricsService;
+        this.hedgedRequestExecutor = new HedgedRequestExecutor("portfolio-service", hedgingEnabled,
+                hedgingBudgetPercent, hedgingMinDelayMs, hedgingMaxDelayMs, hedgingMaxConcurrent, serviceGuard, meterRegistry);
     }
     
     @PostConstruct
     public void initializeMetrics() {
         if (httpMetricsService != null) {
             try {
-                httpMetricsService.registerHttpConnectionPoolMetrics("portfolio-service", portfolioServiceUrl);
+                httpMetricsService.registerHttpConnectionPoolMetrics("portfolio-service", portfolioServiceUrl, connectionManager);
                 logger.debug("HTTP metrics registered for Portfolio Service");
             } catch (Exception e) {
                 logger.warn("Failed to register HTTP metrics for Portfolio Service: {}", e.getMessage());
@@ -71,12 +91,8 @@ public class PortfolioServiceClient {
         logger.debug("Calling portfolio service for portfolioId: {} at URL: {}", portfolioId, url);
         
         try {
-            // Update HTTP metrics before making the call
-            if (httpMetricsService != null) {
-                httpMetricsService.updateServiceSpecificMetrics("portfolio-service", portfolioServiceUrl);
-            }
-            
-            ResponseEntity<PortfolioDTO> response = restTemplate.getForEntity(url, PortfolioDTO.class);
+            ResponseEntity<PortfolioDTO> response = serviceGuard.execute(() -> hedgedRequestExecutor.execute(
+                    () -> restTemplate.getForEntity(url, PortfolioDTO.class)));
             
             Duration callDuration = Duration.between(startTime, Instant.now());
             
@@ -111,6 +127,11 @@ public class PortfolioServiceClient {
             throw new PortfolioServiceException(
                     String.format("Portfolio service connection error: %s", e.getMessage()), e);
                     
+        } catch (ExternalServiceUnavailableException e) {
+            logger.warn("Portfolio service call rejected for portfolioId: {} - {}", portfolioId, e.getRejectionReason());
+            throw new PortfolioServiceException(
+                    String.format("Portfolio service unavailable: %s", e.getRejectionReason()), e);
+                    
         } catch (Exception e) {
             Duration callDuration = Duration.between(startTime, Instant.now());
             logger.error("Unexpected error calling portfolio service for portfolioId: {} - Message: {} ({}ms)", 
@@ -152,13 +173,8 @@ public class PortfolioServiceClient {
                 
                 logger.debug("Searching portfolio service for name: '{}' at URL: {}", trimmedName, url);
                 
-                // Update HTTP metrics before making the call
-                if (httpMetricsService != null) {
-                    httpMetricsService.updateServiceSpecificMetrics("portfolio-service", portfolioServiceUrl);
-                }
-                
-                ResponseEntity<PortfolioSearchResponseDTO> response = restTemplate.getForEntity(
-                        url, PortfolioSearchResponseDTO.class);
+                ResponseEntity<PortfolioSearchResponseDTO> response = serviceGuard.execute(() -> hedgedRequestExecutor.execute(
+                        () -> restTemplate.getForEntity(url, PortfolioSearchResponseDTO.class)));
                 
                 Duration callDuration = Duration.between(startTime, Instant.now());
                 
@@ -200,6 +216,11 @@ public class PortfolioServiceClient {
                 throw new PortfolioServiceException(
                         String.format("Portfolio search connection error: %s", e.getMessage()), e);
                         
+            } catch (ExternalServiceUnavailableException e) {
+                logger.warn("Portfolio search rejected for name: '{}' - {}", trimmedName, e.getRejectionReason());
+                throw new PortfolioServiceException(
+                        String.format("Portfolio search unavailable: %s", e.getRejectionReason()), e);
+                        
             } catch (Exception e) {
                 Duration callDuration = Duration.between(startTime, Instant.now());
                 logger.error("Unexpected error in portfolio search for name: '{}' - Message: {} ({}ms)", 
@@ -214,6 +235,11 @@ public class PortfolioServiceClient {
         return resolvedIds;
     }
     
+    @PreDestroy
+    public void shutdown() {
+        hedgedRequestExecutor.shutdown();
+    }
+    
     /**
      * Custom exception for Portfolio Service communication errors.
      */
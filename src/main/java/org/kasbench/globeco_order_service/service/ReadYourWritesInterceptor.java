@@ -0,0 +1,87 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary while its own writes may not have reached the
+ * replicas yet.
+ *
+ * A request that can write (anything but GET, HEAD and OPTIONS) runs entirely against
+ * the primary and marks its client as a recent writer; reads from a recent writer go to
+ * the primary until the read-your-writes window has passed. Clients are identified by
+ * the configured header, or by their remote address when the header is absent.
+ *
+ * The routing flag is thread-bound. A handler that returns a CompletableFuture releases
+ * its servlet thread without afterCompletion, so the flag is also cleared when concurrent
+ * handling starts, and every request starts from a cleared flag.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final String clientIdHeader;
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesInterceptor(String clientIdHeader, long windowMs) {
+        this.clientIdHeader = clientIdHeader;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        // A pooled thread may still carry the flag of a request that never completed on it
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+        if (isWrite(request)) {
+            // Recorded before the write commits so a read racing the response cannot miss it
+            recentWriters.put(clientKey(request), Boolean.TRUE);
+            ReplicaRoutingDataSource.setPrimaryRequired(true);
+        } else if (recentWriters.getIfPresent(clientKey(request)) != null) {
+            ReplicaRoutingDataSource.setPrimaryRequired(true);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler, @Nullable Exception ex) {
+        if (isWrite(request)) {
+            // The window runs from the end of the write, not its start
+            recentWriters.put(clientKey(request), Boolean.TRUE);
+        }
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response, @NonNull Object handler) {
+        // afterCompletion runs on the async dispatch, usually on another thread
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    boolean isRecentWriter(String clientKey) {
+        return recentWriters.getIfPresent(clientKey) != null;
+    }
+
+    String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader(clientIdHeader);
+        if (clientId != null && !clientId.isBlank()) {
+            return "id:" + clientId.trim();
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,195 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-only DataSource that hands out replica connections while the replicas keep up
+ * with the primary.
+ *
+ * Each replica's replay lag is measured every {@code lag-check-interval-ms}; replicas
+ * within {@code max-lag-ms} share reads round-robin. A replica that is further behind,
+ * or whose lag cannot be measured, is skipped until it catches up. When no replica
+ * qualifies, or the current thread is serving a client that has just written, the
+ * primary's connection is returned instead, so reads never see data older than the
+ * lag bound and a client always sees its own writes.
+ *
+ * Connections are requested here only for read-only transactions; see
+ * {@code ReadReplicaConfiguration}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // 0 when the replica has replayed everything it received, so an idle primary does not read as lag
+    static final String LAG_SQL =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final ToLongFunction<DataSource> lagProbe;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Metrics
+    private final Counter replicaReadCounter;
+    private final Counter primaryFallbackCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMs,
+            MeterRegistry meterRegistry) {
+        this(primary, replicas, maxLagMs, meterRegistry,
+                replica -> new JdbcTemplate(replica).queryForObject(LAG_SQL, Long.class));
+    }
+
+    ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, long maxLagMs,
+            MeterRegistry meterRegistry, ToLongFunction<DataSource> lagProbe) {
+        this.primary = primary;
+        this.maxLagMs = maxLagMs;
+        this.lagProbe = lagProbe;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+
+        this.replicaReadCounter = Counter.builder("database.replica.reads")
+                .description("Read-only connections served by a replica")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.primaryFallbackCounter = Counter.builder("database.replica.primary_fallbacks")
+                .description("Read-only connections served by the primary because no replica was within the lag bound or the client had just written")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("database.replica.lag_ms", replica, r -> r.lagMs)
+                    .description("Replay lag of the replica behind the primary; -1 when it cannot be measured")
+                    .tag("service", "order")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Route the current thread's read-only transactions to the primary, or stop doing so.
+     */
+    public static void setPrimaryRequired(boolean required) {
+        if (required) {
+            PRIMARY_REQUIRED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_REQUIRED.remove();
+        }
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    /**
+     * Measure every replica's lag; replicas that cannot be measured are marked unusable.
+     */
+    @Scheduled(fixedDelayString = "${database.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            long previous = replica.lagMs;
+            try {
+                replica.lagMs = Math.max(0, lagProbe.applyAsLong(replica.dataSource));
+            } catch (RuntimeException e) {
+                replica.lagMs = -1;
+                if (previous != -1) {
+                    logger.warn("Replica {} lag could not be measured, routing its reads to the primary: {}",
+                            replica.name, e.getMessage());
+                }
+                continue;
+            }
+            boolean wasUsable = previous >= 0 && previous <= maxLagMs;
+            if (wasUsable != isUsable(replica)) {
+                logger.info("Replica {} {} (lag {}ms, bound {}ms)", replica.name,
+                        isUsable(replica) ? "back within the lag bound" : "exceeds the lag bound", replica.lagMs, maxLagMs);
+            }
+        }
+    }
+
+    /**
+     * Get the number of replicas currently within the lag bound.
+     */
+    public int getUsableReplicaCount() {
+        int usable = 0;
+        for (Replica replica : replicas) {
+            if (isUsable(replica)) {
+                usable++;
+            }
+        }
+        return usable;
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica pool {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    DataSource determineTarget() {
+        if (!isPrimaryRequired()) {
+            int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, replicas.size()));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (isUsable(replica)) {
+                    replicaReadCounter.increment();
+                    return replica.dataSource;
+                }
+            }
+        }
+        primaryFallbackCounter.increment();
+        return primary;
+    }
+
+    private boolean isUsable(Replica replica) {
+        long lag = replica.lagMs;
+        return lag >= 0 && lag <= maxLagMs;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Unusable until first measured
+        private volatile long lagMs = -1;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
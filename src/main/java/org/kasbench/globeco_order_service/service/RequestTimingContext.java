@@ -15,13 +15,24 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class RequestTimingContext {
     
-    private final long startTime;
-    private final String method;
-    private final String path;
-    private final HttpRequestMetricsService metricsService;
+    private long startTime;
+    private String method;
+    private String path;
+    private HttpRequestMetricsService metricsService;
+    private int routeId;
+    private int methodIndex;
     private boolean inFlightIncremented;
     private boolean completed;
 
+    /**
+     * Creates an idle context to be reused, one per thread, through
+     * {@link #start(HttpRequestMeterTable, int, int, HttpRequestMetricsService)}.
+     */
+    RequestTimingContext() {
+        this.routeId = -1;
+        this.completed = true;
+    }
+
     /**
      * Creates a new request timing context and starts timing.
      * Automatically increments the in-flight requests gauge.
@@ -33,6 +44,8 @@ public class RequestTimingContext {
     public RequestTimingContext(String method, String path, HttpRequestMetricsService metricsService) {
         this.startTime = System.nanoTime();
         this.metricsService = metricsService;
+        this.routeId = -1;
+        this.methodIndex = HttpRequestMeterTable.UNKNOWN_METHOD_INDEX;
         this.inFlightIncremented = false;
         this.completed = false;
         
@@ -75,6 +88,78 @@ public class RequestTimingContext {
         log.trace("Created RequestTimingContext for {} {}", this.method, this.path);
     }
 
+    /**
+     * Creates a context for a request whose route was resolved against the meter table.
+     * Method and path tags come precomputed from the table, so no normalization or
+     * sanitization is done per request.
+     * 
+     * @param meterTable table the route was resolved against
+     * @param routeId route id in the table
+     * @param methodIndex method index in the table
+     * @param metricsService Service for recording metrics
+     */
+    public RequestTimingContext(HttpRequestMeterTable meterTable, int routeId, int methodIndex,
+                                HttpRequestMetricsService metricsService) {
+        start(meterTable, routeId, methodIndex, metricsService);
+    }
+
+    /**
+     * Starts timing a new request resolved against the meter table, reusing this context.
+     * A previous request that never completed on it is dropped from the in-flight gauge.
+     * 
+     * @param meterTable table the route was resolved against
+     * @param routeId route id in the table
+     * @param methodIndex method index in the table
+     * @param metricsService Service for recording metrics
+     */
+    void start(HttpRequestMeterTable meterTable, int routeId, int methodIndex,
+               HttpRequestMetricsService metricsService) {
+        if (!completed) {
+            decrementInFlightSafely();
+        }
+        this.startTime = System.nanoTime();
+        this.metricsService = metricsService;
+        this.routeId = routeId;
+        this.methodIndex = methodIndex;
+        this.method = HttpRequestMeterTable.methodName(methodIndex);
+        this.path = meterTable.routePath(routeId);
+        this.completed = false;
+        
+        boolean incremented = false;
+        if (metricsService != null) {
+            try {
+                metricsService.incrementInFlightRequests();
+                incremented = true;
+            } catch (Exception e) {
+                log.warn("Failed to increment in-flight requests during context creation for {} {}: {}", 
+                        this.method, this.path, e.getMessage());
+            }
+        }
+        this.inFlightIncremented = incremented;
+    }
+
+    /**
+     * Hands the request timed by this context over to a new context, so the request can
+     * complete on another thread while this context is reused. The in-flight gauge is not
+     * touched: the returned context now accounts for the request, and this one is idle.
+     * 
+     * @return context carrying this request's start time, route and in-flight state
+     */
+    RequestTimingContext detach() {
+        RequestTimingContext detached = new RequestTimingContext();
+        detached.startTime = startTime;
+        detached.method = method;
+        detached.path = path;
+        detached.metricsService = metricsService;
+        detached.routeId = routeId;
+        detached.methodIndex = methodIndex;
+        detached.inFlightIncremented = inFlightIncremented;
+        detached.completed = completed;
+        this.inFlightIncremented = false;
+        this.completed = true;
+        return detached;
+    }
+
     /**
      * Completes the request timing and records all metrics.
      * This method is idempotent - calling it multiple times has no additional effect.
@@ -95,15 +180,19 @@ public class RequestTimingContext {
             // Calculate duration safely
             durationNanos = calculateDurationSafely();
             
-            // Normalize status code safely
-            normalizedStatus = normalizeStatusCodeSafely(statusCode);
-            
             // Record the request metrics
             if (metricsService != null) {
-                metricsService.recordRequest(method, path, statusCode, durationNanos);
+                if (routeId >= 0) {
+                    metricsService.recordRequest(routeId, methodIndex, statusCode, durationNanos);
+                } else {
+                    metricsService.recordRequest(method, path, statusCode, durationNanos);
+                }
                 metricsRecorded = true;
-                log.trace("Successfully recorded metrics for {} {} - {} ({}ns)", 
-                         method, path, normalizedStatus, durationNanos);
+                if (log.isTraceEnabled()) {
+                    normalizedStatus = normalizeStatusCodeSafely(statusCode);
+                    log.trace("Successfully recorded metrics for {} {} - {} ({}ns)", 
+                             method, path, normalizedStatus, durationNanos);
+                }
             } else {
                 log.debug("MetricsService is null, cannot record metrics for {} {}", method, path);
             }
@@ -125,8 +214,10 @@ public class RequestTimingContext {
             decrementInFlightSafely();
             completed = true;
             
-            log.trace("Completed RequestTimingContext for {} {} - {} ({}ns, recorded: {})", 
-                     method, path, normalizedStatus, durationNanos, metricsRecorded);
+            if (log.isTraceEnabled()) {
+                log.trace("Completed RequestTimingContext for {} {} - {} ({}ns, recorded: {})", 
+                         method, path, normalizedStatus, durationNanos, metricsRecorded);
+            }
         }
     }
 
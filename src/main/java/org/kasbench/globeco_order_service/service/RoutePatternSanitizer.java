@@ -2,8 +2,6 @@ package org.kasbench.globeco_order_service.service;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Arrays;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -15,7 +13,10 @@ import java.util.regex.Pattern;
  * - Limits path segments to prevent metric explosion
  * - Preserves route patterns like /api/users/{id}
  * - Handles null/empty paths gracefully
- * - Provides caching for performance optimization
+ * 
+ * No cache is kept: raw request paths are matched against the application's route
+ * templates by {@link RouteTemplateTrie}, so only templates and fallback paths are
+ * sanitized here.
  */
 @Slf4j
 public final class RoutePatternSanitizer {
@@ -28,10 +29,6 @@ public final class RoutePatternSanitizer {
     // Patterns for sanitization
     private static final Pattern PATH_VARIABLE_PATTERN = Pattern.compile("\\{[^}]+\\}");
     private static final Pattern MULTIPLE_SLASHES_PATTERN = Pattern.compile("/+");
-    
-    // Cache for sanitized paths to improve performance
-    private static final ConcurrentHashMap<String, String> SANITIZATION_CACHE = new ConcurrentHashMap<>();
-    private static final int MAX_CACHE_SIZE = 1000;
 
     // Private constructor to prevent instantiation
     private RoutePatternSanitizer() {
@@ -40,164 +37,62 @@ public final class RoutePatternSanitizer {
 
     /**
      * Sanitizes a route path to prevent high cardinality issues.
-     * This method is thread-safe and uses caching for performance.
+     * This method is thread-safe and keeps no state. Raw request paths are resolved
+     * against the registered route templates by {@link RouteTemplateTrie}; this method
+     * normalizes templates and the few paths that reach the string-based fallback.
      * 
      * @param path the original path to sanitize
      * @return sanitized path suitable for metrics labeling
      */
     public static String sanitize(String path) {
-        // Handle null/empty cases first
-        if (path == null) {
-            log.trace("Path is null, using unknown path fallback");
-            return UNKNOWN_PATH;
-        }
-        
-        String trimmedPath = path.trim();
-        if (trimmedPath.isEmpty()) {
-            log.trace("Path is empty after trimming, using unknown path fallback");
-            return UNKNOWN_PATH;
-        }
-        
-        // Check cache first with error handling
-        try {
-            String cachedResult = SANITIZATION_CACHE.get(path);
-            if (cachedResult != null) {
-                log.trace("Using cached sanitization result for path: {}", path);
-                return cachedResult;
-            }
-        } catch (Exception cacheError) {
-            log.debug("Cache lookup failed for path '{}': {}", path, cacheError.getMessage());
-            // Continue with sanitization even if cache fails
-        }
-        
-        try {
-            String sanitized = performSanitization(trimmedPath);
-            
-            // Cache the result if cache is not too large and caching doesn't fail
-            try {
-                if (SANITIZATION_CACHE.size() < MAX_CACHE_SIZE) {
-                    SANITIZATION_CACHE.put(path, sanitized);
-                    log.trace("Cached sanitization result for path: {}", path);
-                }
-            } catch (Exception cacheError) {
-                log.debug("Failed to cache sanitization result for path '{}': {}", path, cacheError.getMessage());
-                // Continue even if caching fails
-            }
-            
-            return sanitized;
-            
-        } catch (Exception e) {
-            log.warn("Failed to sanitize path '{}', using fallback: {}", path, e.getMessage());
-            if (log.isDebugEnabled()) {
-                log.debug("Path sanitization error details", e);
-            }
-            return UNKNOWN_PATH;
-        }
+        return sanitizeWithMaxSegments(path, MAX_PATH_SEGMENTS);
     }
 
     /**
-     * Performs the actual sanitization logic.
+     * Normalizes a path in a single pass over its characters: drops the query and
+     * fragment, collapses repeated slashes, ensures a leading slash, drops a trailing
+     * slash and truncates after {@code maxSegments - 1} segments.
      * 
-     * @param path the trimmed path to sanitize
+     * @param path the trimmed, non-empty path to sanitize
+     * @param maxSegments maximum number of path segments
      * @return sanitized path
      */
-    private static String performSanitization(String path) {
-        if (path == null || path.isEmpty()) {
-            return UNKNOWN_PATH;
-        }
-        
-        String sanitized = path;
-        
-        try {
-            // Remove query parameters
-            int queryIndex = sanitized.indexOf('?');
-            if (queryIndex > 0) {
-                sanitized = sanitized.substring(0, queryIndex);
-            }
-        } catch (Exception e) {
-            log.debug("Failed to remove query parameters from '{}': {}", sanitized, e.getMessage());
-        }
-        
-        try {
-            // Remove fragment
-            int fragmentIndex = sanitized.indexOf('#');
-            if (fragmentIndex > 0) {
-                sanitized = sanitized.substring(0, fragmentIndex);
-            }
-        } catch (Exception e) {
-            log.debug("Failed to remove fragment from '{}': {}", sanitized, e.getMessage());
-        }
-        
-        try {
-            // Normalize multiple slashes to single slash
-            sanitized = MULTIPLE_SLASHES_PATTERN.matcher(sanitized).replaceAll("/");
-        } catch (Exception e) {
-            log.debug("Failed to normalize slashes in '{}': {}", sanitized, e.getMessage());
-        }
-        
-        try {
-            // Ensure path starts with /
-            if (!sanitized.startsWith("/")) {
-                sanitized = "/" + sanitized;
-            }
-        } catch (Exception e) {
-            log.debug("Failed to ensure leading slash for '{}': {}", sanitized, e.getMessage());
-        }
-        
-        try {
-            // Remove trailing slash unless it's the root path
-            if (sanitized.length() > 1 && sanitized.endsWith("/")) {
-                sanitized = sanitized.substring(0, sanitized.length() - 1);
+    private static String performSanitization(String path, int maxSegments) {
+        int end = path.length();
+        int queryIndex = path.indexOf('?');
+        if (queryIndex > 0) {
+            end = queryIndex;
+        }
+        int fragmentIndex = path.indexOf('#');
+        if (fragmentIndex > 0 && fragmentIndex < end) {
+            end = fragmentIndex;
+        }
+
+        StringBuilder sanitized = new StringBuilder(end + 1);
+        // Number of parts String.split("/") would produce: the empty leading part plus one per segment
+        int parts = 1;
+        for (int i = 0; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '/' || i == 0) {
+                // Start of a segment; skip repeated slashes
+                while (i < end && path.charAt(i) == '/') {
+                    i++;
+                }
+                if (i == end) {
+                    break;
+                }
+                if (parts == maxSegments) {
+                    log.debug("Limited path segments to {} segments: {}", maxSegments, path);
+                    return sanitized + TRUNCATION_SUFFIX;
+                }
+                sanitized.append('/');
+                parts++;
+                c = path.charAt(i);
             }
-        } catch (Exception e) {
-            log.debug("Failed to remove trailing slash from '{}': {}", sanitized, e.getMessage());
-        }
-        
-        try {
-            // Limit path segments to prevent high cardinality
-            sanitized = limitPathSegments(sanitized);
-        } catch (Exception e) {
-            log.debug("Failed to limit path segments for '{}': {}", sanitized, e.getMessage());
-        }
-        
-        // Final validation
-        if (sanitized == null || sanitized.trim().isEmpty()) {
-            log.debug("Sanitization resulted in null/empty path, using fallback");
-            return UNKNOWN_PATH;
+            sanitized.append(c);
         }
-        
-        return sanitized;
-    }
 
-    /**
-     * Limits the number of path segments to prevent metric explosion.
-     * 
-     * @param path the path to limit
-     * @return path with limited segments
-     */
-    private static String limitPathSegments(String path) {
-        if (path == null || path.isEmpty()) {
-            return UNKNOWN_PATH;
-        }
-        
-        try {
-            String[] segments = path.split("/");
-            
-            if (segments.length <= MAX_PATH_SEGMENTS) {
-                return path;
-            }
-            
-            // Take first MAX_PATH_SEGMENTS segments and add truncation indicator
-            String[] limitedSegments = Arrays.copyOf(segments, MAX_PATH_SEGMENTS);
-            String result = String.join("/", limitedSegments) + TRUNCATION_SUFFIX;
-            
-            log.debug("Limited path segments from {} to {} segments: {}", segments.length, MAX_PATH_SEGMENTS, result);
-            return result;
-            
-        } catch (Exception e) {
-            log.debug("Failed to limit path segments for '{}': {}", path, e.getMessage());
-            return path; // Return original path if limiting fails
-        }
+        return sanitized.length() == 0 ? "/" : sanitized.toString();
     }
 
     /**
@@ -271,24 +166,6 @@ public final class RoutePatternSanitizer {
         return !path.contains("?") && !path.contains("#") && !path.contains(" ");
     }
 
-    /**
-     * Gets statistics about the sanitization cache.
-     * 
-     * @return cache statistics string
-     */
-    public static String getCacheStatistics() {
-        return String.format("RoutePatternSanitizer Cache - Size: %d/%d entries", 
-                           SANITIZATION_CACHE.size(), MAX_CACHE_SIZE);
-    }
-
-    /**
-     * Clears the sanitization cache. Useful for testing or memory management.
-     */
-    public static void clearCache() {
-        SANITIZATION_CACHE.clear();
-        log.debug("Cleared route pattern sanitization cache");
-    }
-
     /**
      * Gets the maximum number of path segments allowed.
      * 
@@ -323,9 +200,7 @@ public final class RoutePatternSanitizer {
         int effectiveMaxSegments = maxPathSegments > 0 ? maxPathSegments : MAX_PATH_SEGMENTS;
         
         try {
-            String sanitized = performSanitizationWithMaxSegments(trimmedPath, effectiveMaxSegments);
-            return sanitized;
-            
+            return performSanitization(trimmedPath, effectiveMaxSegments);
         } catch (Exception e) {
             log.warn("Failed to sanitize path '{}' with max segments {}, using fallback: {}", 
                     path, effectiveMaxSegments, e.getMessage());
@@ -336,61 +211,6 @@ public final class RoutePatternSanitizer {
         }
     }
 
-    /**
-     * Performs sanitization with configurable maximum path segments.
-     * 
-     * @param path the trimmed path to sanitize
-     * @param maxSegments maximum number of path segments
-     * @return sanitized path
-     */
-    private static String performSanitizationWithMaxSegments(String path, int maxSegments) {
-        if (path == null || path.isEmpty()) {
-            return UNKNOWN_PATH;
-        }
-        
-        String sanitized = path;
-        
-        try {
-            // Remove query parameters
-            int queryIndex = sanitized.indexOf('?');
-            if (queryIndex > 0) {
-                sanitized = sanitized.substring(0, queryIndex);
-            }
-            
-            // Remove fragments
-            int fragmentIndex = sanitized.indexOf('#');
-            if (fragmentIndex > 0) {
-                sanitized = sanitized.substring(0, fragmentIndex);
-            }
-            
-            // Normalize multiple slashes
-            sanitized = MULTIPLE_SLASHES_PATTERN.matcher(sanitized).replaceAll("/");
-            
-            // Ensure path starts with /
-            if (!sanitized.startsWith("/")) {
-                sanitized = "/" + sanitized;
-            }
-            
-            // Remove trailing slash unless it's the root path
-            if (sanitized.length() > 1 && sanitized.endsWith("/")) {
-                sanitized = sanitized.substring(0, sanitized.length() - 1);
-            }
-            
-            // Limit path segments
-            String[] segments = sanitized.split("/");
-            if (segments.length > maxSegments) {
-                String[] limitedSegments = Arrays.copyOf(segments, maxSegments);
-                sanitized = String.join("/", limitedSegments) + TRUNCATION_SUFFIX;
-            }
-            
-        } catch (Exception e) {
-            log.debug("Failed to sanitize path segments for '{}': {}", sanitized, e.getMessage());
-            return UNKNOWN_PATH;
-        }
-        
-        return sanitized;
-    }
-
     /**
      * Gets the unknown path constant used for fallbacks.
      * 
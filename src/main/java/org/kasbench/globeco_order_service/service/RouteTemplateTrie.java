@@ -0,0 +1,179 @@
+package org.kasbench.globeco_order_service.service;
+
+import java.util.Arrays;
+
+/**
+ * Segment trie of the application's request mapping templates.
+ *
+ * Templates such as {@code /api/v1/order/{id}} are added once at startup; raw request
+ * paths are then matched in a single pass over their characters, comparing each
+ * segment in place against the literal children of the current node. Matching
+ * allocates nothing and keeps no cache, and every path resolves to one of the
+ * registered templates or to {@link #NO_MATCH}, so the set of results is bounded
+ * by the number of templates no matter what clients send.
+ *
+ * Literal segments take precedence over variables ({@code {id}}, {@code *}), which
+ * take precedence over trailing catch-alls ({@code **}, {@code {*path}}). Repeated
+ * and trailing slashes are ignored, and matching stops at a query or fragment.
+ *
+ * Instances are built on one thread and only read afterwards.
+ */
+public final class RouteTemplateTrie {
+
+    public static final int NO_MATCH = -1;
+
+    // Paths deeper than this cannot match any sensible template and are rejected early
+    private static final int MAX_DEPTH = 32;
+
+    private final Node root = new Node();
+    private int templateCount = 0;
+
+    /**
+     * Adds a template. If an equivalent template was added before, the first id is kept.
+     *
+     * @param template request mapping pattern
+     * @param routeId  id returned when a path matches the template
+     */
+    public void add(String template, int routeId) {
+        if (template == null || routeId < 0) {
+            return;
+        }
+        Node node = root;
+        int pos = 0;
+        int end = template.length();
+        while (true) {
+            while (pos < end && template.charAt(pos) == '/') {
+                pos++;
+            }
+            if (pos >= end) {
+                if (node.routeId == NO_MATCH) {
+                    node.routeId = routeId;
+                    templateCount++;
+                }
+                return;
+            }
+            int segmentEnd = segmentEnd(template, pos, end);
+            String segment = template.substring(pos, segmentEnd);
+            if (segment.equals("**") || segment.startsWith("{*")) {
+                if (node.catchAllRouteId == NO_MATCH) {
+                    node.catchAllRouteId = routeId;
+                    templateCount++;
+                }
+                return;
+            }
+            node = isVariable(segment) ? node.variableChild() : node.literalChild(segment);
+            pos = segmentEnd;
+        }
+    }
+
+    /**
+     * Matches a raw request path.
+     *
+     * @param path      raw request path, e.g. the request URI
+     * @param fromIndex index where the application path starts (context path length)
+     * @return id of the matching template, or {@link #NO_MATCH}
+     */
+    public int match(String path, int fromIndex) {
+        if (path == null || fromIndex < 0 || fromIndex > path.length()) {
+            return NO_MATCH;
+        }
+        int end = path.length();
+        for (int i = fromIndex; i < end; i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        return match(root, path, fromIndex, end, 0);
+    }
+
+    /**
+     * Matches a raw request path with no context path.
+     *
+     * @param path raw request path
+     * @return id of the matching template, or {@link #NO_MATCH}
+     */
+    public int match(String path) {
+        return match(path, 0);
+    }
+
+    /**
+     * Gets the number of distinct templates in the trie.
+     */
+    public int getTemplateCount() {
+        return templateCount;
+    }
+
+    private static int match(Node node, String path, int pos, int end, int depth) {
+        while (pos < end && path.charAt(pos) == '/') {
+            pos++;
+        }
+        if (pos >= end) {
+            return node.routeId != NO_MATCH ? node.routeId : node.catchAllRouteId;
+        }
+        if (depth >= MAX_DEPTH) {
+            return NO_MATCH;
+        }
+
+        int segmentEnd = segmentEnd(path, pos, end);
+        int length = segmentEnd - pos;
+        for (int i = 0; i < node.literalCount; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == length && path.regionMatches(pos, literal, 0, length)) {
+                int result = match(node.literalChildren[i], path, segmentEnd, end, depth + 1);
+                if (result != NO_MATCH) {
+                    return result;
+                }
+                break;
+            }
+        }
+        if (node.variableChild != null) {
+            int result = match(node.variableChild, path, segmentEnd, end, depth + 1);
+            if (result != NO_MATCH) {
+                return result;
+            }
+        }
+        return node.catchAllRouteId;
+    }
+
+    private static int segmentEnd(String path, int pos, int end) {
+        int slash = path.indexOf('/', pos);
+        return slash < 0 || slash > end ? end : slash;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0;
+    }
+
+    private static final class Node {
+        private String[] literals = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private int literalCount = 0;
+        private Node variableChild;
+        private int routeId = NO_MATCH;
+        private int catchAllRouteId = NO_MATCH;
+
+        Node literalChild(String segment) {
+            for (int i = 0; i < literalCount; i++) {
+                if (literals[i].equals(segment)) {
+                    return literalChildren[i];
+                }
+            }
+            literals = Arrays.copyOf(literals, literalCount + 1);
+            literalChildren = Arrays.copyOf(literalChildren, literalCount + 1);
+            Node child = new Node();
+            literals[literalCount] = segment;
+            literalChildren[literalCount] = child;
+            literalCount++;
+            return child;
+        }
+
+        Node variableChild() {
+            if (variableChild == null) {
+                variableChild = new Node();
+            }
+            return variableChild;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.kasbench.globeco_order_service.dto.SecurityDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
@@ -20,6 +21,9 @@ public class SecurityCacheService {
     private final Caffeine<Object, Object> caffeineConfig;
     private Cache<String, SecurityDTO> securityCache;
     
+    @Autowired(required = false)
+    private ServiceLogSampler logSampler = ServiceLogSampler.UNSAMPLED;
+    
     public SecurityCacheService(
             SecurityServiceClient securityServiceClient,
             @Qualifier("securityCaffeine") Caffeine<Object, Object> caffeineConfig
@@ -49,15 +53,19 @@ public class SecurityCacheService {
         try {
             // Try to get from cache first, load from service if not present
             SecurityDTO security = securityCache.get(securityId, key -> {
-                logger.debug("Cache miss for securityId: {}, loading from service", key);
+                if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_SECURITY_CACHE)) {
+                    logger.debug("Cache miss for securityId: {}, loading from service", key);
+                }
                 return securityServiceClient.getSecurityBySecurityId(key);
             });
             
-            if (security != null) {
-                logger.debug("Security cache hit for securityId: {} -> ticker: {}", 
-                        securityId, security.getTicker());
-            } else {
-                logger.debug("Security not found for securityId: {}", securityId);
+            if (logSampler.isDetailEnabled(logger, ServiceLogSampler.CATEGORY_SECURITY_CACHE)) {
+                if (security != null) {
+                    logger.debug("Security cache hit for securityId: {} -> ticker: {}", 
+                            securityId, security.getTicker());
+                } else {
+                    logger.debug("Security not found for securityId: {}", securityId);
+                }
             }
             
             return security;
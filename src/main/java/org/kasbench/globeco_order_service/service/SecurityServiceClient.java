@@ -2,9 +2,13 @@ package org.kasbench.globeco_order_service.service;
 
 import org.kasbench.globeco_order_service.dto.SecurityDTO;
 import org.kasbench.globeco_order_service.dto.SecuritySearchResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
@@ -16,6 +20,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
@@ -29,22 +34,37 @@ public class SecurityServiceClient {
     private final RestTemplate restTemplate;
     private final String securityServiceUrl;
     private final HttpMetricsService httpMetricsService;
+    private final HedgedRequestExecutor hedgedRequestExecutor;
+    private final ExternalServiceGuard serviceGuard;
+    private final PoolingHttpClientConnectionManager connectionManager;
     
     public SecurityServiceClient(
-            RestTemplate restTemplate,
+            @Qualifier("securityServiceRestTemplate") RestTemplate restTemplate,
+            @Qualifier("securityServiceGuard") ExternalServiceGuard serviceGuard,
+            @Qualifier("securityServiceConnectionManager") PoolingHttpClientConnectionManager connectionManager,
             @Value("${security.service.url:http://globeco-security-service:8000}") String securityServiceUrl,
-            @Autowired(required = false) HttpMetricsService httpMetricsService
+            @Autowired(required = false) HttpMetricsService httpMetricsService,
+            @Autowired(required = false) MeterRegistry meterRegistry,
+            @Value("${security.service.hedging.enabled:true}") boolean hedgingEnabled,
+            @Value("${security.service.hedging.budget-percent:5}") double hedgingBudgetPercent,
+            @Value("${security.service.hedging.min-delay-ms:20}") long hedgingMinDelayMs,
+            @Value("${security.service.hedging.max-delay-ms:1000}") long hedgingMaxDelayMs,
+            @Value("${security.service.hedging.max-concurrent:50}") int hedgingMaxConcurrent
     ) {
         this.restTemplate = restTemplate;
+        this.serviceGuard = serviceGuard;
+        this.connectionManager = connectionManager;
         this.securityServiceUrl = securityServiceUrl;
         this.httpMetricsService = httpMetricsService;
+        this.hedgedRequestExecutor = new HedgedRequestExecutor("security-service", hedgingEnabled,
+                hedgingBudgetPercent, hedgingMinDelayMs, hedgingMaxDelayMs, hedgingMaxConcurrent, serviceGuard, meterRegistry);
     }
     
     @PostConstruct
     public void initializeMetrics() {
         if (httpMetricsService != null) {
             try {
-                httpMetricsService.registerHttpConnectionPoolMetrics("security-service", securityServiceUrl);
+                httpMetricsService.registerHttpConnectionPoolMetrics("security-service", securityServiceUrl, connectionManager);
                 logger.debug("HTTP metrics registered for Security Service");
             } catch (Exception e) {
                 logger.warn("Failed to register HTTP metrics for Security Service: {}", e.getMessage());
@@ -71,12 +91,8 @@ public class SecurityServiceClient {
         logger.debug("Calling security service for securityId: {} at URL: {}", securityId, url);
         
         try {
-            // Update HTTP metrics before making the call
-            if (httpMetricsService != null) {
-                httpMetricsService.updateServiceSpecificMetrics("security-service", securityServiceUrl);
-            }
-            
-            ResponseEntity<SecurityDTO> response = restTemplate.getForEntity(url, SecurityDTO.class);
+            ResponseEntity<SecurityDTO> response = serviceGuard.execute(() -> hedgedRequestExecutor.execute(
+                    () -> restTemplate.getForEntity(url, SecurityDTO.class)));
             
             Duration callDuration = Duration.between(startTime, Instant.now());
             
@@ -111,6 +127,11 @@ public class SecurityServiceClient {
             throw new SecurityServiceException(
                     String.format("Security service connection error: %s", e.getMessage()), e);
                     
+        } catch (ExternalServiceUnavailableException e) {
+            logger.warn("Security service call rejected for securityId: {} - {}", securityId, e.getRejectionReason());
+            throw new SecurityServiceException(
+                    String.format("Security service unavailable: %s", e.getRejectionReason()), e);
+                    
         } catch (Exception e) {
             Duration callDuration = Duration.between(startTime, Instant.now());
             logger.error("Unexpected error calling security service for securityId: {} - Message: {} ({}ms)", 
@@ -152,13 +173,8 @@ public class SecurityServiceClient {
                 
                 logger.debug("Searching security service for ticker: '{}' at URL: {}", trimmedTicker, url);
                 
-                // Update HTTP metrics before making the call
-                if (httpMetricsService != null) {
-                    httpMetricsService.updateServiceSpecificMetrics("security-service", securityServiceUrl);
-                }
-                
-                ResponseEntity<SecuritySearchResponseDTO> response = restTemplate.getForEntity(
-                        url, SecuritySearchResponseDTO.class);
+                ResponseEntity<SecuritySearchResponseDTO> response = serviceGuard.execute(() -> hedgedRequestExecutor.execute(
+                        () -> restTemplate.getForEntity(url, SecuritySearchResponseDTO.class)));
                 
                 Duration callDuration = Duration.between(startTime, Instant.now());
                 
@@ -200,6 +216,11 @@ public class SecurityServiceClient {
                 throw new SecurityServiceException(
                         String.format("Security search connection error: %s", e.getMessage()), e);
                         
+            } catch (ExternalServiceUnavailableException e) {
+                logger.warn("Security search rejected for ticker: '{}' - {}", trimmedTicker, e.getRejectionReason());
+                throw new SecurityServiceException(
+                        String.format("Security search unavailable: %s", e.getRejectionReason()), e);
+                        
             } catch (Exception e) {
                 Duration callDuration = Duration.between(startTime, Instant.now());
                 logger.error("Unexpected error in security search for ticker: '{}' - Message: {} ({}ms)", 
@@ -214,6 +235,11 @@ public class SecurityServiceClient {
         return resolvedIds;
     }
     
+    @PreDestroy
+    public void shutdown() {
+        hedgedRequestExecutor.shutdown();
+    }
+    
     /**
      * Custom exception for Security Service communication errors.
      */
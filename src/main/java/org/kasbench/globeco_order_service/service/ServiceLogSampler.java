@@ -0,0 +1,168 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether per-order detail lines are logged on service-layer hot paths.
+ *
+ * Detail logging is grouped into categories. Within a category only one in
+ * {@code detail-one-in} candidates is logged, and no more than {@code max-per-second}
+ * lines are logged per second. Requests marked for debug tracing (see
+ * {@link #REQUEST_DEBUG_MDC_KEY}) skip sampling but stay subject to the rate limit.
+ * Nothing is logged unless the logger is enabled for DEBUG.
+ *
+ * Callers guard their detail lines with {@link #isDetailEnabled(Logger, String)}, so
+ * suppressed lines cost neither argument formatting nor varargs allocation. Emitted and
+ * suppressed lines are counted per category as {@code service_log_lines}.
+ */
+@Component
+public class ServiceLogSampler {
+
+    /**
+     * MDC key set to {@code true} for the duration of a request that asked for debug tracing.
+     */
+    public static final String REQUEST_DEBUG_MDC_KEY = "debugTrace";
+
+    public static final String CATEGORY_ORDER_SUBMIT = "order.submit";
+    public static final String CATEGORY_ORDER_CREATE = "order.create";
+    public static final String CATEGORY_ORDER_ENRICHMENT = "order.enrichment";
+    public static final String CATEGORY_BULK_VALIDATION = "bulk.validation";
+    public static final String CATEGORY_BATCH_UPDATE = "batch.update";
+    public static final String CATEGORY_SECURITY_CACHE = "security.cache";
+
+    /**
+     * Sampler that only checks the logger level, for services constructed without Spring.
+     */
+    public static final ServiceLogSampler UNSAMPLED = new ServiceLogSampler(null, false, 1, 0, System::currentTimeMillis);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean samplingEnabled;
+    private final int detailOneIn;
+    private final int maxPerSecond;
+    private final LongSupplier millisClock;
+    private final ConcurrentHashMap<String, CategoryState> categories = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceLogSampler(
+            MeterRegistry meterRegistry,
+            @Value("${service.logging.sampling.enabled:true}") boolean samplingEnabled,
+            @Value("${service.logging.sampling.detail-one-in:100}") int detailOneIn,
+            @Value("${service.logging.sampling.max-per-second:50}") int maxPerSecond) {
+        this(meterRegistry, samplingEnabled, detailOneIn, maxPerSecond, System::currentTimeMillis);
+    }
+
+    ServiceLogSampler(MeterRegistry meterRegistry, boolean samplingEnabled, int detailOneIn, int maxPerSecond,
+            LongSupplier millisClock) {
+        this.meterRegistry = meterRegistry;
+        this.samplingEnabled = samplingEnabled;
+        this.detailOneIn = Math.max(1, detailOneIn);
+        this.maxPerSecond = maxPerSecond;
+        this.millisClock = millisClock;
+    }
+
+    /**
+     * Checks whether a detail line of a category should be logged now. Each call that
+     * returns true is expected to log exactly one line.
+     *
+     * @param logger   logger the line would be written to
+     * @param category detail category, one of the {@code CATEGORY_} constants
+     * @return true if the line should be logged
+     */
+    public boolean isDetailEnabled(Logger logger, String category) {
+        if (!logger.isDebugEnabled()) {
+            return false;
+        }
+        CategoryState state = categories.computeIfAbsent(category, this::createCategoryState);
+        if (!samplingEnabled) {
+            state.emit();
+            return true;
+        }
+        boolean requestDebug = isRequestDebugEnabled();
+        if (!requestDebug && state.candidates.getAndIncrement() % detailOneIn != 0) {
+            state.suppress();
+            return false;
+        }
+        if (!state.tryAcquire(millisClock.getAsLong(), maxPerSecond)) {
+            state.suppress();
+            return false;
+        }
+        state.emit();
+        return true;
+    }
+
+    /**
+     * Checks whether the current request asked for debug tracing.
+     */
+    public static boolean isRequestDebugEnabled() {
+        return "true".equals(MDC.get(REQUEST_DEBUG_MDC_KEY));
+    }
+
+    public boolean isSamplingEnabled() {
+        return samplingEnabled;
+    }
+
+    private CategoryState createCategoryState(String category) {
+        if (meterRegistry == null) {
+            return new CategoryState(null, null);
+        }
+        Counter emitted = Counter.builder("service_log_lines")
+                .description("Service-layer detail log lines by sampling outcome")
+                .tag("category", category)
+                .tag("outcome", "emitted")
+                .register(meterRegistry);
+        Counter suppressed = Counter.builder("service_log_lines")
+                .description("Service-layer detail log lines by sampling outcome")
+                .tag("category", category)
+                .tag("outcome", "suppressed")
+                .register(meterRegistry);
+        return new CategoryState(emitted, suppressed);
+    }
+
+    private static final class CategoryState {
+        private final AtomicLong candidates = new AtomicLong();
+        private final AtomicLong windowSecond = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger windowCount = new AtomicInteger();
+        private final Counter emitted;
+        private final Counter suppressed;
+
+        CategoryState(Counter emitted, Counter suppressed) {
+            this.emitted = emitted;
+            this.suppressed = suppressed;
+        }
+
+        boolean tryAcquire(long nowMillis, int maxPerSecond) {
+            if (maxPerSecond <= 0) {
+                return true;
+            }
+            long second = nowMillis / 1000;
+            long current = windowSecond.get();
+            if (current != second && windowSecond.compareAndSet(current, second)) {
+                windowCount.set(0);
+            }
+            return windowCount.incrementAndGet() <= maxPerSecond;
+        }
+
+        void emit() {
+            if (emitted != null) {
+                emitted.increment();
+            }
+        }
+
+        void suppress() {
+            if (suppressed != null) {
+                suppressed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.kasbench.globeco_order_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based sliding-window circuit breaker for an external service.
+ * The breaker opens when at least {@code minimumCalls} of the last {@code windowSize}
+ * calls have been recorded and the failure rate reaches {@code failureRateThreshold}.
+ * After {@code openDurationMs} it moves to half-open and lets {@code halfOpenProbes}
+ * calls through; the breaker closes once all probes succeed and reopens on the first
+ * probe failure. Only calls admitted in the current state count: a call that was let
+ * through before the breaker opened and completes late is neither a probe nor part of
+ * the new window.
+ */
+public class SlidingWindowCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(SlidingWindowCircuitBreaker.class);
+
+    /** Returned by {@link #acquirePermission()} when the call must not be sent. */
+    public static final long NO_PERMISSION = -1;
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int gaugeValue;
+
+        State(int gaugeValue) {
+            this.gaugeValue = gaugeValue;
+        }
+
+        public int getGaugeValue() {
+            return gaugeValue;
+        }
+    }
+
+    /**
+     * Callback for state transitions, used to export transitions as metrics.
+     */
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(State from, State to);
+    }
+
+    private final String serviceName;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    private volatile TransitionListener transitionListener = (from, to) -> { };
+
+    // Sliding window of outcomes (true = failure), guarded by this
+    private final boolean[] outcomes;
+    private int windowIndex = 0;
+    private int recordedCalls = 0;
+    private int failedCalls = 0;
+
+    private volatile State state = State.CLOSED;
+    // Incremented on every transition; a permit is the generation it was issued in
+    private long generation = 0;
+    private long openedAtNanos = 0;
+    private int probesInFlight = 0;
+    private int probeSuccesses = 0;
+
+    public SlidingWindowCircuitBreaker(String serviceName, int windowSize, int minimumCalls,
+            double failureRateThreshold, long openDurationMs, int halfOpenProbes) {
+        this(serviceName, windowSize, minimumCalls, failureRateThreshold, openDurationMs, halfOpenProbes, System::nanoTime);
+    }
+
+    SlidingWindowCircuitBreaker(String serviceName, int windowSize, int minimumCalls,
+            double failureRateThreshold, long openDurationMs, int halfOpenProbes, LongSupplier nanoClock) {
+        this.serviceName = serviceName;
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, openDurationMs));
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[this.windowSize];
+    }
+
+    public void setTransitionListener(TransitionListener transitionListener) {
+        this.transitionListener = transitionListener;
+    }
+
+    /**
+     * Ask for permission to send a call. Every permitted call must be followed by
+     * exactly one {@link #onSuccess(long)} or {@link #onFailure(long)} with its permit.
+     *
+     * @return the call's permit, or {@link #NO_PERMISSION} if the call may not proceed
+     */
+    public synchronized long acquirePermission() {
+        if (state == State.CLOSED) {
+            return generation;
+        }
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openDurationNanos) {
+                return NO_PERMISSION;
+            }
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            transitionTo(State.HALF_OPEN, "open duration elapsed, probing");
+        }
+        if (probesInFlight < halfOpenProbes) {
+            probesInFlight++;
+            return generation;
+        }
+        return NO_PERMISSION;
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            // Admitted before the last transition: not a probe, and not part of this window
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probeSuccesses++;
+            if (probeSuccesses >= halfOpenProbes) {
+                resetWindow();
+                transitionTo(State.CLOSED, probeSuccesses + " probe(s) succeeded");
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            open("probe failed");
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && getFailureRatePercent() >= failureRateThreshold) {
+                open(String.format("failure rate %.1f%% over last %d calls", getFailureRatePercent(), recordedCalls));
+            }
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Get the failure rate of the current window.
+     *
+     * @return failure rate percentage, 0 when no calls are recorded
+     */
+    public synchronized double getFailureRatePercent() {
+        return recordedCalls == 0 ? 0.0 : failedCalls * 100.0 / recordedCalls;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == windowSize) {
+            if (outcomes[windowIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[windowIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+
+    private void resetWindow() {
+        Arrays.fill(outcomes, false);
+        windowIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+
+    private void open(String reason) {
+        openedAtNanos = nanoClock.getAsLong();
+        transitionTo(State.OPEN, reason);
+    }
+
+    private void transitionTo(State newState, String reason) {
+        State previous = state;
+        state = newState;
+        generation++;
+        if (newState == State.OPEN) {
+            logger.warn("Circuit breaker for {} state change: {} -> {} - Reason: {}", serviceName, previous, newState, reason);
+        } else {
+            logger.info("Circuit breaker for {} state change: {} -> {} - Reason: {}", serviceName, previous, newState, reason);
+        }
+        try {
+            transitionListener.onTransition(previous, newState);
+        } catch (RuntimeException e) {
+            logger.debug("Circuit breaker transition listener failed for {}: {}", serviceName, e.getMessage());
+        }
+    }
+}
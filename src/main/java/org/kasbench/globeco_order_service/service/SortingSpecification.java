@@ -24,7 +24,7 @@ public class SortingSpecification {
         "status.abbreviation",
         "orderType.abbreviation",
         "quantity",
-        "orderTimestamp"
+        "orderTimestamp"        // Indexed partition key: monthly partitions are read in order up to the page limit
     );
     
     // Mapping from API field names to actual entity property paths
@@ -3,6 +3,7 @@ package org.kasbench.globeco_order_service.service;
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
 import lombok.extern.slf4j.Slf4j;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -20,6 +21,8 @@ import java.util.concurrent.ThreadPoolExecutor;
  * This service monitors thread pool utilization, database connection pool usage, and memory consumption
  * to determine if the system is experiencing overload conditions that warrant returning 503 Service Unavailable
  * responses instead of processing new requests.
+ * Resource state is read from the {@link TelemetrySampler} snapshot when one is current, so checks on the
+ * request path only compare numbers.
  */
 @Slf4j
 @Service
@@ -34,6 +37,10 @@ public class SystemOverloadDetector {
     private HikariDataSource hikariDataSource;
     private HikariPoolMXBean hikariPoolMXBean;
     
+    // Shared sampler; when it has a current snapshot no MXBean is read on the request path
+    @Autowired(required = false)
+    private TelemetrySampler telemetrySampler;
+    
     // Performance metrics tracking
     private long totalOverloadChecks = 0;
     private long totalOverloadCheckTimeNanos = 0;
@@ -78,8 +85,9 @@ public class SystemOverloadDetector {
      * Sets up integration with HikariCP for accessing database pool statistics.
      */
     private void setupHikariIntegration() {
-        if (dataSource instanceof HikariDataSource) {
-            this.hikariDataSource = (HikariDataSource) dataSource;
+        HikariDataSource hikari = HikariDataSources.unwrap(dataSource);
+        if (hikari != null) {
+            this.hikariDataSource = hikari;
             this.hikariPoolMXBean = hikariDataSource.getHikariPoolMXBean();
             log.debug("HikariCP integration established for overload detection");
         } else {
@@ -143,6 +151,11 @@ public class SystemOverloadDetector {
      * @return true if thread pool is overloaded
      */
     public boolean isThreadPoolOverloaded() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getThreadPool() != null
+                    && snapshot.getThreadPool().getUtilization() > THREAD_POOL_THRESHOLD;
+        }
         if (taskExecutor == null) {
             log.debug("ThreadPoolTaskExecutor not available, skipping thread pool overload check");
             return false;
@@ -182,6 +195,11 @@ public class SystemOverloadDetector {
      * @return true if database connection pool is overloaded
      */
     public boolean isDatabaseConnectionPoolOverloaded() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getDatabasePool() != null
+                    && snapshot.getDatabasePool().getUtilization() > DATABASE_POOL_THRESHOLD;
+        }
         if (hikariPoolMXBean == null || hikariDataSource == null) {
             log.debug("HikariCP MXBean not available, skipping database pool overload check");
             return false;
@@ -215,6 +233,10 @@ public class SystemOverloadDetector {
      * @return true if memory is overloaded
      */
     public boolean isMemoryOverloaded() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getHeap() != null && snapshot.getHeap().getUtilization() > MEMORY_THRESHOLD;
+        }
         try {
             MemoryUsage heapMemoryUsage = memoryMXBean.getHeapMemoryUsage();
             long usedMemory = heapMemoryUsage.getUsed();
@@ -252,6 +274,11 @@ public class SystemOverloadDetector {
      * @return true if active request ratio is high
      */
     private boolean isActiveRequestRatioHigh() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getThreadPool() != null
+                    && snapshot.getThreadPool().getActiveRatio() > REQUEST_RATIO_THRESHOLD;
+        }
         if (taskExecutor == null) {
             return false;
         }
@@ -320,6 +347,10 @@ public class SystemOverloadDetector {
      * @return thread pool utilization ratio
      */
     public double getThreadPoolUtilization() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getThreadPool() != null ? snapshot.getThreadPool().getUtilization() : 0.0;
+        }
         if (taskExecutor == null) {
             return 0.0;
         }
@@ -347,6 +378,10 @@ public class SystemOverloadDetector {
      * @return database connection pool utilization ratio
      */
     public double getDatabaseConnectionUtilization() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getDatabasePool() != null ? snapshot.getDatabasePool().getUtilization() : 0.0;
+        }
         if (hikariPoolMXBean == null || hikariDataSource == null) {
             return 0.0;
         }
@@ -369,6 +404,10 @@ public class SystemOverloadDetector {
      * @return memory utilization ratio
      */
     public double getMemoryUtilization() {
+        TelemetrySampler.Snapshot snapshot = currentSnapshot();
+        if (snapshot != null) {
+            return snapshot.getHeap() != null ? snapshot.getHeap().getUtilization() : 0.0;
+        }
         try {
             MemoryUsage heapMemoryUsage = memoryMXBean.getHeapMemoryUsage();
             long usedMemory = heapMemoryUsage.getUsed();
@@ -386,6 +425,13 @@ public class SystemOverloadDetector {
         }
     }
 
+    /**
+     * Gets the sampler's current snapshot, or null if resources have to be read directly.
+     */
+    private TelemetrySampler.Snapshot currentSnapshot() {
+        return telemetrySampler != null ? telemetrySampler.getSnapshot() : null;
+    }
+
     /**
      * Gets a detailed status report of all monitored resources.
      * 
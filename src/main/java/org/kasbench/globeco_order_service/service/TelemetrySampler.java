@@ -0,0 +1,413 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.kasbench.globeco_order_service.config.HikariDataSources;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples the application's resource pools once per tick into an immutable snapshot.
+ *
+ * Each tick reads the Hikari pool, the task executor, the heap and every registered
+ * workload database pool and HTTP connection pool exactly once and publishes the result through a volatile field,
+ * so readers never lock and never touch an MXBean themselves. Metrics gauges, the
+ * overload detector and the system health endpoint read the latest snapshot instead of
+ * polling on their own; listeners are notified after each tick.
+ *
+ * A snapshot older than {@code stale-after-ticks} intervals is not handed out, so a
+ * stalled scheduler makes readers fall back to reading their sources directly rather
+ * than acting on outdated values.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "telemetry.sampler.enabled", havingValue = "true", matchIfMissing = true)
+public class TelemetrySampler {
+
+    private final DataSource dataSource;
+    private final ThreadPoolTaskExecutor taskExecutor;
+    private final MemoryMXBean memoryMXBean;
+    private final long staleAfterMillis;
+    private final LongSupplier millisClock;
+    private final Map<String, HikariDataSource> databasePools = new ConcurrentHashMap<>();
+    private final Map<String, PoolingHttpClientConnectionManager> httpPools = new ConcurrentHashMap<>();
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TelemetrySampler(DataSource dataSource,
+            @Autowired(required = false) ThreadPoolTaskExecutor taskExecutor,
+            @Value("${telemetry.sampler.interval-ms:1000}") long intervalMillis,
+            @Value("${telemetry.sampler.stale-after-ticks:5}") int staleAfterTicks) {
+        this(dataSource, taskExecutor, ManagementFactory.getMemoryMXBean(),
+                Math.max(1, intervalMillis) * Math.max(1, staleAfterTicks), System::currentTimeMillis);
+    }
+
+    TelemetrySampler(DataSource dataSource, ThreadPoolTaskExecutor taskExecutor, MemoryMXBean memoryMXBean,
+            long staleAfterMillis, LongSupplier millisClock) {
+        this.dataSource = dataSource;
+        this.taskExecutor = taskExecutor;
+        this.memoryMXBean = memoryMXBean;
+        this.staleAfterMillis = staleAfterMillis;
+        this.millisClock = millisClock;
+    }
+
+    /**
+     * Registers a database pool to be sampled under a name, normally its workload. The
+     * application's primary pool is read once per tick even when registered as well.
+     */
+    public void registerDatabasePool(String name, HikariDataSource pool) {
+        if (name != null && pool != null) {
+            databasePools.put(name, pool);
+        }
+    }
+
+    /**
+     * Registers an HTTP connection pool to be sampled under a name, normally the
+     * downstream service name. A pool shared by several names is read once per tick.
+     */
+    public void registerHttpPool(String name, PoolingHttpClientConnectionManager connectionManager) {
+        if (name != null && connectionManager != null) {
+            httpPools.put(name, connectionManager);
+        }
+    }
+
+    /**
+     * Adds a listener called on the sampling thread after each tick.
+     */
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets the latest snapshot, or null if there is none yet or it is stale.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null || millisClock.getAsLong() - current.getSampledAtMillis() > staleAfterMillis) {
+            return null;
+        }
+        return current;
+    }
+
+    @Scheduled(fixedRateString = "${telemetry.sampler.interval-ms:1000}")
+    public void sample() {
+        HikariDataSource primary = HikariDataSources.unwrap(dataSource);
+        DatabasePool primaryPool = primary != null ? sampleDatabasePool(primary) : null;
+        Snapshot sampled = new Snapshot(millisClock.getAsLong(), primaryPool,
+                sampleDatabasePools(primary, primaryPool), sampleThreadPool(), sampleHeap(), sampleHttpPools());
+        snapshot = sampled;
+        for (Consumer<Snapshot> listener : listeners) {
+            try {
+                listener.accept(sampled);
+            } catch (Exception e) {
+                log.debug("Telemetry listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, DatabasePool> sampleDatabasePools(HikariDataSource primary, DatabasePool primaryPool) {
+        if (databasePools.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, DatabasePool> byName = new LinkedHashMap<>();
+        databasePools.forEach((name, hikari) -> {
+            DatabasePool pool = hikari == primary ? primaryPool : sampleDatabasePool(hikari);
+            if (pool != null) {
+                byName.put(name, pool);
+            }
+        });
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private DatabasePool sampleDatabasePool(HikariDataSource hikari) {
+        try {
+            // Hikari only exposes the MXBean once the pool has started
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                return null;
+            }
+            return new DatabasePool(hikari.getMaximumPoolSize(), pool.getTotalConnections(),
+                    pool.getActiveConnections(), pool.getIdleConnections(), pool.getThreadsAwaitingConnection());
+        } catch (Exception e) {
+            log.debug("Failed to sample database pool: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ThreadPool sampleThreadPool() {
+        if (taskExecutor == null) {
+            return null;
+        }
+        try {
+            ThreadPoolExecutor executor = taskExecutor.getThreadPoolExecutor();
+            return new ThreadPool(executor.getActiveCount(), executor.getCorePoolSize(),
+                    executor.getMaximumPoolSize());
+        } catch (Exception e) {
+            log.debug("Failed to sample thread pool: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Heap sampleHeap() {
+        try {
+            MemoryUsage usage = memoryMXBean.getHeapMemoryUsage();
+            return new Heap(usage.getUsed(), usage.getCommitted(), usage.getMax());
+        } catch (Exception e) {
+            log.debug("Failed to sample heap: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, HttpPool> sampleHttpPools() {
+        if (httpPools.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<PoolingHttpClientConnectionManager, HttpPool> sampledPools = new IdentityHashMap<>();
+        Map<String, HttpPool> byName = new LinkedHashMap<>();
+        httpPools.forEach((name, manager) -> {
+            HttpPool pool = sampledPools.computeIfAbsent(manager, this::sampleHttpPool);
+            if (pool != null) {
+                byName.put(name, pool);
+            }
+        });
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private HttpPool sampleHttpPool(PoolingHttpClientConnectionManager manager) {
+        try {
+            PoolStats stats = manager.getTotalStats();
+            return new HttpPool(manager.getMaxTotal(), stats.getLeased(), stats.getAvailable(), stats.getPending());
+        } catch (Exception e) {
+            log.debug("Failed to sample HTTP connection pool: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Resource state at one tick. Sections whose source is unavailable are null.
+     */
+    public static final class Snapshot {
+        private final long sampledAtMillis;
+        private final DatabasePool databasePool;
+        private final Map<String, DatabasePool> databasePools;
+        private final ThreadPool threadPool;
+        private final Heap heap;
+        private final Map<String, HttpPool> httpPools;
+
+        Snapshot(long sampledAtMillis, DatabasePool databasePool, Map<String, DatabasePool> databasePools,
+                ThreadPool threadPool, Heap heap, Map<String, HttpPool> httpPools) {
+            this.sampledAtMillis = sampledAtMillis;
+            this.databasePool = databasePool;
+            this.databasePools = databasePools;
+            this.threadPool = threadPool;
+            this.heap = heap;
+            this.httpPools = httpPools;
+        }
+
+        public long getSampledAtMillis() {
+            return sampledAtMillis;
+        }
+
+        public DatabasePool getDatabasePool() {
+            return databasePool;
+        }
+
+        /**
+         * Gets a registered database pool by name, or null if it was not sampled.
+         */
+        public DatabasePool getDatabasePool(String name) {
+            return databasePools.get(name);
+        }
+
+        public ThreadPool getThreadPool() {
+            return threadPool;
+        }
+
+        public Heap getHeap() {
+            return heap;
+        }
+
+        public HttpPool getHttpPool(String name) {
+            return httpPools.get(name);
+        }
+
+        public Map<String, HttpPool> getHttpPools() {
+            return httpPools;
+        }
+    }
+
+    public static final class DatabasePool {
+        private final int maximumPoolSize;
+        private final int totalConnections;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int threadsAwaitingConnection;
+
+        DatabasePool(int maximumPoolSize, int totalConnections, int activeConnections, int idleConnections,
+                int threadsAwaitingConnection) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.totalConnections = totalConnections;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.threadsAwaitingConnection = threadsAwaitingConnection;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        public int getThreadsAwaitingConnection() {
+            return threadsAwaitingConnection;
+        }
+
+        /**
+         * Active connections as a ratio of the maximum pool size.
+         */
+        public double getUtilization() {
+            return maximumPoolSize > 0 ? (double) activeConnections / maximumPoolSize : 0.0;
+        }
+    }
+
+    public static final class ThreadPool {
+        private final int activeCount;
+        private final int corePoolSize;
+        private final int maximumPoolSize;
+
+        ThreadPool(int activeCount, int corePoolSize, int maximumPoolSize) {
+            this.activeCount = activeCount;
+            this.corePoolSize = corePoolSize;
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public int getActiveCount() {
+            return activeCount;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        /**
+         * Active threads as a ratio of the maximum pool size.
+         */
+        public double getUtilization() {
+            return maximumPoolSize > 0 ? (double) activeCount / maximumPoolSize : 0.0;
+        }
+
+        /**
+         * Active threads as a ratio of the core pool size.
+         */
+        public double getActiveRatio() {
+            return corePoolSize > 0 ? (double) activeCount / corePoolSize : 0.0;
+        }
+    }
+
+    public static final class Heap {
+        private final long used;
+        private final long committed;
+        private final long max;
+
+        Heap(long used, long committed, long max) {
+            this.used = used;
+            this.committed = committed;
+            this.max = max;
+        }
+
+        public long getUsed() {
+            return used;
+        }
+
+        public long getCommitted() {
+            return committed;
+        }
+
+        /**
+         * Maximum heap size, or the committed size if the maximum is undefined.
+         */
+        public long getLimit() {
+            return max > 0 ? max : committed;
+        }
+
+        public double getUtilization() {
+            long limit = getLimit();
+            return limit > 0 ? (double) used / limit : 0.0;
+        }
+    }
+
+    public static final class HttpPool {
+        private final int maxTotal;
+        private final int leased;
+        private final int available;
+        private final int pending;
+
+        HttpPool(int maxTotal, int leased, int available, int pending) {
+            this.maxTotal = maxTotal;
+            this.leased = leased;
+            this.available = available;
+            this.pending = pending;
+        }
+
+        public int getMaxTotal() {
+            return maxTotal;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        public int getPending() {
+            return pending;
+        }
+
+        /**
+         * Available connections that are not pending.
+         */
+        public int getIdle() {
+            return Math.max(0, available - pending);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+import org.kasbench.globeco_order_service.exception.TradeOrderRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-batching aggregator for single-order submissions.
+ * Single submits are held for up to {@code max-wait-ms} or until {@code max-batch-size}
+ * orders are pending, then sent together through the trade service bulk endpoint.
+ * Every caller receives its own outcome through its future, preserving the single-submit
+ * contract while cutting trade service call volume: the trade order ID, a
+ * {@link TradeOrderRejectedException} if the order was definitely not created, or null if
+ * the outcome is unknown.
+ * Concurrent submits of the same order within one window share a single trade order.
+ * When the trade service rejects a whole aggregated request, which a single invalid
+ * order can cause, each member is resubmitted on its own so that only the orders the
+ * trade service rejects individually fail.
+ */
+@Service
+@ConditionalOnProperty(name = {"trade.service.async.enabled", "trade.service.aggregation.enabled"}, havingValue = "true")
+public class TradeOrderSubmissionAggregator {
+    private static final Logger logger = LoggerFactory.getLogger(TradeOrderSubmissionAggregator.class);
+
+    private final TradeServiceAsyncClient tradeServiceAsyncClient;
+    private final int maxBatchSize;
+    private final long maxWaitMs;
+    private final ScheduledExecutorService flushScheduler;
+
+    private final Object lock = new Object();
+    private Map<Integer, PendingSubmission> pending = new LinkedHashMap<>();
+    private long batchSequence = 0;
+
+    // Metrics
+    private final Counter batchCounter;
+    private final Counter coalescedCounter;
+    private final Counter splitCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public TradeOrderSubmissionAggregator(
+            TradeServiceAsyncClient tradeServiceAsyncClient,
+            MeterRegistry meterRegistry,
+            @Value("${trade.service.aggregation.max-batch-size:50}") int maxBatchSize,
+            @Value("${trade.service.aggregation.max-wait-ms:5}") long maxWaitMs) {
+        this.tradeServiceAsyncClient = tradeServiceAsyncClient;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "trade-submit-aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchCounter = Counter.builder("trade_service.aggregator.batches")
+                .description("Number of bulk calls sent by the single-submit aggregator")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.coalescedCounter = Counter.builder("trade_service.aggregator.coalesced")
+                .description("Number of duplicate submits of the same order merged into one trade order")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.splitCounter = Counter.builder("trade_service.aggregator.split_batches")
+                .description("Number of aggregated bulk calls rejected as a whole and resubmitted order by order")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        this.batchSizeSummary = DistributionSummary.builder("trade_service.aggregator.batch_size")
+                .description("Number of orders per aggregated bulk call")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        Gauge.builder("trade_service.aggregator.pending", this, TradeOrderSubmissionAggregator::getPendingCount)
+                .description("Number of single submits waiting for the next aggregated bulk call")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        logger.info("TradeOrderSubmissionAggregator initialized - maxBatchSize={}, maxWaitMs={}",
+                this.maxBatchSize, this.maxWaitMs);
+    }
+
+    /**
+     * Queue a trade order for the next aggregated bulk call.
+     *
+     * @param tradeOrder fully populated trade order (bulk format, including blotter and timestamp)
+     * @return future completing with the trade order ID, exceptionally with a
+     *         {@link TradeOrderRejectedException} if the order was not created, or with null
+     *         if the outcome is unknown
+     */
+    public CompletableFuture<Integer> submit(TradeOrderPostDTO tradeOrder) {
+        List<PendingSubmission> readyBatch = null;
+        CompletableFuture<Integer> result;
+
+        synchronized (lock) {
+            PendingSubmission existing = pending.get(tradeOrder.getOrderId());
+            if (existing != null) {
+                coalescedCounter.increment();
+                return existing.future;
+            }
+
+            PendingSubmission submission = new PendingSubmission(tradeOrder);
+            pending.put(tradeOrder.getOrderId(), submission);
+            result = submission.future;
+
+            if (pending.size() >= maxBatchSize) {
+                readyBatch = drainLocked();
+            } else if (pending.size() == 1) {
+                long sequence = batchSequence;
+                flushScheduler.schedule(() -> flushIfCurrent(sequence), maxWaitMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (readyBatch != null) {
+            send(readyBatch);
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of submissions waiting for the current window to close.
+     *
+     * @return pending submission count
+     */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    private void flushIfCurrent(long sequence) {
+        List<PendingSubmission> batch;
+        synchronized (lock) {
+            // A size-triggered flush already sent the batch this timer was scheduled for
+            if (sequence != batchSequence || pending.isEmpty()) {
+                return;
+            }
+            batch = drainLocked();
+        }
+        send(batch);
+    }
+
+    private List<PendingSubmission> drainLocked() {
+        List<PendingSubmission> batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        batchSequence++;
+        return batch;
+    }
+
+    private void send(List<PendingSubmission> batch) {
+        List<TradeOrderPostDTO> tradeOrders = new ArrayList<>(batch.size());
+        for (PendingSubmission submission : batch) {
+            tradeOrders.add(submission.tradeOrder);
+        }
+
+        batchCounter.increment();
+        batchSizeSummary.record(batch.size());
+        if (logger.isDebugEnabled()) {
+            logger.debug("TRADE_AGGREGATOR: Sending {} aggregated single submits through bulk endpoint", batch.size());
+        }
+
+        CompletableFuture<BulkTradeOrderResponseDTO> call;
+        try {
+            call = tradeServiceAsyncClient.submitBulk(BulkTradeOrderRequestDTO.of(tradeOrders));
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((response, error) -> {
+            if (error != null || response == null) {
+                logger.error("TRADE_AGGREGATOR: Aggregated bulk call for {} orders failed: {}",
+                        batch.size(), error != null ? error.getMessage() : "null response");
+                if (batch.size() > 1 && isRequestRejection(error)) {
+                    // The rejection may be caused by any one member; find out which
+                    splitCounter.increment();
+                    batch.forEach(submission -> send(List.of(submission)));
+                } else if (error != null && TradeOrderRejectedException.isRejection(error)) {
+                    TradeOrderRejectedException rejection = new TradeOrderRejectedException(
+                            "Aggregated bulk call rejected: " + error.getMessage(), error);
+                    batch.forEach(submission -> submission.future.completeExceptionally(rejection));
+                } else {
+                    batch.forEach(submission -> submission.future.complete(null));
+                }
+                return;
+            }
+
+            Map<Integer, TradeOrderResultDTO> resultsByIndex = new HashMap<>();
+            if (response.getResults() != null) {
+                for (TradeOrderResultDTO result : response.getResults()) {
+                    if (result.getRequestIndex() != null) {
+                        resultsByIndex.put(result.getRequestIndex(), result);
+                    }
+                }
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                TradeOrderResultDTO result = resultsByIndex.get(i);
+                PendingSubmission submission = batch.get(i);
+                if (result != null && result.isSuccess() && result.getTradeOrderId() != null) {
+                    submission.future.complete(result.getTradeOrderId());
+                } else if (result != null && !result.isSuccess()) {
+                    logger.warn("TRADE_AGGREGATOR: Trade service did not create order {}: {}",
+                            submission.tradeOrder.getOrderId(), result.getMessage());
+                    submission.future.completeExceptionally(new TradeOrderRejectedException(String.format(
+                            "Trade service rejected order %d: %s", submission.tradeOrder.getOrderId(), result.getMessage())));
+                } else {
+                    logger.warn("TRADE_AGGREGATOR: Outcome of order {} unknown: no trade order ID in bulk response",
+                            submission.tradeOrder.getOrderId());
+                    submission.future.complete(null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Whether the trade service answered the whole request with a rejecting 4xx, as opposed
+     * to rejecting it before sending or failing to connect, which says nothing about the
+     * members.
+     */
+    private static boolean isRequestRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TradeOrderRejectedException rejection && rejection.getStatusCode() > 0) {
+                return TradeOrderRejectedException.isRejectionStatus(rejection.getStatusCode());
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<PendingSubmission> remaining;
+        synchronized (lock) {
+            remaining = pending.isEmpty() ? null : drainLocked();
+        }
+        if (remaining != null) {
+            send(remaining);
+        }
+        flushScheduler.shutdownNow();
+    }
+
+    private static final class PendingSubmission {
+        private final TradeOrderPostDTO tradeOrder;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        private PendingSubmission(TradeOrderPostDTO tradeOrder) {
+            this.tradeOrder = tradeOrder;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
+import org.kasbench.globeco_order_service.exception.TradeOrderRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking client for the Trade Service single and bulk order endpoints.
+ * Requests are executed on the Apache async client so no request thread waits on the
+ * network; results are delivered as CompletableFutures. Futures are completed on a small
+ * dedicated executor rather than on the I/O reactor threads, so callers can safely chain
+ * database work onto them. Payloads are encoded and decoded with {@link TradeServiceJsonCodec}.
+ * Every request passes through the trade service bulkhead and circuit breaker.
+ */
+@Service
+@ConditionalOnProperty(name = "trade.service.async.enabled", havingValue = "true")
+public class TradeServiceAsyncClient {
+    private static final Logger logger = LoggerFactory.getLogger(TradeServiceAsyncClient.class);
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ExternalServiceGuard serviceGuard;
+    private final String tradeServiceUrl;
+    private final ExecutorService completionExecutor;
+    private final AtomicInteger inFlightRequests = new AtomicInteger(0);
+
+    public TradeServiceAsyncClient(
+            @Qualifier("tradeServiceAsyncHttpClient") CloseableHttpAsyncClient httpClient,
+            @Qualifier("tradeServiceGuard") ExternalServiceGuard serviceGuard,
+            MeterRegistry meterRegistry,
+            @Value("${trade.service.url:http://globeco-trade-service:8082}") String tradeServiceUrl,
+            @Value("${trade.service.async.completion-threads:8}") int completionThreads) {
+        this.httpClient = httpClient;
+        this.serviceGuard = serviceGuard;
+        this.tradeServiceUrl = tradeServiceUrl;
+        this.completionExecutor = Executors.newFixedThreadPool(Math.max(1, completionThreads));
+
+        Gauge.builder("trade_service.async.in_flight", inFlightRequests, AtomicInteger::get)
+                .description("Number of trade service requests currently awaiting a response")
+                .tag("service", "order")
+                .register(meterRegistry);
+
+        logger.info("TradeServiceAsyncClient initialized - url={}, completionThreads={}",
+                tradeServiceUrl, completionThreads);
+    }
+
+    /**
+     * Submit a single trade order to POST /api/v1/tradeOrders.
+     * The returned future completes with the trade order ID on HTTP 201. It completes
+     * exceptionally with a {@link TradeOrderRejectedException} when the trade service
+     * answers with a rejecting 4xx or the request was never sent, and with null when the
+     * outcome is unknown (timeouts, 5xx, 408, 409, 429, an unreadable 201), matching the
+     * blocking single-order path.
+     *
+     * @param tradeOrder the trade order to create
+     * @return future completing with the trade order ID, or null if the outcome is unknown
+     */
+    public CompletableFuture<Integer> submitTradeOrder(TradeOrderPostDTO tradeOrder) {
+        Integer orderId = tradeOrder.getOrderId();
+        long callStart = System.currentTimeMillis();
+
+        return post(tradeServiceUrl + "/api/v1/tradeOrders", () -> TradeServiceJsonCodec.writeTradeOrder(tradeOrder))
+                .handle((response, error) -> {
+                    long duration = System.currentTimeMillis() - callStart;
+                    if (error != null) {
+                        logger.error("DUPLICATE_TRACKING: Async trade service call FAILED for orderId={}, duration={}ms, error: {}",
+                                orderId, duration, error.getMessage());
+                        if (TradeOrderRejectedException.isRejection(error)) {
+                            throw new TradeOrderRejectedException(
+                                    String.format("Trade service call not sent for order %d: %s", orderId, error.getMessage()), error);
+                        }
+                        return null;
+                    }
+
+                    if (response.getCode() != HttpStatus.CREATED.value()) {
+                        logger.warn("Trade service returned non-success status {} for order {}",
+                                response.getCode(), orderId);
+                        if (TradeOrderRejectedException.isRejectionStatus(response.getCode())) {
+                            throw new TradeOrderRejectedException(String.format(
+                                    "Trade service rejected order %d with HTTP %d", orderId, response.getCode()),
+                                    response.getCode());
+                        }
+                        return null;
+                    }
+
+                    try {
+                        Integer tradeOrderId = TradeServiceJsonCodec.readTradeOrderId(response.getBodyBytes());
+                        if (tradeOrderId != null) {
+                            logger.debug("DUPLICATE_TRACKING: Async trade service SUCCESS for orderId={}, returned tradeOrderId={}, duration={}ms",
+                                    orderId, tradeOrderId, duration);
+                            return tradeOrderId;
+                        }
+                    } catch (Exception e) {
+                        logger.error("Failed to parse trade service response for order {}: {}", orderId, e.getMessage());
+                    }
+                    return null;
+                });
+    }
+
+    /**
+     * Submit a bulk request to POST /api/v1/tradeOrders/bulk.
+     * The returned future completes exceptionally with a RuntimeException for any
+     * non-201 response or connectivity failure, mirroring OrderService.callTradeServiceBulk:
+     * a {@link TradeOrderRejectedException} carrying the status for a rejecting 4xx.
+     *
+     * @param bulkRequest the bulk request to send
+     * @return future completing with the trade service bulk response
+     */
+    public CompletableFuture<BulkTradeOrderResponseDTO> submitBulk(BulkTradeOrderRequestDTO bulkRequest) {
+        if (bulkRequest == null || bulkRequest.getTradeOrders() == null || bulkRequest.getTradeOrders().isEmpty()) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Bulk request cannot be null or empty"));
+        }
+
+        int orderCount = bulkRequest.getOrderCount();
+        long callStart = System.currentTimeMillis();
+
+        return post(tradeServiceUrl + "/api/v1/tradeOrders/bulk", () -> TradeServiceJsonCodec.writeBulkRequest(bulkRequest))
+                .thenApply(response -> {
+                    long duration = System.currentTimeMillis() - callStart;
+                    int statusCode = response.getCode();
+
+                    if (statusCode == HttpStatus.CREATED.value()) {
+                        BulkTradeOrderResponseDTO responseBody = readBulkResponse(response);
+                        if (responseBody == null) {
+                            throw new RuntimeException("Trade service returned null response body");
+                        }
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("BULK_SUBMISSION: Async trade service SUCCESS for {} orders in {}ms, successful={}, failed={}",
+                                    orderCount, duration, responseBody.getSuccessful(), responseBody.getFailed());
+                        }
+                        return responseBody;
+                    }
+
+                    String responseBody = response.getBodyText();
+                    logger.error("BULK_SUBMISSION: Async trade service returned status {} for {} orders, duration={}ms, response_body={}",
+                            statusCode, orderCount, duration, responseBody);
+
+                    if (statusCode == HttpStatus.BAD_REQUEST.value()) {
+                        BulkTradeOrderResponseDTO errorResponse = readBulkResponse(response);
+                        String errorMessage = errorResponse != null ? errorResponse.getMessage() : "Bad Request";
+                        throw new TradeOrderRejectedException(String.format(
+                                "Trade service rejected bulk request with HTTP 400: %s", errorMessage), statusCode);
+                    } else if (statusCode >= 500) {
+                        throw new RuntimeException(String.format(
+                                "Trade service server error: %d - %s", statusCode, responseBody));
+                    } else if (TradeOrderRejectedException.isRejectionStatus(statusCode)) {
+                        throw new TradeOrderRejectedException(String.format(
+                                "Trade service HTTP client error: %d - %s", statusCode, responseBody), statusCode);
+                    }
+                    throw new RuntimeException(String.format(
+                            "Trade service returned unexpected status: %d", statusCode));
+                });
+    }
+
+    private BulkTradeOrderResponseDTO readBulkResponse(SimpleHttpResponse response) {
+        try {
+            return TradeServiceJsonCodec.readBulkResponse(response.getBodyBytes());
+        } catch (Exception e) {
+            logger.error("BULK_SUBMISSION: Failed to parse trade service bulk response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private CompletableFuture<SimpleHttpResponse> post(String url, Supplier<byte[]> encoder) {
+        CompletableFuture<SimpleHttpResponse> future = new CompletableFuture<>();
+        byte[] body;
+        try {
+            body = encoder.get();
+        } catch (Exception e) {
+            future.completeExceptionally(new TradeOrderRejectedException("Failed to serialize trade service request", e));
+            return future;
+        }
+
+        SimpleHttpRequest request = SimpleRequestBuilder.post(url)
+                .setBody(body, ContentType.APPLICATION_JSON)
+                .build();
+
+        long permit = serviceGuard.tryAcquire();
+        if (permit == ExternalServiceGuard.REJECTED) {
+            future.completeExceptionally(new ExternalServiceUnavailableException(
+                    serviceGuard.getServiceName(), "circuit breaker or bulkhead rejected the request"));
+            return future;
+        }
+
+        inFlightRequests.incrementAndGet();
+        try {
+            httpClient.execute(request, new FutureCallback<SimpleHttpResponse>() {
+                @Override
+                public void completed(SimpleHttpResponse response) {
+                    inFlightRequests.decrementAndGet();
+                    serviceGuard.release(permit, response.getCode() >= 500);
+                    completionExecutor.execute(() -> future.complete(response));
+                }
+
+                @Override
+                public void failed(Exception ex) {
+                    inFlightRequests.decrementAndGet();
+                    serviceGuard.release(permit, true);
+                    completionExecutor.execute(() -> future.completeExceptionally(new RuntimeException(
+                            String.format("Trade service connectivity error: %s", ex.getMessage()), ex)));
+                }
+
+                @Override
+                public void cancelled() {
+                    inFlightRequests.decrementAndGet();
+                    serviceGuard.release(permit, false);
+                    completionExecutor.execute(() -> future.cancel(false));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Client shut down or rejected the request before it was started
+            inFlightRequests.decrementAndGet();
+            serviceGuard.release(permit, false);
+            future.completeExceptionally(new TradeOrderRejectedException(
+                    String.format("Trade service request not started: %s", e.getMessage()), e));
+        }
+        return future;
+    }
+
+    /**
+     * Get the number of requests currently awaiting a trade service response.
+     *
+     * @return in-flight request count
+     */
+    public int getInFlightRequests() {
+        return inFlightRequests.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        completionExecutor.shutdown();
+        try {
+            if (!completionExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                completionExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            completionExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
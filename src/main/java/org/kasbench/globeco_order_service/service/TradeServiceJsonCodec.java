@@ -0,0 +1,392 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.kasbench.globeco_order_service.dto.BlotterDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming JSON codecs for Trade Service request and response payloads.
+ * Uses a single shared, pre-configured {@link JsonFactory} with Jackson's streaming
+ * {@link JsonGenerator}/{@link JsonParser}: no ObjectMapper, no reflection and no tree
+ * model. The generator's internal buffers come from the factory's recycler pool and output
+ * is written into a per-thread reusable {@link ByteArrayBuilder}, so only the final
+ * request body is allocated per call.
+ *
+ * Wire format matches what the Spring ObjectMapper produces for the same DTOs:
+ * nulls are written, BigDecimal values use their natural string form and
+ * OffsetDateTime values are ISO-8601 strings.
+ */
+public final class TradeServiceJsonCodec {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+            .build();
+
+    private static final ThreadLocal<ByteArrayBuilder> OUTPUT_BUFFER =
+            ThreadLocal.withInitial(() -> new ByteArrayBuilder(512));
+
+    private static final int MAX_RETAINED_BUFFER_BYTES = 256 * 1024;
+
+    private TradeServiceJsonCodec() {
+        // Utility class
+    }
+
+    // ==================== Encoding ====================
+
+    /**
+     * Encode a single trade order for POST /api/v1/tradeOrders.
+     *
+     * @param tradeOrder the trade order to encode
+     * @return UTF-8 JSON request body
+     */
+    public static byte[] writeTradeOrder(TradeOrderPostDTO tradeOrder) {
+        ByteArrayBuilder buffer = acquireBuffer();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            writeTradeOrder(generator, tradeOrder);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode trade order " + tradeOrder.getOrderId(), e);
+        }
+        return releaseBuffer(buffer);
+    }
+
+    /**
+     * Encode a bulk request for POST /api/v1/tradeOrders/bulk.
+     *
+     * @param bulkRequest the bulk request to encode
+     * @return UTF-8 JSON request body
+     */
+    public static byte[] writeBulkRequest(BulkTradeOrderRequestDTO bulkRequest) {
+        ByteArrayBuilder buffer = acquireBuffer();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeFieldName("tradeOrders");
+            List<TradeOrderPostDTO> tradeOrders = bulkRequest.getTradeOrders();
+            if (tradeOrders == null) {
+                generator.writeNull();
+            } else {
+                generator.writeStartArray();
+                for (int i = 0, n = tradeOrders.size(); i < n; i++) {
+                    writeTradeOrder(generator, tradeOrders.get(i));
+                }
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode bulk trade order request", e);
+        }
+        return releaseBuffer(buffer);
+    }
+
+    private static void writeTradeOrder(JsonGenerator generator, TradeOrderPostDTO tradeOrder) throws IOException {
+        generator.writeStartObject();
+        writeInteger(generator, "orderId", tradeOrder.getOrderId());
+        writeString(generator, "portfolioId", tradeOrder.getPortfolioId());
+        writeString(generator, "orderType", tradeOrder.getOrderType());
+        writeString(generator, "securityId", tradeOrder.getSecurityId());
+        writeDecimal(generator, "quantity", tradeOrder.getQuantity());
+        writeDecimal(generator, "limitPrice", tradeOrder.getLimitPrice());
+        writeTimestamp(generator, "tradeTimestamp", tradeOrder.getTradeTimestamp());
+        writeInteger(generator, "blotterId", tradeOrder.getBlotterId());
+        generator.writeEndObject();
+    }
+
+    private static void writeInteger(JsonGenerator generator, String name, Integer value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, String name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String name, BigDecimal value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String name, OffsetDateTime value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+        }
+    }
+
+    private static ByteArrayBuilder acquireBuffer() {
+        ByteArrayBuilder buffer = OUTPUT_BUFFER.get();
+        buffer.reset();
+        return buffer;
+    }
+
+    private static byte[] releaseBuffer(ByteArrayBuilder buffer) {
+        byte[] body = buffer.toByteArray();
+        if (body.length > MAX_RETAINED_BUFFER_BYTES) {
+            // Do not pin an unusually large buffer to the thread forever
+            OUTPUT_BUFFER.remove();
+        } else {
+            buffer.reset();
+        }
+        return body;
+    }
+
+    // ==================== Decoding ====================
+
+    /**
+     * Read the top-level "id" of a POST /api/v1/tradeOrders response.
+     *
+     * @param body the response body
+     * @return the trade order ID, or null if absent or not an integer
+     */
+    public static Integer readTradeOrderId(String body) {
+        if (body == null || body.isEmpty()) {
+            return null;
+        }
+        return readTradeOrderId(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read the top-level "id" of a POST /api/v1/tradeOrders response.
+     *
+     * @param body the UTF-8 response body
+     * @return the trade order ID, or null if absent or not an integer
+     */
+    public static Integer readTradeOrderId(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(field)) {
+                    return value == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT
+                            ? parser.getIntValue() : null;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode trade order response", e);
+        }
+    }
+
+    /**
+     * Decode a POST /api/v1/tradeOrders/bulk response. Unknown fields are skipped.
+     *
+     * @param body the UTF-8 response body
+     * @return the decoded response, or null for an empty body
+     */
+    public static BulkTradeOrderResponseDTO readBulkResponse(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            BulkTradeOrderResponseDTO response = new BulkTradeOrderResponseDTO();
+            response.setResults(new ArrayList<>());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "status" -> response.setStatus(parser.getValueAsString());
+                    case "message" -> response.setMessage(parser.getValueAsString());
+                    case "totalRequested" -> response.setTotalRequested(readInteger(parser));
+                    case "successful" -> response.setSuccessful(readInteger(parser));
+                    case "failed" -> response.setFailed(readInteger(parser));
+                    case "results" -> response.setResults(readResults(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode bulk trade order response", e);
+        }
+    }
+
+    /**
+     * Find the trade order created for an order in a GET /api/v2/tradeOrders?orderId=
+     * response. Fields other than the trade orders' "id" and "orderId" are skipped.
+     *
+     * @param body    the UTF-8 response body
+     * @param orderId the order whose trade order to find
+     * @return the ID of the first trade order for orderId, or null if there is none
+     */
+    public static Integer readTradeOrderIdForOrder(byte[] body, int orderId) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_ARRAY || !"tradeOrders".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Integer id = null;
+                    Integer tradeOrderOrderId = null;
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String tradeOrderField = parser.currentName();
+                        parser.nextToken();
+                        switch (tradeOrderField) {
+                            case "id" -> id = readInteger(parser);
+                            case "orderId" -> tradeOrderOrderId = readInteger(parser);
+                            default -> parser.skipChildren();
+                        }
+                    }
+                    if (id != null && tradeOrderOrderId != null && tradeOrderOrderId == orderId) {
+                        return id;
+                    }
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode trade order page response", e);
+        }
+    }
+
+    private static List<TradeOrderResultDTO> readResults(JsonParser parser) throws IOException {
+        List<TradeOrderResultDTO> results = new ArrayList<>();
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return results;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            TradeOrderResultDTO result = new TradeOrderResultDTO();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "requestIndex" -> result.setRequestIndex(readInteger(parser));
+                    case "status" -> result.setStatus(parser.getValueAsString());
+                    case "message" -> result.setMessage(parser.getValueAsString());
+                    case "tradeOrder" -> result.setTradeOrder(readTradeOrder(parser));
+                    default -> parser.skipChildren();
+                }
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private static TradeOrderResponseDTO readTradeOrder(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        TradeOrderResponseDTO tradeOrder = new TradeOrderResponseDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> tradeOrder.setId(readInteger(parser));
+                case "orderId" -> tradeOrder.setOrderId(readInteger(parser));
+                case "portfolioId" -> tradeOrder.setPortfolioId(parser.getValueAsString());
+                case "orderType" -> tradeOrder.setOrderType(parser.getValueAsString());
+                case "securityId" -> tradeOrder.setSecurityId(parser.getValueAsString());
+                case "quantity" -> tradeOrder.setQuantity(readDecimal(parser));
+                case "limitPrice" -> tradeOrder.setLimitPrice(readDecimal(parser));
+                case "tradeTimestamp" -> tradeOrder.setTradeTimestamp(readTimestamp(parser));
+                case "quantitySent" -> tradeOrder.setQuantitySent(readDecimal(parser));
+                case "submitted" -> tradeOrder.setSubmitted(
+                        parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsBoolean());
+                case "version" -> tradeOrder.setVersion(readInteger(parser));
+                case "blotter" -> tradeOrder.setBlotter(readBlotter(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return tradeOrder;
+    }
+
+    private static BlotterDTO readBlotter(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        BlotterDTO blotter = new BlotterDTO();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> blotter.setId(readInteger(parser));
+                case "abbreviation" -> blotter.setAbbreviation(parser.getValueAsString());
+                case "name" -> blotter.setName(parser.getValueAsString());
+                case "version" -> blotter.setVersion(readInteger(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return blotter;
+    }
+
+    private static Integer readInteger(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            return text.isEmpty() ? null : Integer.valueOf(text);
+        }
+        return null;
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDecimalValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            return text.isEmpty() ? null : new BigDecimal(text);
+        }
+        return null;
+    }
+
+    private static OffsetDateTime readTimestamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        String text = parser.getText();
+        return text.isEmpty() ? null : OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+}
@@ -0,0 +1,237 @@
+package org.kasbench.globeco_order_service.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory latency histogram with sliding 1, 5 and 15 minute windows.
+ *
+ * Values are counted in log-linear buckets in the style of HdrHistogram: values below 64
+ * are exact, larger values fall into one of 32 sub-buckets per power of two, so any
+ * reported percentile is within about 3% of the recorded value. Values at or above
+ * {@link #MAX_TRACKABLE_VALUE} are counted in the top bucket, with the exact maximum kept
+ * alongside.
+ *
+ * Recording is lock-free: each thread increments its own stripe of a per-minute slot,
+ * chosen by thread id so concurrent recorders do not contend on the same counters.
+ * Reads merge the stripes of every slot within the requested window. The ring of slots
+ * is allocated once and reused, so memory does not grow with the number of recordings.
+ * A slot is cleared the first time it is recorded into for a new minute; a recording
+ * racing that clear may be dropped.
+ */
+public final class WindowedLatencyHistogram {
+
+    public enum Window {
+        ONE_MINUTE(1), FIVE_MINUTES(5), FIFTEEN_MINUTES(15);
+
+        private final int minutes;
+
+        Window(int minutes) {
+            this.minutes = minutes;
+        }
+
+        public int getMinutes() {
+            return minutes;
+        }
+    }
+
+    static final long MAX_TRACKABLE_VALUE = 1L << 24;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    static final int BUCKET_COUNT = SUB_BUCKET_COUNT
+            + (Long.numberOfTrailingZeros(MAX_TRACKABLE_VALUE) - SUB_BUCKET_BITS) * SUB_BUCKET_HALF;
+
+    // One more slot than the longest window, so the oldest minute of a window is never the current slot
+    private static final int SLOT_COUNT = Window.FIFTEEN_MINUTES.minutes + 1;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final int MAX_STRIPES = 4;
+
+    private final Slot[] slots = new Slot[SLOT_COUNT];
+    private final int stripeMask;
+    private final LongSupplier millisClock;
+
+    public WindowedLatencyHistogram() {
+        this(stripesFor(Runtime.getRuntime().availableProcessors()), System::currentTimeMillis);
+    }
+
+    WindowedLatencyHistogram(int stripes, LongSupplier millisClock) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(stripes, MAX_STRIPES)));
+        this.stripeMask = stripeCount - 1;
+        this.millisClock = millisClock;
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            slots[i] = new Slot(stripeCount);
+        }
+    }
+
+    private static int stripesFor(int processors) {
+        return Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors)));
+    }
+
+    /**
+     * Records one value, normally a duration in milliseconds. Negative values count as zero.
+     */
+    public void record(long value) {
+        long minute = Math.floorDiv(millisClock.getAsLong(), MILLIS_PER_MINUTE);
+        Slot slot = slots[(int) Math.floorMod(minute, SLOT_COUNT)];
+        slot.rollTo(minute);
+
+        long clamped = Math.max(0, value);
+        int stripe = (int) Thread.currentThread().threadId() & stripeMask;
+        slot.counts.incrementAndGet(stripe * BUCKET_COUNT + bucketIndex(clamped));
+        slot.max.accumulateAndGet(clamped, Math::max);
+    }
+
+    /**
+     * Merges the recordings of the given window, including the current partial minute.
+     */
+    public Snapshot snapshot(Window window) {
+        long currentMinute = Math.floorDiv(millisClock.getAsLong(), MILLIS_PER_MINUTE);
+        long[] merged = new long[BUCKET_COUNT];
+        long max = 0;
+        for (long minute = currentMinute - window.minutes + 1; minute <= currentMinute; minute++) {
+            Slot slot = slots[(int) Math.floorMod(minute, SLOT_COUNT)];
+            if (slot.minute.get() != minute) {
+                continue;
+            }
+            AtomicLongArray counts = slot.counts;
+            for (int i = 0; i < counts.length(); i++) {
+                merged[i % BUCKET_COUNT] += counts.get(i);
+            }
+            max = Math.max(max, slot.max.get());
+        }
+        return new Snapshot(merged, max);
+    }
+
+    /**
+     * Gets the value at a percentile of the given window.
+     *
+     * @param percentile percentile between 0 and 1, e.g. 0.95
+     */
+    public double getValueAtPercentile(double percentile, Window window) {
+        return snapshot(window).getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Clears all recordings.
+     */
+    public void reset() {
+        for (Slot slot : slots) {
+            slot.minute.set(Long.MIN_VALUE);
+            slot.clear();
+        }
+    }
+
+    static int bucketIndex(long value) {
+        long v = Math.max(0, Math.min(value, MAX_TRACKABLE_VALUE - 1));
+        if (v < SUB_BUCKET_COUNT) {
+            return (int) v;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(v) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (v >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    static long lowestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = SUB_BUCKET_HALF + offset % SUB_BUCKET_HALF;
+        return subBucket << shift;
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        return lowestEquivalentValue(index) + (1L << shift) - 1;
+    }
+
+    private static final class Slot {
+        private final AtomicLong minute = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray counts;
+        private final AtomicLong max = new AtomicLong();
+
+        Slot(int stripes) {
+            this.counts = new AtomicLongArray(stripes * BUCKET_COUNT);
+        }
+
+        void rollTo(long currentMinute) {
+            long slotMinute = minute.get();
+            // Only the first recorder of a new minute clears the slot; a stale clock never rolls it back
+            if (slotMinute < currentMinute && minute.compareAndSet(slotMinute, currentMinute)) {
+                clear();
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            max.set(0);
+        }
+    }
+
+    /**
+     * Merged, immutable view of a histogram window. Snapshots of the same layout can be
+     * merged, e.g. to combine several histograms.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long totalCount;
+        private final long max;
+
+        Snapshot(long[] counts, long max) {
+            this.counts = counts;
+            this.max = max;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the highest value equivalent to the value at a percentile, capped at the
+         * recorded maximum, or 0 if nothing was recorded.
+         *
+         * @param percentile percentile between 0 and 1, e.g. 0.95
+         */
+        public double getValueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0.0;
+            }
+            double p = Math.max(0.0, Math.min(1.0, percentile));
+            long target = Math.max(1, (long) Math.ceil(p * totalCount));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= target) {
+                    return Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        public Snapshot merge(Snapshot other) {
+            long[] merged = counts.clone();
+            for (int i = 0; i < merged.length; i++) {
+                merged[i] += other.counts[i];
+            }
+            return new Snapshot(merged, Math.max(max, other.max));
+        }
+    }
+}
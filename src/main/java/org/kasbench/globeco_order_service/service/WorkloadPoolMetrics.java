@@ -0,0 +1,68 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Saturation gauges for each workload pool, tagged with the pool's workload, so a
+ * listing burst filling the analytics pool can be told apart from write pressure on
+ * the OLTP pool.
+ *
+ * Each pool is registered with the {@link TelemetrySampler} and the gauges read its
+ * latest snapshot. Without a current snapshot they read the pool directly.
+ */
+public class WorkloadPoolMetrics {
+
+    private final TelemetrySampler telemetrySampler;
+
+    public WorkloadPoolMetrics(Map<String, HikariDataSource> pools, TelemetrySampler telemetrySampler,
+            MeterRegistry meterRegistry) {
+        this.telemetrySampler = telemetrySampler;
+        pools.forEach((workload, pool) -> {
+            if (telemetrySampler != null) {
+                telemetrySampler.registerDatabasePool(workload, pool);
+            }
+
+            gauge("db_pool_saturation", "Active connections as a fraction of the pool's maximum size",
+                    workload, pool, TelemetrySampler.DatabasePool::getUtilization, meterRegistry);
+            gauge("db_pool_threads_waiting", "Threads waiting for a connection from the pool",
+                    workload, pool, TelemetrySampler.DatabasePool::getThreadsAwaitingConnection, meterRegistry);
+            gauge("db_pool_connections_active_by_pool", "Connections currently borrowed from the pool",
+                    workload, pool, TelemetrySampler.DatabasePool::getActiveConnections, meterRegistry);
+        });
+    }
+
+    private void gauge(String name, String description, String workload, HikariDataSource pool,
+            ToDoubleFunction<TelemetrySampler.DatabasePool> value, MeterRegistry meterRegistry) {
+        Gauge.builder(name, pool, p -> {
+                    TelemetrySampler.DatabasePool state = poolState(workload, p);
+                    return state != null ? value.applyAsDouble(state) : 0.0;
+                })
+                .description(description)
+                .tag("service", "order")
+                .tag("pool", workload)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Gets the pool state from the latest telemetry snapshot, or reads it from the pool
+     * when there is no current snapshot. Null until the pool has started.
+     */
+    TelemetrySampler.DatabasePool poolState(String workload, HikariDataSource pool) {
+        TelemetrySampler.Snapshot snapshot = telemetrySampler != null ? telemetrySampler.getSnapshot() : null;
+        if (snapshot != null) {
+            return snapshot.getDatabasePool(workload);
+        }
+        HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+        if (bean == null) {
+            return null;
+        }
+        return new TelemetrySampler.DatabasePool(pool.getMaximumPoolSize(), bean.getTotalConnections(),
+                bean.getActiveConnections(), bean.getIdleConnections(), bean.getThreadsAwaitingConnection());
+    }
+}
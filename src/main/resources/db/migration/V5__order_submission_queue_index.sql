@@ -0,0 +1,9 @@
+-- Unsubmitted orders by status, oldest first: lets the work-queue submitter find the
+-- next NEW orders to claim without scanning orders that already have a trade order
+CREATE INDEX order_unsubmitted_ndx ON public."order"
+USING btree
+(
+	status_id,
+	id
+)
+WHERE trade_order_id IS NULL;
@@ -0,0 +1,113 @@
+-- GlobeCo Order Service Order Partitioning
+-- Rebuilds "order" as a table range-partitioned by month on order_timestamp, so listings,
+-- counts and index scans only touch the months they need and old months can be archived
+-- by detaching a partition instead of deleting rows.
+--
+-- Partitions are named order_pYYYY_MM and cover [first of month, first of next month) in UTC.
+-- OrderPartitionMaintenanceService creates upcoming months and moves expired months to
+-- order_archive; rows outside every monthly range land in order_default.
+
+SET search_path TO public;
+SET TIME ZONE 'UTC';
+
+ALTER TABLE "order" RENAME TO order_unpartitioned;
+ALTER TABLE order_unpartitioned RENAME CONSTRAINT order_pk TO order_unpartitioned_pk;
+ALTER INDEX order_trade_order_ndx RENAME TO order_unpartitioned_trade_order_ndx;
+ALTER INDEX order_unsubmitted_ndx RENAME TO order_unpartitioned_unsubmitted_ndx;
+ALTER SEQUENCE order_id_seq OWNED BY NONE;
+
+-- The partition key must be part of the primary key; id alone stays unique through the sequence
+CREATE TABLE "order" (
+    id integer NOT NULL DEFAULT nextval('order_id_seq'),
+    blotter_id integer,
+    status_id integer NOT NULL,
+    portfolio_id char(24) NOT NULL,
+    order_type_id integer NOT NULL,
+    security_id char(24) NOT NULL,
+    quantity decimal(18,8) NOT NULL,
+    limit_price decimal(18,8),
+    order_timestamp timestamptz NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    trade_order_id integer,
+    version integer NOT NULL DEFAULT 1,
+    CONSTRAINT order_pk PRIMARY KEY (id, order_timestamp)
+) PARTITION BY RANGE (order_timestamp);
+
+ALTER SEQUENCE order_id_seq OWNED BY "order".id;
+
+CREATE TABLE order_default PARTITION OF "order" DEFAULT;
+
+-- Monthly partitions from the oldest existing order through two months ahead
+DO $$
+DECLARE
+    month_start date := date_trunc('month', LEAST(
+            COALESCE((SELECT min(order_timestamp) FROM order_unpartitioned), CURRENT_TIMESTAMP),
+            CURRENT_TIMESTAMP))::date;
+    last_month date := (date_trunc('month', CURRENT_TIMESTAMP) + interval '2 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF "order" FOR VALUES FROM (%L) TO (%L)',
+                'order_p' || to_char(month_start, 'YYYY_MM'),
+                month_start,
+                (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO "order" (id, blotter_id, status_id, portfolio_id, order_type_id, security_id, quantity,
+        limit_price, order_timestamp, trade_order_id, version)
+SELECT id, blotter_id, status_id, portfolio_id, order_type_id, security_id, quantity,
+        limit_price, order_timestamp, trade_order_id, version
+FROM order_unpartitioned;
+
+DROP TABLE order_unpartitioned;
+
+ALTER TABLE "order" ADD CONSTRAINT blotter_order_fk FOREIGN KEY (blotter_id)
+REFERENCES blotter (id) MATCH FULL
+ON DELETE SET NULL ON UPDATE CASCADE;
+
+ALTER TABLE "order" ADD CONSTRAINT order_type_order_fk FOREIGN KEY (order_type_id)
+REFERENCES order_type (id) MATCH FULL
+ON DELETE RESTRICT ON UPDATE CASCADE;
+
+ALTER TABLE "order" ADD CONSTRAINT status_order_fk FOREIGN KEY (status_id)
+REFERENCES status (id) MATCH FULL
+ON DELETE RESTRICT ON UPDATE CASCADE;
+
+-- Unique indexes on a partitioned table must include the partition key
+CREATE UNIQUE INDEX order_trade_order_ndx ON public."order"
+USING btree
+(
+	trade_order_id,
+	order_timestamp
+);
+
+CREATE INDEX order_unsubmitted_ndx ON public."order"
+USING btree
+(
+	status_id,
+	id
+)
+WHERE trade_order_id IS NULL;
+
+-- Lets timestamp sorts read partitions in order and stop at the page limit
+CREATE INDEX order_timestamp_ndx ON public."order"
+USING btree
+(
+	order_timestamp
+);
+
+-- Archived months: expired partitions are detached from "order" and attached here unchanged
+CREATE TABLE order_archive (
+    id integer NOT NULL,
+    blotter_id integer,
+    status_id integer NOT NULL,
+    portfolio_id char(24) NOT NULL,
+    order_type_id integer NOT NULL,
+    security_id char(24) NOT NULL,
+    quantity decimal(18,8) NOT NULL,
+    limit_price decimal(18,8),
+    order_timestamp timestamptz NOT NULL,
+    trade_order_id integer,
+    version integer NOT NULL,
+    CONSTRAINT order_archive_pk PRIMARY KEY (id, order_timestamp)
+) PARTITION BY RANGE (order_timestamp);
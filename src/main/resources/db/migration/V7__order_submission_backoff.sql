@@ -0,0 +1,14 @@
+-- Release backoff for the work queue: each time the trade service rejects an order its
+-- reservation is released with submit_attempts incremented and submit_not_before pushed
+-- out exponentially, and the work-queue claim skips orders whose submit_not_before is in
+-- the future. Explicit submits by ID ignore the backoff.
+--
+-- order_archive takes the same columns, since archived partitions must match "order".
+
+ALTER TABLE public."order"
+    ADD COLUMN submit_attempts integer NOT NULL DEFAULT 0,
+    ADD COLUMN submit_not_before timestamptz;
+
+ALTER TABLE public.order_archive
+    ADD COLUMN submit_attempts integer NOT NULL DEFAULT 0,
+    ADD COLUMN submit_not_before timestamptz;
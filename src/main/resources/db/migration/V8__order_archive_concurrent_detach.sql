@@ -0,0 +1,93 @@
+-- GlobeCo Order Service Order Archive Rework
+--
+-- 1. Global trade order uniqueness. A unique index on the partitioned "order" table must
+--    include order_timestamp, so order_trade_order_ndx no longer stops two orders, or an
+--    order and an archived order, from recording the same trade order. order_trade_order
+--    is an unpartitioned registry of every trade order ID ever recorded, kept by a trigger
+--    on "order" so that every write path is covered. Moving an order between partitions
+--    registers it again under the same order ID, which is allowed.
+--
+-- 2. No default partition. ALTER TABLE ... DETACH PARTITION ... CONCURRENTLY is refused
+--    while a default partition exists, so order_default is replaced by explicit ranges:
+--    order_before below the first month, and a partition for every month that had rows in
+--    order_default. Archived months get an order_rYYYY_MM partition ("retained") that holds
+--    the orders still live when the month was archived and any order later created with a
+--    timestamp in that month. Orders more than order.partitioning.premake-months ahead have
+--    no partition and are rejected by the database.
+
+SET search_path TO public;
+SET TIME ZONE 'UTC';
+
+CREATE TABLE order_trade_order (
+    trade_order_id integer NOT NULL,
+    order_id integer NOT NULL,
+    CONSTRAINT order_trade_order_pk PRIMARY KEY (trade_order_id)
+);
+
+INSERT INTO order_trade_order (trade_order_id, order_id)
+SELECT trade_order_id, id FROM "order" WHERE trade_order_id IS NOT NULL
+UNION ALL
+SELECT trade_order_id, id FROM order_archive WHERE trade_order_id IS NOT NULL;
+
+CREATE FUNCTION order_trade_order_register() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO order_trade_order (trade_order_id, order_id) VALUES (NEW.trade_order_id, NEW.id)
+    ON CONFLICT (trade_order_id) DO NOTHING;
+    IF NOT FOUND AND NOT EXISTS (
+            SELECT 1 FROM order_trade_order WHERE trade_order_id = NEW.trade_order_id AND order_id = NEW.id) THEN
+        RAISE EXCEPTION 'trade order % is already recorded against another order', NEW.trade_order_id
+            USING ERRCODE = 'unique_violation', CONSTRAINT = 'order_trade_order_pk';
+    END IF;
+    RETURN NULL;
+END $$;
+
+CREATE TRIGGER order_trade_order_register_trg
+AFTER INSERT OR UPDATE OF trade_order_id ON "order"
+FOR EACH ROW WHEN (NEW.trade_order_id IS NOT NULL)
+EXECUTE FUNCTION order_trade_order_register();
+
+ALTER TABLE "order" DETACH PARTITION order_default;
+ALTER TABLE order_default RENAME TO order_default_detached;
+
+-- Every month from the oldest partition, archived month or default row through the newest
+-- gets a partition of "order"; months whose own partition is archived get a retained one
+DO $$
+DECLARE
+    month_start date;
+    first_month date;
+    last_month date;
+    partition_name text;
+BEGIN
+    SELECT min(m), max(m) INTO first_month, last_month FROM (
+        SELECT date_trunc('month', order_timestamp)::date AS m FROM order_default_detached
+        UNION ALL
+        SELECT make_date(substring(c.relname from 8 for 4)::int, substring(c.relname from 13 for 2)::int, 1)
+        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent IN ('"order"'::regclass, 'order_archive'::regclass)
+          AND c.relname ~ '^order_p[0-9]{4}_[0-9]{2}$'
+    ) months;
+    first_month := COALESCE(first_month, date_trunc('month', CURRENT_TIMESTAMP)::date);
+    last_month := COALESCE(last_month, first_month);
+
+    month_start := first_month;
+    WHILE month_start <= last_month LOOP
+        partition_name := 'order_p' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF "order" FOR VALUES FROM (%L) TO (%L)',
+                    partition_name, month_start, (month_start + interval '1 month')::date);
+        ELSIF NOT EXISTS (SELECT 1 FROM pg_inherits
+                          WHERE inhrelid = to_regclass(partition_name) AND inhparent = '"order"'::regclass)
+                AND to_regclass('order_r' || to_char(month_start, 'YYYY_MM')) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF "order" FOR VALUES FROM (%L) TO (%L)',
+                    'order_r' || to_char(month_start, 'YYYY_MM'), month_start, (month_start + interval '1 month')::date);
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+
+    EXECUTE format('CREATE TABLE order_before PARTITION OF "order" FOR VALUES FROM (MINVALUE) TO (%L)', first_month);
+END $$;
+
+INSERT INTO "order" SELECT * FROM order_default_detached;
+
+DROP TABLE order_default_detached;
@@ -0,0 +1,13 @@
+-- Reservation time for reconciliation: each reservation (NEW to SENT without a trade order ID)
+-- records when it was made, so orders whose trade service outcome was unknown can be told apart
+-- from submissions still in flight and reconciled against the trade service once they are older
+-- than order.reservation.reconcile-after-ms. Orders reserved before this column existed have no
+-- reservation time and are reconciled on the first pass.
+--
+-- order_archive takes the same column, since archived partitions must match "order".
+
+ALTER TABLE public."order"
+    ADD COLUMN reserved_at timestamptz;
+
+ALTER TABLE public.order_archive
+    ADD COLUMN reserved_at timestamptz;
@@ -0,0 +1,85 @@
+package org.kasbench.globeco_order_service.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch delivered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeteredAsyncAppender appender;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void shouldCountWarningsDroppedFromAFullQueue() throws Exception {
+        appender = startAppender();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new AsyncLoggingMetrics().bindTo(registry);
+        double before = dropped(registry, "warn", MeteredAsyncAppender.REASON_QUEUE_FULL);
+
+        // The worker takes the first event and blocks in the slow appender; the second fills the queue
+        appender.doAppend(event(Level.WARN));
+        assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+        appender.doAppend(event(Level.WARN));
+        appender.doAppend(event(Level.WARN));
+
+        assertThat(dropped(registry, "warn", MeteredAsyncAppender.REASON_QUEUE_FULL)).isEqualTo(before + 1);
+    }
+
+    private MeteredAsyncAppender startAppender() {
+        // Events read the MDC when queued; a bare context has no adapter until one is set
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> slow = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                delivered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        slow.setContext(context);
+        slow.start();
+
+        MeteredAsyncAppender metered = new MeteredAsyncAppender();
+        metered.setContext(context);
+        metered.setQueueSize(1);
+        metered.setDiscardingThreshold(0);
+        metered.setNeverBlock(true);
+        metered.setMaxFlushTime(100);
+        metered.addAppender(slow);
+        metered.start();
+        return metered;
+    }
+
+    private LoggingEvent event(Level level) {
+        return new LoggingEvent("test", context.getLogger("test"), level, "message", null, null);
+    }
+
+    private static double dropped(SimpleMeterRegistry registry, String level, String reason) {
+        return registry.get("logging.async.dropped").tag("level", level).tag("reason", reason)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,65 @@
+package org.kasbench.globeco_order_service.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.service.ServiceLogSampler;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestDebugLoggingFilterTest {
+
+    private final RequestDebugLoggingFilter filter = new RequestDebugLoggingFilter("X-Debug-Trace");
+
+    @AfterEach
+    void clearMdc() {
+        MDC.remove(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY);
+    }
+
+    @Test
+    void shouldMarkRequestWithDebugHeader() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders/batch/submit");
+        request.addHeader("X-Debug-Trace", "true");
+        AtomicReference<Boolean> debugDuringRequest = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> debugDuringRequest.set(ServiceLogSampler.isRequestDebugEnabled()));
+
+        assertThat(debugDuringRequest.get()).isTrue();
+        assertThat(ServiceLogSampler.isRequestDebugEnabled()).isFalse();
+    }
+
+    @Test
+    void shouldNotMarkRequestWithoutDebugHeader() throws Exception {
+        AtomicReference<Boolean> debugDuringRequest = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/orders"), new MockHttpServletResponse(),
+                (req, res) -> debugDuringRequest.set(ServiceLogSampler.isRequestDebugEnabled()));
+
+        assertThat(debugDuringRequest.get()).isFalse();
+    }
+
+    @Test
+    void turboFilterShouldAcceptApplicationDebugLinesOnlyForDebugRequests() {
+        LoggerContext context = new LoggerContext();
+        RequestDebugTurboFilter turboFilter = new RequestDebugTurboFilter();
+        turboFilter.setContext(context);
+        turboFilter.start();
+        ch.qos.logback.classic.Logger serviceLogger = context.getLogger("org.kasbench.globeco_order_service.service.OrderService");
+        ch.qos.logback.classic.Logger libraryLogger = context.getLogger("org.hibernate.SQL");
+
+        assertThat(turboFilter.decide(null, serviceLogger, Level.DEBUG, "msg", null, null)).isEqualTo(FilterReply.NEUTRAL);
+
+        MDC.put(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY, "true");
+        assertThat(turboFilter.decide(null, serviceLogger, Level.DEBUG, "msg", null, null)).isEqualTo(FilterReply.ACCEPT);
+        assertThat(turboFilter.decide(null, serviceLogger, Level.TRACE, "msg", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(turboFilter.decide(null, libraryLogger, Level.DEBUG, "msg", null, null)).isEqualTo(FilterReply.NEUTRAL);
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -22,6 +23,7 @@ import java.util.Optional;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
@@ -409,8 +411,11 @@ public class OrderControllerTest {
             .orderTimestamp(orderDTO.getOrderTimestamp())
             .version(orderDTO.getVersion())
             .build();
-        Mockito.when(orderService.submitOrder(10)).thenReturn(submittedOrder);
-        mockMvc.perform(post("/api/v1/orders/10/submit"))
+        Mockito.when(orderService.submitOrderAsync(10)).thenReturn(CompletableFuture.completedFuture(submittedOrder));
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/orders/10/submit"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(10))
                 .andExpect(jsonPath("$.tradeOrderId").value(99999))
@@ -419,8 +424,11 @@ public class OrderControllerTest {
 
     @Test
     void testSubmitOrder_failure() throws Exception {
-        Mockito.when(orderService.submitOrder(10)).thenReturn(null);
-        mockMvc.perform(post("/api/v1/orders/10/submit"))
+        Mockito.when(orderService.submitOrderAsync(10)).thenReturn(CompletableFuture.completedFuture(null));
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/orders/10/submit"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.status").value("not submitted"));
     }
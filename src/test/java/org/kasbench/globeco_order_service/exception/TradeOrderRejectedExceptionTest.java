@@ -0,0 +1,44 @@
+package org.kasbench.globeco_order_service.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeOrderRejectedExceptionTest {
+
+    @Test
+    void clientErrorsRejectTheOrderExceptRetryAndConflictStatuses() {
+        assertThat(TradeOrderRejectedException.isRejection(new HttpClientErrorException(HttpStatus.BAD_REQUEST))).isTrue();
+        assertThat(TradeOrderRejectedException.isRejection(new HttpClientErrorException(HttpStatus.NOT_FOUND))).isTrue();
+        assertThat(TradeOrderRejectedException.isRejection(new HttpClientErrorException(HttpStatus.REQUEST_TIMEOUT))).isFalse();
+        assertThat(TradeOrderRejectedException.isRejection(new HttpClientErrorException(HttpStatus.CONFLICT))).isFalse();
+        assertThat(TradeOrderRejectedException.isRejection(
+                new CompletionException(new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)))).isFalse();
+    }
+
+    @Test
+    void onlyFailuresThatPreventedTheRequestAreRejections() {
+        assertThat(TradeOrderRejectedException.isRejection(
+                new ResourceAccessException("Connection refused", new ConnectException("Connection refused")))).isTrue();
+        assertThat(TradeOrderRejectedException.isRejection(
+                new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")))).isFalse();
+        assertThat(TradeOrderRejectedException.isRejection(new RuntimeException("Trade service server error"))).isFalse();
+    }
+
+    @Test
+    void rejectionStatusExcludesRetryAndConflictStatuses() {
+        assertThat(TradeOrderRejectedException.isRejectionStatus(400)).isTrue();
+        assertThat(TradeOrderRejectedException.isRejectionStatus(422)).isTrue();
+        assertThat(TradeOrderRejectedException.isRejectionStatus(408)).isFalse();
+        assertThat(TradeOrderRejectedException.isRejectionStatus(409)).isFalse();
+        assertThat(TradeOrderRejectedException.isRejectionStatus(429)).isFalse();
+        assertThat(TradeOrderRejectedException.isRejectionStatus(503)).isFalse();
+    }
+}
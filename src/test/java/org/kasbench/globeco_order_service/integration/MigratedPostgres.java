@@ -0,0 +1,58 @@
+package org.kasbench.globeco_order_service.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+
+/**
+ * PostgreSQL with the Flyway schema applied, for tests of behaviour H2 does not have:
+ * the partitioned order table, {@code FOR UPDATE SKIP LOCKED} claims and pgJDBC batching.
+ * Test classes declare the container and are annotated
+ * {@code @Testcontainers(disabledWithoutDocker = true)}, so they are skipped where Docker
+ * is not available.
+ */
+public final class MigratedPostgres {
+
+    public static final String IMAGE = "postgres:16-alpine";
+
+    private MigratedPostgres() {
+    }
+
+    public static PostgreSQLContainer<?> container() {
+        return new PostgreSQLContainer<>(IMAGE);
+    }
+
+    /**
+     * Apply the migrations and return a pooled data source on the container.
+     */
+    public static HikariDataSource migrate(PostgreSQLContainer<?> postgres, int poolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl());
+        dataSource.setUsername(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        dataSource.setMaximumPoolSize(poolSize);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    public static int statusId(JdbcTemplate jdbcTemplate, String abbreviation) {
+        return jdbcTemplate.queryForObject("SELECT id FROM status WHERE abbreviation = ?", Integer.class, abbreviation);
+    }
+
+    /**
+     * Insert NEW buy orders with the given timestamp and return their IDs in ascending order.
+     */
+    public static List<Integer> insertNewOrders(JdbcTemplate jdbcTemplate, int count, String orderTimestamp) {
+        return jdbcTemplate.queryForList(
+                "INSERT INTO \"order\" (status_id, portfolio_id, order_type_id, security_id, quantity, " +
+                "order_timestamp, version) " +
+                "SELECT s.id, 'PORTFOLIO000000000000001', ot.id, 'SECURITY0000000000000001', 100, ?::timestamptz, 1 " +
+                "FROM generate_series(1, ?), status s, order_type ot " +
+                "WHERE s.abbreviation = 'NEW' AND ot.abbreviation = 'BUY' " +
+                "RETURNING id", Integer.class, orderTimestamp, count)
+                .stream().sorted().toList();
+    }
+}
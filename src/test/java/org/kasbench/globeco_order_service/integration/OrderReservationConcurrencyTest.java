@@ -0,0 +1,104 @@
+package org.kasbench.globeco_order_service.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.kasbench.globeco_order_service.service.OrderReservationService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two overlapping reserveAll calls racing on PostgreSQL must divide the shared orders
+ * between them: each order is reserved exactly once, and none is left behind.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderReservationConcurrencyTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = MigratedPostgres.container();
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderReservationService reservationService;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedPostgres.migrate(POSTGRES, 4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        reservationService = new OrderReservationService(jdbcTemplate, new SimpleMeterRegistry(), 1000, 60000);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void clearOrders() {
+        jdbcTemplate.update("DELETE FROM \"order\"");
+    }
+
+    @RepeatedTest(5)
+    void overlappingBatchesReserveEachOrderOnce() throws Exception {
+        List<Integer> ids = MigratedPostgres.insertNewOrders(jdbcTemplate, 300, "now");
+        List<Integer> first = ids.subList(0, 200);
+        List<Integer> second = new ArrayList<>(ids.subList(100, 300));
+        // Opposite orders make the two claims meet in the middle of the overlap
+        second.sort((a, b) -> b - a);
+
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<OrderReservationService.Reservation>> firstClaim = executor.submit(() -> {
+                start.await(5, TimeUnit.SECONDS);
+                return reservationService.reserveAll(first);
+            });
+            Future<List<OrderReservationService.Reservation>> secondClaim = executor.submit(() -> {
+                start.await(5, TimeUnit.SECONDS);
+                return reservationService.reserveAll(second);
+            });
+
+            Set<Integer> firstIds = orderIds(firstClaim.get(30, TimeUnit.SECONDS));
+            Set<Integer> secondIds = orderIds(secondClaim.get(30, TimeUnit.SECONDS));
+
+            assertThat(firstIds).doesNotContainAnyElementsOf(secondIds);
+            Set<Integer> reserved = new HashSet<>(firstIds);
+            reserved.addAll(secondIds);
+            assertThat(reserved).containsExactlyInAnyOrderElementsOf(ids);
+            assertThat(firstIds).containsAll(ids.subList(0, 100));
+            assertThat(secondIds).containsAll(ids.subList(200, 300));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Integer sent = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM \"order\" WHERE status_id = ? AND version = 2 AND trade_order_id IS NULL",
+                Integer.class, MigratedPostgres.statusId(jdbcTemplate, "SENT"));
+        assertThat(sent).isEqualTo(ids.size());
+    }
+
+    private static Set<Integer> orderIds(List<OrderReservationService.Reservation> reservations) {
+        Set<Integer> ids = new HashSet<>();
+        for (OrderReservationService.Reservation reservation : reservations) {
+            assertThat(ids.add(reservation.getOrder().getId())).isTrue();
+        }
+        return ids;
+    }
+}
@@ -23,23 +23,28 @@ import org.kasbench.globeco_order_service.service.ValidationCacheService;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.mockito.Mock;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
-import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -88,14 +93,10 @@ public class OrderServiceTest {
                 .build();
         
         // Manually create OrderService with mocked dependencies
-        MeterRegistry meterRegistry = mock(MeterRegistry.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
         BulkSubmissionPerformanceMonitor performanceMonitor = mock(BulkSubmissionPerformanceMonitor.class);
         BatchUpdateService batchUpdateService = mock(BatchUpdateService.class);
         
-        // Mock the meter registry to return mock timers and counters
-        when(meterRegistry.timer(any(String.class))).thenReturn(mock(Timer.class));
-        when(meterRegistry.counter(any(String.class))).thenReturn(mock(Counter.class));
-        
         orderService = new OrderService(
                 orderRepository,
                 statusRepository,
@@ -169,6 +170,25 @@ public class OrderServiceTest {
         // Verify repository interactions
         verify(orderRepository, times(3)).save(any(Order.class));
     }
+
+    @Test
+    void testProcessBatchOrders_eachOrderRunsInOwnTransactionWithAsyncCommitPolicy() {
+        AsyncCommitPolicy asyncCommitPolicy = mock(AsyncCommitPolicy.class);
+        ReflectionTestUtils.setField(orderService, "asyncCommitPolicy", asyncCommitPolicy);
+        List<OrderPostDTO> orders = List.of(
+                OrderPostDTO.builder().statusId(1).build(),
+                OrderPostDTO.builder().statusId(1).build());
+
+        OrderListResponseDTO result = orderService.processBatchOrders(orders);
+
+        assertEquals(2, result.getFailed());
+        InOrder inOrder = inOrder(transactionManager, asyncCommitPolicy);
+        for (int i = 0; i < orders.size(); i++) {
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(asyncCommitPolicy).apply(AsyncCommitPolicy.Operation.ORDER_CREATION);
+            inOrder.verify(transactionManager).commit(any());
+        }
+    }
     
     @Test 
     void testProcessBatchOrders_PartialSuccess() {
@@ -453,72 +473,153 @@ public class OrderServiceTest {
     }
 
     @Test
-    void testSubmitOrder_success() {
-        Order order = Order.builder()
+    void testSubmitOrder_reservationPath() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        Order reserved = Order.builder()
                 .id(1)
-                .blotter(blotter)
                 .status(status)
                 .portfolioId("PORT12345678901234567890")
                 .orderType(orderType)
                 .securityId("SEC12345678901234567890")
                 .quantity(new BigDecimal("100.00000000"))
-                .limitPrice(new BigDecimal("50.25000000"))
-                .tradeOrderId(null)
-                .orderTimestamp(now)
-                .version(1)
+                .version(2)
                 .build();
-        when(orderRepository.findById(1)).thenReturn(Optional.of(order));
-        String tradeServiceResponse = "{\"id\":99999}";
+        OrderReservationService.Reservation reservation = new OrderReservationService.Reservation(reserved, 2);
+        when(reservationService.reserve(1)).thenReturn(reservation);
         when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-            .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body(tradeServiceResponse));
-        Status sentStatus = Status.builder().id(2).abbreviation("SENT").description("Sent").version(1).build();
-        when(statusRepository.findAll()).thenReturn(Arrays.asList(status, sentStatus));
-        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            .thenReturn(ResponseEntity.status(HttpStatus.CREATED).body("{\"id\":99999}"));
+        Order finalized = Order.builder()
+                .id(1)
+                .status(Status.builder().id(2).build())
+                .orderType(OrderType.builder().id(2).build())
+                .tradeOrderId(99999)
+                .version(3)
+                .build();
+        when(reservationService.finalizeSubmission(reservation, 99999)).thenReturn(finalized);
+
         OrderDTO result = orderService.submitOrder(1);
+
         assertNotNull(result);
         assertEquals(99999, result.getTradeOrderId());
         assertEquals(2, result.getStatusId());
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any());
     }
 
     @Test
-    @MockitoSettings(strictness = Strictness.LENIENT)
-    void testSubmitOrder_notNewStatus() {
-        Status notNew = Status.builder().id(3).abbreviation("SENT").description("Sent").version(1).build();
-        Order order = Order.builder().id(1).status(notNew).build();
-        when(orderRepository.findById(1)).thenReturn(Optional.of(order));
-        when(statusRepository.findAll()).thenReturn(Arrays.asList(notNew));
+    void testSubmitOrder_reservationReleasedWhenTradeServiceFails() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        Order reserved = Order.builder()
+                .id(1)
+                .status(status)
+                .portfolioId("PORT12345678901234567890")
+                .orderType(orderType)
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100.00000000"))
+                .version(2)
+                .build();
+        OrderReservationService.Reservation reservation = new OrderReservationService.Reservation(reserved, 2);
+        when(reservationService.reserve(1)).thenReturn(reservation);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+            .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("fail"));
+
         OrderDTO result = orderService.submitOrder(1);
+
         assertNull(result);
-        verify(orderRepository, never()).save(any());
+        verify(reservationService).release(reservation);
+        verify(reservationService, never()).finalizeSubmission(any(), any());
     }
 
     @Test
-    @MockitoSettings(strictness = Strictness.LENIENT)
-    void testSubmitOrder_tradeServiceFails() {
-        Order order = Order.builder()
+    void testSubmitOrder_reservationKeptWhenOutcomeUnknown() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        Order reserved = Order.builder()
                 .id(1)
-                .blotter(blotter)
                 .status(status)
                 .portfolioId("PORT12345678901234567890")
                 .orderType(orderType)
                 .securityId("SEC12345678901234567890")
                 .quantity(new BigDecimal("100.00000000"))
-                .limitPrice(new BigDecimal("50.25000000"))
-                .tradeOrderId(null)
-                .orderTimestamp(now)
-                .version(1)
+                .version(2)
                 .build();
-        when(orderRepository.findById(1)).thenReturn(Optional.of(order));
+        OrderReservationService.Reservation reservation = new OrderReservationService.Reservation(reserved, 2);
+        when(reservationService.reserve(1)).thenReturn(reservation);
         when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
-            .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("fail"));
-        Status sentStatus = Status.builder().id(2).abbreviation("SENT").description("Sent").version(1).build();
-        when(statusRepository.findAll()).thenReturn(Arrays.asList(status, sentStatus));
-        when(blotterRepository.findById(anyInt())).thenReturn(Optional.of(blotter));
-        when(orderTypeRepository.findById(anyInt())).thenReturn(Optional.of(orderType));
+            .thenThrow(new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")));
+
         OrderDTO result = orderService.submitOrder(1);
+
         assertNull(result);
-        assertNull(order.getTradeOrderId());
-        verify(orderRepository, never()).save(any());
+        verify(reservationService, never()).release(any());
+        verify(reservationService, never()).finalizeSubmission(any(), any());
+    }
+
+    @Test
+    void testSubmitOrderAsync_unknownOutcomeCompletesWithNullLikeBlockingPath() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        TradeServiceAsyncClient asyncClient = mock(TradeServiceAsyncClient.class);
+        java.lang.reflect.Field field = OrderService.class.getDeclaredField("tradeServiceAsyncClient");
+        field.setAccessible(true);
+        field.set(orderService, asyncClient);
+        Order reserved = Order.builder()
+                .id(1)
+                .status(status)
+                .portfolioId("PORT12345678901234567890")
+                .orderType(orderType)
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100.00000000"))
+                .version(2)
+                .build();
+        OrderReservationService.Reservation reservation = new OrderReservationService.Reservation(reserved, 2);
+        when(reservationService.reserve(1)).thenReturn(reservation);
+        when(asyncClient.submitTradeOrder(any()))
+            .thenReturn(CompletableFuture.failedFuture(new SocketTimeoutException("Read timed out")));
+
+        assertNull(orderService.submitOrderAsync(1).join());
+        verify(reservationService, never()).release(any());
+        verify(reservationService, never()).finalizeSubmission(any(), any());
+    }
+
+    @Test
+    void testSubmitOrder_reservationReleasedWhenConnectionRefused() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        Order reserved = Order.builder()
+                .id(1)
+                .status(status)
+                .portfolioId("PORT12345678901234567890")
+                .orderType(orderType)
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100.00000000"))
+                .version(2)
+                .build();
+        OrderReservationService.Reservation reservation = new OrderReservationService.Reservation(reserved, 2);
+        when(reservationService.reserve(1)).thenReturn(reservation);
+        when(restTemplate.postForEntity(anyString(), any(), eq(String.class)))
+            .thenThrow(new ResourceAccessException("Connection refused", new ConnectException("Connection refused")));
+
+        assertNull(orderService.submitOrder(1));
+        verify(reservationService).release(reservation);
+    }
+
+    @Test
+    void testSubmitOrder_notReservable() throws Exception {
+        OrderReservationService reservationService = mock(OrderReservationService.class);
+        injectReservationService(reservationService);
+        when(reservationService.reserve(1)).thenReturn(null);
+
+        assertNull(orderService.submitOrder(1));
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(String.class));
+    }
+
+    private void injectReservationService(OrderReservationService reservationService) throws Exception {
+        java.lang.reflect.Field field = OrderService.class.getDeclaredField("orderReservationService");
+        field.setAccessible(true);
+        field.set(orderService, reservationService);
     }
 
     @Test
@@ -0,0 +1,313 @@
+package org.kasbench.globeco_order_service.integration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.dto.OrderPostDTO;
+import org.kasbench.globeco_order_service.dto.OrderPostResponseDTO;
+import org.kasbench.globeco_order_service.dto.OrderWithDetailsDTO;
+import org.kasbench.globeco_order_service.entity.Blotter;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.kasbench.globeco_order_service.repository.BlotterRepository;
+import org.kasbench.globeco_order_service.repository.OrderRepository;
+import org.kasbench.globeco_order_service.repository.OrderTypeRepository;
+import org.kasbench.globeco_order_service.repository.StatusRepository;
+import org.kasbench.globeco_order_service.service.BatchUpdateService;
+import org.kasbench.globeco_order_service.service.BulkSubmissionPerformanceMonitor;
+import org.kasbench.globeco_order_service.service.OrderReservationService;
+import org.kasbench.globeco_order_service.service.OrderService;
+import org.kasbench.globeco_order_service.service.PortfolioCacheService;
+import org.kasbench.globeco_order_service.service.PortfolioServiceClient;
+import org.kasbench.globeco_order_service.service.SecurityCacheService;
+import org.kasbench.globeco_order_service.service.SecurityServiceClient;
+import org.kasbench.globeco_order_service.service.ValidationCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pins the number of database round trips per operation under the high-throughput profile,
+ * so an N+1 query or a lost batch fails the build instead of showing up under load.
+ *
+ * Runs on PostgreSQL with the Flyway schema, so the submission path is the one production
+ * uses (set-based reservation and the JDBC batch that records trade order IDs) and the
+ * profile's pgJDBC settings are in effect. Skipped where Docker is not available.
+ *
+ * Runs without a surrounding test transaction: like production, each operation opens its
+ * own transactions and starts with an empty persistence context.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("high-throughput")
+@Testcontainers(disabledWithoutDocker = true)
+@Import(OrderStatementCountTest.StatementCountingConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderStatementCountTest {
+
+    // Three reference lookups (blotter, status, order type) and the insert
+    private static final int CREATE_STATEMENTS_PER_ORDER = 4;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = MigratedPostgres.container();
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "4");
+        registry.add("spring.datasource.hikari.minimum-idle", () -> "1");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BlotterRepository blotterRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private OrderTypeRepository orderTypeRepository;
+
+    private StatementCountingDataSource statements;
+    private BatchUpdateService batchUpdateService;
+    private OrderReservationService reservationService;
+    private OrderService orderService;
+    private Status newStatus;
+    private Status sentStatus;
+    private OrderType orderType;
+    private final List<Integer> createdBlotterIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statements = (StatementCountingDataSource) dataSource;
+        batchUpdateService = new BatchUpdateService(jdbcTemplate);
+        reservationService = new OrderReservationService(jdbcTemplate, new SimpleMeterRegistry(), 1000, 60000);
+
+        ValidationCacheService validationCacheService = mock(ValidationCacheService.class);
+        when(validationCacheService.blotterExists(any())).thenReturn(true);
+        when(validationCacheService.statusExists(any())).thenReturn(true);
+        when(validationCacheService.orderTypeExists(any())).thenReturn(true);
+
+        orderService = new OrderService(
+                orderRepository,
+                statusRepository,
+                blotterRepository,
+                orderTypeRepository,
+                mock(RestTemplate.class),
+                mock(SecurityCacheService.class),
+                mock(PortfolioCacheService.class),
+                mock(PortfolioServiceClient.class),
+                mock(SecurityServiceClient.class),
+                transactionManager,
+                new SimpleMeterRegistry(),
+                mock(BulkSubmissionPerformanceMonitor.class),
+                batchUpdateService,
+                "http://localhost:8082");
+        ReflectionTestUtils.setField(orderService, "validationCacheService", validationCacheService);
+
+        // Reference data seeded by the migrations
+        newStatus = status("NEW");
+        sentStatus = status("SENT");
+        orderType = orderTypeRepository.findAll().stream()
+                .filter(type -> "BUY".equals(type.getAbbreviation()))
+                .findFirst().orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllInBatch();
+        blotterRepository.deleteAllById(createdBlotterIds);
+        createdBlotterIds.clear();
+    }
+
+    @Test
+    void createBatchCostsAConstantNumberOfStatementsPerOrder() {
+        Blotter blotter = blotter("Equity");
+        TransactionTemplate perOrder = new TransactionTemplate(transactionManager);
+        int orderCount = 10;
+        statements.reset();
+
+        for (int i = 0; i < orderCount; i++) {
+            OrderPostDTO dto = OrderPostDTO.builder()
+                    .blotterId(blotter.getId())
+                    .statusId(newStatus.getId())
+                    .orderTypeId(orderType.getId())
+                    .portfolioId("PORTFOLIO000000000000001")
+                    .securityId("SECURITY0000000000000001")
+                    .quantity(new BigDecimal("100"))
+                    .orderTimestamp(OffsetDateTime.now())
+                    .version(1)
+                    .build();
+            int index = i;
+            OrderPostResponseDTO result = perOrder.execute(status -> orderService.processIndividualOrderInTransaction(dto, index));
+            assertThat(result.isSuccess()).isTrue();
+        }
+
+        assertThat(statements.count())
+                .as("statements for %d orders: %s", orderCount, statements.executed())
+                .isLessThanOrEqualTo(CREATE_STATEMENTS_PER_ORDER * orderCount);
+    }
+
+    @Test
+    void submitBatchReservesInOneStatementAndRecordsInOneBatch() {
+        List<Integer> ids = saveOrders(40, List.of(blotter("Equity")));
+        statements.reset();
+
+        List<OrderReservationService.Reservation> reservations = reservationService.reserveAll(ids);
+
+        assertThat(reservations).hasSize(40);
+        assertThat(statements.count()).as("reserve statements: %s", statements.executed()).isEqualTo(1);
+
+        statements.reset();
+        List<Order> reserved = new ArrayList<>();
+        for (OrderReservationService.Reservation reservation : reservations) {
+            Order order = reservation.getOrder();
+            // Order IDs come from one sequence, so these trade order IDs are unique across tests
+            order.setTradeOrderId(order.getId() + 1_000_000);
+            reserved.add(order);
+        }
+
+        assertThat(batchUpdateService.batchUpdateReservedOrderStatuses(reserved, sentStatus)).isEqualTo(40);
+        assertThat(statements.executed()).as("update round trips").hasSize(1);
+        assertThat(statements.executed().get(0)).startsWith("[batch]");
+    }
+
+    @Test
+    void preparesStatementsOnTheServerFromTheFirstExecution() {
+        // prepareThreshold=1: a named server-side statement on the first execution, not the fifth
+        Integer prepared = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.queryForObject("SELECT count(*) FROM status WHERE abbreviation = ?", Integer.class, "NEW");
+            return jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_prepared_statements WHERE NOT from_sql "
+                            + "AND statement = 'SELECT count(*) FROM status WHERE abbreviation = $1'",
+                    Integer.class);
+        });
+
+        assertThat(prepared).isEqualTo(1);
+    }
+
+    @Test
+    void batchedInsertsAreRewrittenIntoMultiRowStatements() {
+        Blotter blotter = blotter("Equity");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(new Object[] {blotter.getId(), newStatus.getId(), orderType.getId()});
+        }
+        statements.reset();
+
+        int[] counts = jdbcTemplate.batchUpdate(
+                "INSERT INTO \"order\" (blotter_id, status_id, portfolio_id, order_type_id, security_id, quantity, version) "
+                        + "VALUES (?, ?, 'PORTFOLIO000000000000001', ?, 'SECURITY0000000000000001', 100, 1)", rows);
+
+        assertThat(statements.executed()).as("insert round trips").hasSize(1);
+        // reWriteBatchedInserts=true: pgJDBC sends multi-row INSERTs and cannot report per-row counts
+        assertThat(counts).containsOnly(Statement.SUCCESS_NO_INFO);
+        assertThat(orderRepository.count()).isEqualTo(20);
+    }
+
+    @Test
+    void listPageLoadsAssociationsPerTypeNotPerRow() {
+        List<Blotter> blotters = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            blotters.add(blotter("Blotter " + i));
+        }
+        saveOrders(30, blotters);
+        statements.reset();
+
+        Page<OrderWithDetailsDTO> page = orderService.getAll(20, 0, "id", Map.of());
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent()).extracting(dto -> dto.getBlotter().getId()).doesNotHaveDuplicates();
+        // Page query, count query, and one batch each for blotters, statuses and order types
+        assertThat(statements.count()).as("list statements: %s", statements.executed()).isLessThanOrEqualTo(5);
+    }
+
+    private Blotter blotter(String name) {
+        Blotter blotter = blotterRepository.save(Blotter.builder().name(name).version(1).build());
+        createdBlotterIds.add(blotter.getId());
+        return blotter;
+    }
+
+    private Status status(String abbreviation) {
+        return statusRepository.findAll().stream()
+                .filter(status -> abbreviation.equals(status.getAbbreviation()))
+                .findFirst().orElseThrow();
+    }
+
+    private List<Integer> saveOrders(int count, List<Blotter> blotters) {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(new Order(null, blotters.get(i % blotters.size()), newStatus, "PORTFOLIO000000000000001",
+                    orderType, "SECURITY0000000000000001", new BigDecimal("100"), null, null,
+                    OffsetDateTime.now(), 1));
+        }
+        return orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfiguration {
+
+        @Bean
+        static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource target && !(bean instanceof StatementCountingDataSource)) {
+                        return new StatementCountingDataSource(target);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
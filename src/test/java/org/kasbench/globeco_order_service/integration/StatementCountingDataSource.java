@@ -0,0 +1,85 @@
+package org.kasbench.globeco_order_service.integration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * DataSource wrapper that counts database round trips: each execute call on a statement
+ * counts once, and a JDBC batch counts once however many rows it carries.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final List<String> executed = new CopyOnWriteArrayList<>();
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    public int count() {
+        return executed.size();
+    }
+
+    /**
+     * SQL of every round trip since the last reset, for assertion messages.
+     */
+    public List<String> executed() {
+        return List.copyOf(executed);
+    }
+
+    public void reset() {
+        executed.clear();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                        return countingStatement(statement, method.getReturnType(), (String) args[0]);
+                    }
+                    if (result instanceof Statement statement) {
+                        return countingStatement(statement, method.getReturnType(), null);
+                    }
+                    return result;
+                });
+    }
+
+    private Object countingStatement(Statement statement, Class<?> type, String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                executed.add(method.getName().contains("Batch") ? "[batch] " + sql : sql);
+            }
+            return invoke(statement, method, args);
+        };
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.kasbench.globeco_order_service.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Response latency of a stub downstream service.
+ *
+ * Log-normal latencies are parameterized by median and p99, which is how downstream
+ * latency is usually reported on dashboards, so a production profile can be copied over
+ * directly.
+ */
+public final class LatencyDistribution {
+
+    /** z-score of the 99th percentile of the standard normal distribution. */
+    private static final double Z_99 = 2.326348;
+
+    public static final LatencyDistribution NONE = constant(0);
+
+    private final String description;
+    private final double minMillis;
+    private final double maxMillis;
+    private final double mu;
+    private final double sigma;
+    private final boolean logNormal;
+
+    private LatencyDistribution(String description, double minMillis, double maxMillis,
+            double mu, double sigma, boolean logNormal) {
+        this.description = description;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.mu = mu;
+        this.sigma = sigma;
+        this.logNormal = logNormal;
+    }
+
+    public static LatencyDistribution constant(double millis) {
+        return new LatencyDistribution("constant(" + millis + "ms)", millis, millis, 0, 0, false);
+    }
+
+    public static LatencyDistribution uniform(double minMillis, double maxMillis) {
+        if (maxMillis < minMillis) {
+            throw new IllegalArgumentException("maxMillis must not be below minMillis");
+        }
+        return new LatencyDistribution("uniform(" + minMillis + "-" + maxMillis + "ms)",
+                minMillis, maxMillis, 0, 0, false);
+    }
+
+    /**
+     * Log-normal latency with the given median and 99th percentile.
+     */
+    public static LatencyDistribution logNormal(double medianMillis, double p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Requires 0 < median <= p99");
+        }
+        double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+        return new LatencyDistribution("lognormal(p50=" + medianMillis + "ms, p99=" + p99Millis + "ms)",
+                0, Double.MAX_VALUE, Math.log(medianMillis), sigma, true);
+    }
+
+    /**
+     * Parses {@code constant:5}, {@code uniform:2-8} or {@code lognormal:5-40} (median-p99),
+     * all in milliseconds. A bare number is a constant latency.
+     */
+    public static LatencyDistribution parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return NONE;
+        }
+        String trimmed = spec.trim();
+        int colon = trimmed.indexOf(':');
+        if (colon < 0) {
+            return constant(Double.parseDouble(trimmed));
+        }
+        String kind = trimmed.substring(0, colon).toLowerCase();
+        String[] values = trimmed.substring(colon + 1).split("-");
+        return switch (kind) {
+            case "constant" -> constant(Double.parseDouble(values[0]));
+            case "uniform" -> uniform(Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+            case "lognormal" -> logNormal(Double.parseDouble(values[0]), Double.parseDouble(values[1]));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        };
+    }
+
+    /**
+     * Draws one latency in milliseconds.
+     */
+    public double sampleMillis() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (logNormal) {
+            return Math.exp(mu + sigma * random.nextGaussian());
+        }
+        if (maxMillis <= minMillis) {
+            return minMillis;
+        }
+        return minMillis + random.nextDouble() * (maxMillis - minMillis);
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
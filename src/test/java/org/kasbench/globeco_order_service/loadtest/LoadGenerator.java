@@ -0,0 +1,189 @@
+package org.kasbench.globeco_order_service.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a weighted mix of operations in closed or open loop and records the outcome per
+ * endpoint in a {@link LoadReport}.
+ *
+ * Closed loop runs a fixed number of workers, each issuing its next request when the
+ * previous one completes (plus optional think time); it measures capacity at a given
+ * concurrency. Open loop issues requests at a fixed arrival rate regardless of how the
+ * service keeps up, and measures latency from each request's scheduled start, so a
+ * stalled service shows up in the percentiles instead of silently lowering the offered
+ * load. Requests that would exceed {@code maxOutstanding} are counted as dropped, as
+ * are operations that had nothing to do.
+ */
+public final class LoadGenerator {
+
+    /**
+     * Status an operation returns when it had nothing to do; counted as dropped.
+     */
+    public static final int SKIPPED = -1;
+
+    /**
+     * One request against the service under test.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Issues the request.
+         *
+         * @return the HTTP status code, or {@link LoadGenerator#SKIPPED}
+         */
+        int execute() throws Exception;
+    }
+
+    /**
+     * Weighted selection of operations, each reported under its endpoint name.
+     */
+    public static final class Mix {
+        private final List<String> endpoints = new ArrayList<>();
+        private final List<Operation> operations = new ArrayList<>();
+        private final List<Integer> cumulativeWeights = new ArrayList<>();
+        private int totalWeight;
+
+        public Mix add(String endpoint, int weight, Operation operation) {
+            if (weight <= 0) {
+                return this;
+            }
+            totalWeight += weight;
+            endpoints.add(endpoint);
+            operations.add(operation);
+            cumulativeWeights.add(totalWeight);
+            return this;
+        }
+
+        int next() {
+            int draw = ThreadLocalRandom.current().nextInt(totalWeight);
+            for (int i = 0; i < cumulativeWeights.size(); i++) {
+                if (draw < cumulativeWeights.get(i)) {
+                    return i;
+                }
+            }
+            return cumulativeWeights.size() - 1;
+        }
+
+        boolean isEmpty() {
+            return totalWeight == 0;
+        }
+    }
+
+    private final Mix mix;
+
+    public LoadGenerator(Mix mix) {
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Load mix has no operations");
+        }
+        this.mix = mix;
+    }
+
+    /**
+     * Runs {@code concurrency} workers back to back. Results of the warm-up are discarded.
+     */
+    public LoadReport runClosedLoop(String scenario, int concurrency, Duration thinkTime,
+            Duration warmup, Duration duration) throws InterruptedException {
+        closedLoop(new LoadReport(scenario + " (warm-up)"), concurrency, thinkTime, warmup);
+        LoadReport report = new LoadReport(scenario);
+        closedLoop(report, concurrency, thinkTime, duration);
+        return report;
+    }
+
+    /**
+     * Issues {@code requestsPerSecond} requests at evenly spaced scheduled times. Results of
+     * the warm-up are discarded.
+     */
+    public LoadReport runOpenLoop(String scenario, double requestsPerSecond, int maxOutstanding,
+            Duration warmup, Duration duration) throws InterruptedException {
+        openLoop(new LoadReport(scenario + " (warm-up)"), requestsPerSecond, maxOutstanding, warmup);
+        LoadReport report = new LoadReport(scenario);
+        openLoop(report, requestsPerSecond, maxOutstanding, duration);
+        return report;
+    }
+
+    private void closedLoop(LoadReport report, int concurrency, Duration thinkTime, Duration duration)
+            throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        long thinkNanos = thinkTime.toNanos();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        issue(report, mix.next(), System.nanoTime());
+                        if (thinkNanos > 0) {
+                            LockSupport.parkNanos(thinkNanos);
+                        }
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(duration.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+    }
+
+    private void openLoop(LoadReport report, double requestsPerSecond, int maxOutstanding, Duration duration)
+            throws InterruptedException {
+        if (duration.isZero()) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        AtomicInteger outstanding = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = start; scheduled < deadline; scheduled += intervalNanos) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                int operation = mix.next();
+                if (outstanding.incrementAndGet() > maxOutstanding) {
+                    outstanding.decrementAndGet();
+                    report.recordDropped(mix.endpoints.get(operation));
+                    continue;
+                }
+                long intendedStart = scheduled;
+                requests.execute(() -> {
+                    try {
+                        issue(report, operation, intendedStart);
+                    } finally {
+                        outstanding.decrementAndGet();
+                    }
+                });
+            }
+            requests.shutdown();
+            requests.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+    }
+
+    private void issue(LoadReport report, int operation, long intendedStartNanos) {
+        int status;
+        try {
+            status = mix.operations.get(operation).execute();
+        } catch (Exception e) {
+            status = 0;
+        }
+        if (status == SKIPPED) {
+            report.recordDropped(mix.endpoints.get(operation));
+            return;
+        }
+        report.record(mix.endpoints.get(operation), status, System.nanoTime() - intendedStartNanos);
+    }
+}
@@ -0,0 +1,213 @@
+package org.kasbench.globeco_order_service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-endpoint results of a load run: request and error counts, throughput and latency
+ * percentiles.
+ *
+ * Latencies are kept exactly (one long per request) rather than bucketed, which is cheap
+ * at the request counts a laptop run produces and keeps tail percentiles precise.
+ */
+public final class LoadReport {
+
+    private final String scenario;
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+
+    public LoadReport(String scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Records one request. A status of 0 marks a request that failed without a response.
+     */
+    public void record(String endpoint, int status, long latencyNanos) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder()).record(status, latencyNanos);
+    }
+
+    /**
+     * Counts a request the generator could not issue because too many were outstanding.
+     */
+    public void recordDropped(String endpoint) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder()).recordDropped();
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public List<EndpointStats> getEndpoints() {
+        List<EndpointStats> endpoints = new ArrayList<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.add(recorder.stats(endpoint, getElapsedSeconds())));
+        endpoints.sort((a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+        return Collections.unmodifiableList(endpoints);
+    }
+
+    public EndpointStats getEndpoint(String endpoint) {
+        Recorder recorder = recorders.get(endpoint);
+        return recorder != null ? recorder.stats(endpoint, getElapsedSeconds()) : null;
+    }
+
+    /**
+     * Formats the report as a fixed-width table.
+     */
+    public String format() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("Load scenario: %s (%.1fs)%n", scenario, getElapsedSeconds()));
+        table.append(String.format("%-24s %8s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "dropped", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (EndpointStats stats : getEndpoints()) {
+            table.append(String.format("%-24s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    stats.getEndpoint(), stats.getRequests(), stats.getErrors(), stats.getDropped(),
+                    stats.getThroughputPerSecond(), stats.getP50Millis(), stats.getP90Millis(),
+                    stats.getP99Millis(), stats.getP999Millis(), stats.getMaxMillis()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Writes the report as JSON.
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("scenario", scenario);
+        json.put("elapsedSeconds", getElapsedSeconds());
+        json.put("endpoints", getEndpoints());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long dropped;
+
+        synchronized void record(int status, long latencyNanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 0 || status >= 500) {
+                errors++;
+            }
+        }
+
+        synchronized void recordDropped() {
+            dropped++;
+        }
+
+        synchronized EndpointStats stats(String endpoint, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, count, errors, dropped,
+                    elapsedSeconds > 0 ? count / elapsedSeconds : 0.0,
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90),
+                    percentileMillis(sorted, 0.99), percentileMillis(sorted, 0.999),
+                    count > 0 ? sorted[count - 1] / 1e6 : 0.0);
+        }
+
+        private static double percentileMillis(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    public static final class EndpointStats {
+        private final String endpoint;
+        private final long requests;
+        private final long errors;
+        private final long dropped;
+        private final double throughputPerSecond;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final double maxMillis;
+
+        EndpointStats(String endpoint, long requests, long errors, long dropped, double throughputPerSecond,
+                double p50Millis, double p90Millis, double p99Millis, double p999Millis, double maxMillis) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.errors = errors;
+            this.dropped = dropped;
+            this.throughputPerSecond = throughputPerSecond;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * Requests that got a 5xx response or none at all.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public double getErrorRate() {
+            return requests > 0 ? (double) errors / requests : 0.0;
+        }
+
+        public double getThroughputPerSecond() {
+            return throughputPerSecond;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getP999Millis() {
+            return p999Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package org.kasbench.globeco_order_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load run against the real application, PostgreSQL in a container and stub
+ * trade, security and portfolio services.
+ *
+ * Drives a mix of POST /orders, POST /orders/batch/submit and GET /orders in closed or
+ * open loop and prints throughput and latency percentiles per endpoint; the report is
+ * also written to {@code build/reports/load/<scenario>.json}. Tagged {@code load}, so it
+ * only runs through {@code ./gradlew loadTest}. Every knob is a {@code load.*} property,
+ * e.g. {@code ./gradlew loadTest -Pload.mode=open -Pload.rate=300
+ * -Pload.trade.latency=lognormal:40-400 -Pload.trade.error-rate=0.02}.
+ */
+@Tag("load")
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class OrderServiceLoadTest {
+
+    private static final String CREATE_ORDERS = "POST /orders";
+    private static final String BATCH_SUBMIT = "POST /orders/batch/submit";
+    private static final String GET_ORDERS = "GET /orders";
+
+    private static final int NEW_STATUS_ID = 1;
+    private static final int SECURITY_COUNT = 500;
+    private static final int PORTFOLIO_COUNT = 50;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            setting("load.postgres-image", "postgres:16-alpine"))
+            .withCommand("postgres", "-c", "shared_preload_libraries=pg_stat_statements",
+                    "-c", "pg_stat_statements.track_planning=on");
+
+    private static final StubDownstreamServer TRADE_SERVICE = startStub(StubDownstreamServer.tradeService(
+            LatencyDistribution.parse(setting("load.trade.latency", "lognormal:20-120")),
+            Double.parseDouble(setting("load.trade.error-rate", "0"))));
+    private static final StubDownstreamServer SECURITY_SERVICE = startStub(StubDownstreamServer.securityService(
+            LatencyDistribution.parse(setting("load.security.latency", "lognormal:3-25")),
+            Double.parseDouble(setting("load.security.error-rate", "0"))));
+    private static final StubDownstreamServer PORTFOLIO_SERVICE = startStub(StubDownstreamServer.portfolioService(
+            LatencyDistribution.parse(setting("load.portfolio.latency", "lognormal:3-25")),
+            Double.parseDouble(setting("load.portfolio.error-rate", "0"))));
+
+    @DynamicPropertySource
+    static void configure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("trade.service.url", TRADE_SERVICE::getBaseUrl);
+        registry.add("security.service.url", SECURITY_SERVICE::getBaseUrl);
+        registry.add("portfolio.service.url", PORTFOLIO_SERVICE::getBaseUrl);
+        registry.add("logging.level.org.kasbench.globeco_order_service", () -> "WARN");
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ConcurrentLinkedQueue<Integer> newOrderIds = new ConcurrentLinkedQueue<>();
+
+    @AfterAll
+    static void stopStubs() {
+        TRADE_SERVICE.close();
+        SECURITY_SERVICE.close();
+        PORTFOLIO_SERVICE.close();
+    }
+
+    @BeforeEach
+    void seedOrders() {
+        int seedOrders = Integer.parseInt(setting("load.seed-orders", "5000"));
+        List<Object[]> rows = new ArrayList<>(seedOrders);
+        for (int i = 0; i < seedOrders; i++) {
+            rows.add(new Object[] {1, NEW_STATUS_ID, portfolioId(), 1, securityId(), BigDecimal.valueOf(100)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO \"order\" (blotter_id, status_id, portfolio_id, order_type_id, "
+                + "security_id, quantity) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        newOrderIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM \"order\" WHERE status_id = ? AND trade_order_id IS NULL ORDER BY id",
+                Integer.class, NEW_STATUS_ID));
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_stat_statements");
+        jdbcTemplate.execute("SELECT pg_stat_statements_reset()");
+    }
+
+    @Test
+    void orderMixUnderLoad() throws Exception {
+        int ordersPerPost = Integer.parseInt(setting("load.orders-per-post", "10"));
+        int batchSize = Integer.parseInt(setting("load.batch-size", "25"));
+        int minBatchSize = Integer.parseInt(setting("load.batch-size-min", String.valueOf(batchSize)));
+        int pageSize = Integer.parseInt(setting("load.page-size", "50"));
+
+        LoadGenerator.Mix mix = new LoadGenerator.Mix()
+                .add(CREATE_ORDERS, Integer.parseInt(setting("load.mix.create", "40")),
+                        () -> createOrders(ordersPerPost))
+                .add(BATCH_SUBMIT, Integer.parseInt(setting("load.mix.batch-submit", "10")),
+                        () -> batchSubmit(
+                                ThreadLocalRandom.current().nextInt(minBatchSize, Math.max(minBatchSize, batchSize) + 1)))
+                .add(GET_ORDERS, Integer.parseInt(setting("load.mix.get", "50")),
+                        () -> getOrders(pageSize));
+        LoadGenerator generator = new LoadGenerator(mix);
+
+        Duration warmup = Duration.ofSeconds(Long.parseLong(setting("load.warmup-seconds", "15")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(setting("load.duration-seconds", "60")));
+        String mode = setting("load.mode", "closed");
+        long[] gcBefore = gcCountAndMillis();
+        LoadReport report;
+        if ("open".equalsIgnoreCase(mode)) {
+            double rate = Double.parseDouble(setting("load.rate", "200"));
+            int maxOutstanding = Integer.parseInt(setting("load.max-outstanding", "1000"));
+            report = generator.runOpenLoop("open-" + (int) rate + "rps", rate, maxOutstanding, warmup, duration);
+        } else {
+            int concurrency = Integer.parseInt(setting("load.concurrency", "32"));
+            Duration thinkTime = Duration.ofMillis(Long.parseLong(setting("load.think-ms", "0")));
+            report = generator.runClosedLoop("closed-" + concurrency + "c", concurrency, thinkTime, warmup, duration);
+        }
+
+        long[] gcAfter = gcCountAndMillis();
+
+        System.out.print(report.format());
+        System.out.printf("GC (warm-up and measurement): %d collections, %d ms total, max heap %d MB%n",
+                gcAfter[0] - gcBefore[0], gcAfter[1] - gcBefore[1], Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        System.out.printf("Stub requests: trade=%d (%d injected errors), security=%d, portfolio=%d%n",
+                TRADE_SERVICE.getRequestCount(), TRADE_SERVICE.getInjectedErrorCount(),
+                SECURITY_SERVICE.getRequestCount(), PORTFOLIO_SERVICE.getRequestCount());
+        printStatementShapes();
+        report.writeJson(Path.of("build", "reports", "load", report.getScenario() + ".json"));
+
+        double maxErrorRate = Double.parseDouble(setting("load.max-error-rate", "0.01"));
+        for (LoadReport.EndpointStats stats : report.getEndpoints()) {
+            assertThat(stats.getRequests()).as("%s requests", stats.getEndpoint()).isPositive();
+            assertThat(stats.getErrorRate()).as("%s error rate", stats.getEndpoint()).isLessThanOrEqualTo(maxErrorRate);
+        }
+    }
+
+    private int createOrders(int count) throws IOException, InterruptedException {
+        ArrayNode orders = objectMapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode order = orders.addObject();
+            order.put("blotterId", 1);
+            order.put("statusId", NEW_STATUS_ID);
+            order.put("portfolioId", portfolioId());
+            order.put("orderTypeId", 1 + ThreadLocalRandom.current().nextInt(2));
+            order.put("securityId", securityId());
+            order.put("quantity", 100 + ThreadLocalRandom.current().nextInt(900));
+            order.put("limitPrice", 10 + ThreadLocalRandom.current().nextInt(90));
+        }
+        HttpResponse<byte[]> response = post("/api/v1/orders", objectMapper.writeValueAsBytes(orders));
+        if (response.statusCode() < 300) {
+            for (JsonNode created : objectMapper.readTree(response.body()).path("orders")) {
+                if (created.hasNonNull("orderId")) {
+                    newOrderIds.add(created.get("orderId").asInt());
+                }
+            }
+        }
+        return response.statusCode();
+    }
+
+    private int batchSubmit(int batchSize) throws IOException, InterruptedException {
+        ObjectNode request = objectMapper.createObjectNode();
+        ArrayNode orderIds = request.putArray("orderIds");
+        Integer orderId;
+        while (orderIds.size() < batchSize && (orderId = newOrderIds.poll()) != null) {
+            orderIds.add(orderId);
+        }
+        if (orderIds.isEmpty()) {
+            return LoadGenerator.SKIPPED;
+        }
+        return post("/api/v1/orders/batch/submit", objectMapper.writeValueAsBytes(request)).statusCode();
+    }
+
+    private int getOrders(int pageSize) throws IOException, InterruptedException {
+        int offset = ThreadLocalRandom.current().nextInt(20) * pageSize;
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/orders?limit=" + pageSize + "&offset=" + offset
+                        + "&sort=-orderTimestamp"))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpResponse<byte[]> post(String path, byte[] body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static String securityId() {
+        return String.format("SEC%021d", ThreadLocalRandom.current().nextInt(SECURITY_COUNT));
+    }
+
+    private static String portfolioId() {
+        return String.format("PRT%021d", ThreadLocalRandom.current().nextInt(PORTFOLIO_COUNT));
+    }
+
+    /**
+     * Prints, per statement kind on the order table, how many distinct statement shapes
+     * PostgreSQL planned and the time spent planning them. ID-list lookups whose IN list
+     * length varies with the batch show up as many shapes.
+     */
+    private void printStatementShapes() {
+        System.out.println("Statement shapes on \"order\" (pg_stat_statements):");
+        jdbcTemplate.query("SELECT split_part(ltrim(query), ' ', 1) AS kind, count(*) AS shapes, "
+                        + "sum(calls) AS calls, sum(plans) AS plans, sum(total_plan_time) AS plan_ms "
+                        + "FROM pg_stat_statements WHERE query ILIKE '%\"order\"%' "
+                        + "GROUP BY 1 ORDER BY 2 DESC",
+                rs -> {
+                    System.out.printf("  %-8s shapes=%d calls=%d plans=%d plan_time=%.1fms%n",
+                            rs.getString("kind"), rs.getLong("shapes"), rs.getLong("calls"),
+                            rs.getLong("plans"), rs.getDouble("plan_ms"));
+                });
+    }
+
+    /**
+     * Collection count and accumulated collection time across all collectors. For the
+     * stop-the-world collectors this is pause time; for concurrent ones it includes
+     * concurrent cycles.
+     */
+    private static long[] gcCountAndMillis() {
+        long count = 0;
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[] {count, millis};
+    }
+
+    private static StubDownstreamServer startStub(StubDownstreamServer stub) {
+        try {
+            return stub.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start " + stub, e);
+        }
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
@@ -0,0 +1,310 @@
+package org.kasbench.globeco_order_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for a downstream service (trade, security or portfolio).
+ *
+ * Every request is delayed by a draw from the configured {@link LatencyDistribution} and
+ * then fails with HTTP 503 with probability {@code errorRate}; otherwise it is answered by
+ * the first route whose method and path prefix match. Requests are served on virtual
+ * threads so the stub never becomes the bottleneck of a load run.
+ */
+public final class StubDownstreamServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    static {
+        // The JDK server writes headers and body separately; without TCP_NODELAY, Nagle plus
+        // delayed ACKs add about 40ms to every keep-alive response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * Produces a JSON response body, or null for 404.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        String handle(String path, Map<String, String> query, byte[] body) throws IOException;
+    }
+
+    private final String name;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final List<Route> routes = new ArrayList<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong injectedErrorCount = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubDownstreamServer(String name, LatencyDistribution latency, double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errorRate must be between 0 and 1");
+        }
+        this.name = name;
+        this.latency = latency;
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Trade service: POST /api/v1/tradeOrders and POST /api/v1/tradeOrders/bulk, assigning
+     * increasing trade order ids.
+     */
+    public static StubDownstreamServer tradeService(LatencyDistribution latency, double errorRate) {
+        AtomicInteger nextTradeOrderId = new AtomicInteger(1);
+        return new StubDownstreamServer("trade", latency, errorRate)
+                .route("POST", "/api/v1/tradeOrders/bulk", (path, query, body) -> {
+                    JsonNode tradeOrders = MAPPER.readTree(body).path("tradeOrders");
+                    ObjectNode response = MAPPER.createObjectNode();
+                    ArrayNode results = response.putArray("results");
+                    for (int i = 0; i < tradeOrders.size(); i++) {
+                        ObjectNode result = results.addObject();
+                        result.put("requestIndex", i);
+                        result.put("status", "SUCCESS");
+                        result.put("message", "Trade order created successfully");
+                        result.set("tradeOrder", tradeOrder(nextTradeOrderId.getAndIncrement(), tradeOrders.get(i)));
+                    }
+                    response.put("status", "SUCCESS");
+                    response.put("message", "All trade orders created successfully");
+                    response.put("totalRequested", tradeOrders.size());
+                    response.put("successful", tradeOrders.size());
+                    response.put("failed", 0);
+                    return MAPPER.writeValueAsString(response);
+                })
+                .route("POST", "/api/v1/tradeOrders", (path, query, body) -> MAPPER.writeValueAsString(
+                        tradeOrder(nextTradeOrderId.getAndIncrement(), MAPPER.readTree(body))));
+    }
+
+    /**
+     * Security service: GET /api/v1/security/{id} and GET /api/v2/securities?ticker=.
+     * Every id and ticker exists.
+     */
+    public static StubDownstreamServer securityService(LatencyDistribution latency, double errorRate) {
+        return new StubDownstreamServer("security", latency, errorRate)
+                .route("GET", "/api/v1/security/", (path, query, body) -> {
+                    String securityId = lastSegment(path);
+                    ObjectNode security = MAPPER.createObjectNode();
+                    security.put("securityId", securityId);
+                    security.put("ticker", "T" + securityId.substring(Math.max(0, securityId.length() - 5)));
+                    return MAPPER.writeValueAsString(security);
+                })
+                .route("GET", "/api/v2/securities", (path, query, body) -> {
+                    String ticker = query.getOrDefault("ticker", "");
+                    ObjectNode response = MAPPER.createObjectNode();
+                    ObjectNode security = response.putArray("securities").addObject();
+                    security.put("securityId", idFor(ticker));
+                    security.put("ticker", ticker);
+                    response.set("pagination", singlePage());
+                    return MAPPER.writeValueAsString(response);
+                });
+    }
+
+    /**
+     * Portfolio service: GET /api/v1/portfolio/{id} and GET /api/v2/portfolios?name=.
+     * Every id and name exists.
+     */
+    public static StubDownstreamServer portfolioService(LatencyDistribution latency, double errorRate) {
+        return new StubDownstreamServer("portfolio", latency, errorRate)
+                .route("GET", "/api/v1/portfolio/", (path, query, body) -> {
+                    String portfolioId = lastSegment(path);
+                    ObjectNode portfolio = MAPPER.createObjectNode();
+                    portfolio.put("portfolioId", portfolioId);
+                    portfolio.put("name", "Portfolio " + portfolioId.substring(Math.max(0, portfolioId.length() - 5)));
+                    return MAPPER.writeValueAsString(portfolio);
+                })
+                .route("GET", "/api/v2/portfolios", (path, query, body) -> {
+                    String portfolioName = query.getOrDefault("name", "");
+                    ObjectNode response = MAPPER.createObjectNode();
+                    ObjectNode portfolio = response.putArray("portfolios").addObject();
+                    portfolio.put("portfolioId", idFor(portfolioName));
+                    portfolio.put("name", portfolioName);
+                    response.set("pagination", singlePage());
+                    return MAPPER.writeValueAsString(response);
+                });
+    }
+
+    /**
+     * Adds a route. Routes are matched in the order they were added.
+     */
+    public StubDownstreamServer route(String method, String pathPrefix, Handler handler) {
+        routes.add(new Route(method, pathPrefix, handler));
+        return this;
+    }
+
+    public StubDownstreamServer start() throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrorCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " stub (latency " + latency + ", error rate " + errorRate + ")";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            sleep(latency.sampleMillis());
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                injectedErrorCount.incrementAndGet();
+                respond(exchange, 503, "{\"error\":\"Injected failure\"}");
+                return;
+            }
+
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            for (Route route : routes) {
+                if (route.method.equalsIgnoreCase(method) && path.startsWith(route.pathPrefix)) {
+                    String response = route.handler.handle(path, parseQuery(exchange.getRequestURI().getRawQuery()),
+                            requestBody);
+                    if (response == null) {
+                        respond(exchange, 404, "{\"error\":\"Not found\"}");
+                    } else {
+                        respond(exchange, "POST".equalsIgnoreCase(method) ? 201 : 200, response);
+                    }
+                    return;
+                }
+            }
+            respond(exchange, 404, "{\"error\":\"No stub route\"}");
+        } catch (IOException | RuntimeException e) {
+            // The exchange may already be closed; the client sees a reset connection
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(double millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep((long) millis, (int) ((millis % 1) * 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ObjectNode tradeOrder(int tradeOrderId, JsonNode request) {
+        ObjectNode tradeOrder = MAPPER.createObjectNode();
+        tradeOrder.put("id", tradeOrderId);
+        tradeOrder.set("orderId", request.path("orderId"));
+        tradeOrder.set("portfolioId", request.path("portfolioId"));
+        tradeOrder.set("orderType", request.path("orderType"));
+        tradeOrder.set("securityId", request.path("securityId"));
+        tradeOrder.set("quantity", request.path("quantity"));
+        tradeOrder.set("limitPrice", request.path("limitPrice"));
+        tradeOrder.put("quantitySent", 0);
+        tradeOrder.put("submitted", false);
+        tradeOrder.put("version", 1);
+        return tradeOrder;
+    }
+
+    private static ObjectNode singlePage() {
+        ObjectNode pagination = MAPPER.createObjectNode();
+        pagination.put("totalElements", 1);
+        pagination.put("totalPages", 1);
+        pagination.put("currentPage", 0);
+        pagination.put("pageSize", 1);
+        pagination.put("hasNext", false);
+        pagination.put("hasPrevious", false);
+        return pagination;
+    }
+
+    /**
+     * Deterministic 24-character id for a ticker or portfolio name.
+     */
+    static String idFor(String key) {
+        return String.format("%024x", key.hashCode() & 0xffffffffL);
+    }
+
+    private static String lastSegment(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String pathPrefix;
+        private final Handler handler;
+
+        Route(String method, String pathPrefix, Handler handler) {
+            this.method = method;
+            this.pathPrefix = pathPrefix;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.kasbench.globeco_order_service.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that ID-list lookups are padded into power-of-two IN-list buckets, so a mix of
+ * batch sizes prepares a handful of statement shapes rather than one per list length.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "org.kasbench.globeco_order_service.repository.OrderRepositoryInClausePaddingTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+class OrderRepositoryInClausePaddingTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void clearRecordedStatements() {
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void batchSizeMixSharesPaddedStatementShapes() {
+        for (int size = 1; size <= 100; size++) {
+            orderRepository.findAllByIdWithRelations(ids(size));
+        }
+
+        // 1, 2, 4, ..., 128
+        assertThat(lookupStatements()).hasSizeLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void paddingDoesNotChangeResults() {
+        List<Integer> ids = new ArrayList<>(ids(3));
+        ids.add(99999);
+
+        List<Order> orders = orderRepository.findAllByIdWithRelations(ids);
+
+        assertThat(orders).extracting(Order::getId).doesNotHaveDuplicates().doesNotContain(99999);
+    }
+
+    private static List<Integer> ids(int size) {
+        return IntStream.rangeClosed(1, size).boxed().toList();
+    }
+
+    private static Set<String> lookupStatements() {
+        Set<String> lookups = ConcurrentHashMap.newKeySet();
+        for (String sql : RecordingStatementInspector.STATEMENTS) {
+            if (sql.toLowerCase().contains(" in (")) {
+                lookups.add(sql);
+            }
+        }
+        return lookups;
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final Set<String> STATEMENTS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AsyncCommitPolicyTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncCommitPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        policy = new AsyncCommitPolicy(jdbcTemplate, meterRegistry, true, false);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void enabledOperationCommitsAsynchronously() {
+        assertThat(policy.apply(AsyncCommitPolicy.Operation.STATUS_UPDATE)).isTrue();
+
+        verify(jdbcTemplate).execute(AsyncCommitPolicy.ASYNC_COMMIT_SQL);
+        assertThat(meterRegistry.get("order.async_commit.transactions")
+                .tag("operation", "status_update").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void disabledOperationKeepsSynchronousCommit() {
+        assertThat(policy.apply(AsyncCommitPolicy.Operation.ORDER_CREATION)).isFalse();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void doesNothingOutsideAWriteTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        assertThat(policy.apply(AsyncCommitPolicy.Operation.STATUS_UPDATE)).isFalse();
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(policy.apply(AsyncCommitPolicy.Operation.STATUS_UPDATE)).isFalse();
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+}
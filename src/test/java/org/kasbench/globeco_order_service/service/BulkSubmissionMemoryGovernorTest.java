@@ -0,0 +1,117 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.config.BulkSubmissionProperties;
+
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkSubmissionMemoryGovernorTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private MemoryMXBean memoryMXBean;
+    private SimpleMeterRegistry meterRegistry;
+    private BulkSubmissionProperties.Performance performance;
+
+    @BeforeEach
+    void setUp() {
+        memoryMXBean = mock(MemoryMXBean.class);
+        meterRegistry = new SimpleMeterRegistry();
+        performance = new BulkSubmissionProperties.Performance();
+        performance.setMaxMemoryUsageMb(256);
+        performance.setHeapBudgetPercent(25);
+        performance.setEstimatedBytesPerOrder(4096);
+        performance.setMemoryPressureThreshold(0.80);
+        performance.setMemoryPressureChunkSize(25);
+        performance.setMemoryAdmissionTimeoutMs(0);
+        heapUsed(100 * MB, 1024 * MB);
+    }
+
+    @Test
+    void budgetIsLowerOfHeapShareAndConfiguredMaximum() {
+        assertThat(governor().getBudgetBytes()).isEqualTo(256 * MB);
+
+        heapUsed(100 * MB, 400 * MB);
+        assertThat(governor().getBudgetBytes()).isEqualTo(100 * MB);
+    }
+
+    @Test
+    void admitsUntilBudgetIsExhaustedAndReleasesOnClose() {
+        performance.setMaxMemoryUsageMb(1);
+        performance.setEstimatedBytesPerOrder(10 * 1024);
+        BulkSubmissionMemoryGovernor governor = governor();
+
+        BulkSubmissionMemoryGovernor.Permit first = governor.admit(60);
+        assertThat(first).isNotNull();
+        assertThat(governor.getBudgetInUseBytes()).isEqualTo(600 * 1024);
+
+        assertThat(governor.admit(60)).isNull();
+        assertThat(meterRegistry.get("bulk_submission.memory.rejected").counter().count()).isEqualTo(1.0);
+
+        first.close();
+        first.close();
+        assertThat(governor.getBudgetInUseBytes()).isZero();
+        assertThat(governor.admit(60)).isNotNull();
+    }
+
+    @Test
+    void oversizedChargeIsCappedAtWholeBudget() {
+        performance.setMaxMemoryUsageMb(1);
+        BulkSubmissionMemoryGovernor governor = governor();
+
+        assertThat(governor.chargeKib(10_000)).isEqualTo(1024);
+        assertThat(governor.admit(10_000)).isNotNull();
+    }
+
+    @Test
+    void keepsWholeBatchBelowPressureThreshold() {
+        BulkSubmissionMemoryGovernor governor = governor();
+
+        assertThat(governor.chunkSize(100)).isEqualTo(100);
+    }
+
+    @Test
+    void chunksBatchAtOrAbovePressureThreshold() {
+        heapUsed(900 * MB, 1024 * MB);
+        BulkSubmissionMemoryGovernor governor = governor();
+
+        assertThat(governor.chunkSize(100)).isEqualTo(25);
+        assertThat(governor.chunkSize(20)).isEqualTo(20);
+        assertThat(meterRegistry.get("bulk_submission.memory.chunked").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void prefersSampledHeapOverMxBean() {
+        TelemetrySampler sampler = mock(TelemetrySampler.class);
+        when(sampler.getSnapshot()).thenReturn(new TelemetrySampler.Snapshot(0L, null, Map.of(), null,
+                new TelemetrySampler.Heap(950 * MB, 1024 * MB, 1024 * MB), Map.of()));
+        BulkSubmissionMemoryGovernor governor = new BulkSubmissionMemoryGovernor(performance, meterRegistry,
+                sampler, memoryMXBean);
+
+        assertThat(governor.heapUtilization()).isGreaterThan(0.9);
+        assertThat(governor.chunkSize(100)).isEqualTo(25);
+    }
+
+    @Test
+    void retryAfterRoundsAdmissionTimeoutUp() {
+        performance.setMemoryAdmissionTimeoutMs(2500);
+
+        assertThat(governor().getRetryAfterSeconds()).isEqualTo(3);
+    }
+
+    private BulkSubmissionMemoryGovernor governor() {
+        return new BulkSubmissionMemoryGovernor(performance, meterRegistry, null, memoryMXBean);
+    }
+
+    private void heapUsed(long used, long max) {
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, used, max, max));
+    }
+}
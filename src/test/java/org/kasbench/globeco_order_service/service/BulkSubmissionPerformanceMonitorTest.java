@@ -0,0 +1,72 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class BulkSubmissionPerformanceMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkSubmissionPerformanceMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new BulkSubmissionPerformanceMonitor(meterRegistry, true);
+    }
+
+    @Test
+    void shouldReportPercentilesFromRecordedLatencies() {
+        for (int i = 1; i <= 100; i++) {
+            monitor.recordBulkSubmission(10, i, 10);
+            monitor.recordDatabaseQueryTime(i);
+        }
+
+        assertThat(monitor.getLatencyPercentile(0.5)).isEqualTo(50.0);
+        assertThat(monitor.getLatencyPercentile(0.99, WindowedLatencyHistogram.Window.FIFTEEN_MINUTES))
+                .isCloseTo(99.0, within(3.0));
+        assertThat(monitor.getDatabaseQueryPercentile(0.5)).isEqualTo(50.0);
+        assertThat(monitor.getExternalServicePercentile(0.5)).isZero();
+        assertThat(monitor.getCurrentStats().getTotalSubmissions()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldExportLatencyAsHistogramBucketsWithoutClientSidePercentiles() {
+        // The simple registry drops percentile histograms; Prometheus is where they are exported
+        PrometheusMeterRegistry prometheusRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        new BulkSubmissionPerformanceMonitor(prometheusRegistry, true).recordTransactionHoldTime(20);
+
+        Timer timer = prometheusRegistry.get("bulk_submission.transaction_hold.duration").timer();
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(snapshot.histogramCounts()).isNotEmpty();
+        assertThat(snapshot.percentileValues()).isEmpty();
+    }
+
+    @Test
+    void shouldClearPercentilesOnReset() {
+        monitor.recordExternalServiceCall(40);
+
+        monitor.resetStats();
+
+        assertThat(monitor.getExternalServicePercentile(0.99, WindowedLatencyHistogram.Window.FIFTEEN_MINUTES)).isZero();
+    }
+
+    @Test
+    void shouldIgnoreRecordingsWhenDisabled() {
+        BulkSubmissionPerformanceMonitor disabled = new BulkSubmissionPerformanceMonitor(new SimpleMeterRegistry(), false);
+
+        disabled.recordBulkSubmission(5, 100, 5);
+
+        assertThat(disabled.getLatencyPercentile(0.5)).isZero();
+        assertThat(disabled.getCurrentStats().getTotalSubmissions()).isZero();
+    }
+}
@@ -0,0 +1,90 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkSubmissionStageObservationTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry;
+    private final List<Observation.Context> stoppedContexts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig()
+                .observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+                .observationHandler(new ObservationHandler<>() {
+                    @Override
+                    public void onStop(Observation.Context context) {
+                        stoppedContexts.add(context);
+                    }
+
+                    @Override
+                    public boolean supportsContext(Observation.Context context) {
+                        return true;
+                    }
+                });
+    }
+
+    @Test
+    void shouldRecordStageTimerTaggedByStageOnly() {
+        String result = BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_BUILD, 25, 0, 0, () -> "built");
+
+        assertThat(result).isEqualTo("built");
+        Timer timer = meterRegistry.get(BulkSubmissionStageObservation.OBSERVATION_NAME)
+                .tag("stage", "build").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.getId().getTag("order.count")).isNull();
+    }
+
+    @Test
+    void shouldCarrySpanAttributes() {
+        BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_UPDATE, 10, 2, 1, () -> { });
+
+        assertThat(stoppedContexts).hasSize(1);
+        Observation.Context context = stoppedContexts.get(0);
+        assertThat(context.getContextualName()).isEqualTo("bulk_submission.stage.update");
+        assertThat(context.getHighCardinalityKeyValues()).contains(
+                KeyValue.of("order.count", "10"),
+                KeyValue.of("chunk.index", "2"),
+                KeyValue.of("retry.count", "1"));
+    }
+
+    @Test
+    void shouldRecordErrorAndRethrow() {
+        assertThatThrownBy(() -> BulkSubmissionStageObservation.observe(observationRegistry,
+                BulkSubmissionStageObservation.STAGE_TRADE_SERVICE, 5, 0, 0, () -> {
+                    throw new IllegalStateException("trade service down");
+                })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stoppedContexts).hasSize(1);
+        assertThat(stoppedContexts.get(0).getError()).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(BulkSubmissionStageObservation.OBSERVATION_NAME)
+                .tag("stage", "trade_service").tag("error", "IllegalStateException").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRunStageWithNoopRegistry() {
+        Integer result = BulkSubmissionStageObservation.observe(ObservationRegistry.NOOP,
+                BulkSubmissionStageObservation.STAGE_LOAD, 1, 0, 0, () -> 42);
+
+        assertThat(result).isEqualTo(42);
+    }
+}
@@ -0,0 +1,157 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionExecution;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseConnectionInterceptorTest {
+
+    @Mock
+    private HikariDataSource hikariDataSource;
+
+    @Mock
+    private HikariPoolMXBean hikariPoolMXBean;
+
+    @Mock
+    private DataSource plainDataSource;
+
+    @Mock
+    private TransactionExecution transaction;
+
+    private MeterRegistry meterRegistry;
+    private ConnectionHoldTimeRecorder holdTimeRecorder;
+    private DatabaseConnectionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(hikariPoolMXBean);
+        DatabaseMetricsService databaseMetricsService = new DatabaseMetricsService(meterRegistry, hikariDataSource);
+        databaseMetricsService.initializeDatabaseMetrics();
+        holdTimeRecorder = new ConnectionHoldTimeRecorder(meterRegistry);
+        interceptor = new DatabaseConnectionInterceptor(databaseMetricsService, holdTimeRecorder, meterRegistry);
+    }
+
+    @Test
+    void shouldRecordAcquisitionFromHikariTracker() {
+        IMetricsTracker tracker = interceptor.create("test-pool", poolStats());
+
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(3));
+        tracker.recordConnectionUsageMillis(10);
+
+        assertThat(meterRegistry.get("db_connection_acquisition_duration_seconds").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db_connection_acquisition_duration_seconds").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3.0);
+        // Hikari's own Micrometer tracker is still fed
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").tag("pool", "test-pool").timer()).isNotNull();
+    }
+
+    @Test
+    void shouldRecordTimeoutAsFailureAndExhaustion() {
+        IMetricsTracker tracker = interceptor.create("test-pool", poolStats());
+
+        tracker.recordConnectionTimeout();
+
+        assertThat(meterRegistry.get("db_connection_acquisition_failures_total").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("db_pool_exhaustion_events_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldTagHoldTimeWithTransactionMethod() {
+        IMetricsTracker tracker = interceptor.create("test-pool", poolStats());
+        when(transaction.getTransactionName())
+                .thenReturn("org.kasbench.globeco_order_service.service.OrderService.submitOrder");
+
+        holdTimeRecorder.beforeBegin(transaction);
+        tracker.recordConnectionAcquiredNanos(1_000);
+        tracker.recordConnectionUsageMillis(25);
+        holdTimeRecorder.afterCommit(transaction, null);
+
+        tracker.recordConnectionAcquiredNanos(1_000);
+        tracker.recordConnectionUsageMillis(5);
+
+        assertThat(meterRegistry.get("db_connection_hold_duration").tag("method", "OrderService.submitOrder")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(25.0);
+        assertThat(meterRegistry.get("db_connection_hold_duration").tag("method", "none")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5.0);
+    }
+
+    @Test
+    void shouldAttributeNestedConnectionsToTheirTransactions() {
+        IMetricsTracker tracker = interceptor.create("test-pool", poolStats());
+        TransactionExecution inner = mock(TransactionExecution.class);
+        when(transaction.getTransactionName()).thenReturn("com.example.OuterService.outer");
+        when(inner.getTransactionName()).thenReturn("com.example.AuditService.record");
+
+        holdTimeRecorder.beforeBegin(transaction);
+        tracker.recordConnectionAcquiredNanos(1_000);
+        holdTimeRecorder.beforeBegin(inner);
+        tracker.recordConnectionAcquiredNanos(1_000);
+        tracker.recordConnectionUsageMillis(2);
+        holdTimeRecorder.afterCommit(inner, null);
+        tracker.recordConnectionUsageMillis(40);
+
+        assertThat(meterRegistry.get("db_connection_hold_duration").tag("method", "AuditService.record")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2.0);
+        assertThat(meterRegistry.get("db_connection_hold_duration").tag("method", "OuterService.outer")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40.0);
+    }
+
+    @Test
+    void shouldTimeAcquisitionThroughDelegatingDataSource() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(plainDataSource.getConnection()).thenReturn(connection);
+
+        DataSource wrapped = interceptor.wrapDataSource(plainDataSource);
+
+        assertThat(wrapped.getConnection()).isSameAs(connection);
+        assertThat(meterRegistry.get("db_connection_acquisition_duration_seconds").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecordExhaustionFromDelegatingDataSource() throws Exception {
+        when(plainDataSource.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"));
+
+        DataSource wrapped = interceptor.wrapDataSource(plainDataSource);
+
+        assertThatThrownBy(wrapped::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("db_connection_acquisition_failures_total").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("db_pool_exhaustion_events_total").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldShortenTransactionNames() {
+        assertThat(ConnectionHoldTimeRecorder.shortName("org.example.service.OrderService.submitOrder"))
+                .isEqualTo("OrderService.submitOrder");
+        assertThat(ConnectionHoldTimeRecorder.shortName("submitOrder")).isEqualTo("submitOrder");
+    }
+
+    private static PoolStats poolStats() {
+        return new PoolStats(0) {
+            @Override
+            protected void update() {
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExternalServiceGuardTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+    private MeterRegistry meterRegistry;
+    private SlidingWindowCircuitBreaker circuitBreaker;
+    private ExternalServiceGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new SlidingWindowCircuitBreaker("test-service", 10, 4, 50, 1000, 2, clock::get);
+        guard = new ExternalServiceGuard("test-service", 2, 0, circuitBreaker, meterRegistry);
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateReachesThreshold() {
+        succeed();
+        succeed();
+        fail();
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.CLOSED);
+
+        fail();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> guard.execute(() -> "never"))
+                .isInstanceOf(ExternalServiceUnavailableException.class)
+                .hasMessageContaining("circuit breaker open");
+        assertThat(meterRegistry.get("external_service.circuit_breaker.rejections").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("external_service.circuit_breaker.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotCountClientErrorsAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRatePercent()).isZero();
+    }
+
+    @Test
+    void shouldCloseAfterSuccessfulHalfOpenProbes() {
+        openBreaker();
+        clock.addAndGet(1_000_000_000L);
+
+        succeed();
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.HALF_OPEN);
+        succeed();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRatePercent()).isZero();
+    }
+
+    @Test
+    void shouldReopenWhenHalfOpenProbeFails() {
+        openBreaker();
+        clock.addAndGet(1_000_000_000L);
+
+        fail();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("external_service.circuit_breaker.transitions")
+                .tag("state", "open").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldLimitHalfOpenProbes() {
+        openBreaker();
+        clock.addAndGet(1_000_000_000L);
+
+        assertThat(circuitBreaker.acquirePermission()).isNotEqualTo(SlidingWindowCircuitBreaker.NO_PERMISSION);
+        assertThat(circuitBreaker.acquirePermission()).isNotEqualTo(SlidingWindowCircuitBreaker.NO_PERMISSION);
+        assertThat(circuitBreaker.acquirePermission()).isEqualTo(SlidingWindowCircuitBreaker.NO_PERMISSION);
+    }
+
+    @Test
+    void shouldNotCountLateCompletionsAsProbes() {
+        long staleFirst = guard.tryAcquire();
+        long staleSecond = guard.tryAcquire();
+        assertThat(staleFirst).isNotEqualTo(ExternalServiceGuard.REJECTED);
+        assertThat(staleSecond).isNotEqualTo(ExternalServiceGuard.REJECTED);
+        circuitBreaker.onFailure(staleFirst);
+        circuitBreaker.onFailure(staleFirst);
+        circuitBreaker.onFailure(staleFirst);
+        circuitBreaker.onFailure(staleFirst);
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.OPEN);
+        clock.addAndGet(1_000_000_000L);
+        long probe = circuitBreaker.acquirePermission();
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.HALF_OPEN);
+
+        // Calls sent before the breaker opened complete successfully while it is half-open
+        guard.release(staleFirst, false);
+        guard.release(staleSecond, false);
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.HALF_OPEN);
+
+        circuitBreaker.onSuccess(probe);
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.onSuccess(circuitBreaker.acquirePermission());
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldRejectWhenBulkheadIsFull() {
+        long first = guard.tryAcquire();
+        long second = guard.tryAcquire();
+        assertThat(first).isNotEqualTo(ExternalServiceGuard.REJECTED);
+        assertThat(second).isNotEqualTo(ExternalServiceGuard.REJECTED);
+
+        assertThatThrownBy(() -> guard.execute(() -> "never"))
+                .isInstanceOf(ExternalServiceUnavailableException.class)
+                .hasMessageContaining("bulkhead full");
+        assertThat(meterRegistry.get("external_service.bulkhead.rejections").counter().count()).isEqualTo(1.0);
+
+        guard.release(first, false);
+        assertThat(guard.execute(() -> "ok")).isEqualTo("ok");
+        guard.release(second, false);
+        assertThat(guard.getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldClassifyFailures() {
+        assertThat(ExternalServiceGuard.isFailure(new ResourceAccessException("timeout"))).isTrue();
+        assertThat(ExternalServiceGuard.isFailure(
+                HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null))).isTrue();
+        assertThat(ExternalServiceGuard.isFailure(
+                HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))).isFalse();
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(SlidingWindowCircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        guard.execute(() -> "ok");
+    }
+
+    private void fail() {
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw new ResourceAccessException("connection refused");
+        })).isInstanceOf(ResourceAccessException.class);
+    }
+}
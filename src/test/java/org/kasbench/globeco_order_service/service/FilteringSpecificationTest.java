@@ -4,10 +4,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.jpa.domain.Specification;
 import org.kasbench.globeco_order_service.entity.Order;
 
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class FilteringSpecificationTest {
 
@@ -94,6 +103,27 @@ class FilteringSpecificationTest {
         assertNotNull(spec);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void createFilterSpecification_TimestampRange_BoundsPartitionKey() {
+        // Given
+        Map<String, String> filterParams = new HashMap<>();
+        filterParams.put("orderTimestamp.from", "2024-06-01T00:00:00Z");
+        filterParams.put("orderTimestamp.to", "2024-07-01T00:00:00Z");
+        Root<Order> root = mock(Root.class);
+        Path<OffsetDateTime> orderTimestamp = mock(Path.class);
+        when(root.<OffsetDateTime>get("orderTimestamp")).thenReturn(orderTimestamp);
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class, RETURNS_MOCKS);
+
+        // When
+        Specification<Order> spec = FilteringSpecification.createFilterSpecification(filterParams);
+        spec.toPredicate(root, mock(CriteriaQuery.class), criteriaBuilder);
+
+        // Then - inclusive lower bound, exclusive upper bound on the partition key
+        verify(criteriaBuilder).greaterThanOrEqualTo(orderTimestamp, OffsetDateTime.parse("2024-06-01T00:00:00Z"));
+        verify(criteriaBuilder).lessThan(orderTimestamp, OffsetDateTime.parse("2024-07-01T00:00:00Z"));
+    }
+
     @Test
     void createFilterSpecification_InvalidTimestampFormat() {
         // Given
@@ -213,7 +243,9 @@ class FilteringSpecificationTest {
         assertTrue(validFields.contains("status.abbreviation"));
         assertTrue(validFields.contains("orderType.abbreviation"));
         assertTrue(validFields.contains("orderTimestamp"));
-        assertEquals(6, validFields.size());
+        assertTrue(validFields.contains("orderTimestamp.from"));
+        assertTrue(validFields.contains("orderTimestamp.to"));
+        assertEquals(8, validFields.size());
     }
 
     @Test
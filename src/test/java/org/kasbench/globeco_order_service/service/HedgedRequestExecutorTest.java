@@ -0,0 +1,237 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HedgedRequestExecutorTest {
+
+    private MeterRegistry meterRegistry;
+    private HedgedRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldNotHedgeFastCalls() {
+        executor = new HedgedRequestExecutor("test-service", true, 100, 200, 1000, 10, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("external_service.hedge.sent")).isZero();
+        assertThat(count("external_service.hedge.requests")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReturnHedgeResultWhenPrimaryIsSlow() {
+        executor = new HedgedRequestExecutor("test-service", true, 100, 20, 1000, 10, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                await(release);
+                return "primary";
+            }
+            return "hedge";
+        });
+        release.countDown();
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(count("external_service.hedge.sent")).isEqualTo(1.0);
+        assertThat(count("external_service.hedge.wins")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRunPrimaryOnCallingThreadAndOnlyHedgeOnExecutor() {
+        executor = new HedgedRequestExecutor("test-service", true, 100, 20, 1000, 10, meterRegistry);
+        String callerThread = Thread.currentThread().getName();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<String> primaryThread = new AtomicReference<>();
+        AtomicReference<String> hedgeThread = new AtomicReference<>();
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                primaryThread.set(Thread.currentThread().getName());
+                sleep(200);
+                return "primary";
+            }
+            hedgeThread.set(Thread.currentThread().getName());
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(primaryThread.get()).isEqualTo(callerThread);
+        assertThat(hedgeThread.get()).startsWith("test-service-hedge-");
+        assertThat(Thread.currentThread().isInterrupted()).isFalse();
+    }
+
+    @Test
+    void shouldUseHedgeWhenPrimaryFailsAfterHedgeWasSent() {
+        executor = new HedgedRequestExecutor("test-service", true, 100, 20, 1000, 10, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch hedgeStarted = new CountDownLatch(1);
+
+        String result = executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                await(hedgeStarted);
+                throw new IllegalStateException("primary failed");
+            }
+            hedgeStarted.countDown();
+            sleep(50);
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(count("external_service.hedge.wins")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldNotHedgeWhenBudgetIsSpent() {
+        executor = new HedgedRequestExecutor("test-service", true, 0, 20, 1000, 10, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            calls.incrementAndGet();
+            sleep(80);
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("external_service.hedge.sent")).isZero();
+        assertThat(count("external_service.hedge.budget_exhausted")).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldSkipHedgeWhenBulkheadIsFull() {
+        ExternalServiceGuard guard = guard(1);
+        executor = new HedgedRequestExecutor("test-service", true, 100, 20, 1000, 10, guard, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = guard.execute(() -> executor.execute(() -> {
+            calls.incrementAndGet();
+            sleep(80);
+            return "primary";
+        }));
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(count("external_service.hedge.bulkhead_full")).isEqualTo(1.0);
+        assertThat(guard.getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldHoldOwnBulkheadSlotWhileHedgeRuns() {
+        ExternalServiceGuard guard = guard(2);
+        executor = new HedgedRequestExecutor("test-service", true, 100, 20, 1000, 10, guard, meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger slotsFreeDuringHedge = new AtomicInteger(-1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        String result = guard.execute(() -> executor.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                await(release);
+                return "primary";
+            }
+            slotsFreeDuringHedge.set(guard.getAvailableConcurrentCalls());
+            return "hedge";
+        }));
+        release.countDown();
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(slotsFreeDuringHedge.get()).isZero();
+        long deadline = System.currentTimeMillis() + 1000;
+        while (guard.getAvailableConcurrentCalls() < 2 && System.currentTimeMillis() < deadline) {
+            sleep(5);
+        }
+        assertThat(guard.getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRethrowOriginalRuntimeException() {
+        executor = new HedgedRequestExecutor("test-service", true, 100, 200, 1000, 10, meterRegistry);
+
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        })).isInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    void shouldRunInlineWhenDisabled() {
+        executor = new HedgedRequestExecutor("test-service", false, 100, 20, 1000, 10, meterRegistry);
+        String callerThread = Thread.currentThread().getName();
+
+        String executedOn = executor.execute(() -> Thread.currentThread().getName());
+
+        assertThat(executedOn).isEqualTo(callerThread);
+        assertThat(count("external_service.hedge.requests")).isZero();
+    }
+
+    @Test
+    void shouldTrackP95AsHedgeDelay() {
+        executor = new HedgedRequestExecutor("test-service", true, 0, 1, 1000, 10, meterRegistry);
+
+        for (int i = 0; i < 64; i++) {
+            executor.execute(() -> {
+                sleep(5);
+                return "ok";
+            });
+        }
+
+        assertThat(executor.getHedgeDelayMs()).isBetween(5L, 1000L);
+    }
+
+    private ExternalServiceGuard guard(int maxConcurrentCalls) {
+        SlidingWindowCircuitBreaker circuitBreaker = new SlidingWindowCircuitBreaker(
+                "test-service", 10, 4, 50, 1000, 2);
+        return new ExternalServiceGuard("test-service", maxConcurrentCalls, 0, circuitBreaker, new SimpleMeterRegistry());
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("service", "test-service").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.config.MetricsProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpRequestMeterTableTest {
+
+    private MeterRegistry meterRegistry;
+    private HttpRequestMeterTable table;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        table = new HttpRequestMeterTable(meterRegistry,
+                List.of("/api/v1/orders", "/api/v1/order/{id}", "/api/v1/orders/batch/submit"),
+                RoutePatternSanitizer::sanitize);
+    }
+
+    @Test
+    void shouldResolveRegisteredPatternsOnly() {
+        assertThat(table.routeId("/api/v1/orders")).isGreaterThanOrEqualTo(0);
+        assertThat(table.routeId("/api/v1/order/{id}")).isGreaterThanOrEqualTo(0);
+        assertThat(table.routeId("/api/v1/unmapped")).isEqualTo(-1);
+        assertThat(table.routeId(null)).isEqualTo(-1);
+        assertThat(table.getRouteCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldMatchRawPathsToTemplatesOrUnknown() {
+        assertThat(table.matchPath("/api/v1/order/42", 0)).isEqualTo(table.routeId("/api/v1/order/{id}"));
+        assertThat(table.routePath(table.matchPath("/api/v1/order/42/junk", 0))).isEqualTo("/unknown");
+        assertThat(table.routePath(table.matchPath("/wp-admin/login.php?x=1", 0))).isEqualTo("/unknown");
+    }
+
+    @Test
+    void shouldResolveMethodIndexes() {
+        assertThat(HttpRequestMeterTable.methodName(HttpRequestMeterTable.methodIndex("GET"))).isEqualTo("GET");
+        assertThat(HttpRequestMeterTable.methodName(HttpRequestMeterTable.methodIndex("post"))).isEqualTo("POST");
+        assertThat(HttpRequestMeterTable.methodName(HttpRequestMeterTable.methodIndex(null))).isEqualTo("UNKNOWN");
+    }
+
+    @Test
+    void shouldRecordWithSameTagsAsCachedPath() {
+        int routeId = table.routeId("/api/v1/order/{id}");
+        int get = HttpRequestMeterTable.methodIndex("GET");
+
+        table.record(routeId, get, 200, 1_000_000L);
+        table.record(routeId, get, 200, 3_000_000L);
+        table.record(routeId, get, 404, 500_000L);
+
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "GET").tag("path", "/api/v1/order/{id}").tag("status", "200")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("http_request_duration")
+                .tag("method", "GET").tag("path", "/api/v1/order/{id}").tag("status", "200")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(4.0);
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("status", "404").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldRecordInvalidStatusAsUnknown() {
+        int routeId = table.routeId("/api/v1/orders");
+
+        table.record(routeId, HttpRequestMeterTable.methodIndex("POST"), 1000, 1_000L);
+        table.record(routeId, HttpRequestMeterTable.methodIndex("POST"), -1, 1_000L);
+
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "POST").tag("status", "unknown").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldReuseMetersForRepeatedRequests() {
+        int routeId = table.routeId("/api/v1/orders");
+        int get = HttpRequestMeterTable.methodIndex("GET");
+
+        assertThat(table.meters(routeId, get, 200)).isSameAs(table.meters(routeId, get, 200));
+        assertThat(table.meters(routeId, get, 200)).isNotSameAs(table.meters(routeId, get, 201));
+    }
+
+    @Test
+    void shouldRouteResolvedRequestsThroughMetricsService() {
+        HttpRequestMetricsService metricsService = new HttpRequestMetricsService(meterRegistry, createMetricsProperties());
+        metricsService.initializeRouteTable(List.of("/api/v1/orders"));
+        HttpRequestMeterTable serviceTable = metricsService.getMeterTable();
+
+        RequestTimingContext context = new RequestTimingContext(serviceTable, serviceTable.routeId("/api/v1/orders"),
+                HttpRequestMeterTable.methodIndex("GET"), metricsService);
+        assertThat(metricsService.getInFlightRequests()).isEqualTo(1);
+        context.complete(200);
+
+        assertThat(metricsService.getInFlightRequests()).isZero();
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "GET").tag("path", "/api/v1/orders").tag("status", "200")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(metricsService.getCacheStatistics()).contains("Counters: 0");
+    }
+
+    @Test
+    void shouldHandOverReusedContextWhenRequestGoesAsync() {
+        HttpRequestMetricsService metricsService = new HttpRequestMetricsService(meterRegistry, createMetricsProperties());
+        metricsService.initializeRouteTable(List.of("/api/v1/orders/{id}/submit", "/api/v1/orders"));
+        HttpRequestMetricsInterceptor interceptor = new HttpRequestMetricsInterceptor(metricsService, createMetricsProperties());
+        MockHttpServletRequest asyncRequest = new MockHttpServletRequest("POST", "/api/v1/orders/5/submit");
+        MockHttpServletResponse asyncResponse = new MockHttpServletResponse();
+
+        interceptor.preHandle(asyncRequest, asyncResponse, new Object());
+        interceptor.afterConcurrentHandlingStarted(asyncRequest, asyncResponse, new Object());
+
+        // The servlet thread serves another request while the first is still in flight
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object());
+        assertThat(metricsService.getInFlightRequests()).isEqualTo(2);
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object(), null);
+        assertThat(metricsService.getInFlightRequests()).isEqualTo(1);
+
+        asyncResponse.setStatus(201);
+        interceptor.preHandle(asyncRequest, asyncResponse, new Object());
+        interceptor.afterCompletion(asyncRequest, asyncResponse, new Object(), null);
+
+        assertThat(metricsService.getInFlightRequests()).isZero();
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "POST").tag("path", "/api/v1/orders/{id}/submit").tag("status", "201")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "GET").tag("path", "/api/v1/orders").tag("status", "200")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldReuseOneTimingContextPerThread() {
+        HttpRequestMetricsService metricsService = new HttpRequestMetricsService(meterRegistry, createMetricsProperties());
+        metricsService.initializeRouteTable(List.of("/api/v1/orders"));
+        HttpRequestMetricsInterceptor interceptor = new HttpRequestMetricsInterceptor(metricsService, createMetricsProperties());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object());
+        RequestTimingContext first = HttpRequestMetricsInterceptor.getCurrentContext();
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object(), null);
+        assertThat(HttpRequestMetricsInterceptor.getCurrentContext()).isNull();
+
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object());
+        RequestTimingContext second = HttpRequestMetricsInterceptor.getCurrentContext();
+        interceptor.afterCompletion(new MockHttpServletRequest("GET", "/api/v1/orders"), response, new Object(), null);
+
+        assertThat(second).isSameAs(first);
+        assertThat(metricsService.getInFlightRequests()).isZero();
+        assertThat(meterRegistry.get("http_requests_total")
+                .tag("method", "GET").tag("path", "/api/v1/orders").tag("status", "200")
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    private MetricsProperties createMetricsProperties() {
+        MetricsProperties properties = new MetricsProperties();
+        properties.setEnabled(true);
+        properties.getHttp().setEnabled(true);
+        properties.getHttp().getRequest().setEnabled(true);
+        return properties;
+    }
+}
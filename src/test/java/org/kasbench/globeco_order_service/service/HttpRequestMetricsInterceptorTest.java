@@ -262,6 +262,37 @@ class HttpRequestMetricsInterceptorTest {
         assertThat(HttpRequestMetricsInterceptor.getCurrentContext()).isNull();
     }
 
+    @Test
+    void asyncRequest_ShouldBeRecordedOnceWhenAsyncDispatchCompletes() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/orders/5/submit");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/orders/{id}/submit");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When - the handler returns a future and the servlet thread is released
+        interceptor.preHandle(request, response, handlerMethod);
+        RequestTimingContext started = HttpRequestMetricsInterceptor.getCurrentContext();
+        interceptor.afterConcurrentHandlingStarted(request, response, handlerMethod);
+
+        // Then - nothing is recorded yet and the thread carries no context
+        assertThat(HttpRequestMetricsInterceptor.getCurrentContext()).isNull();
+        verify(metricsService, never()).recordRequest(anyString(), anyString(), anyInt(), anyLong());
+        verify(metricsService, never()).decrementInFlightRequests();
+
+        // When - the async dispatch writes the response
+        response.setStatus(400);
+        interceptor.preHandle(request, response, handlerMethod);
+        assertThat(HttpRequestMetricsInterceptor.getCurrentContext()).isSameAs(started);
+        interceptor.afterCompletion(request, response, handlerMethod, null);
+
+        // Then - recorded once, against the first dispatch's start
+        verify(metricsService, times(1)).incrementInFlightRequests();
+        verify(metricsService, times(1)).recordRequest(eq("POST"), eq("/api/v1/orders/{id}/submit"), eq(400), anyLong());
+        verify(metricsService, times(1)).decrementInFlightRequests();
+        assertThat(request.getAttribute(HttpRequestMetricsInterceptor.ASYNC_CONTEXT_ATTRIBUTE)).isNull();
+        assertThat(HttpRequestMetricsInterceptor.getCurrentContext()).isNull();
+    }
+
     @Test
     void multipleRequests_ShouldHandleThreadLocalCorrectly() {
         // Given
@@ -0,0 +1,35 @@
+package org.kasbench.globeco_order_service.service;
+
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrProfilingServiceTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+    private static final Instant SINCE = NOW.minusSeconds(300);
+
+    @Test
+    void runningOnDemandRecordingIsPreferred() {
+        assertThat(JfrProfilingService.preferOnDemand(RecordingState.RUNNING, NOW.minusSeconds(30), null, SINCE, NOW))
+                .isTrue();
+    }
+
+    @Test
+    void finishedOnDemandRecordingYieldsToContinuousRecording() {
+        assertThat(JfrProfilingService.preferOnDemand(RecordingState.STOPPED,
+                NOW.minusSeconds(3600), NOW.minusSeconds(3000), SINCE, NOW)).isFalse();
+        assertThat(JfrProfilingService.preferOnDemand(RecordingState.STOPPED,
+                NOW.minusSeconds(120), NOW.minusSeconds(1), SINCE, NOW)).isFalse();
+        assertThat(JfrProfilingService.preferOnDemand(RecordingState.CLOSED, null, null, SINCE, NOW)).isFalse();
+    }
+
+    @Test
+    void onDemandRecordingCoveringTheWholeWindowIsPreferred() {
+        assertThat(JfrProfilingService.preferOnDemand(RecordingState.STOPPED, SINCE.minusSeconds(1), NOW, SINCE, NOW))
+                .isTrue();
+    }
+}
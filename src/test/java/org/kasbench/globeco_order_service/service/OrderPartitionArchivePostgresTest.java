@@ -0,0 +1,185 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.integration.MigratedPostgres;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the partition migrations and the archive job against PostgreSQL: concurrent
+ * detach, the batched move of live orders into the retained partition, attaching to
+ * order_archive, dropping the retained partition once it is empty, and trade order
+ * uniqueness across partitions and the archive.
+ *
+ * Each test works in its own future months, which the job treats as the current month.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderPartitionArchivePostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = MigratedPostgres.container();
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderPartitionMaintenanceService service;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedPostgres.migrate(POSTGRES, 4);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // One month retained, nothing premade, two orders per move so the batches loop
+        service = new OrderPartitionMaintenanceService(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry(), 0, 1, List.of("FULL", "CNCLD", "CPART", "DEL"), 2);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    @Test
+    void migrationReplacesDefaultPartitionAndRegistersTradeOrdersGlobally() {
+        assertThat(partitionsOf("order")).doesNotContain("order_default").contains("order_before");
+
+        int sent = MigratedPostgres.statusId(jdbcTemplate, "SENT");
+        List<Integer> ids = MigratedPostgres.insertNewOrders(jdbcTemplate, 2, "now");
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ?, trade_order_id = 90001 WHERE id = ?", sent, ids.get(0));
+        // Updating other columns of the same order keeps its registration
+        jdbcTemplate.update("UPDATE \"order\" SET trade_order_id = 90001, version = version + 1 WHERE id = ?", ids.get(0));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT order_id FROM order_trade_order WHERE trade_order_id = 90001", Integer.class))
+                .isEqualTo(ids.get(0));
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "UPDATE \"order\" SET trade_order_id = 90001 WHERE id = ?", ids.get(1)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    @Test
+    void archivesMonthAndKeepsLiveOrdersVisible() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(6);
+        service.createUpcomingPartitions(month);
+        Orders orders = insertMix(month, 91000);
+
+        service.archiveExpiredPartitions(month.plusMonths(1));
+
+        assertArchived(month, orders);
+    }
+
+    @Test
+    void finishesMonthLeftDetachedByAnEarlierPass() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(9);
+        service.createUpcomingPartitions(month);
+        Orders orders = insertMix(month, 92000);
+        jdbcTemplate.execute("ALTER TABLE \"order\" DETACH PARTITION " + OrderPartitionMaintenanceService.partitionName(month));
+
+        // The month is no longer a partition of "order"; the job finds it detached and resumes
+        service.archiveExpiredPartitions(month);
+
+        assertArchived(month, orders);
+    }
+
+    @Test
+    void sweepsOrdersThatBecomeArchivableAfterTheirMonthWasArchived() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(12);
+        service.createUpcomingPartitions(month);
+        Orders orders = insertMix(month, 93000);
+        service.archiveExpiredPartitions(month.plusMonths(1));
+
+        // An order dated in the archived month can still be created
+        List<Integer> late = MigratedPostgres.insertNewOrders(jdbcTemplate, 1, firstDay(month));
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ? WHERE id IN (?, ?)",
+                MigratedPostgres.statusId(jdbcTemplate, "FULL"), orders.live().get(0), late.get(0));
+
+        assertThat(service.sweepRetainedPartitions()).isGreaterThanOrEqualTo(2);
+
+        assertThat(idsIn("order_archive", month)).contains(orders.live().get(0), late.get(0));
+        assertThat(idsIn("\"order\"", month)).containsExactly(orders.live().get(1));
+    }
+
+    @Test
+    void dropsRetainedPartitionOnceItsLastOrderIsArchived() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(15);
+        service.createUpcomingPartitions(month);
+        Orders orders = insertMix(month, 94000);
+        service.archiveExpiredPartitions(month.plusMonths(1));
+        String retained = OrderPartitionMaintenanceService.retainedPartitionName(month);
+
+        // A live order keeps the partition
+        assertThat(service.dropEmptyRetainedPartitions()).isZero();
+        assertThat(partitionsOf("order")).contains(retained);
+
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ? WHERE id IN (?, ?)",
+                MigratedPostgres.statusId(jdbcTemplate, "FULL"), orders.live().get(0), orders.live().get(1));
+        service.sweepRetainedPartitions();
+
+        assertThat(service.dropEmptyRetainedPartitions()).isEqualTo(1);
+        assertThat(partitionsOf("order")).doesNotContain(retained);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class, retained)).isNull();
+        assertThat(idsIn("order_archive", month)).containsAll(orders.live());
+    }
+
+    private Orders insertMix(YearMonth month, int tradeOrderBase) {
+        List<Integer> ids = MigratedPostgres.insertNewOrders(jdbcTemplate, 5, firstDay(month));
+        int full = MigratedPostgres.statusId(jdbcTemplate, "FULL");
+        int sent = MigratedPostgres.statusId(jdbcTemplate, "SENT");
+        // Archivable: filled, filled, and sent to the trade service
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ? WHERE id IN (?, ?)", full, ids.get(0), ids.get(1));
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ?, trade_order_id = ? WHERE id = ?",
+                sent, tradeOrderBase, ids.get(2));
+        // Live: reserved without a trade order ID, and NEW
+        jdbcTemplate.update("UPDATE \"order\" SET status_id = ? WHERE id = ?", sent, ids.get(3));
+        return new Orders(List.of(ids.get(0), ids.get(1), ids.get(2)), List.of(ids.get(3), ids.get(4)), tradeOrderBase);
+    }
+
+    private void assertArchived(YearMonth month, Orders orders) {
+        String partition = OrderPartitionMaintenanceService.partitionName(month);
+        String retained = OrderPartitionMaintenanceService.retainedPartitionName(month);
+
+        assertThat(partitionsOf("order_archive")).contains(partition);
+        assertThat(partitionsOf("order")).contains(retained).doesNotContain(partition);
+        assertThat(idsIn("order_archive", month)).containsExactlyInAnyOrderElementsOf(orders.archivable());
+        assertThat(idsIn("\"order\"", month)).containsExactlyInAnyOrderElementsOf(orders.live());
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT tableoid::regclass::text FROM \"order\" WHERE id IN (?, ?)",
+                String.class, orders.live().get(0), orders.live().get(1))).containsExactly(retained);
+
+        // The archived order keeps its trade order ID
+        List<Integer> reuse = MigratedPostgres.insertNewOrders(jdbcTemplate, 1, "now");
+        assertThatThrownBy(() -> jdbcTemplate.update("UPDATE \"order\" SET trade_order_id = ? WHERE id = ?",
+                orders.tradeOrderId(), reuse.get(0)))
+                .isInstanceOf(DuplicateKeyException.class);
+    }
+
+    private List<String> partitionsOf(String table) {
+        return jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = ?::regclass AND NOT i.inhdetachpending", String.class,
+                "order".equals(table) ? "\"order\"" : table);
+    }
+
+    private List<Integer> idsIn(String table, YearMonth month) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE order_timestamp >= ?::timestamptz "
+                + "AND order_timestamp < ?::timestamptz", Integer.class, firstDay(month), firstDay(month.plusMonths(1)));
+    }
+
+    private static String firstDay(YearMonth month) {
+        return month.atDay(1) + " 12:00:00+00";
+    }
+
+    private record Orders(List<Integer> archivable, List<Integer> live, int tradeOrderId) {
+    }
+}
@@ -0,0 +1,182 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderPartitionMaintenanceServiceTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2024, 6);
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderPartitionMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(jdbcTemplate.queryForObject(OrderPartitionMaintenanceService.LOCK_SQL, Boolean.class,
+                OrderPartitionMaintenanceService.ADVISORY_LOCK_KEY)).thenReturn(true);
+
+        service = new OrderPartitionMaintenanceService(jdbcTemplate, new TransactionTemplate(transactionManager),
+                meterRegistry, Clock.fixed(Instant.parse("2024-06-15T12:00:00Z"), ZoneOffset.UTC), 2, 3,
+                List.of("FULL", "CNCLD", "CPART", "DEL"), 1000);
+    }
+
+    @Test
+    void createsMissingMonthsThroughPremakeWindow() {
+        partitions("order_before", "order_p2024_06");
+
+        assertThat(service.createUpcomingPartitions(CURRENT)).isEqualTo(2);
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS order_p2024_07 PARTITION OF \"order\" "
+                + "FOR VALUES FROM ('2024-07-01 00:00:00+00') TO ('2024-08-01 00:00:00+00')");
+        verify(jdbcTemplate).execute(OrderPartitionMaintenanceService.createPartitionSql(YearMonth.of(2024, 8)));
+        verify(jdbcTemplate).execute(OrderPartitionMaintenanceService.NO_STATEMENT_TIMEOUT_SQL);
+        assertThat(meterRegistry.get("order.partitions.created").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void skipsWorkWhenAnotherReplicaHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(OrderPartitionMaintenanceService.LOCK_SQL, Boolean.class,
+                OrderPartitionMaintenanceService.ADVISORY_LOCK_KEY)).thenReturn(false);
+
+        assertThat(service.createUpcomingPartitions(CURRENT)).isZero();
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void archivesOnlyMonthsBeforeRetentionWindowAndResumesDetachedMonths() {
+        partitions("order_before", "order_r2024_01", "order_p2024_02", "order_p2024_03", "order_p2024_04",
+                "order_p2024_05", "order_p2024_06");
+        when(jdbcTemplate.queryForList(OrderPartitionMaintenanceService.LIST_DETACHED_SQL, String.class))
+                .thenReturn(List.of("order_p2023_12"));
+        OrderPartitionMaintenanceService archiving = spy(service);
+        doReturn(true).when(archiving).archivePartition(any());
+
+        assertThat(archiving.archiveExpiredPartitions(CURRENT)).isEqualTo(3);
+
+        verify(archiving).archivePartition(YearMonth.of(2023, 12));
+        verify(archiving).archivePartition(YearMonth.of(2024, 2));
+        verify(archiving).archivePartition(YearMonth.of(2024, 3));
+        verify(archiving, never()).archivePartition(YearMonth.of(2024, 4));
+        verify(archiving, never()).archivePartition(YearMonth.of(2024, 1));
+        assertThat(meterRegistry.get("order.partitions.archived").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void archiveDetachesConcurrentlyAndMovesOnlyLiveOrdersBack() {
+        YearMonth month = YearMonth.of(2024, 1);
+        String archivable = "(status_id IN (SELECT id FROM status WHERE abbreviation IN ('FULL', 'CNCLD', 'CPART', 'DEL')) "
+                + "OR (trade_order_id IS NOT NULL AND status_id IN (SELECT id FROM status WHERE abbreviation = 'SENT')))";
+
+        assertThat(OrderPartitionMaintenanceService.detachPartitionSql(month, false))
+                .isEqualTo("ALTER TABLE \"order\" DETACH PARTITION order_p2024_01 CONCURRENTLY");
+        assertThat(OrderPartitionMaintenanceService.detachPartitionSql(month, true))
+                .isEqualTo("ALTER TABLE \"order\" DETACH PARTITION order_p2024_01 FINALIZE");
+        assertThat(OrderPartitionMaintenanceService.createRetainedPartitionSql(month))
+                .isEqualTo("CREATE TABLE IF NOT EXISTS order_r2024_01 PARTITION OF \"order\" "
+                        + "FOR VALUES FROM ('2024-01-01 00:00:00+00') TO ('2024-02-01 00:00:00+00')");
+        assertThat(service.moveLiveOrdersSql(month)).isEqualTo(
+                "WITH moved AS (DELETE FROM order_p2024_01 WHERE id IN (SELECT id FROM order_p2024_01 WHERE NOT "
+                        + archivable + " LIMIT ?) RETURNING *) INSERT INTO \"order\" SELECT * FROM moved");
+        assertThat(OrderPartitionMaintenanceService.attachToArchiveSql(month))
+                .isEqualTo("ALTER TABLE order_archive ATTACH PARTITION order_p2024_01 "
+                        + "FOR VALUES FROM ('2024-01-01 00:00:00+00') TO ('2024-02-01 00:00:00+00')");
+    }
+
+    @Test
+    void sweepMovesArchivableOrdersOfRetainedPartitionsInBatches() {
+        partitions("order_before", "order_r2024_01", "order_p2024_06");
+        String sweep = service.sweepRetainedSql(YearMonth.of(2024, 1));
+        when(jdbcTemplate.update(sweep, 1000)).thenReturn(1000, 5, 0);
+
+        assertThat(service.sweepRetainedPartitions()).isEqualTo(1005);
+
+        assertThat(sweep).startsWith("WITH moved AS (DELETE FROM order_r2024_01 WHERE id IN (SELECT id FROM order_r2024_01 WHERE (")
+                .endsWith("LIMIT ?) RETURNING *) INSERT INTO order_archive SELECT * FROM moved");
+    }
+
+    @Test
+    void dropsOnlyEmptyRetainedPartitionsAndResumesDetachedOnes() {
+        partitions("order_before", "order_r2024_01", "order_r2024_02", "order_p2024_06");
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM order_r2024_01)", Boolean.class)).thenReturn(false);
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM order_r2024_02)", Boolean.class)).thenReturn(true);
+        when(jdbcTemplate.queryForList(OrderPartitionMaintenanceService.LIST_DETACHED_RETAINED_SQL, String.class))
+                .thenReturn(List.of("order_r2023_12"));
+        OrderPartitionMaintenanceService dropping = spy(service);
+        doReturn(true).when(dropping).dropRetainedPartition(any());
+
+        assertThat(dropping.dropEmptyRetainedPartitions()).isEqualTo(2);
+
+        verify(dropping).dropRetainedPartition(YearMonth.of(2023, 12));
+        verify(dropping).dropRetainedPartition(YearMonth.of(2024, 1));
+        verify(dropping, never()).dropRetainedPartition(YearMonth.of(2024, 2));
+        assertThat(meterRegistry.get("order.partitions.retained_dropped").counter().count()).isEqualTo(2.0);
+        assertThat(OrderPartitionMaintenanceService.detachRetainedPartitionSql(YearMonth.of(2024, 1), false))
+                .isEqualTo("ALTER TABLE \"order\" DETACH PARTITION order_r2024_01 CONCURRENTLY");
+        assertThat(OrderPartitionMaintenanceService.reattachRetainedPartitionSql(YearMonth.of(2024, 1)))
+                .isEqualTo("ALTER TABLE \"order\" ATTACH PARTITION order_r2024_01 "
+                        + "FOR VALUES FROM ('2024-01-01 00:00:00+00') TO ('2024-02-01 00:00:00+00')");
+    }
+
+    @Test
+    void acceptsOrderTimestampsFromOldestRetainedMonthUntilLastPremadeMonth() {
+        // Retention 3 keeps April through June; premake 2 guarantees July, August may not exist yet
+        assertThat(service.orderTimestampError(OffsetDateTime.parse("2024-04-01T00:00:00Z"))).isNull();
+        assertThat(service.orderTimestampError(OffsetDateTime.parse("2024-07-31T23:59:59Z"))).isNull();
+        assertThat(service.orderTimestampError(null)).isNull();
+
+        assertThat(service.orderTimestampError(OffsetDateTime.parse("2024-03-31T23:59:59Z")))
+                .isEqualTo("Order timestamp must be at or after 2024-04-01T00:00Z and before 2024-08-01T00:00Z");
+        assertThat(service.orderTimestampError(OffsetDateTime.parse("2024-08-01T00:00:00Z"))).isNotNull();
+        // Offsets are compared as instants
+        assertThat(service.orderTimestampError(OffsetDateTime.parse("2024-04-01T01:00:00+02:00"))).isNotNull();
+    }
+
+    @Test
+    void partitionMonthIgnoresPartitionsNotNamedByTheJob() {
+        assertThat(OrderPartitionMaintenanceService.partitionMonth("order_p2023_12")).isEqualTo(YearMonth.of(2023, 12));
+        assertThat(OrderPartitionMaintenanceService.partitionMonth("order_before")).isNull();
+        assertThat(OrderPartitionMaintenanceService.partitionMonth("order_r2023_12")).isNull();
+        assertThat(OrderPartitionMaintenanceService.retainedMonth("order_r2023_12")).isEqualTo(YearMonth.of(2023, 12));
+        assertThat(OrderPartitionMaintenanceService.partitionName(YearMonth.of(2025, 1))).isEqualTo("order_p2025_01");
+    }
+
+    @Test
+    void rejectsTerminalStatusesThatAreNotPlainAbbreviations() {
+        assertThatThrownBy(() -> new OrderPartitionMaintenanceService(jdbcTemplate, mock(TransactionTemplate.class),
+                meterRegistry, Clock.systemUTC(), 2, 3, List.of("FULL'); DROP TABLE status; --"), 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void partitions(String... names) {
+        when(jdbcTemplate.queryForList(OrderPartitionMaintenanceService.LIST_PARTITIONS_SQL, String.class))
+                .thenReturn(List.of(names));
+    }
+}
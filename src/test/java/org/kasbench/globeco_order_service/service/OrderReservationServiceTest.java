@@ -0,0 +1,228 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.SqlArrayValue;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class OrderReservationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private OrderReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        reservationService = new OrderReservationService(jdbcTemplate, new SimpleMeterRegistry(), 1000, 60000);
+    }
+
+    @Test
+    void reserveReturnsNullWhenGuardMatchesNoRow() {
+        when(jdbcTemplate.query(eq(OrderReservationService.RESERVE_SQL), any(RowMapper.class), eq(7)))
+                .thenReturn(List.of());
+
+        assertThat(reservationService.reserve(7)).isNull();
+    }
+
+    @Test
+    void reserveSqlOnlyMatchesUnsubmittedNewOrders() {
+        assertThat(OrderReservationService.RESERVE_SQL)
+                .contains("o.trade_order_id IS NULL")
+                .contains("cur.abbreviation = 'NEW'")
+                .contains("RETURNING");
+        assertThat(OrderReservationService.FINALIZE_SQL)
+                .contains("version = ?")
+                .endsWith("RETURNING *");
+    }
+
+    @Test
+    void finalizeUsesReservedVersionAndReturnsMappedRow() {
+        OrderReservationService.Reservation reservation = reservation();
+        Order row = Order.builder().id(7).status(Status.builder().id(2).build()).tradeOrderId(555).version(3).build();
+        when(jdbcTemplate.query(eq(OrderReservationService.FINALIZE_SQL), any(RowMapper.class),
+                eq(2), eq(555), eq(7), eq(2))).thenReturn(List.of(row));
+
+        assertThat(reservationService.finalizeSubmission(reservation, 555)).isSameAs(row);
+    }
+
+    @Test
+    void finalizeFailsWhenReservationWasLost() {
+        when(jdbcTemplate.query(eq(OrderReservationService.FINALIZE_SQL), any(RowMapper.class),
+                eq(2), eq(555), eq(7), eq(2))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> reservationService.finalizeSubmission(reservation(), 555))
+                .hasMessageContaining("Reservation of order 7 lost");
+    }
+
+    @Test
+    void countsReservedOrdersWithoutTradeOrderId() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OrderReservationService service = new OrderReservationService(jdbcTemplate, meterRegistry, 1000, 60000);
+        when(jdbcTemplate.queryForObject(OrderReservationService.COUNT_UNCONFIRMED_SQL, Long.class)).thenReturn(4L);
+
+        service.countUnconfirmed();
+
+        assertThat(meterRegistry.get("order.reservations.unconfirmed").gauge().value()).isEqualTo(4.0);
+        assertThat(OrderReservationService.COUNT_UNCONFIRMED_SQL)
+                .contains("o.trade_order_id IS NULL")
+                .contains("s.abbreviation = 'SENT'");
+    }
+
+    @Test
+    void releaseRestoresNewStatusAtReservedVersionWithBackoff() {
+        when(jdbcTemplate.update(OrderReservationService.RELEASE_SQL, 1, 1000L, 60000L, 7, 2)).thenReturn(1);
+
+        assertThat(reservationService.release(reservation())).isTrue();
+        verify(jdbcTemplate).update(OrderReservationService.RELEASE_SQL, 1, 1000L, 60000L, 7, 2);
+        assertThat(OrderReservationService.RELEASE_SQL)
+                .contains("submit_attempts = submit_attempts + 1")
+                .contains("power(2, LEAST(submit_attempts, 30))");
+    }
+
+    @Test
+    void reserveAllClaimsBatchWithOneArrayBoundStatement() {
+        assertThat(OrderReservationService.RESERVE_ALL_SQL)
+                .contains("o.id = ANY(?)")
+                .contains("FOR UPDATE OF o SKIP LOCKED")
+                .contains("cur.abbreviation = 'NEW'")
+                .contains("RETURNING");
+        when(jdbcTemplate.query(eq(OrderReservationService.RESERVE_ALL_SQL), any(RowMapper.class),
+                any(SqlArrayValue.class))).thenReturn(List.of(reservation(9), reservation(7)));
+
+        List<OrderReservationService.Reservation> reserved = reservationService.reserveAll(List.of(7, 8, 9));
+
+        assertThat(reserved).extracting(r -> r.getOrder().getId()).containsExactly(7, 9);
+    }
+
+    @Test
+    void reserveAllSkipsQueryForEmptyBatch() {
+        assertThat(reservationService.reserveAll(List.of())).isEmpty();
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void reserveNextClaimsOldestUnlockedNewOrdersOutsideBackoff() {
+        assertThat(OrderReservationService.RESERVE_NEXT_SQL)
+                .contains("ORDER BY o.id LIMIT ? FOR UPDATE OF o SKIP LOCKED")
+                .contains("o.trade_order_id IS NULL")
+                .contains("o.submit_not_before IS NULL OR o.submit_not_before <= now()")
+                .doesNotContain("ANY(?)");
+        when(jdbcTemplate.query(eq(OrderReservationService.RESERVE_NEXT_SQL), any(RowMapper.class), eq(50)))
+                .thenReturn(List.of(reservation(9), reservation(7)));
+
+        assertThat(reservationService.reserveNext(50)).extracting(r -> r.getOrder().getId()).containsExactly(7, 9);
+        assertThat(reservationService.reserveNext(0)).isEmpty();
+    }
+
+    @Test
+    void releaseAllCountsReleasedRows() {
+        when(jdbcTemplate.batchUpdate(eq(OrderReservationService.RELEASE_SQL), anyList(), eq(2),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] {{1, 0}});
+
+        assertThat(reservationService.releaseAll(List.of(reservation(7), reservation(9)))).isEqualTo(1);
+    }
+
+    @Test
+    void reservationsRecordWhenTheyWereMadeAndUnconfirmedOnesAreFoundByAge() {
+        assertThat(OrderReservationService.RESERVE_SQL).contains("reserved_at = now()");
+        assertThat(OrderReservationService.RESERVE_NEXT_SQL).contains("reserved_at = now()");
+        assertThat(OrderReservationService.FIND_UNCONFIRMED_SQL)
+                .contains("o.trade_order_id IS NULL")
+                .contains("s.abbreviation = 'SENT'")
+                .contains("o.reserved_at IS NULL OR o.reserved_at <= now() - ? * interval '1 millisecond'")
+                .contains("AS sent_status_id")
+                .contains("AS new_status_id");
+        when(jdbcTemplate.query(eq(OrderReservationService.FIND_UNCONFIRMED_SQL), any(RowMapper.class),
+                eq(300000L), eq(100))).thenReturn(List.of(reservation(7)));
+
+        assertThat(reservationService.findUnconfirmed(300000, 100)).extracting(r -> r.getOrder().getId())
+                .containsExactly(7);
+        assertThat(reservationService.findUnconfirmed(300000, 0)).isEmpty();
+    }
+
+    @Test
+    void reservationMapperCarriesBulkRequestFields() throws Exception {
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("id")).thenReturn(7);
+        when(rs.getObject("blotter_id", Integer.class)).thenReturn(3);
+        when(rs.getInt("new_status_id")).thenReturn(1);
+        when(rs.getInt("sent_status_id")).thenReturn(2);
+        when(rs.getInt("order_type_id")).thenReturn(1);
+        when(rs.getString("order_type_abbreviation")).thenReturn("BUY");
+        when(rs.getObject("order_timestamp", OffsetDateTime.class)).thenReturn(timestamp);
+        when(rs.getInt("version")).thenReturn(2);
+
+        OrderReservationService.Reservation reservation = OrderReservationService.RESERVATION_MAPPER.mapRow(rs, 0);
+
+        assertThat(reservation.getOrder().getStatus().getAbbreviation()).isEqualTo("NEW");
+        assertThat(reservation.getOrder().getBlotter().getId()).isEqualTo(3);
+        assertThat(reservation.getOrder().getOrderType().getAbbreviation()).isEqualTo("BUY");
+        assertThat(reservation.getOrder().getOrderTimestamp()).isEqualTo(timestamp);
+        assertThat(reservation.getSentStatusId()).isEqualTo(2);
+    }
+
+    @Test
+    void orderRowMapperCarriesAssociationIdsOnly() throws Exception {
+        OffsetDateTime timestamp = OffsetDateTime.now();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("id")).thenReturn(7);
+        when(rs.getObject("blotter_id", Integer.class)).thenReturn(3);
+        when(rs.getInt("status_id")).thenReturn(2);
+        when(rs.getString("portfolio_id")).thenReturn("PORT12345678901234567890");
+        when(rs.getInt("order_type_id")).thenReturn(1);
+        when(rs.getString("security_id")).thenReturn("SEC123456789012345678901");
+        when(rs.getBigDecimal("quantity")).thenReturn(new BigDecimal("100.00000000"));
+        when(rs.getBigDecimal("limit_price")).thenReturn(null);
+        when(rs.getObject("trade_order_id", Integer.class)).thenReturn(555);
+        when(rs.getObject("order_timestamp", OffsetDateTime.class)).thenReturn(timestamp);
+        when(rs.getInt("version")).thenReturn(3);
+
+        Order order = OrderReservationService.ORDER_ROW_MAPPER.mapRow(rs, 0);
+
+        assertThat(order.getBlotter().getId()).isEqualTo(3);
+        assertThat(order.getStatus().getId()).isEqualTo(2);
+        assertThat(order.getOrderType().getId()).isEqualTo(1);
+        assertThat(order.getTradeOrderId()).isEqualTo(555);
+        assertThat(order.getOrderTimestamp()).isEqualTo(timestamp);
+        assertThat(order.getVersion()).isEqualTo(3);
+    }
+
+    private static OrderReservationService.Reservation reservation() {
+        return reservation(7);
+    }
+
+    private static OrderReservationService.Reservation reservation(int orderId) {
+        Order order = Order.builder()
+                .id(orderId)
+                .status(Status.builder().id(1).abbreviation("NEW").build())
+                .portfolioId("PORT12345678901234567890")
+                .orderType(OrderType.builder().id(1).abbreviation("BUY").build())
+                .securityId("SEC123456789012345678901")
+                .quantity(new BigDecimal("100.00000000"))
+                .version(2)
+                .build();
+        return new OrderReservationService.Reservation(order, 2);
+    }
+}
@@ -0,0 +1,219 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.dto.BatchSubmitResponseDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.OrderSubmitResultDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+import org.kasbench.globeco_order_service.entity.Blotter;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.kasbench.globeco_order_service.repository.BlotterRepository;
+import org.kasbench.globeco_order_service.repository.OrderRepository;
+import org.kasbench.globeco_order_service.repository.OrderTypeRepository;
+import org.kasbench.globeco_order_service.repository.StatusRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderServiceBulkReservationTest {
+
+    private static final Status SENT = Status.builder().id(2).abbreviation("SENT").build();
+
+    private OrderReservationService reservationService;
+    private RestTemplate restTemplate;
+    private StatusRepository statusRepository;
+    private BatchUpdateService batchUpdateService;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = mock(OrderReservationService.class);
+        restTemplate = mock(RestTemplate.class);
+        statusRepository = mock(StatusRepository.class);
+        batchUpdateService = mock(BatchUpdateService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        when(statusRepository.findAll()).thenReturn(List.of(SENT));
+
+        orderService = new OrderService(
+                mock(OrderRepository.class),
+                statusRepository,
+                mock(BlotterRepository.class),
+                mock(OrderTypeRepository.class),
+                restTemplate,
+                mock(SecurityCacheService.class),
+                mock(PortfolioCacheService.class),
+                mock(PortfolioServiceClient.class),
+                mock(SecurityServiceClient.class),
+                transactionManager,
+                new SimpleMeterRegistry(),
+                mock(BulkSubmissionPerformanceMonitor.class),
+                batchUpdateService,
+                "http://test-trade-service:8082");
+        ReflectionTestUtils.setField(orderService, "orderReservationService", reservationService);
+    }
+
+    @Test
+    void reportsUnreservedOrdersAndReleasesRejectedOnes() {
+        OrderReservationService.Reservation first = reservation(1);
+        OrderReservationService.Reservation second = reservation(2);
+        when(reservationService.reserveAll(List.of(1, 2, 3))).thenReturn(List.of(first, second));
+        tradeServiceResponds(BulkTradeOrderResponseDTO.builder()
+                .status("PARTIAL").message("1 of 2").totalRequested(2).successful(1).failed(1)
+                .results(List.of(
+                        TradeOrderResultDTO.success(0, TradeOrderResponseDTO.builder().id(501).orderId(1).build()),
+                        TradeOrderResultDTO.failure(1, "Rejected by trade service")))
+                .build());
+        when(batchUpdateService.batchUpdateReservedOrderStatuses(anyList(), eq(SENT))).thenReturn(1);
+
+        BatchSubmitResponseDTO response = orderService.submitOrdersBatch(List.of(1, 2, 3));
+
+        assertThat(response.getSuccessful()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(OrderSubmitResultDTO::getMessage)
+                .element(2).asString().contains("already being submitted");
+        assertThat(response.getResults()).extracting(OrderSubmitResultDTO::getTradeOrderId)
+                .containsExactly(501, null, null);
+        verify(reservationService).releaseAll(List.of(second));
+        verify(batchUpdateService, never()).batchUpdateOrderStatuses(anyList(), any());
+    }
+
+    @Test
+    void releasesAllReservationsWhenTradeServiceCannotBeReached() {
+        List<OrderReservationService.Reservation> reserved = List.of(reservation(1), reservation(2));
+        when(reservationService.reserveAll(List.of(1, 2))).thenReturn(reserved);
+        when(restTemplate.postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class)))
+                .thenThrow(new ResourceAccessException("Connection refused", new ConnectException("Connection refused")));
+
+        BatchSubmitResponseDTO response = orderService.submitOrdersBatch(List.of(1, 2));
+
+        assertThat(response.getStatus()).isEqualTo("FAILURE");
+        verify(reservationService).releaseAll(reserved);
+        verify(batchUpdateService, never()).batchUpdateReservedOrderStatuses(anyList(), any());
+    }
+
+    @Test
+    void releasesAllReservationsWhenTradeServiceRejectsTheRequest() {
+        List<OrderReservationService.Reservation> reserved = List.of(reservation(1), reservation(2));
+        when(reservationService.reserveAll(List.of(1, 2))).thenReturn(reserved);
+        when(restTemplate.postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.UNPROCESSABLE_ENTITY));
+
+        orderService.submitOrdersBatch(List.of(1, 2));
+
+        verify(reservationService).releaseAll(reserved);
+    }
+
+    @Test
+    void keepsReservationsWhenTradeServiceOutcomeIsUnknown() {
+        List<OrderReservationService.Reservation> reserved = List.of(reservation(1), reservation(2));
+        when(reservationService.reserveAll(List.of(1, 2))).thenReturn(reserved);
+        when(restTemplate.postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class)))
+                .thenThrow(new ResourceAccessException("Read timed out", new SocketTimeoutException("Read timed out")));
+
+        BatchSubmitResponseDTO response = orderService.submitOrdersBatch(List.of(1, 2));
+
+        assertThat(response.getStatus()).isEqualTo("FAILURE");
+        verify(reservationService, never()).releaseAll(anyList());
+    }
+
+    @Test
+    void keepsReservationsWithoutAResultInTheBulkResponse() {
+        when(reservationService.reserveAll(List.of(1, 2))).thenReturn(List.of(reservation(1), reservation(2)));
+        tradeServiceResponds(BulkTradeOrderResponseDTO.builder()
+                .status("SUCCESS").message("1 of 2").totalRequested(2).successful(1).failed(0)
+                .results(List.of(
+                        TradeOrderResultDTO.success(0, TradeOrderResponseDTO.builder().id(501).orderId(1).build())))
+                .build());
+        when(batchUpdateService.batchUpdateReservedOrderStatuses(anyList(), eq(SENT))).thenReturn(1);
+
+        BatchSubmitResponseDTO response = orderService.submitOrdersBatch(List.of(1, 2));
+
+        assertThat(response.getResults()).extracting(OrderSubmitResultDTO::getMessage)
+                .element(1).asString().contains("outcome unknown");
+        verify(reservationService).releaseAll(List.of());
+    }
+
+    @Test
+    void noReservedOrdersIsValidationFailure() {
+        when(reservationService.reserveAll(List.of(1))).thenReturn(List.of());
+
+        BatchSubmitResponseDTO response = orderService.submitOrdersBatch(List.of(1));
+
+        assertThat(response.getStatus()).isEqualTo("FAILURE");
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class));
+    }
+
+    @Test
+    void queuedSubmissionClaimsNextOrdersAndReportsTradeServiceLatency() {
+        when(reservationService.reserveNext(2)).thenReturn(List.of(reservation(4), reservation(5)));
+        tradeServiceResponds(BulkTradeOrderResponseDTO.builder()
+                .status("SUCCESS").message("2 of 2").totalRequested(2).successful(2).failed(0)
+                .results(List.of(
+                        TradeOrderResultDTO.success(0, TradeOrderResponseDTO.builder().id(601).orderId(4).build()),
+                        TradeOrderResultDTO.success(1, TradeOrderResponseDTO.builder().id(602).orderId(5).build())))
+                .build());
+        when(batchUpdateService.batchUpdateReservedOrderStatuses(anyList(), eq(SENT))).thenReturn(2);
+        AtomicLong latency = new AtomicLong(-1);
+
+        BatchSubmitResponseDTO response = orderService.submitQueuedOrders(2, latency::set);
+
+        assertThat(response.getResults()).extracting(OrderSubmitResultDTO::getOrderId).containsExactly(4, 5);
+        assertThat(response.getSuccessful()).isEqualTo(2);
+        assertThat(latency.get()).isNotNegative();
+    }
+
+    @Test
+    void queuedSubmissionReturnsNullWhenNothingToClaim() {
+        when(reservationService.reserveNext(10)).thenReturn(List.of());
+
+        assertThat(orderService.submitQueuedOrders(10, null)).isNull();
+        verify(restTemplate, never()).postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class));
+    }
+
+    private void tradeServiceResponds(BulkTradeOrderResponseDTO body) {
+        when(restTemplate.postForEntity(anyString(), any(), eq(BulkTradeOrderResponseDTO.class)))
+                .thenReturn(new ResponseEntity<>(body, HttpStatus.CREATED));
+    }
+
+    private static OrderReservationService.Reservation reservation(int orderId) {
+        Order order = Order.builder()
+                .id(orderId)
+                .status(Status.builder().id(1).abbreviation("NEW").build())
+                .portfolioId("PORT12345678901234567890")
+                .orderType(OrderType.builder().id(1).abbreviation("BUY").build())
+                .securityId("SEC123456789012345678901")
+                .quantity(new BigDecimal("100.00000000"))
+                .blotter(Blotter.builder().id(1).build())
+                .orderTimestamp(OffsetDateTime.now())
+                .version(2)
+                .build();
+        return new OrderReservationService.Reservation(order, SENT.getId());
+    }
+}
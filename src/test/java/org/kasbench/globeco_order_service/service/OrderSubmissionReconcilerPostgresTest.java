@@ -0,0 +1,87 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.integration.MigratedPostgres;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reconciles orders stranded by the work queue and bulk submit paths against PostgreSQL:
+ * orders claimed in a batch whose trade service outcome was unknown are finalized if the
+ * trade service has them, and otherwise released with the backoff, after which the work
+ * queue claims them again.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderSubmissionReconcilerPostgresTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = MigratedPostgres.container();
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = MigratedPostgres.migrate(POSTGRES, 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterAll
+    static void close() {
+        dataSource.close();
+    }
+
+    @Test
+    void settlesQueuedBatchWithUnknownOutcomeAndRequeuesOrdersTheTradeServiceLacks() {
+        OrderReservationService reservations = new OrderReservationService(jdbcTemplate, new SimpleMeterRegistry(), 1000, 60000);
+        List<Integer> ids = MigratedPostgres.insertNewOrders(jdbcTemplate, 2, "now");
+        assertThat(reservations.reserveNext(10)).extracting(r -> r.getOrder().getId()).containsExactlyElementsOf(ids);
+        // Freshly reserved orders may still be in flight and are left alone
+        assertThat(reservations.findUnconfirmed(60000, 10)).isEmpty();
+
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        String lookup = "http://trade:8082/api/v2/tradeOrders?orderId=";
+        when(restTemplate.getForEntity(lookup + ids.get(0), byte[].class))
+                .thenReturn(ResponseEntity.ok(page("{\"id\":95001,\"orderId\":" + ids.get(0) + "}")));
+        when(restTemplate.getForEntity(lookup + ids.get(1), byte[].class))
+                .thenReturn(ResponseEntity.ok(page("")));
+        OrderSubmissionReconciler reconciler = new OrderSubmissionReconciler(reservations, restTemplate,
+                new SimpleMeterRegistry(), "http://trade:8082", 0, 10);
+
+        assertThat(reconciler.reconcile()).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT trade_order_id FROM \"order\" WHERE id = ?",
+                Integer.class, ids.get(0))).isEqualTo(95001);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT s.abbreviation FROM \"order\" o JOIN status s ON s.id = o.status_id WHERE o.id = ?",
+                String.class, ids.get(1))).isEqualTo("NEW");
+        assertThat(jdbcTemplate.queryForObject("SELECT submit_attempts FROM \"order\" WHERE id = ?",
+                Integer.class, ids.get(1))).isEqualTo(1);
+        assertThat(reservations.findUnconfirmed(0, 10)).isEmpty();
+
+        // The work queue skips the released order until its backoff expires, then claims it again
+        assertThat(reservations.reserveNext(10)).isEmpty();
+        jdbcTemplate.update("UPDATE \"order\" SET submit_not_before = now() - interval '1 second' WHERE id = ?",
+                ids.get(1));
+        assertThat(reservations.reserveNext(10)).extracting(r -> r.getOrder().getId()).containsExactly(ids.get(1));
+    }
+
+    private static byte[] page(String tradeOrders) {
+        return ("{\"tradeOrders\":[" + tradeOrders + "],\"pagination\":{}}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,112 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.entity.Order;
+import org.kasbench.globeco_order_service.entity.OrderType;
+import org.kasbench.globeco_order_service.entity.Status;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderSubmissionReconcilerTest {
+
+    private static final String LOOKUP_URL = "http://trade:8082/api/v2/tradeOrders?orderId=";
+
+    private OrderReservationService reservationService;
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderSubmissionReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        reservationService = mock(OrderReservationService.class);
+        restTemplate = mock(RestTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        reconciler = new OrderSubmissionReconciler(reservationService, restTemplate, meterRegistry,
+                "http://trade:8082", 300000, 50);
+    }
+
+    @Test
+    void finalizesOrdersTheTradeServiceHasAndReleasesTheRest() {
+        OrderReservationService.Reservation found = reservation(7);
+        OrderReservationService.Reservation missing = reservation(8);
+        when(reservationService.findUnconfirmed(300000, 50)).thenReturn(List.of(found, missing));
+        when(restTemplate.getForEntity(LOOKUP_URL + 7, byte[].class))
+                .thenReturn(ResponseEntity.ok(page("{\"id\":901,\"orderId\":7}")));
+        when(restTemplate.getForEntity(LOOKUP_URL + 8, byte[].class))
+                .thenReturn(ResponseEntity.ok(page("")));
+        when(reservationService.release(missing)).thenReturn(true);
+
+        assertThat(reconciler.reconcile()).isEqualTo(2);
+
+        verify(reservationService).finalizeSubmission(found, 901);
+        verify(reservationService).release(missing);
+        verify(reservationService, never()).release(found);
+        assertThat(counter("finalized")).isEqualTo(1.0);
+        assertThat(counter("released")).isEqualTo(1.0);
+    }
+
+    @Test
+    void keepsOrdersReservedWhenTheLookupFails() {
+        OrderReservationService.Reservation reservation = reservation(7);
+        when(reservationService.findUnconfirmed(300000, 50)).thenReturn(List.of(reservation));
+        when(restTemplate.getForEntity(LOOKUP_URL + 7, byte[].class))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        verify(reservationService, never()).release(any());
+        verify(reservationService, never()).finalizeSubmission(any(), any());
+        assertThat(counter("unresolved")).isEqualTo(1.0);
+    }
+
+    @Test
+    void leavesOrderAloneWhenItsReservationWasSettledConcurrently() {
+        OrderReservationService.Reservation reservation = reservation(7);
+        when(reservationService.findUnconfirmed(300000, 50)).thenReturn(List.of(reservation));
+        when(restTemplate.getForEntity(LOOKUP_URL + 7, byte[].class))
+                .thenReturn(ResponseEntity.ok(page("{\"id\":901,\"orderId\":7}")));
+        when(reservationService.finalizeSubmission(eq(reservation), eq(901)))
+                .thenThrow(new RuntimeException("Reservation of order 7 lost"));
+
+        assertThat(reconciler.reconcile()).isZero();
+
+        verify(reservationService, never()).release(any());
+        assertThat(counter("unresolved")).isEqualTo(1.0);
+    }
+
+    private double counter(String outcome) {
+        return meterRegistry.get("order.reservations.reconciled").tag("outcome", outcome).counter().count();
+    }
+
+    private static byte[] page(String tradeOrders) {
+        return ("{\"tradeOrders\":[" + tradeOrders + "],\"pagination\":{}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static OrderReservationService.Reservation reservation(int orderId) {
+        Order order = Order.builder()
+                .id(orderId)
+                .status(Status.builder().id(1).abbreviation("NEW").build())
+                .portfolioId("PORT12345678901234567890")
+                .orderType(OrderType.builder().id(1).abbreviation("BUY").build())
+                .securityId("SEC123456789012345678901")
+                .quantity(new BigDecimal("100.00000000"))
+                .version(2)
+                .build();
+        return new OrderReservationService.Reservation(order, 2);
+    }
+}
@@ -0,0 +1,102 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.dto.BatchSubmitResponseDTO;
+
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderWorkQueueSubmitterTest {
+
+    private static final long IDLE_POLL_MS = 500;
+    private static final long FAILURE_BACKOFF_MS = 1000;
+
+    private OrderService orderService;
+    private SimpleMeterRegistry meterRegistry;
+    private OrderWorkQueueSubmitter submitter;
+
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        submitter = new OrderWorkQueueSubmitter(orderService, meterRegistry, 1, 10, 100, 20, 10, 250,
+                IDLE_POLL_MS, FAILURE_BACKOFF_MS);
+    }
+
+    @Test
+    void fullFastBatchGrowsBatchSizeAndContinuesImmediately() {
+        respond(20, 20, 100);
+
+        assertThat(submitter.runOnce()).isZero();
+        assertThat(submitter.getBatchSize()).isEqualTo(30);
+        assertThat(meterRegistry.get("order.work_queue.claimed").counter().count()).isEqualTo(20.0);
+        assertThat(meterRegistry.get("order.work_queue.submitted").counter().count()).isEqualTo(20.0);
+    }
+
+    @Test
+    void slowTradeServiceHalvesBatchSize() {
+        respond(20, 20, 400);
+
+        submitter.runOnce();
+
+        assertThat(submitter.getBatchSize()).isEqualTo(10);
+    }
+
+    @Test
+    void drainedQueueWaitsIdlePollWithoutGrowing() {
+        respond(20, 5, 100);
+
+        assertThat(submitter.runOnce()).isEqualTo(IDLE_POLL_MS);
+        assertThat(submitter.getBatchSize()).isEqualTo(20);
+
+        when(orderService.submitQueuedOrders(anyInt(), any())).thenReturn(null);
+        assertThat(submitter.runOnce()).isEqualTo(IDLE_POLL_MS);
+    }
+
+    @Test
+    void failedPassBacksOffAndHalvesBatchSize() {
+        when(orderService.submitQueuedOrders(anyInt(), any()))
+                .thenThrow(new RuntimeException("Trade service connectivity error"));
+
+        assertThat(submitter.runOnce()).isEqualTo(FAILURE_BACKOFF_MS);
+        assertThat(submitter.getBatchSize()).isEqualTo(10);
+        assertThat(meterRegistry.get("order.work_queue.failures").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void batchSizeStaysWithinBounds() {
+        OrderWorkQueueSubmitter.BatchSizeController controller =
+                new OrderWorkQueueSubmitter.BatchSizeController(10, 40, 35, 10, 250);
+
+        controller.onCompleted(100, true);
+        assertThat(controller.get()).isEqualTo(40);
+
+        controller.onFailure();
+        controller.onFailure();
+        controller.onFailure();
+        assertThat(controller.get()).isEqualTo(10);
+    }
+
+    private void respond(int limit, int claimed, long tradeServiceMs) {
+        BatchSubmitResponseDTO response = BatchSubmitResponseDTO.builder()
+                .status("SUCCESS")
+                .totalRequested(claimed)
+                .successful(claimed)
+                .failed(0)
+                .build();
+        doAnswer(invocation -> {
+            LongConsumer listener = invocation.getArgument(1);
+            listener.accept(tradeServiceMs);
+            return response;
+        }).when(orderService).submitQueuedOrders(eq(limit), any());
+    }
+}
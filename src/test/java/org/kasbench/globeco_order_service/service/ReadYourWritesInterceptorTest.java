@@ -0,0 +1,96 @@
+package org.kasbench.globeco_order_service.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadYourWritesInterceptorTest {
+
+    private final ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor("X-Client-Id", 60_000);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    @Test
+    void writeRunsOnPrimaryAndKeepsClientsReadsThere() {
+        MockHttpServletRequest post = request("POST", "client-a");
+
+        interceptor.preHandle(post, response, new Object());
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isTrue();
+        interceptor.afterCompletion(post, response, new Object(), null);
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isFalse();
+
+        MockHttpServletRequest get = request("GET", "client-a");
+        interceptor.preHandle(get, response, new Object());
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isTrue();
+        interceptor.afterCompletion(get, response, new Object(), null);
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void readsFromOtherClientsStayOnReplicas() {
+        MockHttpServletRequest post = request("POST", "client-a");
+        interceptor.preHandle(post, response, new Object());
+        interceptor.afterCompletion(post, response, new Object(), null);
+
+        interceptor.preHandle(request("GET", "client-b"), response, new Object());
+
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void asyncWriteReleasesItsServletThread() {
+        MockHttpServletRequest post = request("POST", "client-a");
+        interceptor.preHandle(post, response, new Object());
+
+        interceptor.afterConcurrentHandlingStarted(post, response, new Object());
+
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isFalse();
+        assertThat(interceptor.isRecentWriter("id:client-a")).isTrue();
+    }
+
+    @Test
+    void requestDoesNotInheritAStaleFlag() {
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+
+        interceptor.preHandle(request("GET", "client-b"), response, new Object());
+
+        assertThat(ReplicaRoutingDataSource.isPrimaryRequired()).isFalse();
+    }
+
+    @Test
+    void identifiesClientsByRemoteAddressWithoutHeader() {
+        MockHttpServletRequest request = request("PUT", null);
+        request.setRemoteAddr("10.0.0.7");
+
+        assertThat(interceptor.clientKey(request)).isEqualTo("addr:10.0.0.7");
+        interceptor.preHandle(request, response, new Object());
+        assertThat(interceptor.isRecentWriter("addr:10.0.0.7")).isTrue();
+    }
+
+    @Test
+    void writerIsForgottenAfterWindow() throws Exception {
+        ReadYourWritesInterceptor shortWindow = new ReadYourWritesInterceptor("X-Client-Id", 20);
+        MockHttpServletRequest post = request("POST", "client-a");
+        shortWindow.preHandle(post, response, new Object());
+        shortWindow.afterCompletion(post, response, new Object(), null);
+
+        Thread.sleep(100);
+
+        assertThat(shortWindow.isRecentWriter("id:client-a")).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String method, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/orders");
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+    private Map<DataSource, Long> lag;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaRoutingDataSource router;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(DataSource.class);
+        replicaA = mock(DataSource.class);
+        replicaB = mock(DataSource.class);
+        lag = new HashMap<>();
+        meterRegistry = new SimpleMeterRegistry();
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", replicaA);
+        replicas.put("replica-2", replicaB);
+        router = new ReplicaRoutingDataSource(primary, replicas, 1000, meterRegistry, replica -> {
+            Long value = lag.get(replica);
+            if (value == null) {
+                throw new IllegalStateException("connection refused");
+            }
+            return value;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+    }
+
+    @Test
+    void usesPrimaryUntilReplicasHaveBeenMeasured() {
+        assertThat(router.determineTarget()).isSameAs(primary);
+        assertThat(router.getUsableReplicaCount()).isZero();
+    }
+
+    @Test
+    void spreadsReadsAcrossReplicasWithinLagBound() throws Exception {
+        lag.put(replicaA, 0L);
+        lag.put(replicaB, 200L);
+        Connection connection = mock(Connection.class);
+        when(replicaA.getConnection()).thenReturn(connection);
+        when(replicaB.getConnection()).thenReturn(connection);
+        router.checkLag();
+
+        assertThat(router.determineTarget()).isSameAs(replicaA);
+        assertThat(router.determineTarget()).isSameAs(replicaB);
+        assertThat(router.getConnection()).isSameAs(connection);
+        assertThat(meterRegistry.get("database.replica.reads").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("database.replica.lag_ms").tag("replica", "replica-2").gauge().value())
+                .isEqualTo(200.0);
+    }
+
+    @Test
+    void skipsReplicaBehindLagBoundUntilItCatchesUp() {
+        lag.put(replicaA, 5000L);
+        lag.put(replicaB, 10L);
+        router.checkLag();
+
+        assertThat(router.determineTarget()).isSameAs(replicaB);
+        assertThat(router.determineTarget()).isSameAs(replicaB);
+
+        lag.put(replicaA, 10L);
+        router.checkLag();
+
+        assertThat(router.getUsableReplicaCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenNoReplicaCanBeMeasured() {
+        lag.put(replicaA, 10L);
+        router.checkLag();
+        lag.remove(replicaA);
+        router.checkLag();
+
+        assertThat(router.determineTarget()).isSameAs(primary);
+        assertThat(meterRegistry.get("database.replica.primary_fallbacks").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("database.replica.lag_ms").tag("replica", "replica-1").gauge().value())
+                .isEqualTo(-1.0);
+    }
+
+    @Test
+    void usesPrimaryWhileThreadRequiresIt() {
+        lag.put(replicaA, 0L);
+        lag.put(replicaB, 0L);
+        router.checkLag();
+
+        ReplicaRoutingDataSource.setPrimaryRequired(true);
+        assertThat(router.determineTarget()).isSameAs(primary);
+
+        ReplicaRoutingDataSource.setPrimaryRequired(false);
+        assertThat(router.determineTarget()).isNotSameAs(primary);
+    }
+}
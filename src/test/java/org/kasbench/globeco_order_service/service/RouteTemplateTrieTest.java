@@ -0,0 +1,70 @@
+package org.kasbench.globeco_order_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteTemplateTrieTest {
+
+    private RouteTemplateTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RouteTemplateTrie();
+        trie.add("/api/v1/orders", 0);
+        trie.add("/api/v1/order/{id}", 1);
+        trie.add("/api/v1/order/batch", 2);
+        trie.add("/api/v1/order/{id}/submit", 3);
+        trie.add("/static/**", 4);
+    }
+
+    @Test
+    void shouldMatchLiteralTemplates() {
+        assertThat(trie.match("/api/v1/orders")).isEqualTo(0);
+        assertThat(trie.match("/api/v1/order/batch")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMatchPathVariables() {
+        assertThat(trie.match("/api/v1/order/42")).isEqualTo(1);
+        assertThat(trie.match("/api/v1/order/42/submit")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFallBackToVariableWhenLiteralBranchFails() {
+        assertThat(trie.match("/api/v1/order/batch/submit")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldIgnoreQueryFragmentAndExtraSlashes() {
+        assertThat(trie.match("//api/v1/orders/?page=1&size=10")).isEqualTo(0);
+        assertThat(trie.match("/api/v1/order/42#details")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMatchCatchAllTemplates() {
+        assertThat(trie.match("/static/css/style.css")).isEqualTo(4);
+    }
+
+    @Test
+    void shouldSkipContextPath() {
+        assertThat(trie.match("/app/api/v1/orders", "/app".length())).isEqualTo(0);
+    }
+
+    @Test
+    void shouldNotMatchUnknownPaths() {
+        assertThat(trie.match("/api/v1/order/42/cancel")).isEqualTo(RouteTemplateTrie.NO_MATCH);
+        assertThat(trie.match("/api/v1/orders/../../etc/passwd")).isEqualTo(RouteTemplateTrie.NO_MATCH);
+        assertThat(trie.match("/")).isEqualTo(RouteTemplateTrie.NO_MATCH);
+        assertThat(trie.match(null)).isEqualTo(RouteTemplateTrie.NO_MATCH);
+    }
+
+    @Test
+    void shouldKeepFirstIdForEquivalentTemplates() {
+        trie.add("/api/v1/order/{orderId}", 9);
+
+        assertThat(trie.match("/api/v1/order/42")).isEqualTo(1);
+        assertThat(trie.getTemplateCount()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,101 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ServiceLogSamplerTest {
+
+    private static final String CATEGORY = ServiceLogSampler.CATEGORY_ORDER_SUBMIT;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private Logger debugLogger;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        debugLogger = mock(Logger.class);
+        when(debugLogger.isDebugEnabled()).thenReturn(true);
+    }
+
+    @AfterEach
+    void clearMdc() {
+        MDC.remove(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY);
+    }
+
+    @Test
+    void shouldLogOneInNCandidates() {
+        ServiceLogSampler sampler = new ServiceLogSampler(meterRegistry, true, 10, 0, clock::get);
+
+        int emitted = countEmitted(sampler, 100);
+
+        assertThat(emitted).isEqualTo(10);
+        assertThat(count("emitted")).isEqualTo(10.0);
+        assertThat(count("suppressed")).isEqualTo(90.0);
+    }
+
+    @Test
+    void shouldRateLimitPerSecond() {
+        ServiceLogSampler sampler = new ServiceLogSampler(meterRegistry, true, 1, 5, clock::get);
+
+        assertThat(countEmitted(sampler, 20)).isEqualTo(5);
+
+        clock.addAndGet(1_000L);
+        assertThat(countEmitted(sampler, 20)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldSkipSamplingForDebugRequestsButKeepRateLimit() {
+        ServiceLogSampler sampler = new ServiceLogSampler(meterRegistry, true, 100, 8, clock::get);
+        MDC.put(ServiceLogSampler.REQUEST_DEBUG_MDC_KEY, "true");
+
+        assertThat(countEmitted(sampler, 20)).isEqualTo(8);
+    }
+
+    @Test
+    void shouldLogEveryLineWhenSamplingDisabled() {
+        ServiceLogSampler sampler = new ServiceLogSampler(meterRegistry, false, 100, 1, clock::get);
+
+        assertThat(countEmitted(sampler, 20)).isEqualTo(20);
+        assertThat(count("emitted")).isEqualTo(20.0);
+    }
+
+    @Test
+    void shouldNotLogWhenDebugDisabled() {
+        ServiceLogSampler sampler = new ServiceLogSampler(meterRegistry, true, 1, 0, clock::get);
+        Logger infoLogger = mock(Logger.class);
+
+        assertThat(sampler.isDetailEnabled(infoLogger, CATEGORY)).isFalse();
+        assertThat(meterRegistry.find("service_log_lines").counters()).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyCheckLevelWhenUnsampled() {
+        assertThat(ServiceLogSampler.UNSAMPLED.isDetailEnabled(debugLogger, CATEGORY)).isTrue();
+        assertThat(ServiceLogSampler.UNSAMPLED.isDetailEnabled(mock(Logger.class), CATEGORY)).isFalse();
+    }
+
+    private int countEmitted(ServiceLogSampler sampler, int candidates) {
+        int emitted = 0;
+        for (int i = 0; i < candidates; i++) {
+            if (sampler.isDetailEnabled(debugLogger, CATEGORY)) {
+                emitted++;
+            }
+        }
+        return emitted;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("service_log_lines").tag("category", CATEGORY).tag("outcome", outcome).counter().count();
+    }
+}
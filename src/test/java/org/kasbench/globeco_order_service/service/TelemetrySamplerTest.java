@@ -0,0 +1,184 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetrySamplerTest {
+
+    @Mock
+    private HikariDataSource hikariDataSource;
+
+    @Mock
+    private HikariPoolMXBean hikariPoolMXBean;
+
+    @Mock
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Mock
+    private ThreadPoolExecutor threadPoolExecutor;
+
+    @Mock
+    private MemoryMXBean memoryMXBean;
+
+    @Mock
+    private PoolingHttpClientConnectionManager sharedManager;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private TelemetrySampler sampler;
+
+    @BeforeEach
+    void setUp() {
+        sampler = new TelemetrySampler(hikariDataSource, taskExecutor, memoryMXBean, 5_000, clock::get);
+    }
+
+    private void stubSources() {
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(hikariPoolMXBean);
+        when(hikariDataSource.getMaximumPoolSize()).thenReturn(20);
+        when(hikariPoolMXBean.getTotalConnections()).thenReturn(10);
+        when(hikariPoolMXBean.getActiveConnections()).thenReturn(8);
+        when(hikariPoolMXBean.getIdleConnections()).thenReturn(2);
+        when(hikariPoolMXBean.getThreadsAwaitingConnection()).thenReturn(1);
+        when(taskExecutor.getThreadPoolExecutor()).thenReturn(threadPoolExecutor);
+        when(threadPoolExecutor.getActiveCount()).thenReturn(9);
+        when(threadPoolExecutor.getCorePoolSize()).thenReturn(5);
+        when(threadPoolExecutor.getMaximumPoolSize()).thenReturn(10);
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 300, 400, 1000));
+    }
+
+    @Test
+    void sampleReadsEachSourceIntoSnapshot() {
+        stubSources();
+
+        sampler.sample();
+
+        TelemetrySampler.Snapshot snapshot = sampler.getSnapshot();
+        assertThat(snapshot).isNotNull();
+        assertThat(snapshot.getSampledAtMillis()).isEqualTo(1_000_000L);
+        assertThat(snapshot.getDatabasePool().getActiveConnections()).isEqualTo(8);
+        assertThat(snapshot.getDatabasePool().getThreadsAwaitingConnection()).isEqualTo(1);
+        assertThat(snapshot.getDatabasePool().getUtilization()).isEqualTo(0.4);
+        assertThat(snapshot.getThreadPool().getUtilization()).isEqualTo(0.9);
+        assertThat(snapshot.getThreadPool().getActiveRatio()).isEqualTo(1.8);
+        assertThat(snapshot.getHeap().getUtilization()).isEqualTo(0.3);
+    }
+
+    @Test
+    void sharedHttpPoolIsReadOncePerTick() {
+        stubSources();
+        PoolStats stats = new PoolStats(4, 2, 6, 100);
+        when(sharedManager.getTotalStats()).thenReturn(stats);
+        when(sharedManager.getMaxTotal()).thenReturn(100);
+        sampler.registerHttpPool("security-service", sharedManager);
+        sampler.registerHttpPool("portfolio-service", sharedManager);
+
+        sampler.sample();
+
+        verify(sharedManager, times(1)).getTotalStats();
+        TelemetrySampler.HttpPool pool = sampler.getSnapshot().getHttpPool("portfolio-service");
+        assertThat(pool.getMaxTotal()).isEqualTo(100);
+        assertThat(pool.getLeased()).isEqualTo(4);
+        assertThat(pool.getIdle()).isEqualTo(4); // available - pending
+        assertThat(sampler.getSnapshot().getHttpPool("security-service")).isSameAs(pool);
+    }
+
+    @Test
+    void workloadPoolsAreReadOncePerTick() {
+        stubSources();
+        HikariDataSource analytics = mock(HikariDataSource.class);
+        HikariPoolMXBean analyticsBean = mock(HikariPoolMXBean.class);
+        when(analytics.getHikariPoolMXBean()).thenReturn(analyticsBean);
+        when(analytics.getMaximumPoolSize()).thenReturn(10);
+        when(analyticsBean.getActiveConnections()).thenReturn(10);
+        when(analyticsBean.getThreadsAwaitingConnection()).thenReturn(4);
+        sampler.registerDatabasePool("oltp", hikariDataSource);
+        sampler.registerDatabasePool("analytics", analytics);
+
+        sampler.sample();
+
+        verify(hikariDataSource, times(1)).getHikariPoolMXBean();
+        TelemetrySampler.Snapshot snapshot = sampler.getSnapshot();
+        assertThat(snapshot.getDatabasePool("oltp")).isSameAs(snapshot.getDatabasePool());
+        assertThat(snapshot.getDatabasePool("analytics").getUtilization()).isEqualTo(1.0);
+        assertThat(snapshot.getDatabasePool("analytics").getThreadsAwaitingConnection()).isEqualTo(4);
+    }
+
+    @Test
+    void noSnapshotBeforeFirstTickOrWhenStale() {
+        assertThat(sampler.getSnapshot()).isNull();
+
+        stubSources();
+        sampler.sample();
+        clock.addAndGet(5_000);
+        assertThat(sampler.getSnapshot()).isNotNull();
+
+        clock.addAndGet(1);
+        assertThat(sampler.getSnapshot()).isNull();
+    }
+
+    @Test
+    void unavailableSourcesLeaveSectionsEmpty() {
+        when(hikariDataSource.getHikariPoolMXBean()).thenReturn(null);
+        when(taskExecutor.getThreadPoolExecutor()).thenThrow(new IllegalStateException("not initialized"));
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 100, 200, -1));
+
+        sampler.sample();
+
+        TelemetrySampler.Snapshot snapshot = sampler.getSnapshot();
+        assertThat(snapshot.getDatabasePool()).isNull();
+        assertThat(snapshot.getThreadPool()).isNull();
+        assertThat(snapshot.getHeap().getLimit()).isEqualTo(200); // committed when max is undefined
+        assertThat(snapshot.getHttpPools()).isEmpty();
+    }
+
+    @Test
+    void listenersAreNotifiedAfterEachTick() {
+        stubSources();
+        List<TelemetrySampler.Snapshot> received = new ArrayList<>();
+        sampler.addListener(snapshot -> {
+            throw new IllegalStateException("listener failure");
+        });
+        sampler.addListener(received::add);
+
+        sampler.sample();
+        sampler.sample();
+
+        assertThat(received).hasSize(2);
+        assertThat(received.get(1)).isSameAs(sampler.getSnapshot());
+    }
+
+    @Test
+    void overloadDetectorReadsSnapshotInsteadOfSources() {
+        stubSources();
+        sampler.sample();
+        SystemOverloadDetector detector = new SystemOverloadDetector(hikariDataSource, taskExecutor);
+        ReflectionTestUtils.setField(detector, "telemetrySampler", sampler);
+        clearInvocations(hikariDataSource, hikariPoolMXBean, taskExecutor, threadPoolExecutor, memoryMXBean);
+
+        assertThat(detector.isThreadPoolOverloaded()).isFalse(); // 0.9 is not above the threshold
+        assertThat(detector.isDatabaseConnectionPoolOverloaded()).isFalse();
+        assertThat(detector.isSystemOverloaded()).isTrue(); // active ratio 1.8 of core pool size
+        assertThat(detector.getDatabaseConnectionUtilization()).isEqualTo(0.4);
+
+        verifyNoInteractions(hikariDataSource, hikariPoolMXBean, taskExecutor, threadPoolExecutor, memoryMXBean);
+    }
+}
@@ -0,0 +1,186 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+import org.kasbench.globeco_order_service.exception.TradeOrderRejectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeOrderSubmissionAggregatorTest {
+
+    @Mock
+    private TradeServiceAsyncClient tradeServiceAsyncClient;
+
+    private TradeOrderSubmissionAggregator aggregator;
+
+    @AfterEach
+    void tearDown() {
+        if (aggregator != null) {
+            aggregator.shutdown();
+        }
+    }
+
+    @Test
+    void shouldSendOneBulkCallWhenBatchSizeReached() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 3, 10_000);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(successFor(invocation.getArgument(0))));
+
+        CompletableFuture<Integer> first = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> second = aggregator.submit(tradeOrder(2));
+        CompletableFuture<Integer> third = aggregator.submit(tradeOrder(3));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1001);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(1002);
+        assertThat(third.get(5, TimeUnit.SECONDS)).isEqualTo(1003);
+        verify(tradeServiceAsyncClient, times(1)).submitBulk(any());
+        assertThat(aggregator.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterMaxWait() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 50, 10);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(successFor(invocation.getArgument(0))));
+
+        CompletableFuture<Integer> result = aggregator.submit(tradeOrder(7));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1007);
+        ArgumentCaptor<BulkTradeOrderRequestDTO> captor = ArgumentCaptor.forClass(BulkTradeOrderRequestDTO.class);
+        verify(tradeServiceAsyncClient).submitBulk(captor.capture());
+        assertThat(captor.getValue().getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCoalesceDuplicateSubmitsOfSameOrder() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 50, 10);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(successFor(invocation.getArgument(0))));
+
+        CompletableFuture<Integer> first = aggregator.submit(tradeOrder(5));
+        CompletableFuture<Integer> duplicate = aggregator.submit(tradeOrder(5));
+
+        assertThat(duplicate).isSameAs(first);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1005);
+        ArgumentCaptor<BulkTradeOrderRequestDTO> captor = ArgumentCaptor.forClass(BulkTradeOrderRequestDTO.class);
+        verify(tradeServiceAsyncClient).submitBulk(captor.capture());
+        assertThat(captor.getValue().getOrderCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompleteEachCallerWithItsOwnResultOnPartialFailure() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 2, 10_000);
+        BulkTradeOrderResponseDTO partial = BulkTradeOrderResponseDTO.builder()
+                .status("FAILURE").message("partial").totalRequested(2).successful(1).failed(1)
+                .results(List.of(
+                        TradeOrderResultDTO.failure(0, "Invalid security"),
+                        TradeOrderResultDTO.success(1, TradeOrderResponseDTO.builder().id(2002).build())))
+                .build();
+        when(tradeServiceAsyncClient.submitBulk(any())).thenReturn(CompletableFuture.completedFuture(partial));
+
+        CompletableFuture<Integer> failed = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> succeeded = aggregator.submit(tradeOrder(2));
+
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(TradeOrderRejectedException.class);
+        assertThat(succeeded.get(5, TimeUnit.SECONDS)).isEqualTo(2002);
+    }
+
+    @Test
+    void shouldCompleteAllCallersWithNullWhenBulkCallOutcomeIsUnknown() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 2, 10_000);
+        when(tradeServiceAsyncClient.submitBulk(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Trade service server error")));
+
+        CompletableFuture<Integer> first = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> second = aggregator.submit(tradeOrder(2));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void shouldRejectAllCallersWhenBulkCallWasNotSent() {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 2, 10_000);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Trade service connectivity error", new ConnectException("Connection refused"))));
+
+        CompletableFuture<Integer> first = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> second = aggregator.submit(tradeOrder(2));
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(TradeOrderRejectedException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(TradeOrderRejectedException.class);
+    }
+
+    @Test
+    void shouldResubmitMembersIndividuallyWhenWholeBatchIsRejected() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 2, 10_000);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenAnswer(invocation -> {
+            BulkTradeOrderRequestDTO request = invocation.getArgument(0);
+            if (request.getOrderCount() > 1 || request.getTradeOrders().get(0).getOrderId() == 1) {
+                return CompletableFuture.failedFuture(new TradeOrderRejectedException(
+                        "Trade service rejected bulk request with HTTP 400: invalid security", 400));
+            }
+            return CompletableFuture.completedFuture(successFor(request));
+        });
+
+        CompletableFuture<Integer> invalid = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> valid = aggregator.submit(tradeOrder(2));
+
+        assertThat(valid.get(5, TimeUnit.SECONDS)).isEqualTo(1002);
+        assertThatThrownBy(invalid::join).hasCauseInstanceOf(TradeOrderRejectedException.class);
+        verify(tradeServiceAsyncClient, times(3)).submitBulk(any());
+    }
+
+    @Test
+    void shouldNotSplitBatchWhenTradeServiceAsksForRetry() throws Exception {
+        aggregator = new TradeOrderSubmissionAggregator(tradeServiceAsyncClient, new SimpleMeterRegistry(), 2, 10_000);
+        when(tradeServiceAsyncClient.submitBulk(any())).thenReturn(CompletableFuture.failedFuture(
+                new RuntimeException("Trade service returned unexpected status: 429")));
+
+        CompletableFuture<Integer> first = aggregator.submit(tradeOrder(1));
+        CompletableFuture<Integer> second = aggregator.submit(tradeOrder(2));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNull();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNull();
+        verify(tradeServiceAsyncClient, times(1)).submitBulk(any());
+    }
+
+    private BulkTradeOrderResponseDTO successFor(BulkTradeOrderRequestDTO request) {
+        List<TradeOrderResultDTO> results = new ArrayList<>();
+        for (int i = 0; i < request.getOrderCount(); i++) {
+            int orderId = request.getTradeOrders().get(i).getOrderId();
+            results.add(TradeOrderResultDTO.success(i, TradeOrderResponseDTO.builder().id(1000 + orderId).build()));
+        }
+        return BulkTradeOrderResponseDTO.builder()
+                .status("SUCCESS").message("ok")
+                .totalRequested(request.getOrderCount())
+                .successful(request.getOrderCount())
+                .failed(0)
+                .results(results)
+                .build();
+    }
+
+    private TradeOrderPostDTO tradeOrder(int orderId) {
+        return TradeOrderPostDTO.builder().orderId(orderId).portfolioId("P").orderType("BUY").securityId("S").build();
+    }
+}
@@ -0,0 +1,173 @@
+package org.kasbench.globeco_order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.exception.ExternalServiceUnavailableException;
+import org.kasbench.globeco_order_service.exception.TradeOrderRejectedException;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeServiceAsyncClientTest {
+
+    @Mock
+    private CloseableHttpAsyncClient httpClient;
+
+    private MeterRegistry meterRegistry;
+    private TradeServiceAsyncClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ExternalServiceGuard guard = new ExternalServiceGuard("trade-service", 10, 0,
+                new SlidingWindowCircuitBreaker("trade-service", 10, 2, 50, 60_000, 1), meterRegistry);
+        client = new TradeServiceAsyncClient(httpClient, guard, meterRegistry, "http://trade:8082", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void shouldReturnTradeOrderIdOnCreated() throws Exception {
+        respondWith(201, "{\"id\":4242}");
+
+        CompletableFuture<Integer> result = client.submitTradeOrder(tradeOrder(1));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(4242);
+        assertThat(client.getInFlightRequests()).isZero();
+    }
+
+    @Test
+    void shouldFailWithRejectionWhenTradeServiceRejectsOrder() {
+        respondWith(400, "{\"message\":\"bad\"}");
+
+        assertThatThrownBy(client.submitTradeOrder(tradeOrder(1))::join)
+                .hasCauseInstanceOf(TradeOrderRejectedException.class);
+    }
+
+    @Test
+    void shouldFailWithRejectionWhenConnectionIsRefused() {
+        failWith(new ConnectException("Connection refused"));
+
+        assertThatThrownBy(client.submitTradeOrder(tradeOrder(1))::join)
+                .hasCauseInstanceOf(TradeOrderRejectedException.class);
+    }
+
+    @Test
+    void shouldReturnNullWhenOutcomeIsUnknown() throws Exception {
+        failWith(new SocketTimeoutException("Read timed out"));
+        assertThat(client.submitTradeOrder(tradeOrder(1)).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void shouldReturnNullOnServerError() throws Exception {
+        respondWith(502, "bad gateway");
+        assertThat(client.submitTradeOrder(tradeOrder(1)).get(5, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    void shouldParseBulkResponseOnCreated() throws Exception {
+        respondWith(201, "{\"status\":\"SUCCESS\",\"message\":\"ok\",\"totalRequested\":1,\"successful\":1,\"failed\":0," +
+                "\"results\":[{\"requestIndex\":0,\"status\":\"SUCCESS\",\"message\":\"created\",\"tradeOrder\":{\"id\":77}}]}");
+
+        BulkTradeOrderResponseDTO response = client.submitBulk(BulkTradeOrderRequestDTO.of(List.of(tradeOrder(1))))
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(response.getSuccessful()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getTradeOrderId()).isEqualTo(77);
+    }
+
+    @Test
+    void shouldFailBulkFutureOnServerError() {
+        respondWith(500, "boom");
+
+        CompletableFuture<BulkTradeOrderResponseDTO> result =
+                client.submitBulk(BulkTradeOrderRequestDTO.of(List.of(tradeOrder(1))));
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("Trade service server error");
+    }
+
+    @Test
+    void shouldRejectEmptyBulkRequest() {
+        assertThatThrownBy(() -> client.submitBulk(BulkTradeOrderRequestDTO.of(List.of())).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFailFastOnceCircuitBreakerOpens() {
+        respondWith(503, "unavailable");
+        client.submitBulk(BulkTradeOrderRequestDTO.of(List.of(tradeOrder(1)))).exceptionally(e -> null).join();
+        client.submitBulk(BulkTradeOrderRequestDTO.of(List.of(tradeOrder(2)))).exceptionally(e -> null).join();
+
+        CompletableFuture<BulkTradeOrderResponseDTO> rejected =
+                client.submitBulk(BulkTradeOrderRequestDTO.of(List.of(tradeOrder(3))));
+
+        assertThatThrownBy(rejected::join)
+                .hasCauseInstanceOf(ExternalServiceUnavailableException.class);
+        verify(httpClient, times(2)).execute(any(SimpleHttpRequest.class), any(FutureCallback.class));
+    }
+
+    @Test
+    void shouldRegisterInFlightGauge() {
+        assertThat(meterRegistry.find("trade_service.async.in_flight").gauge()).isNotNull();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void respondWith(int status, String body) {
+        when(httpClient.execute(any(SimpleHttpRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.completed(SimpleHttpResponse.create(status, body, ContentType.APPLICATION_JSON));
+            return null;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void failWith(Exception error) {
+        when(httpClient.execute(any(SimpleHttpRequest.class), any(FutureCallback.class))).thenAnswer(invocation -> {
+            FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.failed(error);
+            return null;
+        });
+    }
+
+    private TradeOrderPostDTO tradeOrder(int orderId) {
+        return TradeOrderPostDTO.builder()
+                .orderId(orderId)
+                .portfolioId("PORT12345678901234567890")
+                .orderType("BUY")
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100"))
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderRequestDTO;
+import org.kasbench.globeco_order_service.dto.BulkTradeOrderResponseDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderPostDTO;
+import org.kasbench.globeco_order_service.dto.TradeOrderResultDTO;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TradeServiceJsonCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void shouldEncodeTradeOrderLikeObjectMapper() throws Exception {
+        TradeOrderPostDTO tradeOrder = tradeOrder(1);
+
+        byte[] encoded = TradeServiceJsonCodec.writeTradeOrder(tradeOrder);
+
+        assertThat(objectMapper.readTree(encoded)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(tradeOrder)));
+    }
+
+    @Test
+    void shouldEncodeNullFields() throws Exception {
+        TradeOrderPostDTO tradeOrder = TradeOrderPostDTO.builder().orderId(5).orderType("SELL").build();
+
+        byte[] encoded = TradeServiceJsonCodec.writeTradeOrder(tradeOrder);
+
+        assertThat(objectMapper.readTree(encoded)).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(tradeOrder)));
+    }
+
+    @Test
+    void shouldEncodeBulkRequestLikeObjectMapper() throws Exception {
+        BulkTradeOrderRequestDTO bulkRequest = BulkTradeOrderRequestDTO.of(List.of(tradeOrder(1), tradeOrder(2), tradeOrder(3)));
+
+        byte[] encoded = TradeServiceJsonCodec.writeBulkRequest(bulkRequest);
+
+        assertThat(objectMapper.readTree(encoded).get("tradeOrders"))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(bulkRequest)).get("tradeOrders"));
+    }
+
+    @Test
+    void shouldNotLeakContentBetweenCallsOnSameThread() {
+        byte[] large = TradeServiceJsonCodec.writeBulkRequest(
+                BulkTradeOrderRequestDTO.of(List.of(tradeOrder(1), tradeOrder(2), tradeOrder(3))));
+        byte[] small = TradeServiceJsonCodec.writeTradeOrder(tradeOrder(9));
+
+        assertThat(small.length).isLessThan(large.length);
+        assertThat(new String(small, StandardCharsets.UTF_8)).startsWith("{\"orderId\":9,");
+    }
+
+    @Test
+    void shouldReadTradeOrderIdAndSkipNestedObjects() {
+        String body = "{\"blotter\":{\"id\":3,\"name\":\"Default\"},\"orderId\":10,\"id\":4242,\"submitted\":false}";
+
+        assertThat(TradeServiceJsonCodec.readTradeOrderId(body)).isEqualTo(4242);
+    }
+
+    @Test
+    void shouldReturnNullTradeOrderIdWhenMissingOrNotInteger() {
+        assertThat(TradeServiceJsonCodec.readTradeOrderId("{\"orderId\":10}")).isNull();
+        assertThat(TradeServiceJsonCodec.readTradeOrderId("{\"id\":\"abc\"}")).isNull();
+        assertThat(TradeServiceJsonCodec.readTradeOrderId("")).isNull();
+        assertThat(TradeServiceJsonCodec.readTradeOrderId((String) null)).isNull();
+    }
+
+    @Test
+    void shouldFindTradeOrderIdForOrderInPageResponse() {
+        String body = "{\"tradeOrders\":[" +
+                "{\"id\":55,\"orderId\":9,\"portfolio\":{\"portfolioId\":\"P1\",\"name\":\"Growth\"},\"orderType\":\"BUY\"}," +
+                "{\"id\":56,\"orderId\":10,\"security\":{\"securityId\":\"S1\",\"ticker\":\"IBM\"}}]," +
+                "\"pagination\":{\"totalElements\":2,\"hasNext\":false}}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(TradeServiceJsonCodec.readTradeOrderIdForOrder(bytes, 10)).isEqualTo(56);
+        assertThat(TradeServiceJsonCodec.readTradeOrderIdForOrder(bytes, 11)).isNull();
+        assertThat(TradeServiceJsonCodec.readTradeOrderIdForOrder(
+                "{\"tradeOrders\":[],\"pagination\":{}}".getBytes(StandardCharsets.UTF_8), 10)).isNull();
+    }
+
+    @Test
+    void shouldReadBulkResponseIgnoringUnknownFields() {
+        String body = "{\"status\":\"FAILURE\",\"message\":\"partial\",\"totalRequested\":2,\"successful\":1,\"failed\":1," +
+                "\"extra\":{\"nested\":[1,2,3]}," +
+                "\"results\":[" +
+                "{\"requestIndex\":0,\"status\":\"SUCCESS\",\"message\":\"created\",\"tradeOrder\":{\"id\":77,\"orderId\":1," +
+                "\"quantity\":100.00,\"tradeTimestamp\":\"2024-06-01T12:00:00Z\",\"submitted\":false," +
+                "\"blotter\":{\"id\":1,\"abbreviation\":\"EQ\",\"name\":\"Equity\",\"version\":1}}}," +
+                "{\"requestIndex\":1,\"status\":\"FAILURE\",\"message\":\"Invalid security\",\"tradeOrder\":null}]}";
+
+        BulkTradeOrderResponseDTO response = TradeServiceJsonCodec.readBulkResponse(body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(response.getStatus()).isEqualTo("FAILURE");
+        assertThat(response.getTotalRequested()).isEqualTo(2);
+        assertThat(response.getSuccessful()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).hasSize(2);
+
+        TradeOrderResultDTO success = response.getResults().get(0);
+        assertThat(success.isSuccess()).isTrue();
+        assertThat(success.getTradeOrderId()).isEqualTo(77);
+        assertThat(success.getTradeOrder().getQuantity()).isEqualByComparingTo("100");
+        assertThat(success.getTradeOrder().getTradeTimestamp())
+                .isEqualTo(OffsetDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC));
+        assertThat(success.getTradeOrder().getBlotter().getAbbreviation()).isEqualTo("EQ");
+
+        TradeOrderResultDTO failure = response.getResults().get(1);
+        assertThat(failure.isFailure()).isTrue();
+        assertThat(failure.getTradeOrder()).isNull();
+    }
+
+    private TradeOrderPostDTO tradeOrder(int orderId) {
+        return TradeOrderPostDTO.builder()
+                .orderId(orderId)
+                .portfolioId("PORT12345678901234567890")
+                .orderType("BUY")
+                .securityId("SEC12345678901234567890")
+                .quantity(new BigDecimal("100.00"))
+                .limitPrice(new BigDecimal("50.25"))
+                .tradeTimestamp(OffsetDateTime.of(2024, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC))
+                .blotterId(1)
+                .build();
+    }
+}
@@ -0,0 +1,131 @@
+package org.kasbench.globeco_order_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kasbench.globeco_order_service.service.WindowedLatencyHistogram.Window;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WindowedLatencyHistogramTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong(10 * MINUTE);
+    private WindowedLatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new WindowedLatencyHistogram(4, clock::get);
+    }
+
+    @Test
+    void shouldReportExactPercentilesForSmallValues() {
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getValueAtPercentile(0.5, Window.ONE_MINUTE)).isEqualTo(25.0);
+        assertThat(histogram.getValueAtPercentile(0.99, Window.ONE_MINUTE)).isEqualTo(50.0);
+        assertThat(histogram.getValueAtPercentile(1.0, Window.ONE_MINUTE)).isEqualTo(50.0);
+    }
+
+    @Test
+    void shouldKeepLargeValuesWithinBucketPrecision() {
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getValueAtPercentile(0.5, Window.ONE_MINUTE)).isCloseTo(5_000.0, within(5_000.0 * 0.035));
+        assertThat(histogram.getValueAtPercentile(0.99, Window.ONE_MINUTE)).isCloseTo(9_900.0, within(9_900.0 * 0.035));
+        assertThat(histogram.snapshot(Window.ONE_MINUTE).getMax()).isEqualTo(10_000L);
+    }
+
+    @Test
+    void shouldMapEveryValueToBucketContainingIt() {
+        for (long value = 0; value < 200_000; value += 7) {
+            int index = WindowedLatencyHistogram.bucketIndex(value);
+            assertThat(WindowedLatencyHistogram.lowestEquivalentValue(index)).isLessThanOrEqualTo(value);
+            assertThat(WindowedLatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+        }
+        assertThat(WindowedLatencyHistogram.bucketIndex(Long.MAX_VALUE))
+                .isEqualTo(WindowedLatencyHistogram.BUCKET_COUNT - 1);
+        assertThat(WindowedLatencyHistogram.bucketIndex(-5)).isZero();
+    }
+
+    @Test
+    void shouldSlideWindows() {
+        histogram.record(100);
+        clock.addAndGet(3 * MINUTE);
+        histogram.record(200);
+
+        assertThat(histogram.snapshot(Window.ONE_MINUTE).getTotalCount()).isEqualTo(1);
+        assertThat(histogram.snapshot(Window.FIVE_MINUTES).getTotalCount()).isEqualTo(2);
+
+        clock.addAndGet(10 * MINUTE);
+        assertThat(histogram.snapshot(Window.FIVE_MINUTES).getTotalCount()).isZero();
+        assertThat(histogram.snapshot(Window.FIFTEEN_MINUTES).getTotalCount()).isEqualTo(2);
+
+        clock.addAndGet(5 * MINUTE);
+        assertThat(histogram.snapshot(Window.FIFTEEN_MINUTES).getTotalCount()).isZero();
+    }
+
+    @Test
+    void shouldReuseSlotsWhenRingWrapsAround() {
+        histogram.record(100);
+        clock.addAndGet(16 * MINUTE);
+        histogram.record(5);
+
+        WindowedLatencyHistogram.Snapshot snapshot = histogram.snapshot(Window.FIFTEEN_MINUTES);
+        assertThat(snapshot.getTotalCount()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldMergeRecordingsFromAllThreads() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(histogram.snapshot(Window.ONE_MINUTE).getTotalCount()).isEqualTo(8_000);
+    }
+
+    @Test
+    void shouldMergeSnapshots() {
+        WindowedLatencyHistogram other = new WindowedLatencyHistogram(1, clock::get);
+        histogram.record(10);
+        other.record(30);
+        other.record(40);
+
+        WindowedLatencyHistogram.Snapshot merged = histogram.snapshot(Window.ONE_MINUTE)
+                .merge(other.snapshot(Window.ONE_MINUTE));
+
+        assertThat(merged.getTotalCount()).isEqualTo(3);
+        assertThat(merged.getMax()).isEqualTo(40L);
+        assertThat(merged.getValueAtPercentile(0.5)).isEqualTo(30.0);
+    }
+
+    @Test
+    void shouldClearOnReset() {
+        histogram.record(10);
+
+        histogram.reset();
+
+        assertThat(histogram.snapshot(Window.FIFTEEN_MINUTES).getTotalCount()).isZero();
+        assertThat(histogram.getValueAtPercentile(0.99, Window.FIFTEEN_MINUTES)).isZero();
+    }
+}
@@ -0,0 +1,83 @@
+package org.kasbench.globeco_order_service.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class WorkloadPoolMetricsTest {
+
+    @Test
+    void reportsSaturationPerPoolFromTelemetrySnapshot() {
+        HikariDataSource oltp = pool(20, 5, 0);
+        HikariDataSource analytics = pool(10, 10, 4);
+        MemoryMXBean memoryMXBean = mock(MemoryMXBean.class);
+        when(memoryMXBean.getHeapMemoryUsage()).thenReturn(new MemoryUsage(0, 100, 200, 400));
+        TelemetrySampler sampler = new TelemetrySampler(oltp, mock(ThreadPoolTaskExecutor.class), memoryMXBean,
+                5_000, System::currentTimeMillis);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new WorkloadPoolMetrics(pools(oltp, analytics), sampler, meterRegistry);
+        sampler.sample();
+        clearInvocations(oltp, analytics);
+
+        assertThat(meterRegistry.get("db_pool_saturation").tag("pool", "oltp").gauge().value()).isEqualTo(0.25);
+        assertThat(meterRegistry.get("db_pool_saturation").tag("pool", "analytics").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("db_pool_threads_waiting").tag("pool", "analytics").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("db_pool_connections_active_by_pool").tag("pool", "oltp").gauge().value())
+                .isEqualTo(5.0);
+        verifyNoInteractions(oltp, analytics);
+    }
+
+    @Test
+    void readsPoolsDirectlyWithoutSnapshot() {
+        HikariDataSource oltp = pool(20, 5, 0);
+        HikariDataSource analytics = pool(10, 10, 4);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new WorkloadPoolMetrics(pools(oltp, analytics), null, meterRegistry);
+
+        assertThat(meterRegistry.get("db_pool_saturation").tag("pool", "oltp").gauge().value()).isEqualTo(0.25);
+        assertThat(meterRegistry.get("db_pool_threads_waiting").tag("pool", "analytics").gauge().value()).isEqualTo(4.0);
+    }
+
+    @Test
+    void reportsIdleBeforePoolStarts() {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getMaximumPoolSize()).thenReturn(10);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new WorkloadPoolMetrics(Map.of("analytics", pool), null, meterRegistry);
+
+        assertThat(meterRegistry.get("db_pool_saturation").tag("pool", "analytics").gauge().value()).isZero();
+    }
+
+    private static Map<String, HikariDataSource> pools(HikariDataSource oltp, HikariDataSource analytics) {
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        pools.put("oltp", oltp);
+        pools.put("analytics", analytics);
+        return pools;
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize, int active, int waiting) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        HikariPoolMXBean bean = mock(HikariPoolMXBean.class);
+        when(pool.getMaximumPoolSize()).thenReturn(maximumPoolSize);
+        when(pool.getHikariPoolMXBean()).thenReturn(bean);
+        when(bean.getActiveConnections()).thenReturn(active);
+        when(bean.getThreadsAwaitingConnection()).thenReturn(waiting);
+        return pool;
+    }
+}